@@ -1,74 +1,405 @@
-package com.trinea.java.common;
-
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-
-/**
- * 序列化工具类
- * 
- * @author Trinea 2012-5-14 下午04:22:24
- */
-public class SerializeUtils {
-
-    /**
-     * 反序列化
-     * 
-     * @param filePath 序列化文件路径
-     * @return 得到的对象
-     */
-    public static Object deserialization(String filePath) {
-        ObjectInputStream in = null;
-        try {
-            in = new ObjectInputStream(new FileInputStream(filePath));
-            Object o = in.readObject();
-            in.close();
-            return o;
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException("FileNotFoundException occurred. ", e);
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException("ClassNotFoundException occurred. ", e);
-        } catch (IOException e) {
-            throw new RuntimeException("IOException occurred. ", e);
-        } finally {
-            if (in != null) {
-                try {
-                    in.close();
-                } catch (IOException e) {
-                    throw new RuntimeException("IOException occurred. ", e);
-                }
-            }
-        }
-    }
-
-    /**
-     * 序列化
-     * 
-     * @param filePath 序列化文件路径
-     * @param obj 序列化的对象
-     * @return
-     */
-    public static void serialization(String filePath, Object obj) {
-        ObjectOutputStream out = null;
-        try {
-            out = new ObjectOutputStream(new FileOutputStream(filePath));
-            out.writeObject(obj);
-            out.close();
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException("FileNotFoundException occurred. ", e);
-        } catch (IOException e) {
-            throw new RuntimeException("IOException occurred. ", e);
-        } finally {
-            if (out != null) {
-                try {
-                    out.close();
-                } catch (IOException e) {
-                    throw new RuntimeException("IOException occurred. ", e);
-                }
-            }
-        }
-    }
-}
+package com.trinea.java.common;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.trinea.java.common.service.Codec;
+
+/**
+ * 序列化工具类
+ * <ul>
+ * <li>{@link #serialization(String, Object)}、{@link #deserialization(String)}使用java序列化，
+ * 也可以序列化到流{@link #serialization(OutputStream, Object, boolean)}或byte数组{@link #serialization(Object, boolean)}，
+ * 可选GZIP压缩，反序列化时自动识别</li>
+ * <li>{@link #encode(Object, Codec)}、{@link #decode(byte[], Codec)}等通过{@link Codec}编解码，不使用ObjectOutputStream，
+ * 常用类型的编解码见com.trinea.java.common.serviceImpl包中的StringCodec、LongCodec、ListCodec、MapCodec等</li>
+ * <li>写入流和文件时为4字节长度加编码后的字节，可以在同一个流中依次写入多个对象</li>
+ * </ul>
+ * 
+ * @author Trinea 2012-5-14 下午04:22:24
+ */
+public class SerializeUtils {
+
+    /** 读写文件及压缩的缓冲区大小 **/
+    private static final int                     STREAM_BUFFER_SIZE     = 64 * 1024;
+    /** 编码缓冲区初始大小 **/
+    private static final int                     DEFAULT_BUFFER_SIZE    = 4 * 1024;
+    /** 超过该大小的编码缓冲区用完后不再复用 **/
+    private static final int                     MAX_CACHED_BUFFER_SIZE = 1024 * 1024;
+
+    /** 每个线程复用的编码缓冲区，使用中时为null **/
+    private static final ThreadLocal<ByteBuffer> BUFFER_CACHE           = new ThreadLocal<ByteBuffer>();
+
+    /**
+     * 反序列化，文件使用{@link #serialization(String, Object, boolean)}压缩时自动解压
+     * 
+     * @param filePath 序列化文件路径
+     * @return 得到的对象
+     */
+    public static Object deserialization(String filePath) {
+        InputStream in = null;
+        try {
+            in = new BufferedInputStream(new FileInputStream(filePath), STREAM_BUFFER_SIZE);
+            return deserialization(in);
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException("FileNotFoundException occurred. ", e);
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    throw new RuntimeException("IOException occurred. ", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 序列化
+     * 
+     * @param filePath 序列化文件路径
+     * @param obj 序列化的对象
+     * @return
+     */
+    public static void serialization(String filePath, Object obj) {
+        serialization(filePath, obj, false);
+    }
+
+    /**
+     * 序列化，通过缓冲流写入文件
+     * 
+     * @param filePath 序列化文件路径
+     * @param obj 序列化的对象
+     * @param compress 是否使用GZIP压缩，见{@link #serialization(OutputStream, Object, boolean)}
+     */
+    public static void serialization(String filePath, Object obj, boolean compress) {
+        OutputStream out = null;
+        try {
+            out = new BufferedOutputStream(new FileOutputStream(filePath), STREAM_BUFFER_SIZE);
+            serialization(out, obj, compress);
+            out.close();
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException("FileNotFoundException occurred. ", e);
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    throw new RuntimeException("IOException occurred. ", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 序列化到流中，不关闭流
+     * <ul>
+     * <li>不会为流增加缓冲，写入文件或网络时调用者应传入{@link BufferedOutputStream}</li>
+     * <li>压缩时使用GZIP格式，压缩级别为{@link Deflater#BEST_SPEED}，以速度优先，反序列化时根据GZIP魔数自动解压</li>
+     * </ul>
+     * 
+     * @param out 输出流
+     * @param obj 序列化的对象
+     * @param compress 是否使用GZIP压缩
+     */
+    public static void serialization(OutputStream out, Object obj, boolean compress) {
+        try {
+            OutputStream target = new NonClosingOutputStream(out);
+            if (compress) {
+                target = new GZIPOutputStream(target, STREAM_BUFFER_SIZE) {
+
+                    {
+                        def.setLevel(Deflater.BEST_SPEED);
+                    }
+                };
+            }
+            ObjectOutputStream objectOut = new ObjectOutputStream(target);
+            objectOut.writeObject(obj);
+            // 结束GZIP并释放压缩器，不关闭out
+            objectOut.close();
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        }
+    }
+
+    /**
+     * 从流中反序列化，GZIP压缩的数据自动解压，不关闭流<br/>
+     * 流中对象之后的数据可能已被读入缓冲区
+     * 
+     * @param in 输入流
+     * @return 得到的对象
+     */
+    public static Object deserialization(InputStream in) {
+        ObjectInputStream objectIn = null;
+        try {
+            PushbackInputStream pushbackIn = new PushbackInputStream(new NonClosingInputStream(in), 2);
+            byte[] magic = new byte[2];
+            int count = pushbackIn.read(magic);
+            while (count == 1) {
+                int b = pushbackIn.read();
+                if (b < 0) {
+                    break;
+                }
+                magic[count++] = (byte)b;
+            }
+            if (count > 0) {
+                pushbackIn.unread(magic, 0, count);
+            }
+            InputStream source = pushbackIn;
+            if (count == 2 && (magic[0] & 0xff) == (GZIPInputStream.GZIP_MAGIC & 0xff)
+                && (magic[1] & 0xff) == (GZIPInputStream.GZIP_MAGIC >>> 8)) {
+                source = new GZIPInputStream(pushbackIn, STREAM_BUFFER_SIZE);
+            }
+            objectIn = new ObjectInputStream(source);
+            return objectIn.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("ClassNotFoundException occurred. ", e);
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        } finally {
+            if (objectIn != null) {
+                try {
+                    objectIn.close();
+                } catch (IOException e) {
+                    throw new RuntimeException("IOException occurred. ", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 序列化为byte数组
+     * 
+     * @param obj 序列化的对象
+     * @param compress 是否使用GZIP压缩，见{@link #serialization(OutputStream, Object, boolean)}
+     * @return
+     */
+    public static byte[] serialization(Object obj, boolean compress) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serialization(out, obj, compress);
+        return out.toByteArray();
+    }
+
+    /**
+     * 从byte数组反序列化，GZIP压缩的数据自动解压
+     * 
+     * @param bytes {@link #serialization(Object, boolean)}得到的byte数组
+     * @return 得到的对象
+     */
+    public static Object deserialization(byte[] bytes) {
+        return deserialization(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * 通过codec编码对象为byte数组
+     * 
+     * @param obj 对象
+     * @param codec 编解码
+     * @return
+     */
+    public static <T> byte[] encode(T obj, Codec<T> codec) {
+        ByteBuffer buffer = encodeToBuffer(obj, codec);
+        try {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    /**
+     * 通过codec从byte数组解码对象
+     * 
+     * @param bytes {@link #encode(Object, Codec)}得到的byte数组
+     * @param codec 编解码
+     * @return
+     */
+    public static <T> T decode(byte[] bytes, Codec<T> codec) {
+        return codec.decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * 通过codec编码对象，写入4字节长度和编码后的字节到流中，不关闭流
+     * 
+     * @param obj 对象
+     * @param codec 编解码
+     * @param out 输出流
+     */
+    public static <T> void encode(T obj, Codec<T> codec, OutputStream out) {
+        ByteBuffer buffer = encodeToBuffer(obj, codec);
+        try {
+            int length = buffer.remaining();
+            out.write(new byte[] {(byte)(length >>> 24), (byte)(length >>> 16), (byte)(length >>> 8), (byte)length});
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    /**
+     * 从流中读取{@link #encode(Object, Codec, OutputStream)}写入的一个对象，不关闭流
+     * 
+     * @param in 输入流
+     * @param codec 编解码
+     * @return
+     */
+    public static <T> T decode(InputStream in, Codec<T> codec) {
+        try {
+            DataInputStream dataIn = new DataInputStream(in);
+            int length = dataIn.readInt();
+            if (length < 0) {
+                throw new RuntimeException("The length of encoded object must not be less than 0: " + length);
+            }
+            byte[] bytes = new byte[length];
+            dataIn.readFully(bytes);
+            return decode(bytes, codec);
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        }
+    }
+
+    /**
+     * 通过codec序列化对象到文件，见{@link #encode(Object, Codec, OutputStream)}
+     * 
+     * @param filePath 序列化文件路径
+     * @param obj 序列化的对象
+     * @param codec 编解码
+     */
+    public static <T> void serialization(String filePath, T obj, Codec<T> codec) {
+        OutputStream out = null;
+        try {
+            out = new FileOutputStream(filePath);
+            encode(obj, codec, out);
+            out.close();
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException("FileNotFoundException occurred. ", e);
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    throw new RuntimeException("IOException occurred. ", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 通过codec从{@link #serialization(String, Object, Codec)}序列化的文件中反序列化对象
+     * 
+     * @param filePath 序列化文件路径
+     * @param codec 编解码
+     * @return 得到的对象
+     */
+    public static <T> T deserialization(String filePath, Codec<T> codec) {
+        InputStream in = null;
+        try {
+            in = new FileInputStream(filePath);
+            return decode(in, codec);
+        } catch (FileNotFoundException e) {
+            throw new RuntimeException("FileNotFoundException occurred. ", e);
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    throw new RuntimeException("IOException occurred. ", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 编码对象到当前线程的缓冲区，缓冲区不足时扩大后重新编码
+     * 
+     * @return position到limit为编码后的字节，用完后通过{@link #releaseBuffer(ByteBuffer)}归还
+     */
+    private static <T> ByteBuffer encodeToBuffer(T obj, Codec<T> codec) {
+        if (codec == null) {
+            throw new IllegalArgumentException("The codec must not be null.");
+        }
+
+        ByteBuffer buffer = BUFFER_CACHE.get();
+        // codec中嵌套调用时缓冲区正在使用
+        BUFFER_CACHE.set(null);
+        if (buffer == null) {
+            buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        }
+        while (true) {
+            buffer.clear();
+            try {
+                codec.encode(obj, buffer);
+                buffer.flip();
+                return buffer;
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() << 1);
+            }
+        }
+    }
+
+    private static void releaseBuffer(ByteBuffer buffer) {
+        if (buffer.capacity() <= MAX_CACHED_BUFFER_SIZE) {
+            BUFFER_CACHE.set(buffer);
+        }
+    }
+
+    /**
+     * close时只flush，不关闭被包装的流
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out){
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    /**
+     * close时不关闭被包装的流
+     */
+    private static class NonClosingInputStream extends FilterInputStream {
+
+        NonClosingInputStream(InputStream in){
+            super(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.trinea.java.common.entity;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * 缓存统计的快照，不可修改<br/>
+ * <br/>
+ * <ul>
+ * <li>包括命中、未命中、获取数据成功和失败的次数、获取数据用时的直方图以及按{@link RemovalCause}分类的删除个数</li>
+ * <li>获取数据用时以纳秒计，直方图第0个桶为小于1微秒，第i个桶为[2^(i-1), 2^i)微秒，最后一个桶包含所有更长的用时</li>
+ * <li>统计只增不减，两次快照通过{@link #minus(CacheStats)}得到这段时间内的增量，可以每秒轮询</li>
+ * </ul>
+ * 
+ * @author Trinea 2012-7-16 下午09:20:31
+ */
+public class CacheStats implements Serializable {
+
+    private static final long serialVersionUID       = 1L;
+
+    /** 获取数据用时直方图的桶个数 **/
+    public static final int   HISTOGRAM_BUCKET_COUNT = 32;
+
+    private final long        hitCount;
+    private final long        missCount;
+    private final long        loadSuccessCount;
+    private final long        loadFailureCount;
+    /** 获取数据总用时，以纳秒计 **/
+    private final long        totalLoadTime;
+    private final long[]      loadTimeHistogram;
+    /** 按{@link RemovalCause#ordinal()}分类的删除个数 **/
+    private final long[]      removalCounts;
+
+    /**
+     * @param hitCount 命中次数
+     * @param missCount 未命中次数
+     * @param loadSuccessCount 获取数据成功次数
+     * @param loadFailureCount 获取数据失败次数
+     * @param totalLoadTime 获取数据总用时，以纳秒计
+     * @param loadTimeHistogram 获取数据用时直方图，长度为{@link #HISTOGRAM_BUCKET_COUNT}，为null表示全为0
+     * @param removalCounts 按{@link RemovalCause#ordinal()}分类的删除个数，为null表示全为0
+     */
+    public CacheStats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+                      long totalLoadTime, long[] loadTimeHistogram, long[] removalCounts){
+        if (loadTimeHistogram != null && loadTimeHistogram.length != HISTOGRAM_BUCKET_COUNT) {
+            throw new IllegalArgumentException("The length of loadTimeHistogram must be " + HISTOGRAM_BUCKET_COUNT
+                                               + ".");
+        }
+        if (removalCounts != null && removalCounts.length != RemovalCause.values().length) {
+            throw new IllegalArgumentException("The length of removalCounts must be " + RemovalCause.values().length
+                                               + ".");
+        }
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.loadTimeHistogram = (loadTimeHistogram == null ? new long[HISTOGRAM_BUCKET_COUNT]
+            : loadTimeHistogram.clone());
+        this.removalCounts = (removalCounts == null ? new long[RemovalCause.values().length] : removalCounts.clone());
+    }
+
+    /**
+     * 所有统计均为0的快照
+     * 
+     * @return
+     */
+    public static CacheStats empty() {
+        return new CacheStats(0, 0, 0, 0, 0, null, null);
+    }
+
+    /**
+     * 得到获取数据用时所在的直方图桶
+     * 
+     * @param loadTime 获取数据用时，以纳秒计
+     * @return
+     */
+    public static int getBucketIndex(long loadTime) {
+        long micros = Math.max(loadTime, 0) / 1000;
+        return Math.min(64 - Long.numberOfLeadingZeros(micros), HISTOGRAM_BUCKET_COUNT - 1);
+    }
+
+    /**
+     * 得到直方图桶的上界，最后一个桶返回{@link Long#MAX_VALUE}
+     * 
+     * @param index 桶下标
+     * @return 以纳秒计
+     */
+    public static long getBucketUpperBound(int index) {
+        return index >= HISTOGRAM_BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << index) * 1000;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * 得到get次数，即命中次数与未命中次数之和
+     * 
+     * @return
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * 得到命中率，没有get时为0
+     * 
+     * @return
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 0 : ((double)hitCount / requestCount);
+    }
+
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * 得到获取数据次数，即成功次数与失败次数之和
+     * 
+     * @return
+     */
+    public long getLoadCount() {
+        return loadSuccessCount + loadFailureCount;
+    }
+
+    /**
+     * 得到获取数据失败率，没有获取数据时为0
+     * 
+     * @return
+     */
+    public double getLoadFailureRate() {
+        long loadCount = getLoadCount();
+        return loadCount == 0 ? 0 : ((double)loadFailureCount / loadCount);
+    }
+
+    /**
+     * 得到获取数据总用时，以纳秒计
+     * 
+     * @return
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * 得到获取数据平均用时，以纳秒计，没有获取数据时为0
+     * 
+     * @return
+     */
+    public double getAverageLoadTime() {
+        long loadCount = getLoadCount();
+        return loadCount == 0 ? 0 : ((double)totalLoadTime / loadCount);
+    }
+
+    /**
+     * 得到获取数据用时直方图的拷贝，见{@link #getBucketIndex(long)}
+     * 
+     * @return
+     */
+    public long[] getLoadTimeHistogram() {
+        return loadTimeHistogram.clone();
+    }
+
+    /**
+     * 由直方图估计获取数据用时的百分位数
+     * 
+     * @param percentile 百分位，0到1之间，如0.99
+     * @return 以纳秒计，为所在桶的上界，没有获取数据时为0
+     */
+    public long getLoadTimePercentile(double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 1.");
+        }
+
+        long total = 0;
+        for (long count : loadTimeHistogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max((long)Math.ceil(percentile * total), 1), count = 0;
+        for (int i = 0; i < loadTimeHistogram.length; i++) {
+            count += loadTimeHistogram[i];
+            if (count >= rank) {
+                return getBucketUpperBound(i);
+            }
+        }
+        return getBucketUpperBound(loadTimeHistogram.length - 1);
+    }
+
+    /**
+     * 得到某种原因删除的元素个数
+     * 
+     * @param cause
+     * @return
+     */
+    public long getRemovalCount(RemovalCause cause) {
+        return removalCounts[cause.ordinal()];
+    }
+
+    /**
+     * 得到因缓存容量限制删除的元素个数，见{@link RemovalCause#isEviction()}
+     * 
+     * @return
+     */
+    public long getEvictionCount() {
+        long count = 0;
+        for (RemovalCause cause : RemovalCause.values()) {
+            if (cause.isEviction()) {
+                count += removalCounts[cause.ordinal()];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 得到过期删除的元素个数
+     * 
+     * @return
+     */
+    public long getExpiredCount() {
+        return getRemovalCount(RemovalCause.EXPIRED);
+    }
+
+    /**
+     * 得到当前快照与之前快照的差，即两次快照之间的增量，结果中的负数按0处理
+     * 
+     * @param other 之前的快照
+     * @return
+     */
+    public CacheStats minus(CacheStats other) {
+        long[] histogram = new long[HISTOGRAM_BUCKET_COUNT];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = Math.max(0, loadTimeHistogram[i] - other.loadTimeHistogram[i]);
+        }
+        long[] removals = new long[removalCounts.length];
+        for (int i = 0; i < removals.length; i++) {
+            removals[i] = Math.max(0, removalCounts[i] - other.removalCounts[i]);
+        }
+        return new CacheStats(Math.max(0, hitCount - other.hitCount), Math.max(0, missCount - other.missCount),
+                              Math.max(0, loadSuccessCount - other.loadSuccessCount),
+                              Math.max(0, loadFailureCount - other.loadFailureCount),
+                              Math.max(0, totalLoadTime - other.totalLoadTime), histogram, removals);
+    }
+
+    /**
+     * 得到当前快照与另一快照的和，用于合并多个缓存的统计
+     * 
+     * @param other
+     * @return
+     */
+    public CacheStats plus(CacheStats other) {
+        long[] histogram = new long[HISTOGRAM_BUCKET_COUNT];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = loadTimeHistogram[i] + other.loadTimeHistogram[i];
+        }
+        long[] removals = new long[removalCounts.length];
+        for (int i = 0; i < removals.length; i++) {
+            removals[i] = removalCounts[i] + other.removalCounts[i];
+        }
+        return new CacheStats(hitCount + other.hitCount, missCount + other.missCount,
+                              loadSuccessCount + other.loadSuccessCount, loadFailureCount + other.loadFailureCount,
+                              totalLoadTime + other.totalLoadTime, histogram, removals);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hitCount=" + hitCount + ", missCount=" + missCount + ", loadSuccessCount="
+               + loadSuccessCount + ", loadFailureCount=" + loadFailureCount + ", totalLoadTime=" + totalLoadTime
+               + ", loadTimeHistogram=" + Arrays.toString(loadTimeHistogram) + ", removalCounts="
+               + Arrays.toString(removalCounts) + "}";
+    }
+}
@@ -0,0 +1,29 @@
+package com.trinea.java.common.entity;
+
+/**
+ * 元素从缓存中删除的原因
+ * 
+ * @author Trinea 2012-7-16 下午09:12:45
+ */
+public enum RemovalCause {
+
+    /** 手动删除，包括remove、removeAll和clear **/
+    EXPLICIT,
+    /** 被相同key的新元素替换 **/
+    REPLACED,
+    /** 元素过期 **/
+    EXPIRED,
+    /** 元素个数达到缓存最大容量时被删除 **/
+    SIZE,
+    /** 权重之和超过缓存最大权重或堆外内存不足时被删除 **/
+    WEIGHT;
+
+    /**
+     * 是否因缓存容量限制被删除
+     * 
+     * @return
+     */
+    public boolean isEviction() {
+        return this == SIZE || this == WEIGHT;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.service;
+
+import com.trinea.java.common.entity.CacheObject;
+
+/**
+ * 缓存满时删除元素的索引<br/>
+ * <br/>
+ * 按照删除顺序维护缓存中的key，使缓存满时选出待删除元素的复杂度为O(1)或O(log n)，而不需要遍历整个缓存。<br/>
+ * 索引本身非线程安全，由缓存在持有锁时调用
+ * 
+ * @author Trinea 2012-6-20 下午10:12:36
+ */
+public interface CacheRemoveIndex<K, V> {
+
+    /**
+     * 元素put进缓存，包括替换已存在的key
+     * 
+     * @param key
+     * @param value
+     */
+    public void onPut(K key, CacheObject<V> value);
+
+    /**
+     * 元素被get，此时元素的使用信息已经更新
+     * 
+     * @param key
+     * @param value
+     */
+    public void onGet(K key, CacheObject<V> value);
+
+    /**
+     * 元素从缓存中删除，key不在索引中时忽略
+     * 
+     * @param key
+     */
+    public void onRemove(K key);
+
+    /**
+     * 从索引中删除并返回下一个应该从缓存中删除的key，索引为空时返回null
+     * 
+     * @return
+     */
+    public K poll();
+
+    /**
+     * 索引中key的个数
+     * 
+     * @return
+     */
+    public int size();
+
+    /**
+     * 清空索引
+     */
+    public void clear();
+}
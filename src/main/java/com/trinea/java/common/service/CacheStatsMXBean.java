@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.service;
+
+/**
+ * 缓存监控指标，通过JMX暴露，也作为{@link CacheStatsReporter}报告的当前指标<br/>
+ * <br/>
+ * 计数均为缓存创建以来的累计值，时间以毫秒计
+ * 
+ * @author Trinea 2012-7-18 下午08:05:37
+ */
+public interface CacheStatsMXBean {
+
+    /**
+     * 得到缓存名称
+     * 
+     * @return
+     */
+    public String getName();
+
+    /**
+     * 得到缓存中元素个数
+     * 
+     * @return
+     */
+    public int getSize();
+
+    public long getHitCount();
+
+    public long getMissCount();
+
+    public double getHitRate();
+
+    /**
+     * 得到因缓存容量限制删除的元素个数
+     * 
+     * @return
+     */
+    public long getEvictionCount();
+
+    public long getExpiredCount();
+
+    public long getLoadSuccessCount();
+
+    public long getLoadFailureCount();
+
+    /**
+     * 得到获取数据平均用时
+     * 
+     * @return
+     */
+    public double getAverageLoadTime();
+
+    /**
+     * 得到获取数据用时的50百分位数，为直方图桶的上界
+     * 
+     * @return
+     */
+    public double getLoadTime50thPercentile();
+
+    /**
+     * 得到获取数据用时的95百分位数，为直方图桶的上界
+     * 
+     * @return
+     */
+    public double getLoadTime95thPercentile();
+
+    /**
+     * 得到获取数据用时的99百分位数，为直方图桶的上界
+     * 
+     * @return
+     */
+    public double getLoadTime99thPercentile();
+
+    /**
+     * 得到正在获取数据的key个数，不自动获取数据的缓存为0
+     * 
+     * @return
+     */
+    public int getLoadingCount();
+}
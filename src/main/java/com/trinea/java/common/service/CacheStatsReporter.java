@@ -0,0 +1,26 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.service;
+
+import com.trinea.java.common.entity.CacheStats;
+
+/**
+ * 缓存监控指标的报告接口，用于将指标发送到监控系统，由{@link com.trinea.java.common.serviceImpl.CacheMonitor}定时调用
+ * 
+ * @author Trinea 2012-7-18 下午08:12:19
+ */
+public interface CacheStatsReporter {
+
+    /**
+     * 报告缓存监控指标
+     * 
+     * @param metrics 当前指标
+     * @param delta 距上次报告的统计增量，可用于计算这段时间的命中率等，第一次报告时为缓存创建以来的统计
+     */
+    public void report(CacheStatsMXBean metrics, CacheStats delta);
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.service;
+
+import java.io.Serializable;
+
+/**
+ * 计算缓存元素的权重，用于按权重(如占用字节数)限制缓存容量
+ * 
+ * @author Trinea 2012-7-4 下午09:32:17
+ */
+public interface CacheWeigher<K, V> extends Serializable {
+
+    /**
+     * 计算元素的权重，元素在缓存中时权重不会重新计算
+     * 
+     * @param key key
+     * @param value 元素值，可能为null
+     * @return 权重，不能小于0
+     */
+    public int weigh(K key, V value);
+}
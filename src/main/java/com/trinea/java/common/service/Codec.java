@@ -0,0 +1,37 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 对象与字节之间的编解码
+ * 
+ * @author Trinea 2012-7-6 下午10:05:42
+ */
+public interface Codec<T> {
+
+    /**
+     * 将对象编码后写入buffer，从buffer的position开始写，写完后position位于编码结束处
+     * <ul>
+     * <li>buffer剩余空间不足时抛出{@link java.nio.BufferOverflowException}，调用者可以扩大buffer后重试</li>
+     * </ul>
+     * 
+     * @param value 对象，可能为null
+     * @param buffer
+     */
+    public void encode(T value, ByteBuffer buffer);
+
+    /**
+     * 从buffer的position开始读取并解码对象，读完后position位于编码结束处
+     * 
+     * @param buffer
+     * @return
+     */
+    public T decode(ByteBuffer buffer);
+}
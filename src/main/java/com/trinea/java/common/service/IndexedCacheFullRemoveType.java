@@ -0,0 +1,28 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.service;
+
+/**
+ * 可以建立删除索引的缓存满时删除数据的类型<br/>
+ * <br/>
+ * 实现此接口的类型缓存满时通过{@link CacheRemoveIndex}选出待删除元素，否则缓存遍历所有元素并通过
+ * {@link CacheFullRemoveType#compare(com.trinea.java.common.entity.CacheObject, com.trinea.java.common.entity.CacheObject)}
+ * 选出待删除元素
+ * 
+ * @author Trinea 2012-6-20 下午10:30:12
+ */
+public interface IndexedCacheFullRemoveType<V> extends CacheFullRemoveType<V> {
+
+    /**
+     * 新建删除索引，索引的删除顺序需要与{@link #compare(com.trinea.java.common.entity.CacheObject, com.trinea.java.common.entity.CacheObject)}一致
+     * 
+     * @param maxSize 缓存最大容量
+     * @return
+     */
+    public <K> CacheRemoveIndex<K, V> newRemoveIndex(int maxSize);
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.service;
+
+import java.io.Serializable;
+
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.entity.RemovalCause;
+
+/**
+ * 元素从缓存中删除时的回调，可用于写回修改过的数据或释放元素占用的资源<br/>
+ * <br/>
+ * 由缓存在元素删除后提交到线程池异步执行，不在缓存的锁内执行，同一key的多次回调之间没有顺序保证
+ * 
+ * @author Trinea 2012-7-19 下午10:03:51
+ */
+public interface RemovalListener<K, V> extends Serializable {
+
+    /**
+     * 元素已从缓存中删除
+     * 
+     * @param key key
+     * @param value 被删除的元素
+     * @param cause 删除原因
+     */
+    public void onRemoval(K key, CacheObject<V> value, RemovalCause cause);
+}
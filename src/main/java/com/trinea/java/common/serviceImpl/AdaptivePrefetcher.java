@@ -0,0 +1,426 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.trinea.java.common.ObjectUtils;
+
+/**
+ * 自适应预取，根据访问规律自动调整{@link AutoGetDataCache}预取的个数<br/>
+ * <br/>
+ * <ul>
+ * <li>每个访问序列(keyList)分别记录相邻两次访问的方向和步长，方向和步长不变时认为访问有规律，变化时预取个数恢复为最小值</li>
+ * <li>访问有规律时，沿访问方向按步长预取cacheNumber个元素，反方向预取最小个数个相邻元素，只统计访问方向上的预取</li>
+ * <li>访问有规律但未命中时，说明预取不够，预取个数加倍，不超过最大值</li>
+ * <li>预取的元素被访问序列越过仍未访问时记为浪费，预取个数减1，不小于最小值</li>
+ * </ul>
+ * <ul>
+ * 访问序列
+ * <li>按keyList对象本身区分，多个调用者同时访问不同的keyList时互不影响</li>
+ * <li>只保存keyList的弱引用，keyList被回收后删除其记录</li>
+ * <li>最多记录maxSequenceCount个序列，超过时删除最久未访问的序列，其未访问的预取记为浪费</li>
+ * </ul>
+ * 各项统计见{@link #getPrefetchCount()}、{@link #getPrefetchHitCount()}、{@link #getPrefetchWasteCount()}、
+ * {@link #getIncreaseCount()}、{@link #getDecreaseCount()}<br/>
+ * 线程安全
+ * 
+ * @author Trinea 2012-7-12 下午09:36:20
+ */
+public class AdaptivePrefetcher<K> {
+
+    /** 默认最小预取个数 **/
+    public static final int                               DEFAULT_MIN_CACHE_NUMBER   = 1;
+    /** 默认最大预取个数 **/
+    public static final int                               DEFAULT_MAX_CACHE_NUMBER   = 32;
+    /** 默认最多记录的访问序列个数 **/
+    public static final int                               DEFAULT_MAX_SEQUENCE_COUNT = 64;
+
+    private final int                                     minCacheNumber;
+    private final int                                     maxCacheNumber;
+    private final int                                     maxSequenceCount;
+
+    /** 访问序列到其访问规律的map，按访问顺序 **/
+    private final LinkedHashMap<SequenceKey, Sequence<K>> sequenceMap;
+    /** 已被回收的keyList **/
+    private final ReferenceQueue<Object>                  queue                      = new ReferenceQueue<Object>();
+    /** 最近一次访问的序列，为null表示没有访问 **/
+    private Sequence<K>                                   lastSequence;
+
+    private long                                          accessCount;
+    private long                                          prefetchCount;
+    private long                                          prefetchHitCount;
+    private long                                          prefetchWasteCount;
+    private long                                          increaseCount;
+    private long                                          decreaseCount;
+
+    /**
+     * 预取个数在{@link #DEFAULT_MIN_CACHE_NUMBER}和{@link #DEFAULT_MAX_CACHE_NUMBER}之间，最多记录
+     * {@link #DEFAULT_MAX_SEQUENCE_COUNT}个访问序列
+     */
+    public AdaptivePrefetcher(){
+        this(DEFAULT_MIN_CACHE_NUMBER, DEFAULT_MAX_CACHE_NUMBER);
+    }
+
+    /**
+     * 最多记录{@link #DEFAULT_MAX_SEQUENCE_COUNT}个访问序列
+     * 
+     * @param minCacheNumber 最小预取个数，不小于0
+     * @param maxCacheNumber 最大预取个数，不小于minCacheNumber并且大于0
+     */
+    public AdaptivePrefetcher(int minCacheNumber, int maxCacheNumber){
+        this(minCacheNumber, maxCacheNumber, DEFAULT_MAX_SEQUENCE_COUNT);
+    }
+
+    /**
+     * @param minCacheNumber 最小预取个数，不小于0
+     * @param maxCacheNumber 最大预取个数，不小于minCacheNumber并且大于0
+     * @param maxSequenceCount 最多记录的访问序列个数，大于0
+     */
+    public AdaptivePrefetcher(int minCacheNumber, int maxCacheNumber, int maxSequenceCount){
+        if (minCacheNumber < 0) {
+            throw new IllegalArgumentException("The minCacheNumber must not be less than 0.");
+        }
+        if (maxCacheNumber <= 0) {
+            throw new IllegalArgumentException("The maxCacheNumber must be greater than 0.");
+        }
+        if (maxCacheNumber < minCacheNumber) {
+            throw new IllegalArgumentException("The maxCacheNumber must not be less than minCacheNumber.");
+        }
+        if (maxSequenceCount <= 0) {
+            throw new IllegalArgumentException("The maxSequenceCount must be greater than 0.");
+        }
+
+        this.minCacheNumber = minCacheNumber;
+        this.maxCacheNumber = maxCacheNumber;
+        this.maxSequenceCount = maxSequenceCount;
+        this.sequenceMap = new LinkedHashMap<SequenceKey, Sequence<K>>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SequenceKey, Sequence<K>> eldest) {
+                if (size() <= AdaptivePrefetcher.this.maxSequenceCount) {
+                    return false;
+                }
+                prefetchWasteCount += eldest.getValue().prefetchedKeys.size();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * 记录一次访问，调整该访问序列的预取个数并返回需要预取的key
+     * 
+     * @param key 访问的key
+     * @param keyList 访问序列
+     * @param position key在keyList中的位置
+     * @param hit 是否命中缓存
+     * @return 需要预取的key
+     */
+    public synchronized List<K> onAccess(K key, List<K> keyList, int position, boolean hit) {
+        accessCount++;
+        Sequence<K> sequence = getSequence(keyList);
+        lastSequence = sequence;
+        if (sequence.prefetchedKeys.remove(key) != null && hit) {
+            prefetchHitCount++;
+        }
+
+        if (sequence.lastPosition >= 0 && position != sequence.lastPosition) {
+            int newDirection = (position > sequence.lastPosition ? 1 : -1);
+            int newStride = Math.abs(position - sequence.lastPosition);
+            if (newDirection != sequence.direction || newStride != sequence.stride) {
+                resetPattern(sequence, newDirection, newStride);
+            } else if (removeWaste(sequence, position) > 0) {
+                if (sequence.cacheNumber > minCacheNumber) {
+                    sequence.cacheNumber--;
+                    decreaseCount++;
+                }
+            } else if (!hit && sequence.cacheNumber < maxCacheNumber) {
+                sequence.cacheNumber = Math.max(1, Math.min(sequence.cacheNumber * 2, maxCacheNumber));
+                increaseCount++;
+            }
+        }
+        sequence.lastPosition = position;
+
+        List<K> cacheKeyList = new ArrayList<K>();
+        int forward = (sequence.direction == 0 ? 1 : sequence.direction);
+        for (int i = 1; i <= sequence.cacheNumber; i++) {
+            if (!addPrefetch(sequence, cacheKeyList, key, keyList, position + forward * sequence.stride * i, true)) {
+                break;
+            }
+        }
+        for (int i = 1; i <= minCacheNumber; i++) {
+            if (!addPrefetch(sequence, cacheKeyList, key, keyList, position - forward * i, false)) {
+                break;
+            }
+        }
+        // 未访问的预取记录过多时，最早的记为浪费
+        Iterator<Integer> iterator = sequence.prefetchedKeys.values().iterator();
+        while (sequence.prefetchedKeys.size() > (maxCacheNumber + minCacheNumber) * 2 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            prefetchWasteCount++;
+        }
+        return cacheKeyList;
+    }
+
+    /**
+     * 得到keyList对应的访问序列，不存在时新建，同时删除keyList已被回收的序列
+     * 
+     * @param keyList
+     * @return
+     */
+    private Sequence<K> getSequence(List<K> keyList) {
+        Reference<?> reference;
+        while ((reference = queue.poll()) != null) {
+            Sequence<K> sequence = sequenceMap.remove(reference);
+            if (sequence != null) {
+                prefetchWasteCount += sequence.prefetchedKeys.size();
+            }
+        }
+
+        Sequence<K> sequence = sequenceMap.get(new SequenceKey(keyList, null));
+        if (sequence == null) {
+            sequence = new Sequence<K>(minCacheNumber);
+            sequenceMap.put(new SequenceKey(keyList, queue), sequence);
+        }
+        return sequence;
+    }
+
+    /**
+     * 访问模式改变，预取个数恢复为最小值
+     */
+    private void resetPattern(Sequence<K> sequence, int newDirection, int newStride) {
+        sequence.direction = newDirection;
+        sequence.stride = newStride;
+        sequence.cacheNumber = minCacheNumber;
+    }
+
+    /**
+     * 删除已被访问序列越过的预取记录
+     * 
+     * @param sequence 访问序列
+     * @param position 当前访问位置
+     * @return 删除的个数
+     */
+    private int removeWaste(Sequence<K> sequence, int position) {
+        int count = 0;
+        Iterator<Integer> iterator = sequence.prefetchedKeys.values().iterator();
+        while (iterator.hasNext()) {
+            if ((iterator.next() - position) * sequence.direction < 0) {
+                iterator.remove();
+                count++;
+            }
+        }
+        prefetchWasteCount += count;
+        return count;
+    }
+
+    /**
+     * 添加需要预取的key
+     * 
+     * @param record 是否记录预取，反方向的预取通常是刚访问过的元素，不记录
+     * @return position是否在keyList范围内
+     */
+    private boolean addPrefetch(Sequence<K> sequence, List<K> cacheKeyList, K key, List<K> keyList, int position,
+                                boolean record) {
+        if (position < 0 || position >= keyList.size()) {
+            return false;
+        }
+
+        K k = keyList.get(position);
+        if (k != null && !ObjectUtils.isEquals(k, key)) {
+            cacheKeyList.add(k);
+            if (record && sequence.prefetchedKeys.put(k, position) == null) {
+                prefetchCount++;
+            }
+        }
+        return true;
+    }
+
+    public int getMinCacheNumber() {
+        return minCacheNumber;
+    }
+
+    public int getMaxCacheNumber() {
+        return maxCacheNumber;
+    }
+
+    public int getMaxSequenceCount() {
+        return maxSequenceCount;
+    }
+
+    /**
+     * 得到记录的访问序列个数
+     * 
+     * @return
+     */
+    public synchronized int getSequenceCount() {
+        return sequenceMap.size();
+    }
+
+    /**
+     * 得到最近一次访问的序列在访问方向上当前的预取个数
+     * 
+     * @return
+     */
+    public synchronized int getCacheNumber() {
+        return lastSequence == null ? minCacheNumber : lastSequence.cacheNumber;
+    }
+
+    /**
+     * 得到最近一次访问的序列的访问方向
+     * 
+     * @return 1表示向前，-1表示向后，0表示未知
+     */
+    public synchronized int getDirection() {
+        return lastSequence == null ? 0 : lastSequence.direction;
+    }
+
+    /**
+     * 得到最近一次访问的序列的访问步长
+     * 
+     * @return
+     */
+    public synchronized int getStride() {
+        return lastSequence == null ? 1 : lastSequence.stride;
+    }
+
+    /**
+     * 得到访问次数
+     * 
+     * @return
+     */
+    public synchronized long getAccessCount() {
+        return accessCount;
+    }
+
+    /**
+     * 得到预取的key个数
+     * 
+     * @return
+     */
+    public synchronized long getPrefetchCount() {
+        return prefetchCount;
+    }
+
+    /**
+     * 得到预取后被访问并且命中的key个数
+     * 
+     * @return
+     */
+    public synchronized long getPrefetchHitCount() {
+        return prefetchHitCount;
+    }
+
+    /**
+     * 得到预取后未被访问的key个数
+     * 
+     * @return
+     */
+    public synchronized long getPrefetchWasteCount() {
+        return prefetchWasteCount;
+    }
+
+    /**
+     * 得到预取命中率，即预取命中个数/(预取命中个数+浪费个数)
+     * 
+     * @return
+     */
+    public synchronized double getPrefetchHitRate() {
+        long count = prefetchHitCount + prefetchWasteCount;
+        return count == 0 ? 0 : ((double)prefetchHitCount / count);
+    }
+
+    /**
+     * 得到预取个数增加的次数
+     * 
+     * @return
+     */
+    public synchronized long getIncreaseCount() {
+        return increaseCount;
+    }
+
+    /**
+     * 得到预取个数减少的次数
+     * 
+     * @return
+     */
+    public synchronized long getDecreaseCount() {
+        return decreaseCount;
+    }
+
+    /**
+     * 清空访问序列和统计
+     */
+    public synchronized void clear() {
+        sequenceMap.clear();
+        lastSequence = null;
+        accessCount = prefetchCount = prefetchHitCount = prefetchWasteCount = 0;
+        increaseCount = decreaseCount = 0;
+    }
+
+    /**
+     * 一个访问序列的访问规律
+     */
+    private static class Sequence<K> {
+
+        /** 上次访问的位置，小于0表示序列刚开始 **/
+        private int                             lastPosition   = -1;
+        /** 访问方向，1表示向前，-1表示向后，0表示未知 **/
+        private int                             direction;
+        /** 访问步长 **/
+        private int                             stride         = 1;
+        /** 访问方向上的预取个数 **/
+        private int                             cacheNumber;
+        /** 已预取但尚未访问的key及其位置，按预取顺序 **/
+        private final LinkedHashMap<K, Integer> prefetchedKeys = new LinkedHashMap<K, Integer>();
+
+        public Sequence(int cacheNumber){
+            this.cacheNumber = cacheNumber;
+        }
+    }
+
+    /**
+     * keyList的弱引用，按keyList对象本身比较，避免计算很长的keyList的hashCode
+     */
+    private static class SequenceKey extends WeakReference<Object> {
+
+        private final int hash;
+
+        public SequenceKey(Object keyList, ReferenceQueue<Object> queue){
+            super(keyList, queue);
+            this.hash = System.identityHashCode(keyList);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof SequenceKey)) {
+                return false;
+            }
+            Object keyList = get();
+            return keyList != null && keyList == ((SequenceKey)o).get();
+        }
+    }
+}
@@ -1,431 +1,1574 @@
-package com.trinea.java.common.serviceImpl;
-
-import java.io.Serializable;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
-
-import com.trinea.java.common.ListUtils;
-import com.trinea.java.common.ObjectUtils;
-import com.trinea.java.common.SerializeUtils;
-import com.trinea.java.common.entity.CacheObject;
-import com.trinea.java.common.service.CacheFullRemoveType;
-
-/**
- * <strong>自动获取新数据的缓存</strong>，适用于获取数据较耗时的应用，如网络通讯、响应慢数据获取。<br/>
- * <br/>
- * 可用来自动获取新数据进行缓存。支持前后双向多个数据缓存，使得数据获取效率大大提高，下次使用该数据时不用实时获取直接读取缓存即可<br/>
- * <br/>
- * <ul>
- * 缓存设置及使用
- * <li>使用下面缓存初始化中介绍的几种构造函数之一初始化缓存，使用{@link #setForwardCacheNumber(int)}设置向前缓存个数，默认个数为
- * {@link #DEFAULT_FORWARD_CACHE_NUMBER}；使用{@link #setBackCacheNumber(int)} 设置向后缓存个数，默认个数为
- * {@link #DEFAULT_BACK_CACHE_NUMBER}</li>
- * <li>使用{@link #get(Object, List)}get某个key，并且会自动获取list中key进行缓存</li>
- * <li>使用{@link #get(Object)}get某个key，但不会自动获取新数据进行缓存</li>
- * <li>使用{@link #loadCache(String)}从文件中恢复缓存</li>
- * <li>使用{@link SimpleCache#saveCache(String, SimpleCache)}保存缓存到文件</li>
- * </ul>
- * <ul>
- * 缓存初始化
- * <li>{@link #AutoGetDataCache(OnGetDataListener)}</li>
- * <li>{@link #AutoGetDataCache(OnGetDataListener, int)}</li>
- * <li>{@link #AutoGetDataCache(OnGetDataListener, int, long)}</li>
- * <li>{@link #AutoGetDataCache(OnGetDataListener, int, CacheFullRemoveType)}</li>
- * <li>{@link #AutoGetDataCache(OnGetDataListener, int, long, CacheFullRemoveType)}</li>
- * <li>{@link #loadCache(String)}从文件中恢复缓存</li>
- * </ul>
- * 
- * @author Trinea 2012-3-4 下午12:39:17
- */
-public class AutoGetDataCache<K, V> extends SimpleCache<K, V> {
-
-    private static final long               serialVersionUID             = 1L;
-
-    /** 默认自动向前缓存的个数 **/
-    private static final int                DEFAULT_FORWARD_CACHE_NUMBER = 3;
-
-    /** 默认自动向后缓存的个数 **/
-    private static final int                DEFAULT_BACK_CACHE_NUMBER    = 1;
-
-    /** 自动向前缓存的个数，默认个数为{@link #DEFAULT_FORWARD_CACHE_NUMBER} **/
-    private volatile int                    forwardCacheNumber           = DEFAULT_FORWARD_CACHE_NUMBER;
-
-    /** 自动向后缓存的个数 ，默认个数为{@link #DEFAULT_BACK_CACHE_NUMBER} **/
-    private volatile int                    backCacheNumber              = DEFAULT_BACK_CACHE_NUMBER;
-
-    /** 获取数据的接口 **/
-    private OnGetDataListener<K, V>         onGetDataListener;
-
-    /** 存储正在获取数据的线程，防止多个线程同时获取某个key，同时可以获取某个线程的相关信息 **/
-    private transient Map<K, GetDataThread> gettingDataThreadMap         = new ConcurrentHashMap<K, GetDataThread>();
-
-    /**
-     * 获取某个key对应的值，并自动获取新数据进行缓存。如果只获取key对应值不获取新数据进行缓存，可使用{@link #get(Object)}
-     * 
-     * @param key 待获取值的key
-     * @param keyList key list，按照该list中的key顺序获取新数据进行缓存，为空表示不进行缓存
-     * @return
-     */
-    public CacheObject<V> get(K key, List<K> keyList) {
-        if (key == null) {
-            return null;
-        }
-
-        // 先前后进行预取
-        autoCacheNewDataForward(key, keyList, forwardCacheNumber);
-        autoCacheNewDataBack(key, keyList, backCacheNumber);
-
-        return get(key);
-    }
-
-    /**
-     * 只获取key对应值不获取新数据进行缓存（同步），如果想获取某个key对应的值，并自动获取新数据进行缓存可使用{@link #get(Object, List)}
-     * <ul>
-     * <li>若该key为null，返回null</li>
-     * <li>若key已在缓存中，返回该key对应的值</li>
-     * <li>若key不在缓存中，会自动调用其{@link OnGetDataListener#onGetData(Object)}方法获取数据将其返回，getData为null时返回null</li>
-     * </ul>
-     * 
-     * @param key
-     * @return
-     */
-    @Override
-    public CacheObject<V> get(K key) {
-        if (key == null) {
-            return null;
-        }
-
-        CacheObject<V> object = super.get(key);
-        if (object == null && onGetDataListener != null) {
-            GetDataThread getDataThread = gettingData(key);
-            // 实时获取需要等待获取完成
-            if (getDataThread != null) {
-                try {
-                    getDataThread.getLatch().await();
-                } catch (InterruptedException e) {
-                    throw new RuntimeException("InterruptedException occurred. ", e);
-                }
-            }
-
-            // 需要重新计算命中率，此种等待情况当作没有命中计算
-            object = super.get(key);
-            if (object != null) {
-                hitCount.decrementAndGet();
-            } else {
-                missCount.decrementAndGet();
-            }
-        }
-        return object;
-    }
-
-    /**
-     * 自动向前获取新数据缓存
-     * <ul>
-     * <strong>缓存规则如下:</strong><br/>
-     * 若key为null或list为空不进行缓存，否则从前到后依次循环keyList中每个元素，从等于key的元素的下一个元素开始按照下面规则判断，如此反复直到key前第cacheCount个元素或list尾时结束
-     * <li>若key已在缓存中，继续判断下一个元素，否则</li>
-     * <li>若某线程正在获取该key对应的数据，继续判断下一个元素，否则</li>
-     * <li>新建线程获取数据，继续判断下一个元素</li>
-     * </ul>
-     * 
-     * @param key 当前获取数据的key
-     * @param keyList key队列
-     * @param cacheCount 要缓存的个数
-     * @return 返回正在获取数据的key个数，即要缓存的个数减去已经在缓存中key的个数
-     */
-    protected int autoCacheNewDataForward(K key, List<K> keyList, int cacheCount) {
-        int gettingDataCount = 0;
-        if (key != null && !ListUtils.isEmpty(keyList) && onGetDataListener != null) {
-            int cachedCount = 0;
-            boolean beginCount = false;
-            for (int i = 0; i < keyList.size() && cachedCount <= cacheCount; i++) {
-                K k = keyList.get(i);
-                if (ObjectUtils.isEquals(k, key)) {
-                    beginCount = true;
-                    continue;
-                }
-
-                if (k != null && beginCount) {
-                    cachedCount++;
-                    if (gettingData(k) == null) {
-                        gettingDataCount++;
-                    }
-                }
-            }
-        }
-        return gettingDataCount;
-    }
-
-    /**
-     * 自动向后获取新数据缓存
-     * <ul>
-     * <strong>缓存规则如下:</strong><br/>
-     * 若key为null或list为空不进行缓存，否则从后到前依次循环keyList中每个元素，从等于key的元素的上一个元素开始按照下面规则判断，如此反复直到key后第cacheCount个元素或list头时结束
-     * <li>若key已在缓存中，继续判断上一个元素，否则</li>
-     * <li>若某线程正在获取该key对应的数据，继续判断上一个元素，否则</li>
-     * <li>新建线程获取数据，继续判断上一个元素</li>
-     * </ul>
-     * 
-     * @param key 当前获取数据的key
-     * @param keyList key队列
-     * @param cacheCount 要缓存的个数
-     * @return 返回正在获取数据的key个数，即要缓存的个数减去已经在缓存中key的个数
-     */
-    protected int autoCacheNewDataBack(K key, List<K> keyList, int cacheCount) {
-        int gettingDataCount = 0;
-        if (key != null && !ListUtils.isEmpty(keyList) && onGetDataListener != null) {
-            int cachedCount = 0;
-            boolean beginCount = false;
-            for (int i = keyList.size() - 1; i >= 0 && cachedCount <= cacheCount; i--) {
-                K k = keyList.get(i);
-                if (ObjectUtils.isEquals(k, key)) {
-                    beginCount = true;
-                    continue;
-                }
-
-                if (k != null && beginCount) {
-                    cachedCount++;
-                    if (gettingData(k) == null) {
-                        gettingDataCount++;
-                    }
-                }
-            }
-        }
-        return gettingDataCount;
-    }
-
-    /**
-     * 返回正在获取某个key对应数据的线程
-     * <ul>
-     * <li>若key在缓存中，返回null，否则</li>
-     * <li>若某线程正在获取该key对应的数据，返回该线程，否则</li>
-     * <li>新建线程获取数据并返回该线程</li>
-     * </ul>
-     * 
-     * @param key
-     * @return
-     */
-    protected synchronized GetDataThread gettingData(K key) {
-        if (containsKey(key)) {
-            return null;
-        }
-
-        if (gettingDataThreadMap.containsKey(key)) {
-            return gettingDataThreadMap.get(key);
-        }
-
-        GetDataThread getDataThread = new GetDataThread(this, key, onGetDataListener);
-        gettingDataThreadMap.put(key, getDataThread);
-        getDataThread.start();
-        return getDataThread;
-
-    }
-
-    /**
-     * 初始化缓存
-     * <ul>
-     * <li>缓存最大容量为{@link SimpleCache#DEFAULT_MAX_SIZE}</li>
-     * <li>元素不会失效</li>
-     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
-     * </ul>
-     * 
-     * @param onGetDataListener 获取数据的方法
-     */
-    public AutoGetDataCache(OnGetDataListener<K, V> onGetDataListener){
-        this(onGetDataListener, DEFAULT_MAX_SIZE, -1, new RemoveTypeEnterTimeFirst<V>());
-    }
-
-    /**
-     * 初始化缓存
-     * <ul>
-     * <li>元素不会失效</li>
-     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
-     * </ul>
-     * 
-     * @param onGetDataListener 获取数据的方法
-     * @param maxSize 缓存最大容量
-     */
-    public AutoGetDataCache(OnGetDataListener<K, V> onGetDataListener, int maxSize){
-        this(onGetDataListener, maxSize, -1, new RemoveTypeEnterTimeFirst<V>());
-    }
-
-    /**
-     * 初始化缓存
-     * <ul>
-     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
-     * </ul>
-     * 
-     * @param onGetDataListener 获取数据的方法
-     * @param maxSize 缓存最大容量
-     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效，失效规则见{@link SimpleCache#isExpired(CacheObject)}
-     */
-    public AutoGetDataCache(OnGetDataListener<K, V> onGetDataListener, int maxSize, long validTime){
-        this(onGetDataListener, maxSize, validTime, new RemoveTypeEnterTimeFirst<V>());
-    }
-
-    /**
-     * 初始化缓存
-     * <ul>
-     * <li>元素不会失效</li>
-     * </ul>
-     * 
-     * @param onGetDataListener 获取数据的方法
-     * @param maxSize 缓存最大容量
-     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
-     */
-    public AutoGetDataCache(OnGetDataListener<K, V> onGetDataListener, int maxSize,
-                            CacheFullRemoveType<V> cacheFullRemoveType){
-        this(onGetDataListener, maxSize, -1, cacheFullRemoveType);
-    }
-
-    /**
-     * 初始化缓存
-     * 
-     * @param onGetDataListener 获取数据的方法
-     * @param maxSize 缓存最大容量
-     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效，失效规则见{@link SimpleCache#isExpired(CacheObject)}
-     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
-     */
-    public AutoGetDataCache(OnGetDataListener<K, V> onGetDataListener, int maxSize, long validTime,
-                            CacheFullRemoveType<V> cacheFullRemoveType){
-        super(maxSize, validTime, cacheFullRemoveType);
-        this.onGetDataListener = onGetDataListener;
-    }
-
-    /**
-     * 得到自动向前缓存的个数
-     * 
-     * @return
-     */
-    public int getForwardCacheNumber() {
-        return forwardCacheNumber;
-    }
-
-    /**
-     * 设置自动向前缓存的个数
-     * 
-     * @param forwardCacheNumber
-     */
-    public void setForwardCacheNumber(int forwardCacheNumber) {
-        this.forwardCacheNumber = forwardCacheNumber;
-    }
-
-    /**
-     * 得到自动向后缓存的个数
-     * 
-     * @return
-     */
-    public int getBackCacheNumber() {
-        return backCacheNumber;
-    }
-
-    /**
-     * 设置自动向后缓存的个数
-     * 
-     * @param backCacheNumber
-     */
-    public void setBackCacheNumber(int backCacheNumber) {
-        this.backCacheNumber = backCacheNumber;
-    }
-
-    /**
-     * 得到获取数据的方法
-     * 
-     * @return the onGetDataListener
-     */
-    public OnGetDataListener<K, V> getOnGetDataListener() {
-        return onGetDataListener;
-    }
-
-    /**
-     * 设置获取数据的方法
-     * 
-     * @param onGetDataListener
-     */
-    public void setOnGetDataListener(OnGetDataListener<K, V> onGetDataListener) {
-        this.onGetDataListener = onGetDataListener;
-    }
-
-    /**
-     * 从文件中恢复缓存
-     * 
-     * @param filePath 文件路径
-     * @return
-     */
-    @SuppressWarnings("unchecked")
-    public static <K, V> AutoGetDataCache<K, V> loadCache(String filePath) {
-        return (AutoGetDataCache<K, V>)SerializeUtils.deserialization(filePath);
-    }
-
-    /**
-     * 获取新数据的类
-     * 
-     * @author Trinea 2012-3-4 下午01:34:27
-     */
-    public interface OnGetDataListener<K, V> extends Serializable {
-
-        /**
-         * 获取数据的方法
-         * 
-         * @param key
-         * @return 返回null不会存入缓存
-         */
-        public CacheObject<V> onGetData(K key);
-    }
-
-    /**
-     * 获取新数据的线程
-     * 
-     * @author Trinea 2012-3-4 下午02:09:10
-     */
-    protected class GetDataThread extends Thread {
-
-        private AutoGetDataCache<K, V>  cache;
-        private K                       key;
-        private OnGetDataListener<K, V> onGetDataListener;
-
-        /** put结束的锁 **/
-        private CountDownLatch          finishPutLock;
-
-        /**
-         * 获取数据
-         * 
-         * @param cache 存储数据的缓存
-         * @param key 获取数据的key
-         * @param onGetDataListener 获取数据的接口
-         */
-        public GetDataThread(AutoGetDataCache<K, V> cache, K key, OnGetDataListener<K, V> onGetDataListener){
-            super("GetDataThread whose key is " + key);
-            this.cache = cache;
-            this.key = key;
-            this.onGetDataListener = onGetDataListener;
-            finishPutLock = new CountDownLatch(1);
-        }
-
-        public void run() {
-            if (key != null && onGetDataListener != null && cache != null) {
-                CacheObject<V> object = onGetDataListener.onGetData(key);
-                if (object != null) {
-                    cache.put(key, object);
-                }
-            }
-            // 执行结束释放锁
-            finishPutLock.countDown();
-
-            if (gettingDataThreadMap != null && key != null) {
-                gettingDataThreadMap.remove(key);
-            }
-        }
-
-        /**
-         * 得到latch
-         * 
-         * @return the latch
-         */
-        public CountDownLatch getLatch() {
-            return finishPutLock;
-        }
-    };
-}
+package com.trinea.java.common.serviceImpl;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.trinea.java.common.ListUtils;
+import com.trinea.java.common.MapUtils;
+import com.trinea.java.common.ObjectUtils;
+import com.trinea.java.common.SerializeUtils;
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.service.CacheFullRemoveType;
+
+/**
+ * <strong>自动获取新数据的缓存</strong>，适用于获取数据较耗时的应用，如网络通讯、响应慢数据获取。<br/>
+ * <br/>
+ * 可用来自动获取新数据进行缓存。支持前后双向多个数据缓存，使得数据获取效率大大提高，下次使用该数据时不用实时获取直接读取缓存即可<br/>
+ * <br/>
+ * <ul>
+ * 缓存设置及使用
+ * <li>使用下面缓存初始化中介绍的几种构造函数之一初始化缓存，使用{@link #setForwardCacheNumber(int)}设置向前缓存个数，默认个数为
+ * {@link #DEFAULT_FORWARD_CACHE_NUMBER}；使用{@link #setBackCacheNumber(int)} 设置向后缓存个数，默认个数为
+ * {@link #DEFAULT_BACK_CACHE_NUMBER}</li>
+ * <li>使用{@link #get(Object, List)}get某个key，并且会自动获取list中key进行缓存</li>
+ * <li>使用{@link #get(Object, List, int)}get某个key，并按照key在list中的位置自动获取前后的key进行缓存，不需要遍历list</li>
+ * <li>使用{@link #setAdaptivePrefetcher(AdaptivePrefetcher)}设置自适应预取后，根据访问规律自动调整预取个数</li>
+ * <li>使用{@link #setNegativeCache(int, long)}缓存获取数据为null的key，有效时间内get这些key直接返回null，不再获取数据</li>
+ * <li>使用{@link #setLoadTimeout(long)}、{@link #setRetry(int, long)}、{@link #setCircuitBreaker(CircuitBreaker)}
+ * 设置获取数据的超时、重试和熔断，数据源变慢或失败率过高时不会耗尽调用者线程</li>
+ * <li>使用{@link #setOnGetBulkDataListener(OnGetBulkDataListener)}设置批量获取数据的接口后，一次预取的多个key通过一次调用获取</li>
+ * <li>获取数据的任务在有界线程池中执行，默认线程池见{@link #newGetDataExecutor(int, int, RejectedExecutionHandler)}，
+ * 可使用{@link #setGetDataExecutor(ExecutorService)}设置自定义线程池或{@link #newVirtualThreadExecutor()}</li>
+ * <li>使用{@link #get(Object)}get某个key，但不会自动获取新数据进行缓存</li>
+ * <li>使用{@link #getAsync(Object)}异步get某个key，返回{@link CompletableFuture}，调用者线程不等待获取数据</li>
+ * <li>使用{@link #setRefreshAfterWrite(long)}设置刷新时间后，put超过该时间的元素get时仍返回旧值，同时在后台重新获取数据替换旧值</li>
+ * <li>使用{@link #getAll(Collection)}批量get多个key，设置了{@link OnGetBulkDataListener}时不在缓存中的key通过一次调用获取</li>
+ * <li>使用{@link #loadCache(String)}从文件中恢复缓存</li>
+ * <li>使用{@link SimpleCache#saveCache(String, SimpleCache)}保存缓存到文件</li>
+ * </ul>
+ * <ul>
+ * 缓存初始化
+ * <li>{@link #AutoGetDataCache(OnGetDataListener)}</li>
+ * <li>{@link #AutoGetDataCache(OnGetDataListener, int)}</li>
+ * <li>{@link #AutoGetDataCache(OnGetDataListener, int, long)}</li>
+ * <li>{@link #AutoGetDataCache(OnGetDataListener, int, CacheFullRemoveType)}</li>
+ * <li>{@link #AutoGetDataCache(OnGetDataListener, int, long, CacheFullRemoveType)}</li>
+ * <li>{@link #loadCache(String)}从文件中恢复缓存</li>
+ * </ul>
+ * 
+ * @author Trinea 2012-3-4 下午12:39:17
+ */
+public class AutoGetDataCache<K, V> extends SimpleCache<K, V> {
+
+    private static final long                        serialVersionUID               = 1L;
+
+    /** 默认自动向前缓存的个数 **/
+    private static final int                         DEFAULT_FORWARD_CACHE_NUMBER   = 3;
+
+    /** 默认自动向后缓存的个数 **/
+    private static final int                         DEFAULT_BACK_CACHE_NUMBER      = 1;
+
+    /** 默认获取数据的线程数 **/
+    public static final int                          DEFAULT_GET_DATA_THREAD_NUMBER = 8;
+
+    /** 默认获取数据线程池的等待队列大小 **/
+    public static final int                          DEFAULT_GET_DATA_QUEUE_SIZE    = 1024;
+
+    /** 自动向前缓存的个数，默认个数为{@link #DEFAULT_FORWARD_CACHE_NUMBER} **/
+    private volatile int                             forwardCacheNumber             = DEFAULT_FORWARD_CACHE_NUMBER;
+
+    /** 自动向后缓存的个数 ，默认个数为{@link #DEFAULT_BACK_CACHE_NUMBER} **/
+    private volatile int                             backCacheNumber                = DEFAULT_BACK_CACHE_NUMBER;
+
+    /** 获取数据的接口 **/
+    private OnGetDataListener<K, V>                  onGetDataListener;
+
+    /** 批量获取数据的接口，可以为空 **/
+    private OnGetBulkDataListener<K, V>              onGetBulkDataListener;
+
+    /** 存储正在获取数据的任务，防止多个任务同时获取某个key，同时可以获取某个任务的相关信息 **/
+    private transient Map<K, GetDataThread>          gettingDataThreadMap           = new ConcurrentHashMap<K, GetDataThread>();
+
+    /** 元素put后超过该时间时在后台重新获取数据，以毫秒计，小于等于0表示不刷新 **/
+    private volatile long                            refreshAfterWrite              = -1;
+
+    /** 自适应预取，为null表示按照forwardCacheNumber和backCacheNumber预取 **/
+    private transient volatile AdaptivePrefetcher<K> adaptivePrefetcher;
+
+    /** 获取数据为null的key的缓存，为null表示不缓存 **/
+    private transient SimpleCache<K, Boolean>        negativeCache;
+    /** 获取数据为null的key的缓存最大容量，小于等于0表示不缓存 **/
+    private int                                      negativeCacheMaxSize           = -1;
+    /** 获取数据为null的key的有效时间，以毫秒计 **/
+    private long                                     negativeCacheValidTime         = -1;
+    /** get时因为获取数据为null直接返回null的次数 **/
+    private AtomicLong                               negativeHitCount               = new AtomicLong(0);
+
+    /** 等待获取数据的超时时间，以毫秒计，小于等于0表示一直等待 **/
+    private volatile long                            loadTimeout                    = -1;
+    /** 获取数据抛出异常时的重试次数 **/
+    private volatile int                             retryCount                     = 0;
+    /** 第一次重试前等待的时间，以毫秒计，之后每次加倍 **/
+    private volatile long                            retryInterval                  = 0;
+    /** 获取数据的熔断器，为null表示不熔断 **/
+    private transient volatile CircuitBreaker        circuitBreaker;
+
+    /** 执行获取数据任务的线程池，为null时在第一次获取数据时新建默认线程池 **/
+    private transient volatile ExecutorService       getDataExecutor;
+
+    /**
+     * 获取某个key对应的值，并自动获取新数据进行缓存。如果只获取key对应值不获取新数据进行缓存，可使用{@link #get(Object)}
+     * 
+     * @param key 待获取值的key
+     * @param keyList key list，按照该list中的key顺序获取新数据进行缓存，为空表示不进行缓存
+     * @return
+     */
+    public CacheObject<V> get(K key, List<K> keyList) {
+        if (key == null) {
+            return null;
+        }
+
+        return getAndAutoCacheNewData(key, keyList, ListUtils.isEmpty(keyList) ? -1 : keyList.indexOf(key),
+                                      ListUtils.isEmpty(keyList) ? -1 : keyList.lastIndexOf(key));
+    }
+
+    /**
+     * 获取某个key对应的值，并按照key在keyList中的位置自动获取新数据进行缓存，不需要遍历keyList查找key，适用于很长的keyList
+     * <ul>
+     * <li>只访问position前后要缓存的元素，keyList应支持随机访问，如{@link ArrayList}</li>
+     * <li>若position超出范围或该位置的元素不等于key，同{@link #get(Object, List)}</li>
+     * </ul>
+     * 
+     * @param key 待获取值的key
+     * @param keyList key list，按照该list中的key顺序获取新数据进行缓存，为空表示不进行缓存
+     * @param position key在keyList中的位置
+     * @return
+     */
+    public CacheObject<V> get(K key, List<K> keyList, int position) {
+        if (key == null) {
+            return null;
+        }
+        if (ListUtils.isEmpty(keyList) || position < 0 || position >= keyList.size()
+            || !ObjectUtils.isEquals(keyList.get(position), key)) {
+            return get(key, keyList);
+        }
+
+        return getAndAutoCacheNewData(key, keyList, position, position);
+    }
+
+    /**
+     * 获取某个key对应的值，并自动获取新数据进行缓存
+     * <ul>
+     * <li>设置了{@link AdaptivePrefetcher}时，由其根据访问规律决定预取的key</li>
+     * <li>否则从forwardPosition向前预取{@link #getForwardCacheNumber()}个，从backPosition向后预取{@link #getBackCacheNumber()}个</li>
+     * </ul>
+     * 
+     * @param key 待获取值的key
+     * @param keyList key list
+     * @param forwardPosition 向前预取的起始位置，小于0表示不进行缓存
+     * @param backPosition 向后预取的起始位置，小于0表示不进行缓存
+     * @return
+     */
+    private CacheObject<V> getAndAutoCacheNewData(K key, List<K> keyList, int forwardPosition, int backPosition) {
+        // key已在缓存中时先获取，防止预取的新数据将其从缓存中删除
+        CacheObject<V> object = containsKey(key) ? get(key) : null;
+
+        AdaptivePrefetcher<K> prefetcher = adaptivePrefetcher;
+        if (prefetcher == null) {
+            // 前后需要预取的key一起获取，设置了批量获取接口时只调用一次
+            Set<K> cacheKeySet = new LinkedHashSet<K>(getForwardKeyList(key, keyList, forwardPosition,
+                                                                        forwardCacheNumber));
+            cacheKeySet.addAll(getBackKeyList(key, keyList, backPosition, backCacheNumber));
+            autoCacheNewData(cacheKeySet);
+        } else if (forwardPosition >= 0 && (onGetDataListener != null || onGetBulkDataListener != null)) {
+            autoCacheNewData(prefetcher.onAccess(key, keyList, forwardPosition, object != null));
+        }
+
+        return object == null ? get(key) : object;
+    }
+
+    /**
+     * 只获取key对应值不获取新数据进行缓存（同步），如果想获取某个key对应的值，并自动获取新数据进行缓存可使用{@link #get(Object, List)}
+     * <ul>
+     * <li>若该key为null，返回null</li>
+     * <li>若key已在缓存中，返回该key对应的值，若超过了刷新时间，同时在后台重新获取数据，见{@link #setRefreshAfterWrite(long)}</li>
+     * <li>若key不在缓存中，会自动调用其{@link OnGetDataListener#onGetData(Object)}方法获取数据将其返回，getData为null时返回null</li>
+     * </ul>
+     * 
+     * @param key
+     * @return
+     */
+    @Override
+    public CacheObject<V> get(K key) {
+        if (key == null) {
+            return null;
+        }
+
+        CacheObject<V> object = super.get(key);
+        if (object != null) {
+            refreshIfNeeded(key, object);
+        } else if (onGetDataListener != null || onGetBulkDataListener != null) {
+            GetDataThread getDataThread = gettingData(key, loadTimeout <= 0);
+            // 实时获取需要等待获取完成，超时当作未获取到数据
+            if (getDataThread != null && !await(getDataThread, getDeadline())) {
+                return null;
+            }
+
+            object = getLoaded(key);
+        }
+        return object;
+    }
+
+    /**
+     * 异步获取key对应的值，不获取新数据进行缓存，调用者线程不会等待
+     * <ul>
+     * <li>若该key为null，返回值为null的已完成future</li>
+     * <li>若key已在缓存中，返回已完成的future</li>
+     * <li>若key不在缓存中，与其他正在获取该key的调用共享同一次获取，获取完成时future完成，获取数据为null时值为null</li>
+     * <li>获取数据抛出异常时future异常完成</li>
+     * <li>获取数据的任务不会在调用者线程执行，线程池拒绝时future以{@link RejectedExecutionException}异常完成</li>
+     * <li>不受{@link #setLoadTimeout(long)}影响，需要超时可使用{@link CompletableFuture#get(long, TimeUnit)}，与超时的get共享的任务被取消时future以
+     * {@link TimeoutException}异常完成</li>
+     * </ul>
+     * 
+     * @param key
+     * @return
+     */
+    public CompletableFuture<CacheObject<V>> getAsync(final K key) {
+        if (key == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CacheObject<V> object = super.get(key);
+        if (object != null) {
+            refreshIfNeeded(key, object);
+            return CompletableFuture.completedFuture(object);
+        }
+        if (onGetDataListener == null && onGetBulkDataListener == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        GetDataThread getDataThread = gettingData(key, false);
+        if (getDataThread == null) {
+            return CompletableFuture.completedFuture(getLoaded(key));
+        }
+        return getDataThread.getFuture().thenApply(new Function<Void, CacheObject<V>>() {
+
+            @Override
+            public CacheObject<V> apply(Void v) {
+                return getLoaded(key);
+            }
+        });
+    }
+
+    /**
+     * 得到等待获取数据的截止时间
+     * 
+     * @return 小于等于0表示一直等待
+     */
+    private long getDeadline() {
+        long timeout = loadTimeout;
+        return timeout > 0 ? System.currentTimeMillis() + timeout : -1;
+    }
+
+    /**
+     * 等待获取数据完成，超过截止时间时不再等待，并取消该任务记为失败，见{@link GetDataThread#timeout()}
+     * 
+     * @param getDataThread
+     * @param deadline 截止时间，小于等于0表示一直等待
+     * @return 是否在截止时间前获取完成
+     */
+    private boolean await(GetDataThread getDataThread, long deadline) {
+        try {
+            if (deadline <= 0) {
+                getDataThread.getLatch().await();
+            } else if (!getDataThread.getLatch().await(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS)) {
+                getDataThread.timeout();
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            throw new RuntimeException("InterruptedException occurred. ", e);
+        }
+    }
+
+    /**
+     * 得到正在获取某个key对应数据的任务，执行超过超时时间的任务认为已经挂起，取消该任务并返回null以便重新获取
+     * 
+     * @param key
+     * @return
+     */
+    private GetDataThread getGettingDataThread(K key) {
+        GetDataThread getDataThread = gettingDataThreadMap.get(key);
+        if (getDataThread != null && getDataThread.isTimeout()) {
+            getDataThread.timeout();
+            return null;
+        }
+        return getDataThread;
+    }
+
+    /**
+     * 得到正在获取数据的key个数，包括执行超过超时时间和在线程池队列中等待执行的
+     * 
+     * @return
+     */
+    public int getLoadingCount() {
+        return gettingDataThreadMap.size();
+    }
+
+    /**
+     * 元素超过了刷新时间时在后台重新获取数据
+     * 
+     * @param key
+     * @param object
+     */
+    private void refreshIfNeeded(K key, CacheObject<V> object) {
+        if (isRefreshNeeded(object)) {
+            refreshing(Collections.singletonList(key));
+        }
+    }
+
+    /**
+     * 元素是否超过了刷新时间
+     * 
+     * @param object
+     * @return
+     */
+    private boolean isRefreshNeeded(CacheObject<V> object) {
+        long refreshTime = refreshAfterWrite;
+        return refreshTime > 0 && (onGetDataListener != null || onGetBulkDataListener != null)
+               && System.currentTimeMillis() - object.getEnterTime() >= refreshTime;
+    }
+
+    /**
+     * 向缓存中添加元素，并删除该key获取数据为null的记录，见{@link SimpleCache#put(Object, CacheObject)}
+     * 
+     * @param key
+     * @param value
+     * @return
+     */
+    @Override
+    public CacheObject<V> put(K key, CacheObject<V> value) {
+        CacheObject<V> object = super.put(key, value);
+        SimpleCache<K, Boolean> negative = negativeCache;
+        if (object != null && negative != null) {
+            negative.remove(key);
+        }
+        return object;
+    }
+
+    /**
+     * 批量向缓存中添加元素，并删除这些key获取数据为null的记录，见{@link SimpleCache#putAllCacheObject(Map)}
+     * 
+     * @param map
+     */
+    @Override
+    public void putAllCacheObject(Map<K, CacheObject<V>> map) {
+        super.putAllCacheObject(map);
+        SimpleCache<K, Boolean> negative = negativeCache;
+        if (negative != null && !MapUtils.isEmpty(map)) {
+            negative.removeAll(map.keySet());
+        }
+    }
+
+    /**
+     * 清空缓存，同时清空获取数据为null的key的缓存
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        SimpleCache<K, Boolean> negative = negativeCache;
+        if (negative != null) {
+            negative.clear();
+        }
+    }
+
+    /**
+     * key是否在有效时间内获取数据为null
+     * 
+     * @param key
+     * @return
+     */
+    private boolean isNegative(K key) {
+        SimpleCache<K, Boolean> negative = negativeCache;
+        if (negative != null && negative.containsKey(key)) {
+            negativeHitCount.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 获取数据结束时记录到统计和熔断器，抛出异常或执行超过超时时间记为失败
+     * 
+     * @param startTime 开始获取数据的时间
+     * @param loadTime 获取数据用时，以纳秒计，包括重试
+     * @param success 是否没有抛出异常
+     */
+    private void onLoadFinish(long startTime, long loadTime, boolean success) {
+        long timeout = loadTimeout;
+        success = success && (timeout <= 0 || System.currentTimeMillis() - startTime <= timeout);
+        if (success) {
+            statsCounter.recordLoadSuccess(loadTime);
+        } else {
+            statsCounter.recordLoadFailure(loadTime);
+        }
+
+        CircuitBreaker breaker = circuitBreaker;
+        if (breaker != null) {
+            if (success) {
+                breaker.onSuccess();
+            } else {
+                breaker.onFailure();
+            }
+        }
+    }
+
+    /**
+     * 记录获取数据为null的key，key已在缓存中时不记录
+     * 
+     * @param key
+     */
+    private void putNegative(K key) {
+        SimpleCache<K, Boolean> negative = negativeCache;
+        if (negative != null && key != null && !containsKey(key)) {
+            negative.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 在后台重新获取多个key对应的数据，不等待获取完成
+     * <ul>
+     * <li>若某任务正在获取该key对应的数据，忽略该key</li>
+     * <li>设置了{@link OnGetBulkDataListener}并且有多个key或没有设置{@link OnGetDataListener}时，所有key由一个任务一起获取，否则每个key分别获取</li>
+     * <li>获取到的新数据替换缓存中的旧数据，获取数据为null时保留旧数据</li>
+     * </ul>
+     * 
+     * @param keys
+     */
+    protected void refreshing(Collection<K> keys) {
+        List<GetDataThread> getDataThreadList = new ArrayList<GetDataThread>();
+        synchronized (this) {
+            List<K> newKeyList = new ArrayList<K>();
+            for (K key : keys) {
+                if (key != null && getGettingDataThread(key) == null) {
+                    newKeyList.add(key);
+                }
+            }
+            if (newKeyList.isEmpty()) {
+                return;
+            }
+
+            if (onGetBulkDataListener != null && (onGetDataListener == null || newKeyList.size() > 1)) {
+                GetDataThread getDataThread = new GetDataThread(this, newKeyList, onGetBulkDataListener);
+                for (K key : newKeyList) {
+                    gettingDataThreadMap.put(key, getDataThread);
+                }
+                getDataThreadList.add(getDataThread);
+            } else {
+                for (K key : newKeyList) {
+                    GetDataThread getDataThread = new GetDataThread(this, key, onGetDataListener);
+                    gettingDataThreadMap.put(key, getDataThread);
+                    getDataThreadList.add(getDataThread);
+                }
+            }
+        }
+        for (GetDataThread getDataThread : getDataThreadList) {
+            execute(getDataThread, false);
+        }
+    }
+
+    /**
+     * 获取数据完成后get，第一次get时已记为未命中，不再重复记录
+     * 
+     * @param key
+     * @return
+     */
+    private CacheObject<V> getLoaded(K key) {
+        return getIfPresent(key, false);
+    }
+
+    /**
+     * 批量获取key对应的值，不获取新数据进行缓存（同步）
+     * <ul>
+     * <li>已在缓存中的key直接返回</li>
+     * <li>设置了{@link OnGetBulkDataListener}时，不在缓存中并且没有线程正在获取的key通过一次
+     * {@link OnGetBulkDataListener#onGetData(Collection)}获取，否则每个key分别调用{@link OnGetDataListener#onGetData(Object)}获取</li>
+     * <li>等待所有key获取完成后返回，获取数据为null的key不在结果中</li>
+     * </ul>
+     * 
+     * @param keys
+     * @return
+     */
+    @Override
+    public Map<K, CacheObject<V>> getAll(Collection<K> keys) {
+        Map<K, CacheObject<V>> map = super.getAll(keys);
+        if (keys == null || (onGetDataListener == null && onGetBulkDataListener == null)) {
+            return map;
+        }
+
+        Set<K> missKeys = new LinkedHashSet<K>();
+        for (K key : keys) {
+            if (key != null && !map.containsKey(key)) {
+                missKeys.add(key);
+            }
+        }
+        if (refreshAfterWrite > 0) {
+            List<K> refreshKeys = new ArrayList<K>();
+            for (Map.Entry<K, CacheObject<V>> entry : map.entrySet()) {
+                if (isRefreshNeeded(entry.getValue())) {
+                    refreshKeys.add(entry.getKey());
+                }
+            }
+            if (!refreshKeys.isEmpty()) {
+                refreshing(refreshKeys);
+            }
+        }
+        if (missKeys.isEmpty()) {
+            return map;
+        }
+
+        List<GetDataThread> getDataThreadList;
+        if (onGetBulkDataListener != null) {
+            getDataThreadList = gettingData(missKeys, loadTimeout <= 0);
+        } else {
+            getDataThreadList = new ArrayList<GetDataThread>();
+            for (K key : missKeys) {
+                GetDataThread getDataThread = gettingData(key, loadTimeout <= 0);
+                if (getDataThread != null) {
+                    getDataThreadList.add(getDataThread);
+                }
+            }
+        }
+        long deadline = getDeadline();
+        Set<K> timeoutKeys = new HashSet<K>();
+        for (GetDataThread getDataThread : getDataThreadList) {
+            if (!await(getDataThread, deadline)) {
+                if (getDataThread.keys != null) {
+                    timeoutKeys.addAll(getDataThread.keys);
+                } else {
+                    timeoutKeys.add(getDataThread.key);
+                }
+            }
+        }
+
+        // 第一次get时已记为未命中，不再重复记录，超时的key当作未获取到数据
+        for (K key : missKeys) {
+            if (timeoutKeys.contains(key)) {
+                continue;
+            }
+            CacheObject<V> object = getLoaded(key);
+            if (object != null) {
+                map.put(key, object);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 自动向前获取新数据缓存
+     * <ul>
+     * <strong>缓存规则如下:</strong><br/>
+     * 若key为null或list为空不进行缓存，否则从前到后依次循环keyList中每个元素，从等于key的元素的下一个元素开始按照下面规则判断，如此反复直到key前第cacheCount个元素或list尾时结束
+     * <li>若key已在缓存中，继续判断下一个元素，否则</li>
+     * <li>若某线程正在获取该key对应的数据，继续判断下一个元素，否则</li>
+     * <li>新建线程获取数据，继续判断下一个元素</li>
+     * </ul>
+     * 设置了{@link OnGetBulkDataListener}时，需要获取的key由一个新建线程通过一次{@link OnGetBulkDataListener#onGetData(Collection)}获取
+     * 
+     * @param key 当前获取数据的key
+     * @param keyList key队列
+     * @param cacheCount 要缓存的个数
+     * @return 返回要缓存的key中已经在缓存中的个数
+     */
+    protected int autoCacheNewDataForward(K key, List<K> keyList, int cacheCount) {
+        return autoCacheNewDataForward(key, keyList, ListUtils.isEmpty(keyList) ? -1 : keyList.indexOf(key),
+                                       cacheCount);
+    }
+
+    /**
+     * 从keyList中position的下一个元素开始自动向前获取新数据缓存，规则同{@link #autoCacheNewDataForward(Object, List, int)}
+     * 
+     * @param key 当前获取数据的key
+     * @param keyList key队列
+     * @param position key在keyList中的位置，小于0表示不进行缓存
+     * @param cacheCount 要缓存的个数
+     * @return 返回要缓存的key中已经在缓存中的个数
+     */
+    protected int autoCacheNewDataForward(K key, List<K> keyList, int position, int cacheCount) {
+        return autoCacheNewData(getForwardKeyList(key, keyList, position, cacheCount));
+    }
+
+    /**
+     * 得到从keyList中position的下一个元素开始向前要缓存的key
+     * 
+     * @param key 当前获取数据的key
+     * @param keyList key队列
+     * @param position key在keyList中的位置，小于0表示不进行缓存
+     * @param cacheCount 要缓存的个数
+     * @return
+     */
+    private List<K> getForwardKeyList(K key, List<K> keyList, int position, int cacheCount) {
+        List<K> cacheKeyList = new ArrayList<K>();
+        if (key != null && !ListUtils.isEmpty(keyList) && position >= 0
+            && (onGetDataListener != null || onGetBulkDataListener != null)) {
+            int cachedCount = 0;
+            for (int i = position + 1; i < keyList.size() && cachedCount <= cacheCount; i++) {
+                K k = keyList.get(i);
+                if (k != null && !ObjectUtils.isEquals(k, key)) {
+                    cachedCount++;
+                    cacheKeyList.add(k);
+                }
+            }
+        }
+        return cacheKeyList;
+    }
+
+    /**
+     * 自动向后获取新数据缓存
+     * <ul>
+     * <strong>缓存规则如下:</strong><br/>
+     * 若key为null或list为空不进行缓存，否则从后到前依次循环keyList中每个元素，从等于key的元素的上一个元素开始按照下面规则判断，如此反复直到key后第cacheCount个元素或list头时结束
+     * <li>若key已在缓存中，继续判断上一个元素，否则</li>
+     * <li>若某线程正在获取该key对应的数据，继续判断上一个元素，否则</li>
+     * <li>新建线程获取数据，继续判断上一个元素</li>
+     * </ul>
+     * 设置了{@link OnGetBulkDataListener}时，需要获取的key由一个新建线程通过一次{@link OnGetBulkDataListener#onGetData(Collection)}获取
+     * 
+     * @param key 当前获取数据的key
+     * @param keyList key队列
+     * @param cacheCount 要缓存的个数
+     * @return 返回要缓存的key中已经在缓存中的个数
+     */
+    protected int autoCacheNewDataBack(K key, List<K> keyList, int cacheCount) {
+        return autoCacheNewDataBack(key, keyList, ListUtils.isEmpty(keyList) ? -1 : keyList.lastIndexOf(key),
+                                    cacheCount);
+    }
+
+    /**
+     * 从keyList中position的上一个元素开始自动向后获取新数据缓存，规则同{@link #autoCacheNewDataBack(Object, List, int)}
+     * 
+     * @param key 当前获取数据的key
+     * @param keyList key队列
+     * @param position key在keyList中的位置，小于0表示不进行缓存
+     * @param cacheCount 要缓存的个数
+     * @return 返回要缓存的key中已经在缓存中的个数
+     */
+    protected int autoCacheNewDataBack(K key, List<K> keyList, int position, int cacheCount) {
+        return autoCacheNewData(getBackKeyList(key, keyList, position, cacheCount));
+    }
+
+    /**
+     * 得到从keyList中position的上一个元素开始向后要缓存的key
+     * 
+     * @param key 当前获取数据的key
+     * @param keyList key队列
+     * @param position key在keyList中的位置，小于0表示不进行缓存
+     * @param cacheCount 要缓存的个数
+     * @return
+     */
+    private List<K> getBackKeyList(K key, List<K> keyList, int position, int cacheCount) {
+        List<K> cacheKeyList = new ArrayList<K>();
+        if (key != null && !ListUtils.isEmpty(keyList) && position < keyList.size()
+            && (onGetDataListener != null || onGetBulkDataListener != null)) {
+            int cachedCount = 0;
+            for (int i = position - 1; i >= 0 && cachedCount <= cacheCount; i--) {
+                K k = keyList.get(i);
+                if (k != null && !ObjectUtils.isEquals(k, key)) {
+                    cachedCount++;
+                    cacheKeyList.add(k);
+                }
+            }
+        }
+        return cacheKeyList;
+    }
+
+    /**
+     * 获取多个key的新数据进行缓存，设置了{@link OnGetBulkDataListener}时一起获取，否则每个key分别获取。线程池满时不在调用者线程获取
+     * 
+     * @param cacheKeyList
+     * @return 已经在缓存中的key个数
+     */
+    private int autoCacheNewData(Collection<K> cacheKeyList) {
+        int cachedCount = 0;
+        if (onGetBulkDataListener == null) {
+            for (K k : cacheKeyList) {
+                if (gettingData(k, false) == null) {
+                    cachedCount++;
+                }
+            }
+            return cachedCount;
+        }
+
+        for (K k : cacheKeyList) {
+            if (containsKey(k)) {
+                cachedCount++;
+            }
+        }
+        if (cachedCount < cacheKeyList.size()) {
+            gettingData(cacheKeyList, false);
+        }
+        return cachedCount;
+    }
+
+    /**
+     * 返回正在获取某个key对应数据的任务
+     * <ul>
+     * <li>若key在缓存中，返回null，否则</li>
+     * <li>若某任务正在获取该key对应的数据，返回该任务，否则</li>
+     * <li>新建任务提交到线程池获取数据并返回该任务</li>
+     * </ul>
+     * 
+     * @param key
+     * @return
+     */
+    protected GetDataThread gettingData(K key) {
+        return gettingData(key, true);
+    }
+
+    /**
+     * 返回正在获取某个key对应数据的任务，规则同{@link #gettingData(Object)}
+     * 
+     * @param key
+     * @param callerRuns 新建的任务是否允许在调用者线程执行，见{@link #execute(GetDataThread, boolean)}
+     * @return
+     */
+    private GetDataThread gettingData(K key, boolean callerRuns) {
+        GetDataThread getDataThread;
+        synchronized (this) {
+            if (containsKey(key) || isNegative(key)) {
+                return null;
+            }
+
+            GetDataThread gettingDataThread = getGettingDataThread(key);
+            if (gettingDataThread != null) {
+                return gettingDataThread;
+            }
+
+            if (onGetDataListener == null && onGetBulkDataListener != null) {
+                getDataThread = new GetDataThread(this, Collections.singletonList(key), onGetBulkDataListener);
+            } else {
+                getDataThread = new GetDataThread(this, key, onGetDataListener);
+            }
+            gettingDataThreadMap.put(key, getDataThread);
+        }
+        // 在锁外提交，线程池满时调用者执行任务不会阻塞其他key
+        execute(getDataThread, callerRuns);
+        return getDataThread;
+    }
+
+    /**
+     * 返回正在获取多个key对应数据的线程
+     * <ul>
+     * <li>在缓存中的key忽略</li>
+     * <li>若某线程正在获取该key对应的数据，返回的线程中包含该线程</li>
+     * <li>其他key由一个新建的任务通过{@link OnGetBulkDataListener#onGetData(Collection)}一起获取</li>
+     * </ul>
+     * 
+     * @param keys
+     * @return
+     */
+    protected List<GetDataThread> gettingData(Collection<K> keys) {
+        return gettingData(keys, true);
+    }
+
+    /**
+     * 返回正在获取多个key对应数据的线程，规则同{@link #gettingData(Collection)}
+     * 
+     * @param keys
+     * @param callerRuns 新建的任务是否允许在调用者线程执行，见{@link #execute(GetDataThread, boolean)}
+     * @return
+     */
+    private List<GetDataThread> gettingData(Collection<K> keys, boolean callerRuns) {
+        List<GetDataThread> getDataThreadList = new ArrayList<GetDataThread>();
+        GetDataThread newGetDataThread = null;
+        synchronized (this) {
+            List<K> newKeyList = new ArrayList<K>();
+            for (K key : keys) {
+                if (key == null || containsKey(key) || isNegative(key)) {
+                    continue;
+                }
+
+                GetDataThread getDataThread = getGettingDataThread(key);
+                if (getDataThread == null) {
+                    newKeyList.add(key);
+                } else if (!getDataThreadList.contains(getDataThread)) {
+                    getDataThreadList.add(getDataThread);
+                }
+            }
+
+            if (!newKeyList.isEmpty()) {
+                newGetDataThread = new GetDataThread(this, newKeyList, onGetBulkDataListener);
+                for (K key : newKeyList) {
+                    gettingDataThreadMap.put(key, newGetDataThread);
+                }
+                getDataThreadList.add(newGetDataThread);
+            }
+        }
+        if (newGetDataThread != null) {
+            execute(newGetDataThread, callerRuns);
+        }
+        return getDataThreadList;
+    }
+
+    /**
+     * 提交获取数据的任务到线程池，熔断器不允许请求或线程池拒绝时结束该任务，等待该任务的get当作未获取到数据
+     * <ul>
+     * <li>callerRuns为false时，任务不会在调用者线程执行，线程池的拒绝策略在调用者线程执行该任务时同样当作拒绝，如预取、异步获取和设置了超时时间的获取任务</li>
+     * <li>线程池拒绝时任务的future以{@link RejectedExecutionException}异常完成</li>
+     * </ul>
+     * 
+     * @param getDataThread
+     * @param callerRuns 线程池满时是否允许在调用者线程执行
+     */
+    private void execute(GetDataThread getDataThread, boolean callerRuns) {
+        CircuitBreaker breaker = circuitBreaker;
+        if (breaker != null && !breaker.allowRequest()) {
+            getDataThread.finish();
+            return;
+        }
+
+        getDataThread.callerRunsAllowed = callerRuns;
+        getDataThread.submitThread = Thread.currentThread();
+        try {
+            getGetDataExecutor().execute(getDataThread);
+        } catch (RejectedExecutionException e) {
+            getDataThread.getFuture().completeExceptionally(e);
+            getDataThread.finish();
+        } finally {
+            getDataThread.submitThread = null;
+        }
+    }
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>缓存最大容量为{@link SimpleCache#DEFAULT_MAX_SIZE}</li>
+     * <li>元素不会失效</li>
+     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
+     * </ul>
+     * 
+     * @param onGetDataListener 获取数据的方法
+     */
+    public AutoGetDataCache(OnGetDataListener<K, V> onGetDataListener){
+        this(onGetDataListener, DEFAULT_MAX_SIZE, -1, new RemoveTypeEnterTimeFirst<V>());
+    }
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>元素不会失效</li>
+     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
+     * </ul>
+     * 
+     * @param onGetDataListener 获取数据的方法
+     * @param maxSize 缓存最大容量
+     */
+    public AutoGetDataCache(OnGetDataListener<K, V> onGetDataListener, int maxSize){
+        this(onGetDataListener, maxSize, -1, new RemoveTypeEnterTimeFirst<V>());
+    }
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
+     * </ul>
+     * 
+     * @param onGetDataListener 获取数据的方法
+     * @param maxSize 缓存最大容量
+     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效，失效规则见{@link SimpleCache#isExpired(CacheObject)}
+     */
+    public AutoGetDataCache(OnGetDataListener<K, V> onGetDataListener, int maxSize, long validTime){
+        this(onGetDataListener, maxSize, validTime, new RemoveTypeEnterTimeFirst<V>());
+    }
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>元素不会失效</li>
+     * </ul>
+     * 
+     * @param onGetDataListener 获取数据的方法
+     * @param maxSize 缓存最大容量
+     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
+     */
+    public AutoGetDataCache(OnGetDataListener<K, V> onGetDataListener, int maxSize,
+                            CacheFullRemoveType<V> cacheFullRemoveType){
+        this(onGetDataListener, maxSize, -1, cacheFullRemoveType);
+    }
+
+    /**
+     * 初始化缓存
+     * 
+     * @param onGetDataListener 获取数据的方法
+     * @param maxSize 缓存最大容量
+     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效，失效规则见{@link SimpleCache#isExpired(CacheObject)}
+     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
+     */
+    public AutoGetDataCache(OnGetDataListener<K, V> onGetDataListener, int maxSize, long validTime,
+                            CacheFullRemoveType<V> cacheFullRemoveType){
+        super(maxSize, validTime, cacheFullRemoveType);
+        this.onGetDataListener = onGetDataListener;
+    }
+
+    /**
+     * 得到自动向前缓存的个数
+     * 
+     * @return
+     */
+    public int getForwardCacheNumber() {
+        return forwardCacheNumber;
+    }
+
+    /**
+     * 设置自动向前缓存的个数
+     * 
+     * @param forwardCacheNumber
+     */
+    public void setForwardCacheNumber(int forwardCacheNumber) {
+        this.forwardCacheNumber = forwardCacheNumber;
+    }
+
+    /**
+     * 得到自动向后缓存的个数
+     * 
+     * @return
+     */
+    public int getBackCacheNumber() {
+        return backCacheNumber;
+    }
+
+    /**
+     * 设置自动向后缓存的个数
+     * 
+     * @param backCacheNumber
+     */
+    public void setBackCacheNumber(int backCacheNumber) {
+        this.backCacheNumber = backCacheNumber;
+    }
+
+    /**
+     * 得到获取数据的方法
+     * 
+     * @return the onGetDataListener
+     */
+    public OnGetDataListener<K, V> getOnGetDataListener() {
+        return onGetDataListener;
+    }
+
+    /**
+     * 设置获取数据的方法
+     * 
+     * @param onGetDataListener
+     */
+    public void setOnGetDataListener(OnGetDataListener<K, V> onGetDataListener) {
+        this.onGetDataListener = onGetDataListener;
+    }
+
+    /**
+     * 得到批量获取数据的方法
+     * 
+     * @return
+     */
+    public OnGetBulkDataListener<K, V> getOnGetBulkDataListener() {
+        return onGetBulkDataListener;
+    }
+
+    /**
+     * 设置批量获取数据的方法，可以为空
+     * 
+     * @param onGetBulkDataListener
+     */
+    public void setOnGetBulkDataListener(OnGetBulkDataListener<K, V> onGetBulkDataListener) {
+        this.onGetBulkDataListener = onGetBulkDataListener;
+    }
+
+    /**
+     * 得到刷新时间
+     * 
+     * @return
+     */
+    public long getRefreshAfterWrite() {
+        return refreshAfterWrite;
+    }
+
+    /**
+     * 设置刷新时间，以毫秒计
+     * <ul>
+     * <li>元素put后超过该时间时get仍返回旧值，同时在后台通过获取数据的接口重新获取数据替换旧值，避免元素失效时get等待获取数据</li>
+     * <li>应小于元素有效时间，否则元素失效前不会刷新</li>
+     * <li>小于等于0表示不刷新，默认为-1</li>
+     * </ul>
+     * 
+     * @param refreshAfterWrite
+     */
+    public void setRefreshAfterWrite(long refreshAfterWrite) {
+        this.refreshAfterWrite = refreshAfterWrite;
+    }
+
+    /**
+     * 得到等待获取数据的超时时间
+     * 
+     * @return
+     */
+    public long getLoadTimeout() {
+        return loadTimeout;
+    }
+
+    /**
+     * 设置等待获取数据的超时时间，以毫秒计
+     * <ul>
+     * <li>{@link #get(Object)}、{@link #getAll(Collection)}等待获取数据超过该时间时不再等待，当作未获取到数据，同时取消该任务并记为失败，
+     * 在线程池队列中等待的任务不再执行，正在执行的任务中断执行的线程</li>
+     * <li>执行超过该时间的获取数据任务认为已经挂起，之后get该key时同样取消该任务，并新建任务重新获取</li>
+     * <li>超时记为失败，设置了熔断器时同样记录到熔断器，失败率过高时不再新建任务</li>
+     * <li>大于0时{@link #get(Object)}、{@link #getAll(Collection)}的获取数据任务不会在调用者线程执行，线程池拒绝时当作未获取到数据</li>
+     * <li>小于等于0表示一直等待，默认为-1</li>
+     * </ul>
+     * 
+     * @param loadTimeout
+     */
+    public void setLoadTimeout(long loadTimeout) {
+        this.loadTimeout = loadTimeout;
+    }
+
+    /**
+     * 得到获取数据抛出异常时的重试次数
+     * 
+     * @return
+     */
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+    /**
+     * 得到第一次重试前等待的时间
+     * 
+     * @return
+     */
+    public long getRetryInterval() {
+        return retryInterval;
+    }
+
+    /**
+     * 设置获取数据抛出异常时的重试，获取数据返回null不重试
+     * 
+     * @param retryCount 重试次数，为0表示不重试
+     * @param retryInterval 第一次重试前等待的时间，以毫秒计，之后每次重试前等待的时间加倍
+     */
+    public void setRetry(int retryCount, long retryInterval) {
+        if (retryCount < 0) {
+            throw new IllegalArgumentException("The retryCount must not be less than 0.");
+        }
+        if (retryInterval < 0) {
+            throw new IllegalArgumentException("The retryInterval must not be less than 0.");
+        }
+
+        this.retryCount = retryCount;
+        this.retryInterval = retryInterval;
+    }
+
+    /**
+     * 得到获取数据的熔断器
+     * 
+     * @return
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * 设置获取数据的熔断器
+     * <ul>
+     * <li>熔断时不再获取数据，get不在缓存中的key直接返回null，已在缓存中的元素不会刷新，继续返回旧值直到失效</li>
+     * <li>为null表示不熔断，默认为null</li>
+     * <li>缓存反序列化后需要重新设置</li>
+     * </ul>
+     * 
+     * @param circuitBreaker
+     */
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * 设置获取数据为null的key的缓存
+     * <ul>
+     * <li>{@link OnGetDataListener#onGetData(Object)}返回null或{@link OnGetBulkDataListener#onGetData(Collection)}
+     * 返回的map中不包含的key会被记录，validTime内get这些key直接返回null，不再获取数据</li>
+     * <li>该key被put到缓存中时删除记录</li>
+     * <li>记录超过maxSize时删除最早的记录</li>
+     * </ul>
+     * 
+     * @param maxSize 最大记录个数，小于等于0表示不记录
+     * @param validTime 记录的有效时间，以毫秒计，大于0
+     */
+    public synchronized void setNegativeCache(int maxSize, long validTime) {
+        if (maxSize > 0 && validTime <= 0) {
+            throw new IllegalArgumentException("The validTime of negative cache must be greater than 0.");
+        }
+
+        negativeCacheMaxSize = maxSize;
+        negativeCacheValidTime = validTime;
+        negativeCache = newNegativeCache();
+    }
+
+    /**
+     * 得到获取数据为null的key的记录个数
+     * 
+     * @return
+     */
+    public int getNegativeCacheSize() {
+        SimpleCache<K, Boolean> negative = negativeCache;
+        return negative == null ? 0 : negative.getSize();
+    }
+
+    /**
+     * 得到get时因为获取数据为null直接返回null的次数
+     * 
+     * @return
+     */
+    public long getNegativeHitCount() {
+        return negativeHitCount.get();
+    }
+
+    private SimpleCache<K, Boolean> newNegativeCache() {
+        if (negativeCacheMaxSize <= 0) {
+            return null;
+        }
+        return new SimpleCache<K, Boolean>(negativeCacheMaxSize, negativeCacheValidTime,
+                                           new RemoveTypeEnterTimeFirst<Boolean>());
+    }
+
+    /**
+     * 得到自适应预取
+     * 
+     * @return
+     */
+    public AdaptivePrefetcher<K> getAdaptivePrefetcher() {
+        return adaptivePrefetcher;
+    }
+
+    /**
+     * 设置自适应预取，设置后{@link #get(Object, List)}和{@link #get(Object, List, int)}根据访问规律自动调整预取个数，
+     * 不再使用forwardCacheNumber和backCacheNumber
+     * <ul>
+     * <li>为null表示不使用自适应预取，默认为null</li>
+     * <li>缓存反序列化后需要重新设置</li>
+     * </ul>
+     * 
+     * @param adaptivePrefetcher
+     */
+    public void setAdaptivePrefetcher(AdaptivePrefetcher<K> adaptivePrefetcher) {
+        this.adaptivePrefetcher = adaptivePrefetcher;
+    }
+
+    /**
+     * 得到执行获取数据任务的线程池，未设置时新建默认线程池，见{@link #newGetDataExecutor(int, int, RejectedExecutionHandler)}
+     * 
+     * @return
+     */
+    public ExecutorService getGetDataExecutor() {
+        ExecutorService executor = getDataExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = getDataExecutor;
+                if (executor == null) {
+                    executor = newGetDataExecutor(DEFAULT_GET_DATA_THREAD_NUMBER, DEFAULT_GET_DATA_QUEUE_SIZE,
+                                                  new GetDataRejectedPolicy());
+                    getDataExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 设置执行获取数据任务的线程池，由调用者负责关闭
+     * <ul>
+     * <li>为null表示使用默认线程池</li>
+     * <li>线程池的拒绝策略需要执行任务或抛出{@link RejectedExecutionException}，不能直接丢弃任务，否则等待该任务的get会一直阻塞</li>
+     * <li>预取等不允许在调用者线程执行的任务，拒绝策略在调用者线程执行时当作拒绝，见{@link GetDataRejectedPolicy}</li>
+     * <li>缓存反序列化后需要重新设置</li>
+     * </ul>
+     * 
+     * @param getDataExecutor
+     */
+    public void setGetDataExecutor(ExecutorService getDataExecutor) {
+        this.getDataExecutor = getDataExecutor;
+    }
+
+    /**
+     * 新建获取数据的有界线程池
+     * <ul>
+     * <li>线程为守护线程，空闲60秒后退出</li>
+     * <li>所有线程都在执行并且等待队列已满时，由handler处理，默认线程池使用{@link GetDataRejectedPolicy}</li>
+     * </ul>
+     * 
+     * @param threadNumber 最大线程数
+     * @param queueSize 等待队列大小
+     * @param handler 拒绝策略
+     * @return
+     */
+    public static ExecutorService newGetDataExecutor(int threadNumber, int queueSize, RejectedExecutionHandler handler) {
+        if (threadNumber <= 0) {
+            throw new IllegalArgumentException("The threadNumber of executor must be greater than 0.");
+        }
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("The queueSize of executor must be greater than 0.");
+        }
+
+        ThreadFactory threadFactory = new ThreadFactory() {
+
+            private final AtomicInteger threadCount = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "GetDataThread-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threadNumber, threadNumber, 60, TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<Runnable>(queueSize),
+                                                             threadFactory, handler);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 获取数据线程池的默认拒绝策略
+     * <ul>
+     * <li>预取等不允许在调用者线程执行的任务抛出{@link RejectedExecutionException}，由缓存结束该任务，等待该任务的get当作未获取到数据</li>
+     * <li>其他任务由调用者线程执行，同{@link ThreadPoolExecutor.CallerRunsPolicy}</li>
+     * <li>线程池已关闭时抛出{@link RejectedExecutionException}</li>
+     * </ul>
+     * 
+     * @author Trinea 2012-7-27 下午10:16:42
+     */
+    public static class GetDataRejectedPolicy implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()
+                || (r instanceof AutoGetDataCache<?, ?>.GetDataThread
+                    && !((AutoGetDataCache<?, ?>.GetDataThread)r).callerRunsAllowed)) {
+                throw new RejectedExecutionException("Task " + r.toString() + " rejected from " + executor.toString());
+            }
+            r.run();
+        }
+    }
+
+    /**
+     * 新建每个任务一个虚拟线程的线程池，虚拟线程不受系统线程数限制
+     * 
+     * @return 当前JVM不支持虚拟线程时返回null
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 反序列化后重新初始化正在获取数据的任务和获取数据为null的key的缓存
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        gettingDataThreadMap = new ConcurrentHashMap<K, GetDataThread>();
+        negativeCache = newNegativeCache();
+    }
+
+    /**
+     * 从文件中恢复缓存
+     * 
+     * @param filePath 文件路径
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> AutoGetDataCache<K, V> loadCache(String filePath) {
+        return (AutoGetDataCache<K, V>)SerializeUtils.deserialization(filePath);
+    }
+
+    /**
+     * 获取新数据的类
+     * 
+     * @author Trinea 2012-3-4 下午01:34:27
+     */
+    public interface OnGetDataListener<K, V> extends Serializable {
+
+        /**
+         * 获取数据的方法
+         * 
+         * @param key
+         * @return 返回null不会存入缓存
+         */
+        public CacheObject<V> onGetData(K key);
+    }
+
+    /**
+     * 批量获取新数据的类
+     * 
+     * @author Trinea 2012-7-9 下午10:21:36
+     */
+    public interface OnGetBulkDataListener<K, V> extends Serializable {
+
+        /**
+         * 批量获取数据的方法
+         * 
+         * @param keys
+         * @return key到数据的map，不包含的key或数据为null的key不会存入缓存
+         */
+        public Map<K, CacheObject<V>> onGetData(Collection<K> keys);
+    }
+
+    /**
+     * 获取新数据的任务，在{@link #getGetDataExecutor()}中执行
+     * 
+     * @author Trinea 2012-3-4 下午02:09:10
+     */
+    protected class GetDataThread implements Runnable {
+
+        private AutoGetDataCache<K, V>      cache;
+        private K                           key;
+        private OnGetDataListener<K, V>     onGetDataListener;
+
+        /** 批量获取数据的key，为null表示获取单个key **/
+        private Collection<K>               keys;
+        private OnGetBulkDataListener<K, V> onGetBulkDataListener;
+
+        /** put结束的锁 **/
+        private CountDownLatch              finishPutLock;
+        /** put结束时完成的future，获取数据抛出异常时异常完成 **/
+        private CompletableFuture<Void>     finishFuture;
+        /** 开始执行的时间，为0表示未开始 **/
+        private volatile long               startTime;
+        /** 线程池满时是否允许在提交任务的线程执行 **/
+        private volatile boolean            callerRunsAllowed = true;
+        /** 正在提交任务的线程，提交结束后为null **/
+        private volatile Thread             submitThread;
+        /** 开始执行的时间，以纳秒计 **/
+        private volatile long               startNanoTime;
+        /** 获取结果是否已记录到统计和熔断器，结束和超时只有先到的一方记录 **/
+        private final AtomicBoolean         recorded          = new AtomicBoolean(false);
+        /** 是否已超时取消 **/
+        private volatile boolean            cancelled;
+        /** 正在执行任务的线程，未开始或已结束时为null，取消时中断该线程 **/
+        private Thread                      runThread;
+
+        /**
+         * 获取数据
+         * 
+         * @param cache 存储数据的缓存
+         * @param key 获取数据的key
+         * @param onGetDataListener 获取数据的接口
+         */
+        public GetDataThread(AutoGetDataCache<K, V> cache, K key, OnGetDataListener<K, V> onGetDataListener){
+            this.cache = cache;
+            this.key = key;
+            this.onGetDataListener = onGetDataListener;
+            finishPutLock = new CountDownLatch(1);
+            finishFuture = new CompletableFuture<Void>();
+        }
+
+        /**
+         * 批量获取数据
+         * 
+         * @param cache 存储数据的缓存
+         * @param keys 获取数据的key
+         * @param onGetBulkDataListener 批量获取数据的接口
+         */
+        public GetDataThread(AutoGetDataCache<K, V> cache, Collection<K> keys,
+                             OnGetBulkDataListener<K, V> onGetBulkDataListener){
+            this.cache = cache;
+            this.keys = keys;
+            this.onGetBulkDataListener = onGetBulkDataListener;
+            finishPutLock = new CountDownLatch(1);
+            finishFuture = new CompletableFuture<Void>();
+        }
+
+        public void run() {
+            if (!callerRunsAllowed && Thread.currentThread() == submitThread) {
+                // 拒绝策略在调用者线程执行，当作拒绝
+                throw new RejectedExecutionException("GetDataThread must not run in caller thread.");
+            }
+            synchronized (this) {
+                if (cancelled) {
+                    // 在线程池队列中等待时已超时取消
+                    return;
+                }
+                runThread = Thread.currentThread();
+            }
+
+            startNanoTime = System.nanoTime();
+            startTime = System.currentTimeMillis();
+            try {
+                loadWithRetry();
+                if (cache != null && recorded.compareAndSet(false, true)) {
+                    cache.onLoadFinish(startTime, System.nanoTime() - startNanoTime, true);
+                }
+            } catch (RuntimeException e) {
+                if (cache != null && recorded.compareAndSet(false, true)) {
+                    cache.onLoadFinish(startTime, System.nanoTime() - startNanoTime, false);
+                }
+                // 异常通过future传递，不再抛出，在调用者线程执行时不会影响调用者
+                finishFuture.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    runThread = null;
+                    if (cancelled) {
+                        // 清除取消时的中断状态，不影响线程池线程执行之后的任务
+                        Thread.interrupted();
+                    }
+                }
+                finish();
+            }
+        }
+
+        /**
+         * 超时取消，只有第一次调用有效
+         * <ul>
+         * <li>未记录获取结果时记为失败，之后任务结束时不再记录</li>
+         * <li>任务在线程池队列中等待时不再执行，正在执行时中断执行的线程，获取数据的接口响应中断时可以提前释放线程池的线程</li>
+         * <li>从正在获取数据的任务中删除并释放锁，等待的get不再等待，future以{@link TimeoutException}异常完成</li>
+         * </ul>
+         */
+        private void timeout() {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+            }
+
+            // 先记录再中断，中断后提前结束的获取不会记为成功
+            if (cache != null && recorded.compareAndSet(false, true)) {
+                long start = startTime;
+                cache.onLoadFinish(start > 0 ? start : System.currentTimeMillis(),
+                                   start > 0 ? System.nanoTime() - startNanoTime : 0, false);
+            }
+            synchronized (this) {
+                if (runThread != null) {
+                    runThread.interrupt();
+                }
+            }
+            finishFuture.completeExceptionally(new TimeoutException("Load timeout."));
+            finish();
+        }
+
+        /**
+         * 获取数据，抛出异常时按照重试次数重试，每次重试前等待的时间加倍
+         */
+        private void loadWithRetry() {
+            for (int i = 0;; i++) {
+                try {
+                    load();
+                    return;
+                } catch (RuntimeException e) {
+                    if (cache == null || i >= cache.retryCount) {
+                        throw e;
+                    }
+                }
+
+                long interval = cache.retryInterval << Math.min(i, 16);
+                if (interval > 0) {
+                    try {
+                        Thread.sleep(interval);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException("InterruptedException occurred. ", e);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 获取数据并放入缓存
+         */
+        private void load() {
+            if (keys != null) {
+                if (onGetBulkDataListener != null && cache != null) {
+                    Map<K, CacheObject<V>> objectMap = onGetBulkDataListener.onGetData(keys);
+                    if (!MapUtils.isEmpty(objectMap)) {
+                        objectMap.values().removeAll(Collections.singleton(null));
+                        cache.putAllCacheObject(objectMap);
+                    }
+                    for (K k : keys) {
+                        if (objectMap == null || !objectMap.containsKey(k)) {
+                            cache.putNegative(k);
+                        }
+                    }
+                }
+            } else if (key != null && onGetDataListener != null && cache != null) {
+                CacheObject<V> object = onGetDataListener.onGetData(key);
+                if (object != null) {
+                    cache.put(key, object);
+                } else {
+                    cache.putNegative(key);
+                }
+            }
+        }
+
+        /**
+         * 是否已执行超过超时时间
+         * 
+         * @return
+         */
+        public boolean isTimeout() {
+            long timeout = (cache == null ? -1 : cache.loadTimeout);
+            return timeout > 0 && startTime > 0 && System.currentTimeMillis() - startTime > timeout;
+        }
+
+        /**
+         * 从正在获取数据的任务中删除，并释放锁。先删除再释放锁，等待结束的get之后再次get同一key时不会得到已结束的任务
+         */
+        private void finish() {
+            if (gettingDataThreadMap != null) {
+                if (keys != null) {
+                    for (K k : keys) {
+                        gettingDataThreadMap.remove(k, this);
+                    }
+                } else if (key != null) {
+                    gettingDataThreadMap.remove(key, this);
+                }
+            }
+
+            finishPutLock.countDown();
+            finishFuture.complete(null);
+        }
+
+        /**
+         * 得到latch
+         * 
+         * @return the latch
+         */
+        public CountDownLatch getLatch() {
+            return finishPutLock;
+        }
+
+        /**
+         * 得到put结束时完成的future
+         * 
+         * @return
+         */
+        public CompletableFuture<Void> getFuture() {
+            return finishFuture;
+        }
+    };
+}
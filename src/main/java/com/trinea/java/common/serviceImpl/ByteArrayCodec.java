@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.nio.ByteBuffer;
+
+import com.trinea.java.common.service.Codec;
+
+/**
+ * byte数组的编解码<br/>
+ * <br/>
+ * 编码格式为4字节长度加数组内容，null的长度为-1
+ * 
+ * @author Trinea 2012-7-25 下午08:26:14
+ */
+public class ByteArrayCodec implements Codec<byte[]> {
+
+    @Override
+    public void encode(byte[] value, ByteBuffer buffer) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    @Override
+    public byte[] decode(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return value;
+    }
+}
@@ -0,0 +1,630 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import com.trinea.java.common.entity.CacheObject;
+
+/**
+ * 缓存修改的追加日志，记录put、remove和clear，用于进程重启后恢复缓存，见{@link PersistentCache}<br/>
+ * <br/>
+ * <ul>
+ * 文件格式
+ * <li>文件头{@link #HEADER_SIZE}字节，为魔数{@link #MAGIC}和版本{@link #VERSION}</li>
+ * <li>之后依次为每条记录，记录为4字节长度(不包括长度和校验和)、4字节CRC32校验和、1字节操作类型和操作数据，
+ * put的操作数据与{@link CacheSnapshot}的记录相同，remove的操作数据为key</li>
+ * <li>进程崩溃时最后一条记录可能不完整，恢复时从第一条不完整或校验和不一致的记录处截断</li>
+ * </ul>
+ * <ul>
+ * 写入和同步
+ * <li>{@link #appendPut(Object, CacheObject)}等只将记录编码到内存缓冲区并返回记录序号，不写文件</li>
+ * <li>{@link #sync(long)}将缓冲区中的所有记录一次写入文件并force，多个线程同时sync时只有一个线程写文件，
+ * 其他线程等待后发现自己的记录已经同步直接返回，即组提交</li>
+ * <li>写文件失败时未同步的记录保留在缓冲区，文件截断到上次同步的位置，日志标记为失败，之后追加和同步都抛出异常，
+ * 不会把未写入的记录当作已同步</li>
+ * <li>写文件的线程被中断时通道会被关闭，此时重新打开文件，本次同步抛出异常但日志不标记为失败，记录在下次同步时写入</li>
+ * <li>{@link #rotate()}将当前日志移到{@link #getOldFilePath()}并新建日志，旧日志合并到快照后通过{@link #deleteOldLog()}删除</li>
+ * </ul>
+ * 
+ * @author Trinea 2012-7-22 上午10:41:27
+ */
+public class CacheLog<K, V> {
+
+    /** 文件头魔数 **/
+    public static final int           MAGIC       = 0x54434c47;
+    /** 文件格式版本 **/
+    public static final int           VERSION     = 2;
+    /** 文件头长度 **/
+    public static final int           HEADER_SIZE = 8;
+
+    private static final byte         OP_PUT      = 1;
+    private static final byte         OP_REMOVE   = 2;
+    private static final byte         OP_CLEAR    = 3;
+
+    private final String              filePath;
+    private final CacheSnapshot<K, V> snapshot;
+
+    /** 编码记录到缓冲区的锁 **/
+    private final ReentrantLock       appendLock  = new ReentrantLock();
+    /** 写文件的锁，先于appendLock获取 **/
+    private final ReentrantLock       syncLock    = new ReentrantLock();
+    private final CRC32               crc         = new CRC32();
+    /** 待写入的记录 **/
+    private ByteBuffer                buffer      = ByteBuffer.allocate(CacheSnapshot.DEFAULT_BUFFER_SIZE);
+    /** 写文件时与buffer交换，持有syncLock时访问 **/
+    private ByteBuffer                spare       = ByteBuffer.allocate(CacheSnapshot.DEFAULT_BUFFER_SIZE);
+    private FileChannel               channel;
+    /** 已追加的记录个数 **/
+    private long                      appendedCount;
+    /** 已同步到文件的记录个数 **/
+    private volatile long             syncedCount;
+    /** 日志大小，包括未写入的记录 **/
+    private volatile long             size;
+    /** 上次同步后文件的结束位置，持有syncLock时访问 **/
+    private long                      syncedPosition;
+    /** 写文件失败的异常，不为null表示日志已失败 **/
+    private volatile IOException      failure;
+
+    /**
+     * @param filePath 日志文件路径
+     * @param snapshot 用于编解码put记录
+     */
+    public CacheLog(String filePath, CacheSnapshot<K, V> snapshot){
+        if (filePath == null || filePath.length() == 0) {
+            throw new IllegalArgumentException("The filePath must not be empty.");
+        }
+        if (snapshot == null) {
+            throw new IllegalArgumentException("The snapshot must not be null.");
+        }
+
+        this.filePath = filePath;
+        this.snapshot = snapshot;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * 得到{@link #rotate()}后旧日志的路径
+     * 
+     * @return
+     */
+    public String getOldFilePath() {
+        return filePath + ".old";
+    }
+
+    /**
+     * 日志大小，包括未写入文件的记录
+     * 
+     * @return
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 未写入文件的记录大小
+     * 
+     * @return
+     */
+    public int getPendingSize() {
+        appendLock.lock();
+        try {
+            return buffer.position();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 已追加的记录个数，即最后一条记录的序号
+     * 
+     * @return
+     */
+    public long getAppendedCount() {
+        appendLock.lock();
+        try {
+            return appendedCount;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public long getSyncedCount() {
+        return syncedCount;
+    }
+
+    /**
+     * 是否写文件失败，失败后追加和同步都抛出{@link IllegalStateException}
+     * 
+     * @return
+     */
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * 是否存在未合并的旧日志
+     * 
+     * @return
+     */
+    public boolean hasOldLog() {
+        return Files.exists(Paths.get(getOldFilePath()));
+    }
+
+    /**
+     * 依次重放旧日志和日志到map中，截断日志中不完整的记录，并打开日志用于追加
+     * 
+     * @param map 重放前的元素，一般为快照中的元素，put的元素移到map最后
+     */
+    public void open(Map<K, CacheObject<V>> map) {
+        syncLock.lock();
+        try {
+            if (channel != null) {
+                throw new IllegalStateException("The log is already opened: " + filePath);
+            }
+
+            Path oldPath = Paths.get(getOldFilePath());
+            if (Files.exists(oldPath)) {
+                FileChannel oldChannel = FileChannel.open(oldPath, StandardOpenOption.READ);
+                try {
+                    replay(oldChannel, getOldFilePath(), map);
+                } finally {
+                    CacheSnapshot.close(oldChannel);
+                }
+            }
+
+            Path path = Paths.get(filePath);
+            long end = -1;
+            if (Files.exists(path)) {
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                end = replay(channel, filePath, map);
+                if (end < 0) {
+                    CacheSnapshot.close(channel);
+                    channel = null;
+                }
+            }
+            if (end < 0) {
+                channel = create(path);
+                end = HEADER_SIZE;
+            } else {
+                channel.truncate(end);
+                channel.position(end);
+            }
+            size = end;
+            syncedPosition = end;
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 追加put记录，需要在修改缓存的锁内调用以保证记录顺序与缓存修改顺序一致
+     * 
+     * @param key
+     * @param value
+     * @return 记录序号，用于{@link #sync(long)}
+     */
+    public long appendPut(K key, CacheObject<V> value) {
+        return append(OP_PUT, key, value);
+    }
+
+    /**
+     * 追加remove记录，见{@link #appendPut(Object, CacheObject)}
+     * 
+     * @param key
+     * @return 记录序号
+     */
+    public long appendRemove(K key) {
+        return append(OP_REMOVE, key, null);
+    }
+
+    /**
+     * 追加clear记录，见{@link #appendPut(Object, CacheObject)}
+     * 
+     * @return 记录序号
+     */
+    public long appendClear() {
+        return append(OP_CLEAR, null, null);
+    }
+
+    private long append(byte op, K key, CacheObject<V> value) {
+        appendLock.lock();
+        try {
+            if (channel == null) {
+                throw new IllegalStateException("The log is not opened: " + filePath);
+            }
+            checkFailure();
+            while (true) {
+                int start = buffer.position();
+                try {
+                    buffer.putInt(0).putInt(0).put(op);
+                    if (op == OP_PUT) {
+                        snapshot.encodeRecord(key, value, buffer);
+                    } else if (op == OP_REMOVE) {
+                        snapshot.getKeyCodec().encode(key, buffer);
+                    }
+                    int length = buffer.position() - start - 8;
+                    crc.reset();
+                    crc.update(buffer.array(), buffer.arrayOffset() + start + 8, length);
+                    buffer.putInt(start, length);
+                    buffer.putInt(start + 4, (int)crc.getValue());
+                    size += length + 8;
+                    return ++appendedCount;
+                } catch (BufferOverflowException e) {
+                    buffer.position(start);
+                    buffer.flip();
+                    ByteBuffer newBuffer = ByteBuffer.allocate(buffer.capacity() << 1);
+                    newBuffer.put(buffer);
+                    buffer = newBuffer;
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 保证序号不大于sequence的记录都已写入文件并force，可能会同时写入之后追加的记录
+     * 
+     * @param sequence 记录序号
+     */
+    public void sync(long sequence) {
+        if (syncedCount >= sequence) {
+            return;
+        }
+
+        syncLock.lock();
+        try {
+            // 等待期间其他线程可能已经同步了这条记录
+            if (syncedCount < sequence) {
+                flush();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 将所有已追加的记录写入文件并force
+     */
+    public void sync() {
+        sync(getAppendedCount());
+    }
+
+    /**
+     * 交换缓冲区后写入文件，写文件时不阻塞追加记录，需要持有syncLock
+     */
+    private void flush() throws IOException {
+        checkFailure();
+        ByteBuffer fullBuffer;
+        long count;
+        appendLock.lock();
+        try {
+            if (channel == null || buffer.position() == 0) {
+                return;
+            }
+            fullBuffer = buffer;
+            buffer = spare;
+            count = appendedCount;
+        } finally {
+            appendLock.unlock();
+        }
+
+        try {
+            fullBuffer.flip();
+            while (fullBuffer.hasRemaining()) {
+                channel.write(fullBuffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            fail(fullBuffer, e);
+            throw e;
+        }
+        syncedPosition = channel.position();
+        syncedCount = count;
+        fullBuffer.clear();
+        spare = fullBuffer;
+    }
+
+    /**
+     * 写文件失败时调用，需要持有syncLock
+     * <ul>
+     * <li>截断文件到上次同步的位置，去掉部分写入的记录，否则之后的记录追加在不完整的记录后，恢复时都会被截断</li>
+     * <li>未同步的记录放回缓冲区，放在写文件期间追加的记录前</li>
+     * <li>线程被中断导致通道关闭时重新打开文件，重新打开失败或其他异常时标记日志失败</li>
+     * </ul>
+     * 
+     * @param fullBuffer 写入失败的记录
+     * @param e 写文件的异常
+     */
+    private void fail(ByteBuffer fullBuffer, IOException e) {
+        boolean reopened = (e instanceof ClosedByInterruptException) && reopen(e);
+        if (!reopened) {
+            try {
+                channel.truncate(syncedPosition);
+                channel.position(syncedPosition);
+            } catch (IOException truncateException) {
+                e.addSuppressed(truncateException);
+            }
+        }
+
+        appendLock.lock();
+        try {
+            fullBuffer.position(0);
+            buffer.flip();
+            ByteBuffer newBuffer = ByteBuffer.allocate(Math.max(fullBuffer.capacity(),
+                                                                fullBuffer.remaining() + buffer.remaining()));
+            newBuffer.put(fullBuffer).put(buffer);
+            buffer.clear();
+            spare = buffer;
+            buffer = newBuffer;
+            if (!reopened) {
+                failure = e;
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * 重新打开被中断关闭的通道并截断到上次同步的位置，需要持有syncLock<br/>
+     * 打开期间暂时清除当前线程的中断状态，否则新的通道也会被立即关闭
+     * 
+     * @param e 写文件的异常，重新打开失败的异常加入其中
+     * @return 是否重新打开
+     */
+    private boolean reopen(IOException e) {
+        boolean interrupted = Thread.interrupted();
+        FileChannel newChannel = null;
+        try {
+            newChannel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            newChannel.truncate(syncedPosition);
+            newChannel.position(syncedPosition);
+        } catch (IOException reopenException) {
+            CacheSnapshot.close(newChannel);
+            e.addSuppressed(reopenException);
+            return false;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        appendLock.lock();
+        try {
+            channel = newChannel;
+        } finally {
+            appendLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * 日志已失败时抛出{@link IllegalStateException}，修改缓存前调用可以避免修改了缓存却无法记录
+     */
+    public void checkFailure() {
+        IOException e = failure;
+        if (e != null) {
+            throw new IllegalStateException("The log is failed: " + filePath, e);
+        }
+    }
+
+    /**
+     * 同步后将当前日志移到{@link #getOldFilePath()}并新建日志，旧日志已存在(上次合并失败)时将当前日志追加到旧日志后<br/>
+     * 需要在修改缓存的锁内调用，使旧日志恰好包含调用前的所有修改
+     */
+    public void rotate() {
+        syncLock.lock();
+        try {
+            flush();
+            CacheSnapshot.close(channel);
+            channel = null;
+
+            Path path = Paths.get(filePath), oldPath = Paths.get(getOldFilePath());
+            if (Files.exists(oldPath)) {
+                FileChannel in = FileChannel.open(path, StandardOpenOption.READ);
+                FileChannel out = null;
+                try {
+                    out = FileChannel.open(oldPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                    long position = HEADER_SIZE, end = in.size();
+                    while (position < end) {
+                        position += in.transferTo(position, end - position, out);
+                    }
+                    out.force(true);
+                } finally {
+                    CacheSnapshot.close(in);
+                    CacheSnapshot.close(out);
+                }
+                Files.delete(path);
+            } else {
+                CacheSnapshot.move(path, oldPath);
+            }
+
+            appendLock.lock();
+            try {
+                channel = create(path);
+                size = HEADER_SIZE + buffer.position();
+            } finally {
+                appendLock.unlock();
+            }
+            syncedPosition = HEADER_SIZE;
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 删除旧日志，旧日志中的修改已经保存到快照后调用
+     */
+    public void deleteOldLog() {
+        try {
+            Files.deleteIfExists(Paths.get(getOldFilePath()));
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        }
+    }
+
+    /**
+     * 同步所有记录并关闭日志，日志已失败时关闭后抛出{@link IllegalStateException}
+     */
+    public void close() {
+        syncLock.lock();
+        try {
+            try {
+                flush();
+            } finally {
+                CacheSnapshot.close(channel);
+                channel = null;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 新建只有文件头的日志
+     */
+    private static FileChannel create(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                               StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+        return channel;
+    }
+
+    /**
+     * 重放日志中的记录到map
+     * 
+     * @return 最后一条完整记录的结束位置，文件头不完整时返回-1
+     */
+    private long replay(FileChannel channel, String path, Map<K, CacheObject<V>> map) throws IOException {
+        LogReader reader = new LogReader(channel);
+        if (!reader.ensure(HEADER_SIZE)) {
+            return -1;
+        }
+        if (reader.buffer.getInt() != MAGIC) {
+            throw new RuntimeException("The file is not a cache log: " + path);
+        }
+        int version = reader.buffer.getInt();
+        if (version != VERSION) {
+            throw new RuntimeException("The version of cache log is not supported: " + version);
+        }
+
+        long end = HEADER_SIZE;
+        CRC32 recordCrc = new CRC32();
+        while (reader.ensure(8)) {
+            ByteBuffer buffer = reader.buffer;
+            int length = buffer.getInt(buffer.position()), checksum = buffer.getInt(buffer.position() + 4);
+            // 不完整的记录长度可能是任意值，超过文件剩余长度时截断，避免按该长度分配缓冲区
+            if (length <= 0 || length > reader.remaining() - 8 || !reader.ensure(length + 8)) {
+                break;
+            }
+            buffer = reader.buffer;
+            int start = buffer.position() + 8;
+            recordCrc.reset();
+            recordCrc.update(buffer.array(), buffer.arrayOffset() + start, length);
+            if ((int)recordCrc.getValue() != checksum) {
+                break;
+            }
+
+            buffer.position(start);
+            byte op = buffer.get();
+            if (op == OP_PUT) {
+                K key = snapshot.getKeyCodec().decode(buffer);
+                CacheObject<V> obj = snapshot.decodeObject(buffer);
+                map.remove(key);
+                map.put(key, obj);
+            } else if (op == OP_REMOVE) {
+                map.remove(snapshot.getKeyCodec().decode(buffer));
+            } else if (op == OP_CLEAR) {
+                map.clear();
+            } else {
+                break;
+            }
+            buffer.position(start + length);
+            end += length + 8;
+        }
+        return end;
+    }
+
+    /**
+     * 从文件头开始按位置读取日志到缓冲区
+     */
+    private static class LogReader {
+
+        private final FileChannel channel;
+        private ByteBuffer        buffer = ByteBuffer.allocate(CacheSnapshot.DEFAULT_BUFFER_SIZE);
+        /** 下次读取的文件位置 **/
+        private long              position;
+
+        LogReader(FileChannel channel){
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        /**
+         * 从当前读取位置到文件结束的字节数，包括缓冲区中未读取的部分
+         * 
+         * @return
+         */
+        long remaining() throws IOException {
+            return channel.size() - position + buffer.remaining();
+        }
+
+        /**
+         * 保证缓冲区中至少有count字节未读取
+         * 
+         * @return false表示文件剩余长度不足
+         */
+        boolean ensure(int count) throws IOException {
+            if (buffer.capacity() < count) {
+                ByteBuffer newBuffer = ByteBuffer.allocate(Math.max(buffer.capacity() << 1, count));
+                newBuffer.put(buffer);
+                newBuffer.flip();
+                buffer = newBuffer;
+            }
+            while (buffer.remaining() < count) {
+                buffer.compact();
+                int readCount = channel.read(buffer, position);
+                buffer.flip();
+                if (readCount < 0) {
+                    return false;
+                }
+                position += readCount;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.trinea.java.common.StringUtils;
+import com.trinea.java.common.entity.CacheStats;
+import com.trinea.java.common.service.Cache;
+import com.trinea.java.common.service.CacheStatsMXBean;
+import com.trinea.java.common.service.CacheStatsReporter;
+
+/**
+ * 缓存监控，将缓存的{@link CacheStats}及元素个数、正在获取数据的key个数作为{@link CacheStatsMXBean}暴露<br/>
+ * <br/>
+ * <ul>
+ * <li>{@link #registerMBean()}注册到platform MBeanServer，ObjectName为{@link #DEFAULT_DOMAIN}:type=Cache,name=缓存名称</li>
+ * <li>{@link #addReporter(CacheStatsReporter)}添加报告接口，通过{@link #report()}或{@link #scheduleReport(ScheduledExecutorService, long)}
+ * 报告当前指标和距上次报告的增量</li>
+ * <li>各项指标在读取时从缓存得到，不加锁</li>
+ * </ul>
+ * 
+ * @author Trinea 2012-7-18 下午08:20:46
+ */
+public class CacheMonitor implements CacheStatsMXBean {
+
+    /** JMX ObjectName的domain **/
+    public static final String             DEFAULT_DOMAIN  = "com.trinea.java.common";
+
+    private final String                   name;
+    private final Cache<?, ?>              cache;
+    private final ObjectName               objectName;
+
+    private final List<CacheStatsReporter> reporterList    = new CopyOnWriteArrayList<CacheStatsReporter>();
+    /** 上次报告时的统计 **/
+    private CacheStats                     lastReportStats = CacheStats.empty();
+
+    /**
+     * @param name 缓存名称，不能为空
+     * @param cache 被监控的缓存，为{@link AutoGetDataCache}时报告正在获取数据的key个数
+     */
+    public CacheMonitor(String name, Cache<?, ?> cache){
+        if (StringUtils.isEmpty(name)) {
+            throw new IllegalArgumentException("The name must not be empty.");
+        }
+        if (cache == null) {
+            throw new IllegalArgumentException("The cache must not be null.");
+        }
+
+        this.name = name;
+        this.cache = cache;
+        try {
+            this.objectName = new ObjectName(DEFAULT_DOMAIN + ":type=Cache,name=" + ObjectName.quote(name));
+        } catch (JMException e) {
+            throw new RuntimeException("JMException occurred. ", e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public Cache<?, ?> getCache() {
+        return cache;
+    }
+
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public int getSize() {
+        return cache.getSize();
+    }
+
+    @Override
+    public long getHitCount() {
+        return cache.getStats().getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return cache.getStats().getMissCount();
+    }
+
+    @Override
+    public double getHitRate() {
+        return cache.getHitRate();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return cache.getStats().getEvictionCount();
+    }
+
+    @Override
+    public long getExpiredCount() {
+        return cache.getStats().getExpiredCount();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return cache.getStats().getLoadSuccessCount();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return cache.getStats().getLoadFailureCount();
+    }
+
+    @Override
+    public double getAverageLoadTime() {
+        return cache.getStats().getAverageLoadTime() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public double getLoadTime50thPercentile() {
+        return getLoadTimePercentile(0.5);
+    }
+
+    @Override
+    public double getLoadTime95thPercentile() {
+        return getLoadTimePercentile(0.95);
+    }
+
+    @Override
+    public double getLoadTime99thPercentile() {
+        return getLoadTimePercentile(0.99);
+    }
+
+    @Override
+    public int getLoadingCount() {
+        return (cache instanceof AutoGetDataCache) ? ((AutoGetDataCache<?, ?>)cache).getLoadingCount() : 0;
+    }
+
+    /**
+     * 得到获取数据用时的百分位数，见{@link CacheStats#getLoadTimePercentile(double)}
+     * 
+     * @param percentile 百分位，0到1之间
+     * @return 以毫秒计
+     */
+    private double getLoadTimePercentile(double percentile) {
+        return (double)cache.getStats().getLoadTimePercentile(percentile) / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * 注册到platform MBeanServer，已注册时先注销原来的
+     */
+    public void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            synchronized (server) {
+                if (server.isRegistered(objectName)) {
+                    server.unregisterMBean(objectName);
+                }
+                server.registerMBean(this, objectName);
+            }
+        } catch (JMException e) {
+            throw new RuntimeException("JMException occurred. ", e);
+        }
+    }
+
+    /**
+     * 从platform MBeanServer注销，未注册时不做处理
+     */
+    public void unregisterMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            synchronized (server) {
+                if (server.isRegistered(objectName)) {
+                    server.unregisterMBean(objectName);
+                }
+            }
+        } catch (JMException e) {
+            throw new RuntimeException("JMException occurred. ", e);
+        }
+    }
+
+    /**
+     * 添加报告接口
+     * 
+     * @param reporter
+     */
+    public void addReporter(CacheStatsReporter reporter) {
+        if (reporter == null) {
+            throw new IllegalArgumentException("The reporter must not be null.");
+        }
+        reporterList.add(reporter);
+    }
+
+    /**
+     * 删除报告接口
+     * 
+     * @param reporter
+     * @return 是否删除成功
+     */
+    public boolean removeReporter(CacheStatsReporter reporter) {
+        return reporterList.remove(reporter);
+    }
+
+    /**
+     * 向所有报告接口报告当前指标和距上次报告的统计增量
+     * 
+     * @return 距上次报告的统计增量
+     */
+    public synchronized CacheStats report() {
+        CacheStats stats = cache.getStats();
+        CacheStats delta = stats.minus(lastReportStats);
+        lastReportStats = stats;
+        for (CacheStatsReporter reporter : reporterList) {
+            reporter.report(this, delta);
+        }
+        return delta;
+    }
+
+    /**
+     * 定时调用{@link #report()}，报告接口抛出异常时之后不再报告，见{@link ScheduledExecutorService#scheduleAtFixedRate}
+     * 
+     * @param executor
+     * @param period 报告间隔，以毫秒计
+     * @return 用于取消定时报告
+     */
+    public ScheduledFuture<?> scheduleReport(ScheduledExecutorService executor, long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("The period must be greater than 0.");
+        }
+
+        return executor.scheduleAtFixedRate(new Runnable() {
+
+            @Override
+            public void run() {
+                report();
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+}
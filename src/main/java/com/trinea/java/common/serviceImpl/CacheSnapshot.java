@@ -0,0 +1,666 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.service.Cache;
+import com.trinea.java.common.service.CacheFullRemoveType;
+import com.trinea.java.common.service.CacheWeigher;
+import com.trinea.java.common.service.Codec;
+
+/**
+ * 缓存的二进制快照，通过{@link Codec}编解码key和元素数据，用于代替{@link SimpleCache#saveCache(String, SimpleCache)}的java序列化<br/>
+ * <br/>
+ * <ul>
+ * 文件格式
+ * <li>文件头{@link #HEADER_SIZE}字节，依次为魔数{@link #MAGIC}、版本{@link #VERSION}、标记、元素个数、数据部分的CRC32校验和及数据部分长度</li>
+ * <li>数据部分依次为每个元素的记录，记录为4字节记录长度(不包括自身)、key、元素使用信息(同{@link OffHeapCache})、元素权重和编码后的元素数据</li>
+ * <li>压缩时数据部分使用deflate压缩，校验和及长度均按压缩前计算</li>
+ * </ul>
+ * <ul>
+ * 保存和恢复
+ * <li>{@link #save(String, Cache)}遍历缓存，元素编码到缓冲区，缓冲区满时一次写入{@link FileChannel}，先写入临时文件，完成后替换原文件</li>
+ * <li>{@link #load(String, SimpleCache)}读取并校验所有元素后一次放入缓存，保留元素的进入时间和使用信息，已经过期的元素不放入</li>
+ * <li>{@link #loadLazily(String, SimpleCache)}内存映射文件，只解码key、元素使用信息和权重，元素数据在第一次{@link CacheObject#getData()}时解码</li>
+ * </ul>
+ * 
+ * @author Trinea 2012-7-21 下午02:16:40
+ */
+public class CacheSnapshot<K, V> {
+
+    /** 文件头魔数 **/
+    public static final int    MAGIC                = 0x54435348;
+    /** 文件格式版本 **/
+    public static final int    VERSION              = 2;
+    /** 文件头长度 **/
+    public static final int    HEADER_SIZE          = 36;
+    /** 默认读写缓冲区大小 **/
+    public static final int    DEFAULT_BUFFER_SIZE  = 64 * 1024;
+
+    /** 数据部分已压缩 **/
+    static final int           FLAG_COMPRESSED      = 1;
+
+    private static final byte  FLAG_EXPIRED         = 1;
+    private static final byte  FLAG_FOREVER         = 2;
+
+    private final Codec<K>     keyCodec;
+    private final Codec<V>     valueCodec;
+    private final boolean      compress;
+
+    /**
+     * 不压缩的快照
+     * 
+     * @param keyCodec key的编解码
+     * @param valueCodec 元素数据的编解码
+     */
+    public CacheSnapshot(Codec<K> keyCodec, Codec<V> valueCodec){
+        this(keyCodec, valueCodec, false);
+    }
+
+    /**
+     * @param keyCodec key的编解码
+     * @param valueCodec 元素数据的编解码
+     * @param compress 是否压缩数据部分，压缩后文件更小，但保存和恢复更慢
+     */
+    public CacheSnapshot(Codec<K> keyCodec, Codec<V> valueCodec, boolean compress){
+        if (keyCodec == null) {
+            throw new IllegalArgumentException("The keyCodec must not be null.");
+        }
+        if (valueCodec == null) {
+            throw new IllegalArgumentException("The valueCodec must not be null.");
+        }
+
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        this.compress = compress;
+    }
+
+    public Codec<K> getKeyCodec() {
+        return keyCodec;
+    }
+
+    public Codec<V> getValueCodec() {
+        return valueCodec;
+    }
+
+    public boolean isCompress() {
+        return compress;
+    }
+
+    /**
+     * 保存缓存中的所有元素到文件，文件已存在时替换
+     * 
+     * @param filePath 文件路径
+     * @param cache 缓存
+     * @return 保存的元素个数
+     */
+    public int save(String filePath, Cache<K, V> cache) {
+        return save(filePath, cache.entrySet());
+    }
+
+    /**
+     * 保存元素到文件，文件已存在时替换，保存失败时删除临时文件，原文件不变
+     * 
+     * @param filePath 文件路径
+     * @param entries 元素
+     * @return 保存的元素个数
+     */
+    protected int save(String filePath, Iterable<Entry<K, CacheObject<V>>> entries) {
+        Path path = Paths.get(filePath);
+        Path tmpPath = Paths.get(filePath + ".tmp");
+        FileChannel channel = null;
+        boolean success = false;
+        try {
+            channel = FileChannel.open(tmpPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                       StandardOpenOption.TRUNCATE_EXISTING);
+            channel.position(HEADER_SIZE);
+            RecordWriter writer = new RecordWriter(channel);
+            int count = 0;
+            for (Entry<K, CacheObject<V>> entry : entries) {
+                if (entry != null && entry.getValue() != null) {
+                    writer.write(entry.getKey(), entry.getValue());
+                    count++;
+                }
+            }
+            writer.finish();
+
+            Header header = new Header(VERSION, compress ? FLAG_COMPRESSED : 0, count, writer.crc.getValue(),
+                                       writer.length);
+            ByteBuffer headerBuffer = header.toBuffer();
+            while (headerBuffer.hasRemaining()) {
+                channel.write(headerBuffer, headerBuffer.position());
+            }
+            channel.force(true);
+            channel.close();
+            channel = null;
+            move(tmpPath, path);
+            success = true;
+            return count;
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        } finally {
+            close(channel);
+            if (!success) {
+                deleteQuietly(tmpPath);
+            }
+        }
+    }
+
+    /**
+     * 从文件中恢复元素到缓存，见{@link SimpleCache#restoreAll(Map)}
+     * 
+     * @param filePath 文件路径
+     * @param cache 缓存
+     * @return 放入缓存的元素个数，不包括已经过期和缓存已满无法放入的元素
+     */
+    public int load(String filePath, SimpleCache<K, V> cache) {
+        return cache.restoreAll(read(filePath));
+    }
+
+    /**
+     * 读取文件中的所有元素，校验和不一致或文件不完整时抛出异常
+     * 
+     * @param filePath 文件路径
+     * @return key到元素的map，按文件中的顺序
+     */
+    public Map<K, CacheObject<V>> read(String filePath) {
+        FileChannel channel = null;
+        Inflater inflater = null;
+        try {
+            channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+            Header header = Header.read(channel, filePath);
+            ReadableByteChannel body = channel;
+            if ((header.flags & FLAG_COMPRESSED) != 0) {
+                inflater = new Inflater();
+                body = Channels.newChannel(new InflaterInputStream(Channels.newInputStream(channel), inflater,
+                                                                   DEFAULT_BUFFER_SIZE));
+            }
+
+            Map<K, CacheObject<V>> map = new LinkedHashMap<K, CacheObject<V>>();
+            RecordReader reader = new RecordReader(body, filePath);
+            for (long i = 0; i < header.entryCount; i++) {
+                int length = reader.next();
+                ByteBuffer buffer = reader.buffer;
+                int end = buffer.position() + length;
+                K key = keyCodec.decode(buffer);
+                CacheObject<V> obj = decodeObject(buffer);
+                if (buffer.position() != end) {
+                    throw new RuntimeException("The snapshot is corrupted: " + filePath);
+                }
+                map.put(key, obj);
+            }
+            reader.readToEnd();
+            if (reader.length != header.length || reader.crc.getValue() != header.checksum) {
+                throw new RuntimeException("The checksum of snapshot mismatch: " + filePath);
+            }
+            return map;
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+            close(channel);
+        }
+    }
+
+    /**
+     * 从文件中恢复元素到缓存，元素数据延迟解码，见{@link #readLazily(String)}
+     * <ul>
+     * <li>恢复时使用快照中保存的权重，不调用缓存的{@link CacheWeigher}，见
+     * {@link SimpleCache#restoreAll(Map)}</li>
+     * <li>缓存满时删除类型为{@link RemoveTypeDataBig}或{@link RemoveTypeDataSmall}时，删除索引需要比较元素数据，
+     * 延迟解码没有意义，直接解码所有元素，同{@link #load(String, SimpleCache)}</li>
+     * </ul>
+     * 
+     * @param filePath 文件路径
+     * @param cache 缓存
+     * @return 放入缓存的元素个数
+     */
+    public int loadLazily(String filePath, SimpleCache<K, V> cache) {
+        CacheFullRemoveType<V> cacheFullRemoveType = cache.getCacheFullRemoveType();
+        if (cacheFullRemoveType instanceof RemoveTypeDataBig || cacheFullRemoveType instanceof RemoveTypeDataSmall) {
+            return load(filePath, cache);
+        }
+        return cache.restoreAll(readLazily(filePath));
+    }
+
+    /**
+     * 内存映射文件并读取所有元素，元素数据在第一次{@link CacheObject#getData()}时才从映射的文件中解码
+     * <ul>
+     * <li>启动时只校验文件并解码key和元素使用信息，不需要等待所有元素数据反序列化</li>
+     * <li>文件映射到元素数据都已解码或元素被删除后才释放，这期间windows下无法替换该文件</li>
+     * <li>压缩的快照或超过2G的快照无法按位置读取元素数据，同{@link #read(String)}</li>
+     * </ul>
+     * 
+     * @param filePath 文件路径
+     * @return key到元素的map，按文件中的顺序
+     */
+    public Map<K, CacheObject<V>> readLazily(String filePath) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+            if (channel.size() > Integer.MAX_VALUE) {
+                return read(filePath);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Header header = Header.read(buffer, filePath);
+            if ((header.flags & FLAG_COMPRESSED) != 0) {
+                return read(filePath);
+            }
+            if (buffer.remaining() != header.length) {
+                throw new RuntimeException("The snapshot is truncated: " + filePath);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if (crc.getValue() != header.checksum) {
+                throw new RuntimeException("The checksum of snapshot mismatch: " + filePath);
+            }
+
+            Map<K, CacheObject<V>> map = new LinkedHashMap<K, CacheObject<V>>();
+            for (long i = 0; i < header.entryCount; i++) {
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    throw new RuntimeException("The snapshot is corrupted: " + filePath);
+                }
+                int end = buffer.position() + length;
+                K key = keyCodec.decode(buffer);
+                LazyCacheObject<V> obj = new LazyCacheObject<V>(valueCodec, buffer);
+                decodeMetadata(buffer, obj);
+                obj.dataPosition = buffer.position();
+                buffer.position(end);
+                map.put(key, obj);
+            }
+            return map;
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        } finally {
+            close(channel);
+        }
+    }
+
+    /**
+     * 将key、元素使用信息、权重和元素数据写入buffer
+     * 
+     * @param key
+     * @param value
+     * @param buffer 剩余空间不足时抛出{@link BufferOverflowException}
+     */
+    protected void encodeRecord(K key, CacheObject<V> value, ByteBuffer buffer) {
+        keyCodec.encode(key, buffer);
+        buffer.putLong(value.getEnterTime());
+        buffer.putLong(value.getLastUsedTime());
+        buffer.putLong(value.getUsedCount());
+        buffer.putLong(value.getExpireAfterWrite());
+        buffer.putLong(value.getExpireAfterAccess());
+        buffer.putInt(value.getPriority());
+        buffer.put((byte)((value.isExpired() ? FLAG_EXPIRED : 0) | (value.isForever() ? FLAG_FOREVER : 0)));
+        buffer.putInt(value.getWeight());
+        valueCodec.encode(value.getData(), buffer);
+    }
+
+    /**
+     * 从buffer的position开始读取元素使用信息和元素数据，position应位于key之后
+     * 
+     * @param buffer
+     * @return
+     */
+    protected CacheObject<V> decodeObject(ByteBuffer buffer) {
+        CacheObject<V> obj = new CacheObject<V>();
+        decodeMetadata(buffer, obj);
+        obj.setData(valueCodec.decode(buffer));
+        return obj;
+    }
+
+    /**
+     * 从buffer的position开始读取元素使用信息和权重到obj，position应位于key之后，读取后位于元素数据开始处
+     * 
+     * @param buffer
+     * @param obj
+     */
+    protected void decodeMetadata(ByteBuffer buffer, CacheObject<V> obj) {
+        obj.setEnterTime(buffer.getLong());
+        obj.setLastUsedTime(buffer.getLong());
+        obj.setUsedCount(buffer.getLong());
+        obj.setExpireAfterWrite(buffer.getLong());
+        obj.setExpireAfterAccess(buffer.getLong());
+        obj.setPriority(buffer.getInt());
+        byte flags = buffer.get();
+        obj.setExpired((flags & FLAG_EXPIRED) != 0);
+        obj.setForever((flags & FLAG_FOREVER) != 0);
+        obj.setWeight(buffer.getInt());
+    }
+
+    /**
+     * 替换目标文件，不支持原子替换时直接替换
+     */
+    static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 删除文件，不存在或删除失败时忽略，用于清理保存失败的临时文件，不覆盖保存失败的异常
+     */
+    static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // 下次保存时覆盖
+        }
+    }
+
+    static void close(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new RuntimeException("IOException occurred. ", e);
+            }
+        }
+    }
+
+    /**
+     * 文件头
+     */
+    static class Header {
+
+        final int  version;
+        final int  flags;
+        final long entryCount;
+        /** 数据部分压缩前的CRC32校验和 **/
+        final long checksum;
+        /** 数据部分压缩前的长度 **/
+        final long length;
+
+        Header(int version, int flags, long entryCount, long checksum, long length){
+            this.version = version;
+            this.flags = flags;
+            this.entryCount = entryCount;
+            this.checksum = checksum;
+            this.length = length;
+        }
+
+        ByteBuffer toBuffer() {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+            buffer.putInt(MAGIC).putInt(version).putInt(flags).putLong(entryCount).putLong(checksum).putLong(length);
+            buffer.flip();
+            return buffer;
+        }
+
+        /**
+         * 从channel的当前位置读取文件头，魔数或版本不正确时抛出异常
+         */
+        static Header read(ReadableByteChannel channel, String filePath) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new RuntimeException("The file is not a cache snapshot: " + filePath);
+                }
+            }
+            buffer.flip();
+            return read(buffer, filePath);
+        }
+
+        /**
+         * 从buffer的当前位置读取文件头，魔数或版本不正确时抛出异常
+         */
+        static Header read(ByteBuffer buffer, String filePath) {
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new RuntimeException("The file is not a cache snapshot: " + filePath);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new RuntimeException("The version of snapshot is not supported: " + version);
+            }
+            return new Header(version, buffer.getInt(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+    }
+
+    /**
+     * 元素数据延迟解码的元素，第一次{@link #getData()}时从映射的文件中解码，之后释放对文件的引用<br/>
+     * 序列化时替换为普通的{@link CacheObject}
+     */
+    static class LazyCacheObject<V> extends CacheObject<V> {
+
+        private static final long    serialVersionUID = 1L;
+
+        private transient Codec<V>   valueCodec;
+        private transient ByteBuffer buffer;
+        /** 元素数据在buffer中的位置 **/
+        private transient int        dataPosition;
+        /** 元素数据是否已解码，为true后data可见 **/
+        private volatile boolean     decoded;
+
+        LazyCacheObject(Codec<V> valueCodec, ByteBuffer buffer){
+            this.valueCodec = valueCodec;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public V getData() {
+            if (!decoded) {
+                synchronized (this) {
+                    if (!decoded) {
+                        ByteBuffer dataBuffer = buffer.duplicate();
+                        dataBuffer.position(dataPosition);
+                        data = valueCodec.decode(dataBuffer);
+                        release();
+                    }
+                }
+            }
+            return data;
+        }
+
+        @Override
+        public void setData(V data) {
+            synchronized (this) {
+                this.data = data;
+                release();
+            }
+        }
+
+        public boolean isDecoded() {
+            return decoded;
+        }
+
+        private void release() {
+            valueCodec = null;
+            buffer = null;
+            decoded = true;
+        }
+
+        private Object writeReplace() {
+            CacheObject<V> obj = new CacheObject<V>(getData());
+            obj.setEnterTime(enterTime);
+            obj.setLastUsedTime(lastUsedTime);
+            obj.setUsedCount(usedCount);
+            obj.setPriority(priority);
+            obj.setExpired(isExpired);
+            obj.setForever(isForever);
+            obj.setExpireAfterWrite(expireAfterWrite);
+            obj.setExpireAfterAccess(expireAfterAccess);
+            obj.setWeight(weight);
+            return obj;
+        }
+    }
+
+    /**
+     * 将记录编码到直接缓冲区，缓冲区满时写入channel，同时计算校验和，写入文件时不需要再复制到直接缓冲区
+     */
+    private class RecordWriter {
+
+        private final WritableByteChannel  channel;
+        private final Deflater             deflater;
+        private final DeflaterOutputStream deflaterOut;
+        private final CRC32                crc    = new CRC32();
+        private ByteBuffer                 buffer = ByteBuffer.allocateDirect(DEFAULT_BUFFER_SIZE);
+        /** 已写入的长度，压缩前 **/
+        private long                       length;
+
+        RecordWriter(WritableByteChannel channel){
+            if (compress) {
+                this.deflater = new Deflater(Deflater.BEST_SPEED);
+                this.deflaterOut = new DeflaterOutputStream(Channels.newOutputStream(channel), deflater,
+                                                            DEFAULT_BUFFER_SIZE);
+                this.channel = Channels.newChannel(deflaterOut);
+            } else {
+                this.deflater = null;
+                this.deflaterOut = null;
+                this.channel = channel;
+            }
+        }
+
+        /**
+         * 写入一条记录，缓冲区剩余空间不足时先写入channel，一条记录超过缓冲区大小时扩大缓冲区
+         */
+        void write(K key, CacheObject<V> value) throws IOException {
+            while (true) {
+                int start = buffer.position();
+                try {
+                    buffer.putInt(0);
+                    encodeRecord(key, value, buffer);
+                    buffer.putInt(start, buffer.position() - start - 4);
+                    return;
+                } catch (BufferOverflowException e) {
+                    buffer.position(start);
+                    if (start > 0) {
+                        flush();
+                    } else {
+                        buffer = ByteBuffer.allocateDirect(buffer.capacity() << 1);
+                    }
+                }
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            // 直接缓冲区没有数组，按ByteBuffer计算校验和，不复制数据
+            crc.update(buffer.duplicate());
+            length += buffer.limit();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        void finish() throws IOException {
+            flush();
+            if (deflaterOut != null) {
+                // 不关闭流，否则会关闭文件
+                deflaterOut.finish();
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * 从channel读取记录到缓冲区，同时计算校验和
+     */
+    private static class RecordReader {
+
+        private final ReadableByteChannel channel;
+        private final String              filePath;
+        private final CRC32               crc    = new CRC32();
+        private ByteBuffer                buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        /** 已读取的长度，压缩前 **/
+        private long                      length;
+
+        RecordReader(ReadableByteChannel channel, String filePath){
+            this.channel = channel;
+            this.filePath = filePath;
+            buffer.flip();
+        }
+
+        /**
+         * 读取下一条记录到缓冲区
+         * 
+         * @return 记录长度，缓冲区的position位于记录开始处
+         */
+        int next() throws IOException {
+            ensure(4);
+            int length = buffer.getInt();
+            if (length < 0) {
+                throw new RuntimeException("The snapshot is corrupted: " + filePath);
+            }
+            ensure(length);
+            return length;
+        }
+
+        /**
+         * 读取剩余的数据，只计算校验和
+         */
+        void readToEnd() throws IOException {
+            buffer.position(buffer.limit());
+            while (fill()) {
+                buffer.position(buffer.limit());
+            }
+        }
+
+        /**
+         * 保证缓冲区中至少有count字节未读取，文件不完整时抛出异常
+         */
+        private void ensure(int count) throws IOException {
+            if (buffer.capacity() < count) {
+                ByteBuffer newBuffer = ByteBuffer.allocate(Math.max(buffer.capacity() << 1, count));
+                newBuffer.put(buffer);
+                newBuffer.flip();
+                buffer = newBuffer;
+            }
+            while (buffer.remaining() < count) {
+                if (!fill()) {
+                    throw new RuntimeException("The snapshot is truncated: " + filePath);
+                }
+            }
+        }
+
+        /**
+         * 读取数据追加到缓冲区
+         * 
+         * @return 是否读取到数据，false表示已经读完
+         */
+        private boolean fill() throws IOException {
+            buffer.compact();
+            int start = buffer.position();
+            int count = channel.read(buffer);
+            buffer.flip();
+            if (count < 0) {
+                return false;
+            }
+            crc.update(buffer.array(), buffer.arrayOffset() + start, count);
+            length += count;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+/**
+ * 熔断器，用于{@link AutoGetDataCache}获取数据时，数据源失败率过高时快速失败<br/>
+ * <br/>
+ * <ul>
+ * <li>{@link State#CLOSED}: 允许请求，记录最近windowSize次请求的结果，记录已满并且失败率不小于failureRateThreshold时进入
+ * {@link State#OPEN}</li>
+ * <li>{@link State#OPEN}: 拒绝所有请求，openTime后进入{@link State#HALF_OPEN}</li>
+ * <li>{@link State#HALF_OPEN}: 每openTime只允许一次试探请求，成功时进入{@link State#CLOSED}，失败时重新进入{@link State#OPEN}</li>
+ * </ul>
+ * 线程安全
+ * 
+ * @author Trinea 2012-7-14 下午03:52:08
+ */
+public class CircuitBreaker {
+
+    /** 默认失败率阈值 **/
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    /** 默认记录的请求次数 **/
+    public static final int    DEFAULT_WINDOW_SIZE            = 20;
+    /** 默认熔断时间，以毫秒计 **/
+    public static final long   DEFAULT_OPEN_TIME              = 10000;
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+        /** 正常 **/
+        CLOSED,
+        /** 熔断 **/
+        OPEN,
+        /** 试探 **/
+        HALF_OPEN
+    }
+
+    private final double       failureRateThreshold;
+    private final long         openTime;
+
+    /** 最近请求的结果，true表示失败 **/
+    private final boolean[]    window;
+    private int                windowCount;
+    private int                windowIndex;
+    private int                failureCount;
+
+    private State              state                          = State.CLOSED;
+    /** 进入熔断或上次试探的时间 **/
+    private long               stateTime;
+    private long               rejectedCount;
+
+    /**
+     * 失败率阈值为{@link #DEFAULT_FAILURE_RATE_THRESHOLD}，记录{@link #DEFAULT_WINDOW_SIZE}次请求，熔断时间为
+     * {@link #DEFAULT_OPEN_TIME}
+     */
+    public CircuitBreaker(){
+        this(DEFAULT_FAILURE_RATE_THRESHOLD, DEFAULT_WINDOW_SIZE, DEFAULT_OPEN_TIME);
+    }
+
+    /**
+     * @param failureRateThreshold 失败率阈值，大于0并且不大于1
+     * @param windowSize 记录最近请求的次数
+     * @param openTime 熔断时间，以毫秒计
+     */
+    public CircuitBreaker(double failureRateThreshold, int windowSize, long openTime){
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("The failureRateThreshold must be between 0 and 1.");
+        }
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("The windowSize must be greater than 0.");
+        }
+        if (openTime <= 0) {
+            throw new IllegalArgumentException("The openTime must be greater than 0.");
+        }
+
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[windowSize];
+        this.openTime = openTime;
+    }
+
+    /**
+     * 是否允许请求，不允许时拒绝次数加1
+     * 
+     * @return
+     */
+    public synchronized boolean allowRequest() {
+        long now = System.currentTimeMillis();
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (now - stateTime >= openTime) {
+            // 熔断结束或上次试探超时，允许一次试探
+            state = State.HALF_OPEN;
+            stateTime = now;
+            return true;
+        }
+        rejectedCount++;
+        return false;
+    }
+
+    /**
+     * 记录请求成功
+     */
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            clearWindow();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    /**
+     * 记录请求失败
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount == window.length && failureCount >= failureRateThreshold * windowCount) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * 得到状态
+     * 
+     * @return
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 得到最近请求的失败率
+     * 
+     * @return
+     */
+    public synchronized double getFailureRate() {
+        return windowCount == 0 ? 0 : ((double)failureCount / windowCount);
+    }
+
+    /**
+     * 得到拒绝请求的次数
+     * 
+     * @return
+     */
+    public synchronized long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * 恢复为{@link State#CLOSED}并清空记录
+     */
+    public synchronized void reset() {
+        state = State.CLOSED;
+        clearWindow();
+        rejectedCount = 0;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        stateTime = System.currentTimeMillis();
+        clearWindow();
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                failureCount--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            failureCount++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void clearWindow() {
+        windowCount = windowIndex = failureCount = 0;
+    }
+}
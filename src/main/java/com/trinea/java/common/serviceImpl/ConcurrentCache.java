@@ -0,0 +1,513 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.trinea.java.common.MapUtils;
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.entity.CacheStats;
+import com.trinea.java.common.service.Cache;
+import com.trinea.java.common.service.CacheFullRemoveType;
+import com.trinea.java.common.service.RemovalListener;
+
+/**
+ * 分段的并发缓存<br/>
+ * <br/>
+ * 缓存按key的hash分为多个{@link SimpleCache}段，每段有自己的锁和最大容量，put、remove只与同一段的修改操作竞争，get不加锁。<br/>
+ * <ul>
+ * 与{@link SimpleCache}的区别
+ * <li>缓存满时在key所在的段内按照cacheFullRemoveType删除元素，删除顺序在段内精确，在整个缓存中近似</li>
+ * <li>{@link #keySet()}、{@link #entrySet()}、{@link #values()}返回各段的快照，而不是缓存的视图</li>
+ * </ul>
+ * <ul>
+ * 缓存初始化
+ * <li>{@link #ConcurrentCache()}</li>
+ * <li>{@link #ConcurrentCache(int)}</li>
+ * <li>{@link #ConcurrentCache(int, long)}</li>
+ * <li>{@link #ConcurrentCache(int, CacheFullRemoveType)}</li>
+ * <li>{@link #ConcurrentCache(int, long, CacheFullRemoveType)}</li>
+ * <li>{@link #ConcurrentCache(int, long, CacheFullRemoveType, int)}</li>
+ * </ul>
+ * 
+ * @author Trinea 2012-6-24 下午03:20:41
+ */
+public class ConcurrentCache<K, V> implements Cache<K, V>, Serializable {
+
+    private static final long         serialVersionUID          = 1L;
+
+    /** 默认段数 **/
+    public static final int           DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /** 缓存最大容量 **/
+    private final int                 maxSize;
+
+    /** 缓存段 **/
+    private final SimpleCache<K, V>[] segments;
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>缓存最大容量为{@link SimpleCache#DEFAULT_MAX_SIZE}</li>
+     * <li>元素不会失效</li>
+     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
+     * </ul>
+     */
+    public ConcurrentCache(){
+        this(SimpleCache.DEFAULT_MAX_SIZE, -1, new RemoveTypeEnterTimeFirst<V>());
+    }
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>元素不会失效</li>
+     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
+     * </ul>
+     * 
+     * @param maxSize 缓存最大容量
+     */
+    public ConcurrentCache(int maxSize){
+        this(maxSize, -1, new RemoveTypeEnterTimeFirst<V>());
+    }
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
+     * </ul>
+     * 
+     * @param maxSize 缓存最大容量
+     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效
+     */
+    public ConcurrentCache(int maxSize, long validTime){
+        this(maxSize, validTime, new RemoveTypeEnterTimeFirst<V>());
+    }
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>元素不会失效</li>
+     * </ul>
+     * 
+     * @param maxSize 缓存最大容量
+     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
+     */
+    public ConcurrentCache(int maxSize, CacheFullRemoveType<V> cacheFullRemoveType){
+        this(maxSize, -1, cacheFullRemoveType);
+    }
+
+    /**
+     * 初始化缓存，段数为{@link #DEFAULT_CONCURRENCY_LEVEL}
+     * 
+     * @param maxSize 缓存最大容量
+     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效
+     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
+     */
+    public ConcurrentCache(int maxSize, long validTime, CacheFullRemoveType<V> cacheFullRemoveType){
+        this(maxSize, validTime, cacheFullRemoveType, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * 初始化缓存
+     * 
+     * @param maxSize 缓存最大容量
+     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效
+     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
+     * @param concurrencyLevel 段数，会调整为不小于它的2的幂，且不超过maxSize
+     */
+    public ConcurrentCache(int maxSize, long validTime, CacheFullRemoveType<V> cacheFullRemoveType,
+                           int concurrencyLevel){
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maxSize of cache must be greater than 0.");
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("The concurrencyLevel of cache must be greater than 0.");
+        }
+
+        int segmentCount = 1;
+        while (segmentCount < concurrencyLevel && segmentCount * 2 <= maxSize) {
+            segmentCount <<= 1;
+        }
+        this.maxSize = maxSize;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        SimpleCache<K, V>[] segments = new SimpleCache[segmentCount];
+        this.segments = segments;
+        for (int i = 0; i < segmentCount; i++) {
+            // 将maxSize尽量平均分到各段
+            int segmentMaxSize = maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0);
+            segments[i] = new SimpleCache<K, V>(segmentMaxSize, validTime, cacheFullRemoveType);
+        }
+    }
+
+    /**
+     * 得到key所在的段
+     * 
+     * @param key
+     * @return
+     */
+    protected SimpleCache<K, V> segmentFor(Object key) {
+        return segments[segmentIndexOf(key)];
+    }
+
+    /**
+     * 得到key所在段的序号
+     * 
+     * @param key
+     * @return
+     */
+    private int segmentIndexOf(Object key) {
+        int h = (key == null ? 0 : key.hashCode());
+        h ^= (h >>> 16);
+        return h & (segments.length - 1);
+    }
+
+    /**
+     * 将key按照所在的段分组
+     * 
+     * @param keys
+     * @return 下标为段的序号，没有key的段为null
+     */
+    private List<K>[] groupBySegment(Collection<K> keys) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<K>[] keyLists = new List[segments.length];
+        for (K key : keys) {
+            int index = segmentIndexOf(key);
+            if (keyLists[index] == null) {
+                keyLists[index] = new ArrayList<K>();
+            }
+            keyLists[index].add(key);
+        }
+        return keyLists;
+    }
+
+    /**
+     * 得到缓存最大容量
+     * 
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 得到段数
+     * 
+     * @return
+     */
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (SimpleCache<K, V> segment : segments) {
+            size += segment.getSize();
+        }
+        return size;
+    }
+
+    @Override
+    public CacheObject<V> get(K key) {
+        return segmentFor(key).get(key);
+    }
+
+    /**
+     * 批量从缓存中获取元素，按段分组后每段调用一次{@link SimpleCache#getAll(Collection)}
+     * 
+     * @param keys
+     * @return
+     */
+    @Override
+    public Map<K, CacheObject<V>> getAll(Collection<K> keys) {
+        Map<K, CacheObject<V>> map = new HashMap<K, CacheObject<V>>();
+        if (keys != null) {
+            List<K>[] keyLists = groupBySegment(keys);
+            for (int i = 0; i < segments.length; i++) {
+                if (keyLists[i] != null) {
+                    map.putAll(segments[i].getAll(keyLists[i]));
+                }
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public CacheObject<V> put(K key, V value) {
+        return segmentFor(key).put(key, value);
+    }
+
+    @Override
+    public CacheObject<V> put(K key, CacheObject<V> value) {
+        return segmentFor(key).put(key, value);
+    }
+
+    @Override
+    public void putAll(Cache<K, V> cache2) {
+        for (Entry<K, CacheObject<V>> e : cache2.entrySet()) {
+            if (e != null) {
+                put(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    /**
+     * 批量向缓存中添加元素，按段分组后每段调用一次{@link SimpleCache#putAll(Map)}
+     * 
+     * @param map
+     */
+    @Override
+    public void putAll(Map<K, V> map) {
+        if (MapUtils.isEmpty(map)) {
+            return;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Map<K, V>[] maps = new Map[segments.length];
+        for (Entry<K, V> entry : map.entrySet()) {
+            int index = segmentIndexOf(entry.getKey());
+            if (maps[index] == null) {
+                maps[index] = new LinkedHashMap<K, V>();
+            }
+            maps[index].put(entry.getKey(), entry.getValue());
+        }
+        for (int i = 0; i < segments.length; i++) {
+            if (maps[i] != null) {
+                segments[i].putAll(maps[i]);
+            }
+        }
+    }
+
+    /**
+     * 向缓存中添加从快照恢复的元素，在{@link ForkJoinPool#commonPool()}中并行恢复各段，见{@link #restoreAll(Map, ForkJoinPool)}
+     * 
+     * @param map key到元素的map
+     * @return 添加的元素个数
+     */
+    protected int restoreAll(Map<K, CacheObject<V>> map) {
+        return restoreAll(map, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 向缓存中添加从快照恢复的元素，按照所在的段分组后在pool中并行恢复各段，每段见{@link SimpleCache#restoreAll(Map)}，
+     * 各段的锁互不影响，恢复时间随段数和核数增加而减少
+     * 
+     * @param map key到元素的map
+     * @param pool 恢复各段的线程池
+     * @return 添加的元素个数
+     */
+    protected int restoreAll(Map<K, CacheObject<V>> map, ForkJoinPool pool) {
+        if (MapUtils.isEmpty(map)) {
+            return 0;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Map<K, CacheObject<V>>[] maps = new Map[segments.length];
+        for (Entry<K, CacheObject<V>> entry : map.entrySet()) {
+            int index = segmentIndexOf(entry.getKey());
+            if (maps[index] == null) {
+                maps[index] = new LinkedHashMap<K, CacheObject<V>>();
+            }
+            maps[index].put(entry.getKey(), entry.getValue());
+        }
+        return pool.invoke(new RestoreTask(maps, 0, segments.length));
+    }
+
+    /**
+     * 恢复[from, to)段，段数大于1时分为两半并行恢复
+     */
+    private class RestoreTask extends RecursiveTask<Integer> {
+
+        private static final long              serialVersionUID = 1L;
+
+        private final Map<K, CacheObject<V>>[] maps;
+        private final int                      from;
+        private final int                      to;
+
+        RestoreTask(Map<K, CacheObject<V>>[] maps, int from, int to){
+            this.maps = maps;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                RestoreTask right = new RestoreTask(maps, middle, to);
+                right.fork();
+                return new RestoreTask(maps, from, middle).compute() + right.join();
+            }
+            return maps[from] == null ? 0 : segments[from].restoreAll(maps[from]);
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return segmentFor(key).containsKey(key);
+    }
+
+    @Override
+    public CacheObject<V> remove(K key) {
+        return segmentFor(key).remove(key);
+    }
+
+    /**
+     * 批量从缓存中删除元素，按段分组后每段调用一次{@link SimpleCache#removeAll(Collection)}
+     * 
+     * @param keys
+     * @return
+     */
+    @Override
+    public int removeAll(Collection<K> keys) {
+        int count = 0;
+        if (keys != null) {
+            List<K>[] keyLists = groupBySegment(keys);
+            for (int i = 0; i < segments.length; i++) {
+                if (keyLists[i] != null) {
+                    count += segments[i].removeAll(keyLists[i]);
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        for (SimpleCache<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * 得到缓存命中次数
+     **/
+    public long getHitCount() {
+        long count = 0;
+        for (SimpleCache<K, V> segment : segments) {
+            count += segment.getHitCount();
+        }
+        return count;
+    }
+
+    /**
+     * 得到缓存未命中次数
+     **/
+    public long getMissCount() {
+        long count = 0;
+        for (SimpleCache<K, V> segment : segments) {
+            count += segment.getMissCount();
+        }
+        return count;
+    }
+
+    @Override
+    public double getHitRate() {
+        long hit = getHitCount(), total = hit + getMissCount();
+        return (total == 0 ? 0 : ((double)hit) / total);
+    }
+
+    /**
+     * 得到元素被删除时的回调
+     * 
+     * @return
+     */
+    public RemovalListener<K, V> getRemovalListener() {
+        return segments[0].getRemovalListener();
+    }
+
+    /**
+     * 设置所有段的删除回调，见{@link SimpleCache#setRemovalListener(RemovalListener)}
+     * 
+     * @param removalListener 为null表示不回调
+     */
+    public void setRemovalListener(RemovalListener<K, V> removalListener) {
+        for (SimpleCache<K, V> segment : segments) {
+            segment.setRemovalListener(removalListener);
+        }
+    }
+
+    /**
+     * 设置所有段执行删除回调的线程池，见{@link SimpleCache#setRemovalListenerExecutor(Executor)}
+     * 
+     * @param removalListenerExecutor 为null表示使用{@link java.util.concurrent.ForkJoinPool#commonPool()}
+     */
+    public void setRemovalListenerExecutor(Executor removalListenerExecutor) {
+        for (SimpleCache<K, V> segment : segments) {
+            segment.setRemovalListenerExecutor(removalListenerExecutor);
+        }
+    }
+
+    /**
+     * 得到各段统计之和的快照，见{@link SimpleCache#getStats()}
+     * 
+     * @return
+     */
+    @Override
+    public CacheStats getStats() {
+        CacheStats stats = CacheStats.empty();
+        for (SimpleCache<K, V> segment : segments) {
+            stats = stats.plus(segment.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * 缓存中key的快照
+     * 
+     * @return
+     */
+    @Override
+    public Set<K> keySet() {
+        Set<K> keySet = new HashSet<K>();
+        for (SimpleCache<K, V> segment : segments) {
+            keySet.addAll(segment.keySet());
+        }
+        return keySet;
+    }
+
+    /**
+     * 缓存中元素的快照
+     * 
+     * @return
+     */
+    @Override
+    public Set<Map.Entry<K, CacheObject<V>>> entrySet() {
+        Set<Map.Entry<K, CacheObject<V>>> entrySet = new HashSet<Map.Entry<K, CacheObject<V>>>();
+        for (SimpleCache<K, V> segment : segments) {
+            entrySet.addAll(segment.entrySet());
+        }
+        return entrySet;
+    }
+
+    /**
+     * 缓存中元素值的快照
+     * 
+     * @return
+     */
+    @Override
+    public Collection<CacheObject<V>> values() {
+        Collection<CacheObject<V>> values = new ArrayList<CacheObject<V>>();
+        for (SimpleCache<K, V> segment : segments) {
+            values.addAll(segment.values());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.nio.ByteBuffer;
+
+import com.trinea.java.common.service.Codec;
+
+/**
+ * Double的编解码<br/>
+ * <br/>
+ * 编码格式为1字节是否为null加8字节值，null时只有1字节
+ * 
+ * @author Trinea 2012-7-25 下午08:14:03
+ */
+public class DoubleCodec implements Codec<Double> {
+
+    @Override
+    public void encode(Double value, ByteBuffer buffer) {
+        if (value == null) {
+            buffer.put((byte)0);
+            return;
+        }
+
+        buffer.put((byte)1);
+        buffer.putDouble(value);
+    }
+
+    @Override
+    public Double decode(ByteBuffer buffer) {
+        return buffer.get() == 0 ? null : buffer.getDouble();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.service.CacheRemoveIndex;
+
+/**
+ * 基于使用次数分桶的删除索引<br/>
+ * <br/>
+ * 使用次数相同的key放在同一个桶中，桶按使用次数排序，put、get和选出待删除元素的复杂度均为O(log m)，m为不同使用次数的个数。
+ * 同一个桶中先进入的key先删除
+ * 
+ * @author Trinea 2012-6-20 下午11:08:27
+ */
+public class FrequencyRemoveIndex<K, V> implements CacheRemoveIndex<K, V> {
+
+    /** 是否先删除使用次数少的元素 **/
+    private final boolean                        removeSmall;
+
+    /** key与使用次数的对应 **/
+    private final Map<K, Long>                   countMap;
+    /** 使用次数与桶的对应 **/
+    private final TreeMap<Long, LinkedHashSet<K>> bucketMap;
+
+    /**
+     * @param removeSmall 是否先删除使用次数少的元素
+     */
+    public FrequencyRemoveIndex(boolean removeSmall){
+        this.removeSmall = removeSmall;
+        this.countMap = new HashMap<K, Long>();
+        this.bucketMap = new TreeMap<Long, LinkedHashSet<K>>();
+    }
+
+    @Override
+    public void onPut(K key, CacheObject<V> value) {
+        moveTo(key, value.getUsedCount());
+    }
+
+    @Override
+    public void onGet(K key, CacheObject<V> value) {
+        if (countMap.containsKey(key)) {
+            moveTo(key, value.getUsedCount());
+        }
+    }
+
+    @Override
+    public void onRemove(K key) {
+        Long count = countMap.remove(key);
+        if (count != null) {
+            removeFromBucket(key, count);
+        }
+    }
+
+    @Override
+    public K poll() {
+        Map.Entry<Long, LinkedHashSet<K>> entry = removeSmall ? bucketMap.firstEntry() : bucketMap.lastEntry();
+        if (entry == null) {
+            return null;
+        }
+        Iterator<K> iterator = entry.getValue().iterator();
+        K key = iterator.next();
+        iterator.remove();
+        if (entry.getValue().isEmpty()) {
+            bucketMap.remove(entry.getKey());
+        }
+        countMap.remove(key);
+        return key;
+    }
+
+    @Override
+    public int size() {
+        return countMap.size();
+    }
+
+    @Override
+    public void clear() {
+        countMap.clear();
+        bucketMap.clear();
+    }
+
+    /**
+     * 将key移到某个使用次数对应的桶中
+     * 
+     * @param key
+     * @param count
+     */
+    private void moveTo(K key, long count) {
+        Long oldCount = countMap.put(key, count);
+        if (oldCount != null) {
+            if (oldCount == count) {
+                return;
+            }
+            removeFromBucket(key, oldCount);
+        }
+        LinkedHashSet<K> bucket = bucketMap.get(count);
+        if (bucket == null) {
+            bucket = new LinkedHashSet<K>();
+            bucketMap.put(count, bucket);
+        }
+        bucket.add(key);
+    }
+
+    private void removeFromBucket(K key, long count) {
+        LinkedHashSet<K> bucket = bucketMap.get(count);
+        if (bucket != null) {
+            bucket.remove(key);
+            if (bucket.isEmpty()) {
+                bucketMap.remove(count);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+/**
+ * 使用Count-Min Sketch估计key的访问频率，用于{@link TinyLfuRemoveIndex}<br/>
+ * <br/>
+ * <ul>
+ * <li>每个计数器4位，最大为15，每个long包含16个计数器，每个key对应4个计数器，频率为其中的最小值</li>
+ * <li>记录次数达到样本数(约为缓存最大容量的10倍)时所有计数器减半，使频率随时间衰减</li>
+ * <li>占用空间为O(maxSize)，记录和估计的复杂度为O(1)</li>
+ * </ul>
+ * 非线程安全，由缓存在持有锁时调用
+ * 
+ * @author Trinea 2012-7-2 下午10:18:26
+ */
+public class FrequencySketch {
+
+    /** 计数器最大值 **/
+    public static final int     MAX_FREQUENCY = 15;
+
+    private static final long[] SEEDS         = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+            0xcbf29ce484222325L              };
+    private static final long   RESET_MASK    = 0x7777777777777777L;
+
+    private final long[]        table;
+    /** 衰减前的样本数 **/
+    private final int           sampleSize;
+    /** 上次衰减后记录的次数 **/
+    private int                 size;
+
+    /**
+     * @param maxSize 缓存最大容量
+     */
+    public FrequencySketch(int maxSize){
+        int length = 1;
+        while (length < maxSize && length < (1 << 30)) {
+            length <<= 1;
+        }
+        this.table = new long[Math.max(length, 8)];
+        this.sampleSize = (int)Math.min(10L * table.length, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 记录一次访问
+     * 
+     * @param key
+     */
+    public void increment(Object key) {
+        int hash = spread(key);
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(indexOf(hash, i), offsetOf(hash, i));
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * 估计访问频率
+     * 
+     * @param key
+     * @return 0到{@link #MAX_FREQUENCY}
+     */
+    public int frequency(Object key) {
+        int hash = spread(key), frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            frequency = Math.min(frequency, (int)((table[indexOf(hash, i)] >>> offsetOf(hash, i)) & 0xfL));
+        }
+        return frequency;
+    }
+
+    /**
+     * 清空所有计数器
+     */
+    public void clear() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = 0;
+        }
+        size = 0;
+    }
+
+    /**
+     * 所有计数器减半
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size >>>= 1;
+    }
+
+    private boolean incrementAt(int index, int offset) {
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 第i个计数器所在的long
+     */
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += (h >>> 32);
+        return ((int)h) & (table.length - 1);
+    }
+
+    /**
+     * 第i个计数器在long中的位移，每个key的4个计数器分别使用long中不同的4组
+     */
+    private int offsetOf(int hash, int i) {
+        return ((i << 2) + ((hash >>> (i << 3)) & 3)) << 2;
+    }
+
+    private static int spread(Object key) {
+        int h = (key == null ? 0 : key.hashCode()) * 0x9e3779b9;
+        return h ^ (h >>> 17);
+    }
+}
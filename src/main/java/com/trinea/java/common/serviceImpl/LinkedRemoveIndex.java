@@ -0,0 +1,136 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.service.CacheRemoveIndex;
+
+/**
+ * 基于双向链表的删除索引，put和get的复杂度为O(1)，选出待删除元素的复杂度为O(1)<br/>
+ * <ul>
+ * <li>链表头为最早put(或get)的元素，链表尾为最新put(或get)的元素</li>
+ * <li>accessOrder为true时get会将元素移到链表尾，用于按上次使用时间删除</li>
+ * <li>removeFirst为true时从链表头删除，否则从链表尾删除</li>
+ * </ul>
+ * 
+ * @author Trinea 2012-6-20 下午10:45:03
+ */
+public class LinkedRemoveIndex<K, V> implements CacheRemoveIndex<K, V> {
+
+    /** get时是否将元素移到链表尾 **/
+    private final boolean       accessOrder;
+    /** 是否从链表头删除 **/
+    private final boolean       removeFirst;
+
+    private final Map<K, Node>  nodeMap;
+    private Node                head, tail;
+
+    /**
+     * @param accessOrder get时是否将元素移到链表尾
+     * @param removeFirst 是否从链表头删除
+     */
+    public LinkedRemoveIndex(boolean accessOrder, boolean removeFirst){
+        this.accessOrder = accessOrder;
+        this.removeFirst = removeFirst;
+        this.nodeMap = new HashMap<K, Node>();
+    }
+
+    @Override
+    public void onPut(K key, CacheObject<V> value) {
+        Node node = nodeMap.get(key);
+        if (node == null) {
+            node = new Node(key);
+            nodeMap.put(key, node);
+        } else {
+            unlink(node);
+        }
+        linkLast(node);
+    }
+
+    @Override
+    public void onGet(K key, CacheObject<V> value) {
+        if (accessOrder) {
+            Node node = nodeMap.get(key);
+            if (node != null && node != tail) {
+                unlink(node);
+                linkLast(node);
+            }
+        }
+    }
+
+    @Override
+    public void onRemove(K key) {
+        Node node = nodeMap.remove(key);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    @Override
+    public K poll() {
+        Node node = removeFirst ? head : tail;
+        if (node == null) {
+            return null;
+        }
+        nodeMap.remove(node.key);
+        unlink(node);
+        return node.key;
+    }
+
+    @Override
+    public int size() {
+        return nodeMap.size();
+    }
+
+    @Override
+    public void clear() {
+        nodeMap.clear();
+        head = tail = null;
+    }
+
+    private void linkLast(Node node) {
+        node.prev = tail;
+        node.next = null;
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = node.next = null;
+    }
+
+    /**
+     * 链表节点
+     */
+    private class Node {
+
+        private final K key;
+        private Node    prev, next;
+
+        public Node(K key){
+            this.key = key;
+        }
+    }
+}
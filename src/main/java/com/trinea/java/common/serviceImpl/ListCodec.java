@@ -0,0 +1,69 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.trinea.java.common.service.Codec;
+
+/**
+ * List的编解码，元素通过elementCodec编解码<br/>
+ * <br/>
+ * 编码格式为4字节元素个数加依次编码的元素，null的元素个数为-1，解码得到{@link ArrayList}
+ * 
+ * @author Trinea 2012-7-25 下午08:31:50
+ */
+public class ListCodec<T> implements Codec<List<T>> {
+
+    private final Codec<T> elementCodec;
+
+    /**
+     * @param elementCodec 元素的编解码
+     */
+    public ListCodec(Codec<T> elementCodec){
+        if (elementCodec == null) {
+            throw new IllegalArgumentException("The elementCodec must not be null.");
+        }
+
+        this.elementCodec = elementCodec;
+    }
+
+    public Codec<T> getElementCodec() {
+        return elementCodec;
+    }
+
+    @Override
+    public void encode(List<T> value, ByteBuffer buffer) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+
+        buffer.putInt(value.size());
+        for (T element : value) {
+            elementCodec.encode(element, buffer);
+        }
+    }
+
+    @Override
+    public List<T> decode(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        if (size < 0) {
+            return null;
+        }
+
+        // 数据损坏时size可能很大，初始容量不超过剩余字节数
+        List<T> value = new ArrayList<T>(Math.min(size, buffer.remaining()));
+        for (int i = 0; i < size; i++) {
+            value.add(elementCodec.decode(buffer));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.trinea.java.common.service.Codec;
+
+/**
+ * Map的编解码，key和value分别通过keyCodec和valueCodec编解码<br/>
+ * <br/>
+ * 编码格式为4字节元素个数加依次编码的key和value，null的元素个数为-1，解码得到{@link LinkedHashMap}，保持编码时的遍历顺序
+ * 
+ * @author Trinea 2012-7-25 下午08:40:09
+ */
+public class MapCodec<K, V> implements Codec<Map<K, V>> {
+
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+
+    /**
+     * @param keyCodec key的编解码
+     * @param valueCodec value的编解码
+     */
+    public MapCodec(Codec<K> keyCodec, Codec<V> valueCodec){
+        if (keyCodec == null) {
+            throw new IllegalArgumentException("The keyCodec must not be null.");
+        }
+        if (valueCodec == null) {
+            throw new IllegalArgumentException("The valueCodec must not be null.");
+        }
+
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    public Codec<K> getKeyCodec() {
+        return keyCodec;
+    }
+
+    public Codec<V> getValueCodec() {
+        return valueCodec;
+    }
+
+    @Override
+    public void encode(Map<K, V> value, ByteBuffer buffer) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+
+        buffer.putInt(value.size());
+        for (Entry<K, V> entry : value.entrySet()) {
+            keyCodec.encode(entry.getKey(), buffer);
+            valueCodec.encode(entry.getValue(), buffer);
+        }
+    }
+
+    @Override
+    public Map<K, V> decode(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        if (size < 0) {
+            return null;
+        }
+
+        Map<K, V> value = new LinkedHashMap<K, V>((int)(Math.min(size, buffer.remaining()) * 4L / 3 + 1));
+        for (int i = 0; i < size; i++) {
+            value.put(keyCodec.decode(buffer), valueCodec.decode(buffer));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,881 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.trinea.java.common.MapUtils;
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.entity.CacheStats;
+import com.trinea.java.common.entity.RemovalCause;
+import com.trinea.java.common.service.Cache;
+import com.trinea.java.common.service.CacheFullRemoveType;
+import com.trinea.java.common.service.CacheRemoveIndex;
+import com.trinea.java.common.service.Codec;
+import com.trinea.java.common.service.IndexedCacheFullRemoveType;
+
+/**
+ * 元素存放在堆外内存的缓存<br/>
+ * <br/>
+ * 元素的使用信息和通过{@link Codec}编码后的数据存放在{@link SlabAllocator}分配的direct {@link ByteBuffer}中，
+ * 堆上只保留key到堆外地址的索引，缓存很大时可以减少GC停顿。<br/>
+ * <ul>
+ * 与{@link SimpleCache}的区别
+ * <li>put时编码元素数据，get时解码并返回新的{@link CacheObject}，修改返回的元素不会影响缓存中的元素</li>
+ * <li>元素个数达到maxSize或堆外内存不足时都会删除元素，cacheFullRemoveType需要实现{@link IndexedCacheFullRemoveType}或为
+ * {@link RemoveTypeNotRemove}</li>
+ * <li>删除索引只保存不包含数据的元素头部，不支持按数据比较的{@link RemoveTypeDataBig}和{@link RemoveTypeDataSmall}</li>
+ * <li>{@link #keySet()}、{@link #entrySet()}、{@link #values()}返回快照，后两者需要解码所有元素</li>
+ * <li>不支持序列化</li>
+ * </ul>
+ * <ul>
+ * 缓存初始化
+ * <li>{@link #OffHeapCache(int, long, Codec)}</li>
+ * <li>{@link #OffHeapCache(int, long, Codec, long, CacheFullRemoveType)}</li>
+ * <li>{@link #OffHeapCache(int, long, int, Codec, long, CacheFullRemoveType)}</li>
+ * </ul>
+ * 
+ * @author Trinea 2012-7-7 下午03:26:50
+ */
+public class OffHeapCache<K, V> implements Cache<K, V> {
+
+    /** 默认slab大小 **/
+    public static final int                  DEFAULT_SLAB_SIZE   = 4 * 1024 * 1024;
+
+    /** 堆外元素头部各字段的偏移 **/
+    private static final int                 ENTER_TIME          = 0;
+    private static final int                 LAST_USED_TIME      = 8;
+    private static final int                 USED_COUNT          = 16;
+    private static final int                 EXPIRE_AFTER_WRITE  = 24;
+    private static final int                 EXPIRE_AFTER_ACCESS = 32;
+    private static final int                 PRIORITY            = 40;
+    private static final int                 FLAGS               = 44;
+    private static final int                 HEADER_SIZE         = 45;
+
+    private static final byte                FLAG_EXPIRED        = 1;
+    private static final byte                FLAG_FOREVER        = 2;
+
+    /** 编码缓冲区超过该大小时不再缓存到线程中，以字节计 **/
+    private static final int                 MAX_ENCODE_BUFFER   = 64 * 1024;
+
+    /** 编码缓冲区 **/
+    private static final ThreadLocal<ByteBuffer> ENCODE_BUFFER   = new ThreadLocal<ByteBuffer>() {
+
+                                                                     @Override
+                                                                     protected ByteBuffer initialValue() {
+                                                                         return ByteBuffer.allocate(4096);
+                                                                     }
+                                                                 };
+
+    /** 缓存最大容量 **/
+    private final int                        maxSize;
+
+    /** 有效时间，以毫秒计 **/
+    private final long                       validTime;
+
+    /** cache满时删除元素类型 **/
+    private final CacheFullRemoveType<V>     cacheFullRemoveType;
+
+    /** 元素数据的编解码 **/
+    private final Codec<V>                   codec;
+
+    /** key到堆外地址的索引 **/
+    private final Map<K, Slot>               slotMap;
+    private final SlabAllocator              allocator;
+    private final CacheRemoveIndex<K, V>     removeIndex;
+    private final TimerWheel<K>              timerWheel;
+
+    /** 修改缓存及读取堆外内存的锁 **/
+    private final ReentrantLock              lock;
+
+    /** 命中、未命中及删除元素的统计，见{@link #getStats()} **/
+    protected final StatsCounter             statsCounter        = new StatsCounter();
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>元素不会失效</li>
+     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
+     * </ul>
+     * 
+     * @param maxSize 缓存最大容量
+     * @param capacity 堆外内存大小，以字节计
+     * @param codec 元素数据的编解码，见{@link Codec}
+     */
+    public OffHeapCache(int maxSize, long capacity, Codec<V> codec){
+        this(maxSize, capacity, codec, -1, new RemoveTypeEnterTimeFirst<V>());
+    }
+
+    /**
+     * 初始化缓存，slab大小为{@link #DEFAULT_SLAB_SIZE}和capacity中的较小值
+     * 
+     * @param maxSize 缓存最大容量
+     * @param capacity 堆外内存大小，以字节计
+     * @param codec 元素数据的编解码，见{@link Codec}
+     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效
+     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
+     */
+    public OffHeapCache(int maxSize, long capacity, Codec<V> codec, long validTime,
+                        CacheFullRemoveType<V> cacheFullRemoveType){
+        this(maxSize, capacity, (int)Math.min(DEFAULT_SLAB_SIZE, capacity), codec, validTime, cacheFullRemoveType);
+    }
+
+    /**
+     * 初始化缓存
+     * 
+     * @param maxSize 缓存最大容量
+     * @param capacity 堆外内存大小，以字节计
+     * @param slabSize 每次分配的堆外内存大小，以字节计，单个元素编码后不能超过该大小
+     * @param codec 元素数据的编解码，见{@link Codec}
+     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效
+     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
+     */
+    public OffHeapCache(int maxSize, long capacity, int slabSize, Codec<V> codec, long validTime,
+                        CacheFullRemoveType<V> cacheFullRemoveType){
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maxSize of cache must be greater than 0.");
+        }
+        if (codec == null) {
+            throw new IllegalArgumentException("The codec of cache must not be null.");
+        }
+        if (!(cacheFullRemoveType instanceof IndexedCacheFullRemoveType)
+            && !(cacheFullRemoveType instanceof RemoveTypeNotRemove)) {
+            throw new IllegalArgumentException(
+                                               "The cacheFullRemoveType of cache must be a instance of IndexedCacheFullRemoveType or RemoveTypeNotRemove.");
+        }
+        if (cacheFullRemoveType instanceof RemoveTypeDataBig || cacheFullRemoveType instanceof RemoveTypeDataSmall) {
+            throw new IllegalArgumentException("The cacheFullRemoveType of cache must not compare data.");
+        }
+        this.maxSize = maxSize;
+        this.validTime = validTime <= 0 ? -1 : validTime;
+        this.cacheFullRemoveType = cacheFullRemoveType;
+        this.codec = codec;
+        this.slotMap = new HashMap<K, Slot>();
+        this.allocator = new SlabAllocator(capacity, slabSize);
+        if (cacheFullRemoveType instanceof IndexedCacheFullRemoveType) {
+            this.removeIndex = ((IndexedCacheFullRemoveType<V>)cacheFullRemoveType).newRemoveIndex(maxSize);
+        } else {
+            this.removeIndex = null;
+        }
+        this.timerWheel = new TimerWheel<K>(System.currentTimeMillis());
+        this.lock = new ReentrantLock();
+    }
+
+    /**
+     * 得到缓存最大容量
+     * 
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 得到有效时间，以毫秒计
+     * 
+     * @return
+     */
+    public long getValidTime() {
+        return validTime;
+    }
+
+    /**
+     * 得到cache满时删除元素类型，见{@link CacheFullRemoveType}
+     * 
+     * @return
+     */
+    public CacheFullRemoveType<V> getCacheFullRemoveType() {
+        return cacheFullRemoveType;
+    }
+
+    /**
+     * 得到堆外内存大小，以字节计
+     * 
+     * @return
+     */
+    public long getCapacity() {
+        return allocator.getCapacity();
+    }
+
+    /**
+     * 得到元素占用的堆外内存大小，以字节计
+     * 
+     * @return
+     */
+    public long getUsedBytes() {
+        lock.lock();
+        try {
+            return allocator.getUsedBytes();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 得到缓存中有效元素个数
+     * 
+     * @return
+     */
+    @Override
+    public int getSize() {
+        cleanUp();
+        lock.lock();
+        try {
+            return slotMap.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 从缓存中获取元素，元素数据在锁外解码
+     * 
+     * @param key
+     * @return 元素不存在或已经过期时返回null，否则返回新的{@link CacheObject}
+     */
+    @Override
+    public CacheObject<V> get(K key) {
+        Hit<V> hit;
+        lock.lock();
+        try {
+            hit = hit(key);
+        } finally {
+            lock.unlock();
+        }
+        return hit == null ? null : hit.decode(codec);
+    }
+
+    /**
+     * 批量从缓存中获取元素，整批只加锁一次，元素数据在锁外解码
+     * 
+     * @param keys
+     * @return key到元素的map，不包含不存在或已经失效的key
+     */
+    @Override
+    public Map<K, CacheObject<V>> getAll(Collection<K> keys) {
+        Map<K, CacheObject<V>> map = new HashMap<K, CacheObject<V>>();
+        if (keys == null || keys.isEmpty()) {
+            return map;
+        }
+
+        Map<K, Hit<V>> hitMap = new HashMap<K, Hit<V>>();
+        lock.lock();
+        try {
+            for (K key : keys) {
+                Hit<V> hit = hit(key);
+                if (hit != null) {
+                    hitMap.put(key, hit);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Entry<K, Hit<V>> entry : hitMap.entrySet()) {
+            map.put(entry.getKey(), entry.getValue().decode(codec));
+        }
+        return map;
+    }
+
+    /**
+     * 读取元素头部和未解码的数据，并更新使用信息和命中次数，需要持有锁
+     * 
+     * @param key
+     * @return 元素不存在或已经过期时返回null
+     */
+    private Hit<V> hit(K key) {
+        Slot slot = slotMap.get(key);
+        if (slot == null) {
+            statsCounter.recordMisses(1);
+            return null;
+        }
+
+        ByteBuffer buffer = allocator.buffer(slot.address, slot.size);
+        int start = buffer.position();
+        CacheObject<V> obj = readHeader(buffer, start);
+        if (isExpired(obj)) {
+            removeSlot(key, slot);
+            statsCounter.recordRemoval(RemovalCause.EXPIRED, 1);
+            statsCounter.recordMisses(1);
+            return null;
+        }
+
+        obj.setLastUsedTime(System.currentTimeMillis());
+        obj.setUsedCount(obj.getUsedCount() + 1);
+        buffer.putLong(start + LAST_USED_TIME, obj.getLastUsedTime());
+        buffer.putLong(start + USED_COUNT, obj.getUsedCount());
+        byte[] data = new byte[slot.size - HEADER_SIZE];
+        buffer.position(start + HEADER_SIZE);
+        buffer.get(data);
+        if (removeIndex != null) {
+            removeIndex.onGet(key, obj);
+        }
+        statsCounter.recordHits(1);
+        return new Hit<V>(obj, data);
+    }
+
+    /**
+     * 向缓存中添加元素
+     * 
+     * @param key key
+     * @param value 元素值
+     * @return 为空表示缓存已满无法put，否则为put的value。
+     */
+    @Override
+    public CacheObject<V> put(K key, V value) {
+        CacheObject<V> obj = new CacheObject<V>();
+        obj.setData(value);
+        obj.setForever(validTime == -1);
+        return put(key, obj);
+    }
+
+    /**
+     * 向缓存中添加元素，元素数据在锁外编码
+     * <ul>
+     * <li>key已存在时，新元素写入堆外内存后才删除旧元素，无法put时旧元素保留</li>
+     * <li>元素个数达到maxSize或堆外内存不足时按照cacheFullRemoveType删除元素，cacheFullRemoveType为{@link RemoveTypeNotRemove}时返回null</li>
+     * <li>元素编码后超过slab大小时返回null</li>
+     * </ul>
+     * 
+     * @param key key
+     * @param value 元素
+     * @return 为空表示缓存已满无法put，否则为put的value。
+     */
+    @Override
+    public CacheObject<V> put(K key, CacheObject<V> value) {
+        value.setEnterTime(System.currentTimeMillis());
+        ByteBuffer encoded = encode(value);
+        if (encoded.remaining() > allocator.getSlabSize()) {
+            return null;
+        }
+
+        lock.lock();
+        try {
+            cleanUp();
+            return putEncoded(key, value, encoded);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 批量向缓存中添加元素，元素数据在锁外编码，整批只加锁一次，每个元素的添加规则与{@link #put(Object, CacheObject)}相同
+     * 
+     * @param map key到元素值的map
+     */
+    @Override
+    public void putAll(Map<K, V> map) {
+        if (MapUtils.isEmpty(map)) {
+            return;
+        }
+
+        Map<K, CacheObject<V>> objectMap = new LinkedHashMap<K, CacheObject<V>>();
+        Map<K, ByteBuffer> encodedMap = new HashMap<K, ByteBuffer>();
+        for (Entry<K, V> entry : map.entrySet()) {
+            CacheObject<V> obj = new CacheObject<V>();
+            obj.setData(entry.getValue());
+            obj.setForever(validTime == -1);
+            obj.setEnterTime(System.currentTimeMillis());
+            ByteBuffer encoded = encode(obj);
+            if (encoded.remaining() <= allocator.getSlabSize()) {
+                // 编码缓冲区会被复用，需要复制
+                ByteBuffer copy = ByteBuffer.allocate(encoded.remaining());
+                copy.put(encoded);
+                copy.flip();
+                objectMap.put(entry.getKey(), obj);
+                encodedMap.put(entry.getKey(), copy);
+            }
+        }
+
+        lock.lock();
+        try {
+            cleanUp();
+            for (Entry<K, CacheObject<V>> entry : objectMap.entrySet()) {
+                putEncoded(entry.getKey(), entry.getValue(), encodedMap.get(entry.getKey()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 将编码后的元素放入堆外内存，需要持有锁
+     * 
+     * @param key
+     * @param value
+     * @param encoded 可读部分为编码结果
+     * @return 为空表示缓存已满无法put，否则为put的value。
+     */
+    private CacheObject<V> putEncoded(K key, CacheObject<V> value, ByteBuffer encoded) {
+        int size = encoded.remaining();
+        if (size > allocator.getSlabSize()) {
+            return null;
+        }
+        Slot oldSlot = slotMap.get(key);
+        if (oldSlot == null && slotMap.size() >= maxSize && !removeOne(RemovalCause.SIZE)) {
+            return null;
+        }
+
+        // 先分配并写入新块，失败时保留旧元素。释放的块会与伙伴块合并，删除所有元素后一定能分配不超过slab大小的块
+        long address;
+        while ((address = allocator.allocate(size)) < 0) {
+            if (!removeOne(RemovalCause.WEIGHT)) {
+                return null;
+            }
+        }
+
+        ByteBuffer buffer = allocator.buffer(address, size);
+        int start = buffer.position();
+        buffer.put(encoded);
+        // 旧元素可能在分配时已经被删除
+        if (oldSlot != null && slotMap.get(key) == oldSlot) {
+            removeSlot(key, oldSlot);
+            statsCounter.recordRemoval(RemovalCause.REPLACED, 1);
+        }
+        slotMap.put(key, new Slot(address, size));
+        if (removeIndex != null) {
+            // 只传入元素头部，避免删除索引在堆上保留数据
+            removeIndex.onPut(key, readHeader(buffer, start));
+        }
+        scheduleExpire(key, value);
+        return value;
+    }
+
+    /**
+     * 将cache2中的所有元素复制到当前cache
+     * 
+     * @param cache2
+     */
+    @Override
+    public void putAll(Cache<K, V> cache2) {
+        for (Entry<K, CacheObject<V>> e : cache2.entrySet()) {
+            if (e != null) {
+                put(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    /**
+     * 缓存中某个key是否存在，若元素不存在或是已经失效，返回false
+     * 
+     * @param key
+     * @return
+     */
+    @Override
+    public boolean containsKey(K key) {
+        lock.lock();
+        try {
+            Slot slot = slotMap.get(key);
+            if (slot == null) {
+                return false;
+            }
+            ByteBuffer buffer = allocator.buffer(slot.address, slot.size);
+            return !isExpired(readHeader(buffer, buffer.position()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 从缓存中删除某个元素
+     * 
+     * @param key
+     * @return 元素不存在时返回null，否则返回被删除的元素
+     */
+    @Override
+    public CacheObject<V> remove(K key) {
+        lock.lock();
+        try {
+            Slot slot = slotMap.get(key);
+            if (slot == null) {
+                return null;
+            }
+            CacheObject<V> obj = read(slot);
+            removeSlot(key, slot);
+            statsCounter.recordRemoval(RemovalCause.EXPLICIT, 1);
+            return obj;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 批量从缓存中删除元素，整批只加锁一次
+     * 
+     * @param keys
+     * @return 删除的元素个数
+     */
+    @Override
+    public int removeAll(Collection<K> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            int count = 0;
+            for (K key : keys) {
+                Slot slot = slotMap.get(key);
+                if (slot != null) {
+                    removeSlot(key, slot);
+                    count++;
+                }
+            }
+            statsCounter.recordRemoval(RemovalCause.EXPLICIT, count);
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空缓存，已分配的堆外内存保留以便复用
+     */
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            statsCounter.recordRemoval(RemovalCause.EXPLICIT, slotMap.size());
+            slotMap.clear();
+            allocator.clear();
+            if (removeIndex != null) {
+                removeIndex.clear();
+            }
+            timerWheel.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 删除时间轮中到期的元素，见{@link SimpleCache#cleanUp()}
+     * 
+     * @return 删除的元素个数
+     */
+    public int cleanUp() {
+        lock.lock();
+        try {
+            if (timerWheel.size() == 0) {
+                return 0;
+            }
+
+            int count = 0;
+            for (K key : timerWheel.advance(System.currentTimeMillis())) {
+                Slot slot = slotMap.get(key);
+                if (slot == null) {
+                    continue;
+                }
+                ByteBuffer buffer = allocator.buffer(slot.address, slot.size);
+                CacheObject<V> obj = readHeader(buffer, buffer.position());
+                if (isExpired(obj)) {
+                    removeSlot(key, slot);
+                    count++;
+                } else {
+                    scheduleExpire(key, obj);
+                }
+            }
+            statsCounter.recordRemoval(RemovalCause.EXPIRED, count);
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 得到缓存命中次数
+     **/
+    public long getHitCount() {
+        return statsCounter.getHitCount();
+    }
+
+    /**
+     * 得到缓存未命中次数
+     **/
+    public long getMissCount() {
+        return statsCounter.getMissCount();
+    }
+
+    /**
+     * 得到缓存命中率
+     * 
+     * @return
+     */
+    @Override
+    public double getHitRate() {
+        long hit = statsCounter.getHitCount(), total = hit + statsCounter.getMissCount();
+        return (total == 0 ? 0 : ((double)hit) / total);
+    }
+
+    /**
+     * 得到缓存统计的快照，见{@link SimpleCache#getStats()}
+     * 
+     * @return
+     */
+    @Override
+    public CacheStats getStats() {
+        return statsCounter.snapshot();
+    }
+
+    /**
+     * 缓存中key的快照
+     * 
+     * @return
+     */
+    @Override
+    public Set<K> keySet() {
+        cleanUp();
+        lock.lock();
+        try {
+            return new HashSet<K>(slotMap.keySet());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 缓存中元素的快照，需要解码所有元素
+     * 
+     * @return
+     */
+    @Override
+    public Set<Map.Entry<K, CacheObject<V>>> entrySet() {
+        return readAll().entrySet();
+    }
+
+    /**
+     * 缓存中元素值的快照，需要解码所有元素
+     * 
+     * @return
+     */
+    @Override
+    public Collection<CacheObject<V>> values() {
+        return readAll().values();
+    }
+
+    /**
+     * 解码所有元素
+     * 
+     * @return
+     */
+    private Map<K, CacheObject<V>> readAll() {
+        cleanUp();
+        lock.lock();
+        try {
+            Map<K, CacheObject<V>> map = new HashMap<K, CacheObject<V>>(MapUtils.isEmpty(slotMap) ? 16
+                : slotMap.size() * 2);
+            for (Entry<K, Slot> entry : slotMap.entrySet()) {
+                map.put(entry.getKey(), read(entry.getValue()));
+            }
+            return map;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 判断某个元素是否过期，规则与{@link SimpleCache#isExpired(CacheObject)}相同
+     * 
+     * @param obj
+     * @return
+     */
+    protected boolean isExpired(CacheObject<V> obj) {
+        if (validTime == -1 && obj.getExpireAfterWrite() <= 0 && obj.getExpireAfterAccess() <= 0) {
+            return false;
+        }
+        if (obj.isExpired()) {
+            return true;
+        }
+        long expireTime = getExpireTime(obj);
+        return expireTime >= 0 && expireTime <= System.currentTimeMillis();
+    }
+
+    /**
+     * 得到元素开始过期的时间，规则与{@link SimpleCache#getExpireTime(CacheObject)}相同
+     * 
+     * @param obj
+     * @return 小于0表示不会过期
+     */
+    protected long getExpireTime(CacheObject<V> obj) {
+        long expireTime = -1;
+        long writeValidTime = obj.getExpireAfterWrite() > 0 ? obj.getExpireAfterWrite() : validTime;
+        if (writeValidTime > 0) {
+            expireTime = obj.getEnterTime() + writeValidTime + 1;
+        }
+        if (obj.getExpireAfterAccess() > 0) {
+            long accessExpireTime = Math.max(obj.getEnterTime(), obj.getLastUsedTime()) + obj.getExpireAfterAccess()
+                                    + 1;
+            expireTime = (expireTime < 0 ? accessExpireTime : Math.min(expireTime, accessExpireTime));
+        }
+        return expireTime;
+    }
+
+    /**
+     * 按照cacheFullRemoveType删除一个元素，需要持有锁
+     * 
+     * @param cause 删除原因，元素个数达到maxSize时为{@link RemovalCause#SIZE}，堆外内存不足时为{@link RemovalCause#WEIGHT}
+     * @return 是否删除了元素
+     */
+    private boolean removeOne(RemovalCause cause) {
+        if (removeIndex == null) {
+            return false;
+        }
+
+        K key;
+        while ((key = removeIndex.poll()) != null) {
+            Slot slot = slotMap.remove(key);
+            if (slot != null) {
+                allocator.free(slot.address, slot.size);
+                timerWheel.cancel(key);
+                statsCounter.recordRemoval(cause, 1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 删除元素并释放堆外内存，需要持有锁
+     * 
+     * @param key
+     * @param slot
+     */
+    private void removeSlot(K key, Slot slot) {
+        slotMap.remove(key);
+        allocator.free(slot.address, slot.size);
+        if (removeIndex != null) {
+            removeIndex.onRemove(key);
+        }
+        timerWheel.cancel(key);
+    }
+
+    /**
+     * 将元素放入过期时间轮，需要持有锁
+     * 
+     * @param key
+     * @param obj
+     */
+    private void scheduleExpire(K key, CacheObject<V> obj) {
+        long expireTime = getExpireTime(obj);
+        if (expireTime < 0) {
+            timerWheel.cancel(key);
+        } else {
+            timerWheel.schedule(key, expireTime);
+        }
+    }
+
+    /**
+     * 读取并解码元素，需要持有锁
+     * 
+     * @param slot
+     * @return
+     */
+    private CacheObject<V> read(Slot slot) {
+        ByteBuffer buffer = allocator.buffer(slot.address, slot.size);
+        CacheObject<V> obj = readHeader(buffer, buffer.position());
+        buffer.position(buffer.position() + HEADER_SIZE);
+        obj.setData(codec.decode(buffer.slice()));
+        return obj;
+    }
+
+    /**
+     * 读取元素头部
+     * 
+     * @param buffer
+     * @param start 元素开始位置
+     * @return 不包含数据的元素
+     */
+    private CacheObject<V> readHeader(ByteBuffer buffer, int start) {
+        CacheObject<V> obj = new CacheObject<V>();
+        obj.setEnterTime(buffer.getLong(start + ENTER_TIME));
+        obj.setLastUsedTime(buffer.getLong(start + LAST_USED_TIME));
+        obj.setUsedCount(buffer.getLong(start + USED_COUNT));
+        obj.setExpireAfterWrite(buffer.getLong(start + EXPIRE_AFTER_WRITE));
+        obj.setExpireAfterAccess(buffer.getLong(start + EXPIRE_AFTER_ACCESS));
+        obj.setPriority(buffer.getInt(start + PRIORITY));
+        byte flags = buffer.get(start + FLAGS);
+        obj.setExpired((flags & FLAG_EXPIRED) != 0);
+        obj.setForever((flags & FLAG_FOREVER) != 0);
+        return obj;
+    }
+
+    /**
+     * 将元素头部和编码后的数据写入当前线程的编码缓冲区，缓冲区不足时扩大，超过{@link #MAX_ENCODE_BUFFER}的缓冲区只用于本次编码
+     * 
+     * @param value
+     * @return 可读部分为编码结果的缓冲区
+     */
+    private ByteBuffer encode(CacheObject<V> value) {
+        ByteBuffer buffer = ENCODE_BUFFER.get();
+        while (true) {
+            buffer.clear();
+            buffer.putLong(value.getEnterTime());
+            buffer.putLong(value.getLastUsedTime());
+            buffer.putLong(value.getUsedCount());
+            buffer.putLong(value.getExpireAfterWrite());
+            buffer.putLong(value.getExpireAfterAccess());
+            buffer.putInt(value.getPriority());
+            buffer.put((byte)((value.isExpired() ? FLAG_EXPIRED : 0) | (value.isForever() ? FLAG_FOREVER : 0)));
+            try {
+                codec.encode(value.getData(), buffer);
+                buffer.flip();
+                return buffer;
+            } catch (BufferOverflowException e) {
+                if (buffer.capacity() > allocator.getSlabSize()) {
+                    // 超过slab大小的元素无法放入缓存，返回的可读部分超过slab大小
+                    buffer.clear();
+                    return buffer;
+                }
+                buffer = ByteBuffer.allocate(Math.min(buffer.capacity() << 1, allocator.getSlabSize() + 1));
+                if (buffer.capacity() <= MAX_ENCODE_BUFFER) {
+                    ENCODE_BUFFER.set(buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * 命中的元素及其未解码的数据
+     */
+    private static class Hit<V> {
+
+        private final CacheObject<V> obj;
+        private final byte[]         data;
+
+        public Hit(CacheObject<V> obj, byte[] data){
+            this.obj = obj;
+            this.data = data;
+        }
+
+        public CacheObject<V> decode(Codec<V> codec) {
+            obj.setData(codec.decode(ByteBuffer.wrap(data)));
+            return obj;
+        }
+    }
+
+    /**
+     * 元素在堆外内存中的位置
+     */
+    private static class Slot {
+
+        private final long address;
+        private final int  size;
+
+        public Slot(long address, int size){
+            this.address = address;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.service.CacheFullRemoveType;
+import com.trinea.java.common.service.Codec;
+
+/**
+ * 修改记录到追加日志的缓存，进程重启后从快照和日志恢复，不需要重新从数据源获取所有数据<br/>
+ * <ul>
+ * 文件
+ * <li>快照保存在filePath，格式见{@link CacheSnapshot}，可通过{@link SimpleCache#loadCache(String, SimpleCache, Codec, Codec)}读取</li>
+ * <li>put、remove、clear依次记录到filePath.log，格式见{@link CacheLog}，缓存满和过期删除元素不记录，恢复时重新按缓存规则删除</li>
+ * <li>构造时读取快照并重放日志，恢复规则见{@link SimpleCache#restoreAll(Map)}</li>
+ * </ul>
+ * <ul>
+ * 同步
+ * <li>syncInterval小于等于0时，每次修改在返回前等待记录写入文件并force，多个线程同时修改时一次force同步多条记录</li>
+ * <li>否则后台线程每隔syncInterval毫秒同步一次，进程崩溃时最多丢失这段时间内的修改，未同步的记录超过
+ * {@link CacheSnapshot#DEFAULT_BUFFER_SIZE}时由修改的线程同步</li>
+ * <li>{@link #sync()}立即同步，{@link #close()}同步并关闭日志</li>
+ * <li>日志写文件失败后，put、remove、clear在修改缓存前抛出{@link IllegalStateException}，缓存与日志保持一致</li>
+ * </ul>
+ * <ul>
+ * 合并
+ * <li>日志超过compactSize字节时后台线程调用{@link #compact()}，将缓存中的元素保存为新快照并删除旧日志</li>
+ * <li>合并时只在切换日志和复制元素列表时持有锁，保存快照时不阻塞修改</li>
+ * </ul>
+ * 
+ * @author Trinea 2012-7-22 下午03:05:12
+ */
+public class PersistentCache<K, V> extends SimpleCache<K, V> {
+
+    private static final long                    serialVersionUID      = 1L;
+
+    /** 默认同步间隔，以毫秒计 **/
+    public static final long                     DEFAULT_SYNC_INTERVAL = 1000;
+
+    /** 默认日志超过该大小时合并，以字节计 **/
+    public static final long                     DEFAULT_COMPACT_SIZE  = 16 * 1024 * 1024;
+
+    /** 快照路径 **/
+    private final String                         filePath;
+    private final long                           syncInterval;
+    private final long                           compactSize;
+
+    private transient CacheSnapshot<K, V>        snapshot;
+    private transient CacheLog<K, V>             log;
+    /** 定时同步和合并的线程 **/
+    private transient ScheduledExecutorService   executor;
+    /** 是否已提交合并任务 **/
+    private transient AtomicBoolean              compacting;
+
+    /**
+     * <ul>
+     * <li>同步间隔为{@link #DEFAULT_SYNC_INTERVAL}，合并大小为{@link #DEFAULT_COMPACT_SIZE}</li>
+     * <li>其他见{@link #PersistentCache(int, long, CacheFullRemoveType, String, CacheSnapshot, long, long)}</li>
+     * </ul>
+     * 
+     * @param maxSize 缓存最大容量
+     * @param filePath 快照路径
+     * @param snapshot 快照的编解码
+     */
+    public PersistentCache(int maxSize, String filePath, CacheSnapshot<K, V> snapshot){
+        this(maxSize, -1, new RemoveTypeEnterTimeFirst<V>(), filePath, snapshot, DEFAULT_SYNC_INTERVAL,
+             DEFAULT_COMPACT_SIZE);
+    }
+
+    /**
+     * 新建缓存并从快照和日志恢复元素
+     * 
+     * @param maxSize 缓存最大容量
+     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效
+     * @param cacheFullRemoveType 缓存满时删除元素类型
+     * @param filePath 快照路径，日志为filePath.log
+     * @param snapshot 快照的编解码
+     * @param syncInterval 同步间隔，以毫秒计，小于等于0表示每次修改都同步
+     * @param compactSize 日志超过该大小时合并，以字节计
+     */
+    public PersistentCache(int maxSize, long validTime, CacheFullRemoveType<V> cacheFullRemoveType, String filePath,
+                           CacheSnapshot<K, V> snapshot, long syncInterval, long compactSize){
+        super(maxSize, validTime, cacheFullRemoveType);
+        if (filePath == null || filePath.length() == 0) {
+            throw new IllegalArgumentException("The filePath must not be empty.");
+        }
+        if (snapshot == null) {
+            throw new IllegalArgumentException("The snapshot must not be null.");
+        }
+        if (compactSize <= 0) {
+            throw new IllegalArgumentException("The compactSize must be greater than 0.");
+        }
+
+        this.filePath = filePath;
+        this.syncInterval = syncInterval;
+        this.compactSize = compactSize;
+        this.snapshot = snapshot;
+        this.log = new CacheLog<K, V>(filePath + ".log", snapshot);
+        this.compacting = new AtomicBoolean();
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "PersistentCacheThread");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        recover();
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    public long getCompactSize() {
+        return compactSize;
+    }
+
+    public CacheLog<K, V> getLog() {
+        return log;
+    }
+
+    /**
+     * 读取快照并重放日志，存在上次未完成合并的旧日志时立即合并
+     */
+    private void recover() {
+        Map<K, CacheObject<V>> map = new LinkedHashMap<K, CacheObject<V>>();
+        if (Files.exists(Paths.get(filePath))) {
+            map.putAll(snapshot.read(filePath));
+        }
+        log.open(map);
+        restoreAll(map);
+        if (log.hasOldLog()) {
+            compact();
+        }
+
+        if (syncInterval > 0) {
+            executor.scheduleWithFixedDelay(new Runnable() {
+
+                @Override
+                public void run() {
+                    log.sync();
+                }
+            }, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public CacheObject<V> put(K key, CacheObject<V> value) {
+        CacheObject<V> obj;
+        long sequence;
+        lock.lock();
+        try {
+            log.checkFailure();
+            obj = super.put(key, value);
+            if (obj == null) {
+                return null;
+            }
+            sequence = log.appendPut(key, obj);
+        } finally {
+            unlock();
+        }
+        afterAppend(sequence);
+        return obj;
+    }
+
+    @Override
+    public void putAllCacheObject(Map<K, CacheObject<V>> map) {
+        super.putAllCacheObject(map);
+        afterAppend(log.getAppendedCount());
+    }
+
+    @Override
+    public CacheObject<V> remove(K key) {
+        CacheObject<V> value;
+        long sequence;
+        lock.lock();
+        try {
+            log.checkFailure();
+            value = super.remove(key);
+            if (value == null) {
+                return null;
+            }
+            sequence = log.appendRemove(key);
+        } finally {
+            unlock();
+        }
+        afterAppend(sequence);
+        return value;
+    }
+
+    @Override
+    public int removeAll(Collection<K> keys) {
+        int count;
+        long sequence = 0;
+        lock.lock();
+        try {
+            log.checkFailure();
+            count = super.removeAll(keys);
+            if (count == 0) {
+                return 0;
+            }
+            // 不存在的key重放时不影响结果
+            for (K key : keys) {
+                sequence = log.appendRemove(key);
+            }
+        } finally {
+            unlock();
+        }
+        afterAppend(sequence);
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        long sequence;
+        lock.lock();
+        try {
+            log.checkFailure();
+            super.clear();
+            sequence = log.appendClear();
+        } finally {
+            unlock();
+        }
+        afterAppend(sequence);
+    }
+
+    /**
+     * 按同步规则同步记录，日志超过compactSize时提交合并任务，在锁内调用时(批量操作)由批量操作结束后处理
+     * 
+     * @param sequence 记录序号
+     */
+    private void afterAppend(long sequence) {
+        if (lock.isHeldByCurrentThread()) {
+            return;
+        }
+
+        if (syncInterval <= 0 || log.getPendingSize() >= CacheSnapshot.DEFAULT_BUFFER_SIZE) {
+            log.sync(sequence);
+        }
+        if (log.getSize() >= compactSize && compacting.compareAndSet(false, true)) {
+            executor.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        compact();
+                    } finally {
+                        compacting.set(false);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 同步所有记录到文件
+     */
+    public void sync() {
+        log.sync();
+    }
+
+    /**
+     * 将缓存中的元素保存为新快照并删除旧日志
+     * <ul>
+     * <li>持有锁切换日志并复制元素列表，之后的修改记录到新日志</li>
+     * <li>释放锁后保存快照，保存失败时旧日志保留，下次合并或恢复时重新合并</li>
+     * </ul>
+     * 
+     * @return 保存到快照的元素个数
+     */
+    public synchronized int compact() {
+        List<Entry<K, CacheObject<V>>> entryList;
+        lock.lock();
+        try {
+            log.rotate();
+            entryList = new ArrayList<Entry<K, CacheObject<V>>>(cache.size());
+            for (Entry<K, CacheObject<V>> entry : cache.entrySet()) {
+                entryList.add(new SimpleImmutableEntry<K, CacheObject<V>>(entry.getKey(), entry.getValue()));
+            }
+        } finally {
+            unlock();
+        }
+
+        int count = snapshot.save(filePath, entryList);
+        log.deleteOldLog();
+        return count;
+    }
+
+    /**
+     * 停止后台线程，同步所有记录并关闭日志，之后不能再修改缓存
+     */
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(syncInterval > 0 ? syncInterval : 1000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.close();
+    }
+}
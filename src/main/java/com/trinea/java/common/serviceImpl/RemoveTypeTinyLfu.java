@@ -0,0 +1,39 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.service.CacheRemoveIndex;
+import com.trinea.java.common.service.IndexedCacheFullRemoveType;
+
+/**
+ * 缓存满时删除数据的类型--W-TinyLFU，根据估计的访问频率决定新元素是否值得替换已有元素，见{@link TinyLfuRemoveIndex}<br/>
+ * <br/>
+ * 适用于既有热点数据又有批量扫描的场景，扫描数据不会挤掉热点数据。
+ * 没有删除索引时按照使用次数少先删除，使用次数相同时上次使用时间早先删除。
+ * 
+ * @author Trinea 2012-7-2 下午11:20:05
+ */
+public class RemoveTypeTinyLfu<T> implements IndexedCacheFullRemoveType<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public int compare(CacheObject<T> obj1, CacheObject<T> obj2) {
+        if (obj1.getUsedCount() != obj2.getUsedCount()) {
+            return obj1.getUsedCount() > obj2.getUsedCount() ? 1 : -1;
+        }
+        return (obj1.getLastUsedTime() > obj2.getLastUsedTime()) ? 1
+            : ((obj1.getLastUsedTime() == obj2.getLastUsedTime()) ? 0 : -1);
+    }
+
+    @Override
+    public <K> CacheRemoveIndex<K, T> newRemoveIndex(int maxSize) {
+        return new TinyLfuRemoveIndex<K, T>(maxSize);
+    }
+}
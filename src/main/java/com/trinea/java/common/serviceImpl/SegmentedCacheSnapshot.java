@@ -0,0 +1,424 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.zip.CRC32;
+
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.service.Cache;
+
+/**
+ * 分段的缓存快照，各段为独立的{@link CacheSnapshot}文件，在{@link ForkJoinPool}中并行保存和读取<br/>
+ * <br/>
+ * <ul>
+ * 文件
+ * <li>filePath为清单文件，依次为魔数{@link #MAGIC}、版本{@link #VERSION}、段数、代数、每段的元素个数和文件长度，最后为之前内容的CRC32校验和</li>
+ * <li>第i段保存在filePath.代数.i，每次保存代数加1，不会覆盖当前清单引用的段</li>
+ * </ul>
+ * <ul>
+ * 保存和恢复
+ * <li>{@link #save(String, Cache)}将元素轮流分到各段，并行保存各段后写入新清单，清单替换成功后删除上一代的段，
+ * 保存过程中失败时删除这一代已保存的段，原快照不受影响</li>
+ * <li>{@link #read(String)}读取清单后并行读取和校验各段，再按段的顺序合并</li>
+ * <li>{@link #load(String, ConcurrentCache)}在同一线程池中并行恢复缓存的各段，{@link #load(String, SimpleCache)}只有一个锁，
+ * 在调用者线程中恢复</li>
+ * </ul>
+ * 
+ * @author Trinea 2012-7-24 下午09:12:45
+ */
+public class SegmentedCacheSnapshot<K, V> {
+
+    /** 清单文件魔数 **/
+    public static final int           MAGIC   = 0x5443534d;
+    /** 清单文件格式版本 **/
+    public static final int           VERSION = 1;
+
+    private final CacheSnapshot<K, V> snapshot;
+    private final int                 segmentCount;
+    private final ForkJoinPool        pool;
+
+    /**
+     * 段数为cpu核数，使用{@link ForkJoinPool#commonPool()}
+     * 
+     * @param snapshot 每段的编解码
+     */
+    public SegmentedCacheSnapshot(CacheSnapshot<K, V> snapshot){
+        this(snapshot, Runtime.getRuntime().availableProcessors(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param snapshot 每段的编解码
+     * @param segmentCount 保存时的段数，读取时以清单中的段数为准
+     * @param pool 保存和读取各段的线程池
+     */
+    public SegmentedCacheSnapshot(CacheSnapshot<K, V> snapshot, int segmentCount, ForkJoinPool pool){
+        if (snapshot == null) {
+            throw new IllegalArgumentException("The snapshot must not be null.");
+        }
+        if (segmentCount <= 0) {
+            throw new IllegalArgumentException("The segmentCount must be greater than 0.");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("The pool must not be null.");
+        }
+
+        this.snapshot = snapshot;
+        this.segmentCount = segmentCount;
+        this.pool = pool;
+    }
+
+    public CacheSnapshot<K, V> getSnapshot() {
+        return snapshot;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    /**
+     * 得到某一段的文件路径
+     * 
+     * @param filePath 清单文件路径
+     * @param generation 代数
+     * @param index 段的序号
+     * @return
+     */
+    public static String getSegmentFilePath(String filePath, long generation, int index) {
+        return filePath + "." + generation + "." + index;
+    }
+
+    /**
+     * 并行保存缓存中的所有元素
+     * 
+     * @param filePath 清单文件路径
+     * @param cache 缓存
+     * @return 保存的元素个数
+     */
+    public int save(String filePath, Cache<K, V> cache) {
+        Manifest oldManifest = null;
+        if (Files.exists(Paths.get(filePath))) {
+            try {
+                oldManifest = Manifest.read(filePath);
+            } catch (RuntimeException e) {
+                // 清单损坏时不删除旧的段
+            }
+        }
+
+        List<List<Entry<K, CacheObject<V>>>> entryLists = new ArrayList<List<Entry<K, CacheObject<V>>>>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            entryLists.add(new ArrayList<Entry<K, CacheObject<V>>>());
+        }
+        int index = 0;
+        for (Entry<K, CacheObject<V>> entry : cache.entrySet()) {
+            if (entry != null && entry.getValue() != null) {
+                entryLists.get(index).add(entry);
+                index = (index + 1) % segmentCount;
+            }
+        }
+
+        long generation = Math.max(System.currentTimeMillis(), oldManifest == null ? 0 : oldManifest.generation + 1);
+        long[] entryCounts = new long[segmentCount], lengths = new long[segmentCount];
+        Manifest manifest = new Manifest(generation, entryCounts, lengths);
+        boolean success = false;
+        try {
+            pool.invoke(new SaveTask(filePath, generation, entryLists, entryCounts, lengths, 0, segmentCount));
+            manifest.write(filePath);
+            success = true;
+        } finally {
+            if (!success) {
+                // 新清单未替换时这一代的段不会被引用，之后的保存也不会删除
+                manifest.deleteSegmentsQuietly(filePath);
+            }
+        }
+
+        if (oldManifest != null) {
+            oldManifest.deleteSegments(filePath);
+        }
+        int count = 0;
+        for (long entryCount : entryCounts) {
+            count += entryCount;
+        }
+        return count;
+    }
+
+    /**
+     * 并行读取所有段后恢复元素到缓存，见{@link SimpleCache#restoreAll(Map)}
+     * 
+     * @param filePath 清单文件路径
+     * @param cache 缓存
+     * @return 放入缓存的元素个数
+     */
+    public int load(String filePath, SimpleCache<K, V> cache) {
+        return cache.restoreAll(read(filePath));
+    }
+
+    /**
+     * 并行读取所有段后，在同一线程池中并行恢复元素到缓存的各段，见{@link ConcurrentCache#restoreAll(Map, ForkJoinPool)}
+     * 
+     * @param filePath 清单文件路径
+     * @param cache 缓存
+     * @return 放入缓存的元素个数
+     */
+    public int load(String filePath, ConcurrentCache<K, V> cache) {
+        return cache.restoreAll(read(filePath), pool);
+    }
+
+    /**
+     * 并行读取并校验所有段，段的元素个数或文件长度与清单不一致时抛出异常
+     * 
+     * @param filePath 清单文件路径
+     * @return key到元素的map，按段的顺序
+     */
+    public Map<K, CacheObject<V>> read(String filePath) {
+        Manifest manifest = Manifest.read(filePath);
+        List<Map<K, CacheObject<V>>> maps = new ArrayList<Map<K, CacheObject<V>>>(manifest.entryCounts.length);
+        long total = 0;
+        for (int i = 0; i < manifest.entryCounts.length; i++) {
+            maps.add(null);
+            total += manifest.entryCounts[i];
+        }
+        pool.invoke(new ReadTask(filePath, manifest, maps, 0, manifest.entryCounts.length));
+
+        Map<K, CacheObject<V>> map = new LinkedHashMap<K, CacheObject<V>>((int)Math.min(total * 4 / 3 + 1,
+                                                                                         Integer.MAX_VALUE));
+        for (Map<K, CacheObject<V>> segmentMap : maps) {
+            map.putAll(segmentMap);
+        }
+        return map;
+    }
+
+    /**
+     * 保存[from, to)段，段数大于1时分为两半并行保存，一半失败时等待另一半结束后再抛出异常，失败后删除段时不会有段还在写入
+     */
+    private class SaveTask extends RecursiveAction {
+
+        private static final long                          serialVersionUID = 1L;
+
+        private final String                               filePath;
+        private final long                                 generation;
+        private final List<List<Entry<K, CacheObject<V>>>> entryLists;
+        private final long[]                               entryCounts;
+        private final long[]                               lengths;
+        private final int                                  from;
+        private final int                                  to;
+
+        SaveTask(String filePath, long generation, List<List<Entry<K, CacheObject<V>>>> entryLists,
+                 long[] entryCounts, long[] lengths, int from, int to){
+            this.filePath = filePath;
+            this.generation = generation;
+            this.entryLists = entryLists;
+            this.entryCounts = entryCounts;
+            this.lengths = lengths;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                SaveTask right = new SaveTask(filePath, generation, entryLists, entryCounts, lengths, middle, to);
+                right.fork();
+                RuntimeException exception = null;
+                try {
+                    new SaveTask(filePath, generation, entryLists, entryCounts, lengths, from, middle).compute();
+                } catch (RuntimeException e) {
+                    exception = e;
+                }
+                try {
+                    right.join();
+                } catch (RuntimeException e) {
+                    if (exception == null) {
+                        exception = e;
+                    } else {
+                        exception.addSuppressed(e);
+                    }
+                }
+                if (exception != null) {
+                    throw exception;
+                }
+                return;
+            }
+
+            String segmentFilePath = getSegmentFilePath(filePath, generation, from);
+            entryCounts[from] = snapshot.save(segmentFilePath, entryLists.get(from));
+            try {
+                lengths[from] = Files.size(Paths.get(segmentFilePath));
+            } catch (IOException e) {
+                throw new RuntimeException("IOException occurred. ", e);
+            }
+        }
+    }
+
+    /**
+     * 读取[from, to)段，段数大于1时分为两半并行读取
+     */
+    private class ReadTask extends RecursiveAction {
+
+        private static final long                  serialVersionUID = 1L;
+
+        private final String                       filePath;
+        private final Manifest                     manifest;
+        private final List<Map<K, CacheObject<V>>> maps;
+        private final int                          from;
+        private final int                          to;
+
+        ReadTask(String filePath, Manifest manifest, List<Map<K, CacheObject<V>>> maps, int from, int to){
+            this.filePath = filePath;
+            this.manifest = manifest;
+            this.maps = maps;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ReadTask(filePath, manifest, maps, from, middle), new ReadTask(filePath, manifest,
+                                                                                            maps, middle, to));
+                return;
+            }
+
+            String segmentFilePath = getSegmentFilePath(filePath, manifest.generation, from);
+            try {
+                if (Files.size(Paths.get(segmentFilePath)) != manifest.lengths[from]) {
+                    throw new RuntimeException("The segment length mismatch the manifest: " + segmentFilePath);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException("IOException occurred. ", e);
+            }
+            Map<K, CacheObject<V>> map = snapshot.read(segmentFilePath);
+            if (map.size() != manifest.entryCounts[from]) {
+                throw new RuntimeException("The segment entry count mismatch the manifest: " + segmentFilePath);
+            }
+            maps.set(from, map);
+        }
+    }
+
+    /**
+     * 清单
+     */
+    static class Manifest {
+
+        final long   generation;
+        final long[] entryCounts;
+        final long[] lengths;
+
+        Manifest(long generation, long[] entryCounts, long[] lengths){
+            this.generation = generation;
+            this.entryCounts = entryCounts;
+            this.lengths = lengths;
+        }
+
+        /**
+         * 先写入临时文件，force后替换原清单
+         */
+        void write(String filePath) {
+            ByteBuffer buffer = ByteBuffer.allocate(28 + entryCounts.length * 16);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(entryCounts.length).putLong(generation);
+            for (int i = 0; i < entryCounts.length; i++) {
+                buffer.putLong(entryCounts[i]).putLong(lengths[i]);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), 0, buffer.position());
+            buffer.putLong(crc.getValue());
+            buffer.flip();
+
+            Path tmpPath = Paths.get(filePath + ".tmp");
+            FileChannel channel = null;
+            try {
+                channel = FileChannel.open(tmpPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                           StandardOpenOption.TRUNCATE_EXISTING);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+                channel.close();
+                channel = null;
+                CacheSnapshot.move(tmpPath, Paths.get(filePath));
+            } catch (IOException e) {
+                throw new RuntimeException("IOException occurred. ", e);
+            } finally {
+                CacheSnapshot.close(channel);
+            }
+        }
+
+        /**
+         * 读取清单，魔数、版本或校验和不正确时抛出异常
+         */
+        static Manifest read(String filePath) {
+            ByteBuffer buffer;
+            try {
+                buffer = ByteBuffer.wrap(Files.readAllBytes(Paths.get(filePath)));
+            } catch (IOException e) {
+                throw new RuntimeException("IOException occurred. ", e);
+            }
+            if (buffer.remaining() < 28 || buffer.getInt() != MAGIC) {
+                throw new RuntimeException("The file is not a segmented cache snapshot: " + filePath);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new RuntimeException("The version of segmented snapshot is not supported: " + version);
+            }
+            int count = buffer.getInt();
+            if (count <= 0 || buffer.capacity() != 28 + (long)count * 16) {
+                throw new RuntimeException("The manifest is corrupted: " + filePath);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), 0, buffer.capacity() - 8);
+            if (buffer.getLong(buffer.capacity() - 8) != crc.getValue()) {
+                throw new RuntimeException("The checksum of manifest mismatch: " + filePath);
+            }
+
+            long generation = buffer.getLong();
+            long[] entryCounts = new long[count], lengths = new long[count];
+            for (int i = 0; i < count; i++) {
+                entryCounts[i] = buffer.getLong();
+                lengths[i] = buffer.getLong();
+            }
+            return new Manifest(generation, entryCounts, lengths);
+        }
+
+        /**
+         * 删除清单引用的段
+         */
+        void deleteSegments(String filePath) {
+            for (int i = 0; i < entryCounts.length; i++) {
+                try {
+                    Files.deleteIfExists(Paths.get(getSegmentFilePath(filePath, generation, i)));
+                } catch (IOException e) {
+                    throw new RuntimeException("IOException occurred. ", e);
+                }
+            }
+        }
+
+        /**
+         * 删除清单引用的段，不存在或删除失败时忽略，用于清理保存失败的段
+         */
+        void deleteSegmentsQuietly(String filePath) {
+            for (int i = 0; i < entryCounts.length; i++) {
+                CacheSnapshot.deleteQuietly(Paths.get(getSegmentFilePath(filePath, generation, i)));
+            }
+        }
+    }
+}
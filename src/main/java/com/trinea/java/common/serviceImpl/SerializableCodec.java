@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
+import com.trinea.java.common.service.Codec;
+
+/**
+ * 使用java序列化的编解码，适用于任意实现了{@link java.io.Serializable}的对象<br/>
+ * <br/>
+ * 编码格式为4字节长度加序列化的字节，null的长度为-1
+ * 
+ * @author Trinea 2012-7-6 下午10:12:08
+ */
+public class SerializableCodec<T> implements Codec<T> {
+
+    @Override
+    public void encode(T value, ByteBuffer buffer) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            ObjectOutputStream out = new ObjectOutputStream(bytes);
+            out.writeObject(value);
+            out.close();
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        }
+        buffer.putInt(bytes.size());
+        buffer.put(bytes.toByteArray());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T decode(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        ObjectInputStream in = null;
+        try {
+            in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+            return (T)in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("ClassNotFoundException occurred. ", e);
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    throw new RuntimeException("IOException occurred. ", e);
+                }
+            }
+        }
+    }
+}
@@ -1,469 +1,1431 @@
-package com.trinea.java.common.serviceImpl;
-
-import java.io.Serializable;
-import java.util.Collection;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
-
-import com.trinea.java.common.MapUtils;
-import com.trinea.java.common.SerializeUtils;
-import com.trinea.java.common.entity.CacheObject;
-import com.trinea.java.common.service.Cache;
-import com.trinea.java.common.service.CacheFullRemoveType;
-
-/**
- * 小型缓存<br/>
- * <ul>
- * 缓存使用
- * <li>使用下面缓存初始化中介绍的几种构造函数之一初始化缓存</li>
- * <li>使用{@link #put(Object, CacheObject)}或{@link #put(Object, Object)}向缓存中put元素</li>
- * <li>使用{@link #get(Object)}从缓存中get元素</li>
- * <li>使用{@link #loadCache(String)}从文件中恢复缓存</li>
- * <li>使用{@link #saveCache(String, SimpleCache)}保存缓存到文件</li>
- * </ul>
- * <ul>
- * 缓存初始化
- * <li>{@link #SimpleCache()}</li>
- * <li>{@link #SimpleCache(int)}</li>
- * <li>{@link #SimpleCache(int, long)}</li>
- * <li>{@link #SimpleCache(int, CacheFullRemoveType)}</li>
- * <li>{@link #SimpleCache(int, long, CacheFullRemoveType)}</li>
- * <li>{@link #loadCache(String)}从文件中恢复缓存</li>
- * </ul>
- * <ul>
- * 对于<strong>缓存的大小</strong>
- * <li>{@link #getMaxSize()}表示缓存最大容量</li>
- * <li>{@link #getSize()}表示缓存中有效元素个数</li>
- * </ul>
- * <ul>
- * 对于缓存中<strong>元素是否存在</strong>，可以{@link #containsKey(Object)}判断，判断规则为：
- * <li>若元素不存在，返回false</li>
- * <li>若元素存在但已经失效，返回false</li>
- * <li>以上都不符合，返回true</li>
- * </ul>
- * 
- * @author Trinea 2011-12-23 上午01:46:01
- */
-public class SimpleCache<K, V> implements Cache<K, V>, Serializable {
-
-    private static final long            serialVersionUID = 1L;
-
-    /** 默认缓存最大容量 **/
-    public static final int              DEFAULT_MAX_SIZE = 64;
-
-    /** 缓存最大容量 **/
-    private final int                    maxSize;
-
-    /** 有效时间，以毫秒计 **/
-    private final long                   validTime;
-
-    /** cache满时删除元素类型 **/
-    private final CacheFullRemoveType<V> cacheFullRemoveType;
-
-    /** 缓存体 **/
-    protected Map<K, CacheObject<V>>     cache;
-
-    /** 命中次数和未命中次数 **/
-    protected AtomicLong                 hitCount         = new AtomicLong(0), missCount = new AtomicLong(0);
-
-    /**
-     * 初始化缓存
-     * <ul>
-     * <li>缓存最大容量为{@link #DEFAULT_MAX_SIZE}</li>
-     * <li>元素不会失效</li>
-     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
-     * </ul>
-     */
-    public SimpleCache(){
-        this(DEFAULT_MAX_SIZE, -1, new RemoveTypeEnterTimeFirst<V>());
-    }
-
-    /**
-     * 初始化缓存
-     * <ul>
-     * <li>元素不会失效</li>
-     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
-     * </ul>
-     * 
-     * @param maxSize 缓存最大容量
-     */
-    public SimpleCache(int maxSize){
-        this(maxSize, -1, new RemoveTypeEnterTimeFirst<V>());
-    }
-
-    /**
-     * 初始化缓存
-     * <ul>
-     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
-     * </ul>
-     * 
-     * @param maxSize 缓存最大容量
-     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效，失效规则见{@link #isExpired(CacheObject)}
-     */
-    public SimpleCache(int maxSize, long validTime){
-        this(maxSize, validTime, new RemoveTypeEnterTimeFirst<V>());
-    }
-
-    /**
-     * 初始化缓存
-     * <ul>
-     * <li>元素不会失效</li>
-     * </ul>
-     * 
-     * @param maxSize 缓存最大容量
-     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
-     */
-    public SimpleCache(int maxSize, CacheFullRemoveType<V> cacheFullRemoveType){
-        this(maxSize, -1, cacheFullRemoveType);
-    }
-
-    /**
-     * 初始化缓存
-     * 
-     * @param maxSize 缓存最大容量
-     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效，失效规则见{@link #isExpired(CacheObject)}
-     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
-     */
-    public SimpleCache(int maxSize, long validTime, CacheFullRemoveType<V> cacheFullRemoveType){
-        if (maxSize <= 0) {
-            throw new IllegalArgumentException("The maxSize of cache must be greater than 0.");
-        }
-        if (cacheFullRemoveType == null) {
-            throw new IllegalArgumentException(
-                                               "The cacheFullRemoveType of cache must be a instance of CacheFullRemoveType.");
-        }
-        this.maxSize = maxSize;
-        this.validTime = validTime <= 0 ? -1 : validTime;
-        this.cacheFullRemoveType = cacheFullRemoveType;
-        this.cache = new ConcurrentHashMap<K, CacheObject<V>>(maxSize);
-    }
-
-    /**
-     * 得到缓存最大容量
-     * 
-     * @return
-     */
-    public int getMaxSize() {
-        return maxSize;
-    }
-
-    /**
-     * 得到有效时间，以毫秒计
-     * 
-     * @return
-     */
-    public long getValidTime() {
-        return validTime;
-    }
-
-    /**
-     * 得到cache满时删除元素类型，见{@link CacheFullRemoveType}
-     * 
-     * @return
-     */
-    public CacheFullRemoveType<V> getCacheFullRemoveType() {
-        return cacheFullRemoveType;
-    }
-
-    /**
-     * 得到缓存中有效元素个数
-     * 
-     * @return
-     */
-    @Override
-    public int getSize() {
-        removeExpired();
-        return cache.size();
-    }
-
-    /**
-     * 从缓存中获取元素，若元素不存在或是已经失效，返回null
-     * 
-     * @param key
-     * @return
-     */
-    @Override
-    public CacheObject<V> get(K key) {
-        CacheObject<V> obj = cache.get(key);
-        if (!isExpired(obj) && obj != null) {
-            hitCount.incrementAndGet();
-            setUsedInfo(obj);
-            return obj;
-        } else {
-            missCount.incrementAndGet();
-            return null;
-        }
-    }
-
-    /**
-     * 设置使用信息
-     * 
-     * @param obj
-     */
-    protected synchronized void setUsedInfo(CacheObject<V> obj) {
-        if (obj != null) {
-            obj.setUsedCount(obj.getUsedCount() + 1);
-            obj.setLastUsedTime(System.currentTimeMillis());
-        }
-    }
-
-    /**
-     * 向缓存中添加元素, key不允许为空
-     * <ul>
-     * <li>见{@link #put(Object, CacheObject)}</li>
-     * </ul>
-     * 
-     * @param key key
-     * @param value 元素值
-     * @return 为空表示缓存已满无法put，否则为put的value。
-     */
-    @Override
-    public CacheObject<V> put(K key, V value) {
-        CacheObject<V> obj = new CacheObject<V>();
-        obj.setData(value);
-        obj.setForever(validTime == -1);
-        return put(key, obj);
-    }
-
-    /**
-     * 向缓存中添加元素, key和value均不允许为空
-     * 
-     * @param key key
-     * @param value 元素
-     * @return 为空表示缓存已满无法put，否则为put的value。
-     */
-    @Override
-    public synchronized CacheObject<V> put(K key, CacheObject<V> value) {
-        if (cache.size() >= maxSize) {
-            if (removeExpired() <= 0) {
-                if (cacheFullRemoveType instanceof RemoveTypeNotRemove) {
-                    return null;
-                }
-                if (fullRemoveOne() == null) {
-                    return null;
-                }
-            }
-        }
-        value.setEnterTime(System.currentTimeMillis());
-        cache.put(key, value);
-        return value;
-    }
-
-    /**
-     * 将cache2中的所有元素复制到当前cache，相当于将cache2中的每一个元素{@link #put(Object, CacheObject)}到当前cache
-     * 
-     * @param cache2
-     */
-    @Override
-    public void putAll(Cache<K, V> cache2) {
-        for (Entry<K, CacheObject<V>> e : cache2.entrySet()) {
-            if (e != null) {
-                put(e.getKey(), e.getValue());
-            }
-        }
-    }
-
-    /**
-     * 缓存中某个key是否存在，若元素不存在或是已经失效，返回false
-     * 
-     * @param key
-     * @return
-     */
-    @Override
-    public boolean containsKey(K key) {
-        return cache.containsKey(key) ? !isExpired(key) : false;
-    }
-
-    /**
-     * 缓存中某个Key对应元素是否过期
-     * 
-     * @param key
-     * @return
-     */
-    protected boolean isExpired(K key) {
-        return validTime == -1 ? false : isExpired(cache.get(key));
-    }
-
-    /**
-     * 从缓存中删除某个元素, key不允许为空
-     * <ul>
-     * <li>若元素不存在，返回null</li>
-     * <li>否则删除并返回该元素</li>
-     * </ul>
-     * 
-     * @param key
-     * @return
-     */
-    @Override
-    public CacheObject<V> remove(K key) {
-        return cache.remove(key);
-    }
-
-    /**
-     * 缓存满时从缓存中按照{@link #cacheFullRemoveType}规则删除一个元素
-     * <ul>
-     * <li>若{@link #cacheFullRemoveType}是{@link RemoveTypeNotRemove}的实例返回null，否则</li>
-     * <li>按{@link #cacheFullRemoveType}从未过期元素中查找删除的元素删除，未查找到返回null</li>
-     * </ul>
-     * 
-     * @param key
-     * @return 返回删除的元素
-     */
-    protected CacheObject<V> fullRemoveOne() {
-        if (MapUtils.isEmpty(cache) || cacheFullRemoveType instanceof RemoveTypeNotRemove) {
-            return null;
-        }
-
-        K keyToRemove = null;
-        CacheObject<V> valueToRemove = null;
-        for (Entry<K, CacheObject<V>> entry : cache.entrySet()) {
-            if (entry != null && !isExpired(entry.getValue())) {
-                if (valueToRemove == null) {
-                    valueToRemove = entry.getValue();
-                    keyToRemove = entry.getKey();
-                } else {
-                    if (cacheFullRemoveType.compare(entry.getValue(), valueToRemove) < 0) {
-                        valueToRemove = entry.getValue();
-                        keyToRemove = entry.getKey();
-                    }
-                }
-            }
-        }
-        if (keyToRemove != null) {
-            cache.remove(keyToRemove);
-        }
-        return valueToRemove;
-    }
-
-    /**
-     * 移除缓存中过期的元素
-     * <ul>
-     * <li>若validTime为-1，则返回0</li>
-     * </ul>
-     * 
-     * @return 删除的元素个数
-     */
-    protected int removeExpired() {
-        if (validTime == -1) {
-            return 0;
-        }
-
-        int count = 0;
-        for (Entry<K, CacheObject<V>> entry : cache.entrySet()) {
-            if (entry != null && isExpired(entry.getValue())) {
-                cache.remove(entry.getKey());
-                count++;
-            }
-        }
-        return count;
-    }
-
-    /**
-     * 清空缓存
-     */
-    @Override
-    public void clear() {
-        cache.clear();
-    }
-
-    /**
-     * 判断某个元素是否过期，过期返回true，否则返回false
-     * <ul>
-     * <li>若validTime为-1表示始终不过期</li>
-     * <li>若元素为空或元素是否过期属性为true表示已经过期</li>
-     * <li>否则，若缓存中元素非长期有效，并且元素进入时间加上过期时间小于当前时间，表示已经过期</li>
-     * <li>否则未过期</li>
-     * </ul>
-     * 
-     * @param obj
-     * @return
-     */
-    protected boolean isExpired(CacheObject<V> obj) {
-        return validTime != -1
-               && (obj == null || obj.isExpired() || (obj.getEnterTime() + validTime) < System.currentTimeMillis());
-    }
-
-    /**
-     * 得到缓存命中次数
-     **/
-    public long getHitCount() {
-        return hitCount.get();
-    }
-
-    /**
-     * 得到缓存未命中次数
-     **/
-    public long getMissCount() {
-        return missCount.get();
-    }
-
-    /**
-     * 得到缓存命中率
-     * 
-     * @return
-     */
-    @Override
-    public synchronized double getHitRate() {
-        long total = hitCount.get() + missCount.get();
-        return (total == 0 ? 0 : ((double)hitCount.get()) / total);
-    }
-
-    /**
-     * 缓存中key的集合
-     * 
-     * @return
-     */
-    @Override
-    public Set<K> keySet() {
-        removeExpired();
-        return cache.keySet();
-    }
-
-    /**
-     * 缓存中元素的集合
-     * 
-     * @return
-     */
-    @Override
-    public Set<Map.Entry<K, CacheObject<V>>> entrySet() {
-        removeExpired();
-        return cache.entrySet();
-    }
-
-    /**
-     * 缓存中元素值的集合
-     * 
-     * @return
-     */
-    @Override
-    public Collection<CacheObject<V>> values() {
-        removeExpired();
-        return cache.values();
-    }
-
-    /**
-     * 从文件中恢复缓存
-     * 
-     * @param filePath 文件路径
-     * @return
-     */
-    @SuppressWarnings("unchecked")
-    public static <K, V> SimpleCache<K, V> loadCache(String filePath) {
-        return (SimpleCache<K, V>)SerializeUtils.deserialization(filePath);
-    }
-
-    /**
-     * 保存缓存到文件
-     * 
-     * @param <K>
-     * @param <V>
-     * @param filePath 文件路径
-     * @param cache 缓存
-     */
-    public static <K, V> void saveCache(String filePath, SimpleCache<K, V> cache) {
-        SerializeUtils.serialization(filePath, cache);
-    }
-}
+package com.trinea.java.common.serviceImpl;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.trinea.java.common.MapUtils;
+import com.trinea.java.common.SerializeUtils;
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.entity.CacheStats;
+import com.trinea.java.common.entity.RemovalCause;
+import com.trinea.java.common.service.Cache;
+import com.trinea.java.common.service.CacheFullRemoveType;
+import com.trinea.java.common.service.CacheRemoveIndex;
+import com.trinea.java.common.service.CacheWeigher;
+import com.trinea.java.common.service.Codec;
+import com.trinea.java.common.service.IndexedCacheFullRemoveType;
+import com.trinea.java.common.service.RemovalListener;
+
+/**
+ * 小型缓存<br/>
+ * <ul>
+ * 缓存使用
+ * <li>使用下面缓存初始化中介绍的几种构造函数之一初始化缓存</li>
+ * <li>使用{@link #put(Object, CacheObject)}或{@link #put(Object, Object)}向缓存中put元素</li>
+ * <li>使用{@link #get(Object)}从缓存中get元素</li>
+ * <li>使用{@link #loadCache(String)}从文件中恢复缓存</li>
+ * <li>使用{@link #saveCache(String, SimpleCache)}保存缓存到文件</li>
+ * <li>使用{@link #saveCache(String, SimpleCache, Codec, Codec)}和{@link #loadCache(String, SimpleCache, Codec, Codec)}
+ * 以二进制快照保存和恢复缓存中的元素</li>
+ * <li>使用{@link #loadCacheLazily(String, SimpleCache, Codec, Codec)}从二进制快照恢复，元素数据在第一次get后使用时才解码，适合启动时恢复大缓存</li>
+ * <li>元素很多时可使用{@link SegmentedCacheSnapshot}分段多线程保存和恢复</li>
+ * </ul>
+ * <ul>
+ * 缓存初始化
+ * <li>{@link #SimpleCache()}</li>
+ * <li>{@link #SimpleCache(int)}</li>
+ * <li>{@link #SimpleCache(int, long)}</li>
+ * <li>{@link #SimpleCache(int, CacheFullRemoveType)}</li>
+ * <li>{@link #SimpleCache(int, long, CacheFullRemoveType)}</li>
+ * <li>{@link #SimpleCache(int, CacheWeigher, long)}</li>
+ * <li>{@link #SimpleCache(int, CacheWeigher, long, long, CacheFullRemoveType)}</li>
+ * <li>{@link #loadCache(String)}从文件中恢复缓存</li>
+ * </ul>
+ * <ul>
+ * 缓存满时<strong>删除元素</strong>
+ * <li>若cacheFullRemoveType实现了{@link IndexedCacheFullRemoveType}，通过{@link CacheRemoveIndex}选出待删除元素，复杂度为O(1)或O(log n)</li>
+ * <li>否则遍历所有元素按照{@link CacheFullRemoveType#compare(CacheObject, CacheObject)}选出待删除元素</li>
+ * </ul>
+ * <ul>
+ * 对于<strong>并发</strong>
+ * <li>get不加锁，元素使用信息通过原子操作更新，删除索引的更新先记录在缓冲区中，由持有锁的线程批量处理</li>
+ * <li>put、remove等修改操作持有同一把锁，需要减少锁竞争时可使用{@link ConcurrentCache}将缓存分段</li>
+ * </ul>
+ * <ul>
+ * 对于<strong>缓存的大小</strong>
+ * <li>{@link #getMaxSize()}表示缓存最大容量</li>
+ * <li>{@link #getSize()}表示缓存中有效元素个数</li>
+ * <li>设置了{@link CacheWeigher}时，{@link #getMaxWeight()}表示缓存最大权重，{@link #getTotalWeight()}表示缓存中元素的权重之和，
+ * 权重在put、remove、替换时增量更新</li>
+ * </ul>
+ * <ul>
+ * 对于<strong>元素过期</strong>
+ * <li>缓存的有效时间validTime对所有元素生效，元素也可以通过{@link CacheObject#setExpireAfterWrite(long)}设置自己的有效时间，
+ * 通过{@link CacheObject#setExpireAfterAccess(long)}设置上次使用后的有效时间，见{@link #isExpired(CacheObject)}</li>
+ * <li>元素按过期时间放入{@link TimerWheel}，put、{@link #getSize()}、{@link #keySet()}等操作时只处理到期的元素，不需要遍历整个缓存</li>
+ * <li>也可以定时调用{@link #cleanUp()}删除过期元素</li>
+ * </ul>
+ * <ul>
+ * 对于<strong>统计和删除回调</strong>
+ * <li>{@link #getStats()}得到命中、未命中及按{@link RemovalCause}分类的删除个数等统计，计数不加锁</li>
+ * <li>{@link #setRemovalListener(RemovalListener)}设置元素被删除时的回调，回调提交到线程池在锁外执行</li>
+ * </ul>
+ * <ul>
+ * 对于缓存中<strong>元素是否存在</strong>，可以{@link #containsKey(Object)}判断，判断规则为：
+ * <li>若元素不存在，返回false</li>
+ * <li>若元素存在但已经失效，返回false</li>
+ * <li>以上都不符合，返回true</li>
+ * </ul>
+ * 
+ * @author Trinea 2011-12-23 上午01:46:01
+ */
+public class SimpleCache<K, V> implements Cache<K, V>, Serializable {
+
+    private static final long            serialVersionUID = 1L;
+
+    /** 默认缓存最大容量 **/
+    public static final int              DEFAULT_MAX_SIZE = 64;
+
+    /** get记录缓冲区达到该大小时尝试处理缓冲区 **/
+    private static final int             ACCESS_BUFFER_DRAIN_THRESHOLD = 32;
+
+    /** get记录缓冲区最大大小，超过时丢弃新的get记录 **/
+    private static final int             ACCESS_BUFFER_MAX_SIZE        = 1024;
+
+    /** 缓存最大容量 **/
+    private final int                    maxSize;
+
+    /** 缓存最大权重，weigher为null时不限制 **/
+    private final long                   maxWeight;
+
+    /** 计算元素权重，为null表示只按元素个数限制容量 **/
+    private final CacheWeigher<K, V>     weigher;
+
+    /** 缓存中元素的权重之和 **/
+    private transient volatile long      totalWeight;
+
+    /** 有效时间，以毫秒计 **/
+    private final long                   validTime;
+
+    /** cache满时删除元素类型 **/
+    private final CacheFullRemoveType<V> cacheFullRemoveType;
+
+    /** 缓存体 **/
+    protected Map<K, CacheObject<V>>     cache;
+
+    /** 缓存满时删除元素的索引，为null表示遍历缓存选出待删除元素 **/
+    private transient CacheRemoveIndex<K, V> removeIndex;
+
+    /** 元素过期时间轮，为null表示元素不会过期 **/
+    private transient TimerWheel<K>      timerWheel;
+
+    /** 修改缓存、删除索引及过期时间轮的锁 **/
+    protected transient ReentrantLock    lock;
+
+    /** 尚未更新到删除索引的get记录 **/
+    private transient ConcurrentLinkedQueue<K> accessBuffer;
+    private transient AtomicInteger      accessBufferSize;
+
+    /** 命中、未命中、获取数据及删除元素的统计，见{@link #getStats()} **/
+    protected StatsCounter               statsCounter     = new StatsCounter();
+
+    /** 元素被删除时的回调，为null表示不回调 **/
+    private volatile RemovalListener<K, V> removalListener;
+    /** 执行removalListener的线程池，为null表示使用{@link ForkJoinPool#commonPool()} **/
+    private transient volatile Executor  removalListenerExecutor;
+    /** 线程池拒绝的删除回调，释放锁后执行 **/
+    private transient ConcurrentLinkedQueue<Runnable> rejectedRemovalBuffer;
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>缓存最大容量为{@link #DEFAULT_MAX_SIZE}</li>
+     * <li>元素不会失效</li>
+     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
+     * </ul>
+     */
+    public SimpleCache(){
+        this(DEFAULT_MAX_SIZE, -1, new RemoveTypeEnterTimeFirst<V>());
+    }
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>元素不会失效</li>
+     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
+     * </ul>
+     * 
+     * @param maxSize 缓存最大容量
+     */
+    public SimpleCache(int maxSize){
+        this(maxSize, -1, new RemoveTypeEnterTimeFirst<V>());
+    }
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
+     * </ul>
+     * 
+     * @param maxSize 缓存最大容量
+     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效，失效规则见{@link #isExpired(CacheObject)}
+     */
+    public SimpleCache(int maxSize, long validTime){
+        this(maxSize, validTime, new RemoveTypeEnterTimeFirst<V>());
+    }
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>元素不会失效</li>
+     * </ul>
+     * 
+     * @param maxSize 缓存最大容量
+     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
+     */
+    public SimpleCache(int maxSize, CacheFullRemoveType<V> cacheFullRemoveType){
+        this(maxSize, -1, cacheFullRemoveType);
+    }
+
+    /**
+     * 初始化缓存
+     * 
+     * @param maxSize 缓存最大容量
+     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效，失效规则见{@link #isExpired(CacheObject)}
+     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
+     */
+    public SimpleCache(int maxSize, long validTime, CacheFullRemoveType<V> cacheFullRemoveType){
+        this(maxSize, null, -1, validTime, cacheFullRemoveType);
+    }
+
+    /**
+     * 初始化按权重限制容量的缓存
+     * <ul>
+     * <li>元素不会失效</li>
+     * <li>cache满时删除元素类型为{@link RemoveTypeEnterTimeFirst}</li>
+     * </ul>
+     * 
+     * @param maxSize 缓存最大容量
+     * @param weigher 计算元素权重，见{@link CacheWeigher}
+     * @param maxWeight 缓存最大权重
+     */
+    public SimpleCache(int maxSize, CacheWeigher<K, V> weigher, long maxWeight){
+        this(maxSize, weigher, maxWeight, -1, new RemoveTypeEnterTimeFirst<V>());
+    }
+
+    /**
+     * 初始化缓存
+     * <ul>
+     * <li>元素个数达到maxSize或权重之和超过maxWeight时都会按照cacheFullRemoveType删除元素</li>
+     * </ul>
+     * 
+     * @param maxSize 缓存最大容量
+     * @param weigher 计算元素权重，见{@link CacheWeigher}，为null表示只按元素个数限制容量
+     * @param maxWeight 缓存最大权重，weigher为null时忽略
+     * @param validTime 缓存中元素有效时间，小于等于0表示元素不会失效，失效规则见{@link #isExpired(CacheObject)}
+     * @param cacheFullRemoveType cache满时删除元素类型，见{@link CacheFullRemoveType}
+     */
+    public SimpleCache(int maxSize, CacheWeigher<K, V> weigher, long maxWeight, long validTime,
+                       CacheFullRemoveType<V> cacheFullRemoveType){
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maxSize of cache must be greater than 0.");
+        }
+        if (weigher != null && maxWeight < 0) {
+            throw new IllegalArgumentException("The maxWeight of cache must not be less than 0.");
+        }
+        if (cacheFullRemoveType == null) {
+            throw new IllegalArgumentException(
+                                               "The cacheFullRemoveType of cache must be a instance of CacheFullRemoveType.");
+        }
+        this.maxSize = maxSize;
+        this.maxWeight = (weigher == null ? -1 : maxWeight);
+        this.weigher = weigher;
+        this.validTime = validTime <= 0 ? -1 : validTime;
+        this.cacheFullRemoveType = cacheFullRemoveType;
+        this.cache = new ConcurrentHashMap<K, CacheObject<V>>(maxSize);
+        this.removeIndex = newRemoveIndex();
+        this.timerWheel = newTimerWheel();
+        initLock();
+    }
+
+    /**
+     * 新建元素过期时间轮，validTime为-1时元素仍可能设置了自己的有效时间
+     * 
+     * @return
+     */
+    protected TimerWheel<K> newTimerWheel() {
+        return new TimerWheel<K>(System.currentTimeMillis());
+    }
+
+    /**
+     * 初始化锁、get记录缓冲区及被拒绝的删除回调缓冲区
+     */
+    private void initLock() {
+        this.lock = new ReentrantLock();
+        this.accessBuffer = new ConcurrentLinkedQueue<K>();
+        this.accessBufferSize = new AtomicInteger(0);
+        this.rejectedRemovalBuffer = new ConcurrentLinkedQueue<Runnable>();
+    }
+
+    /**
+     * 释放锁，完全释放后在当前线程执行线程池拒绝的删除回调，见{@link #setRemovalListenerExecutor(Executor)}
+     */
+    protected void unlock() {
+        lock.unlock();
+        if (lock.isHeldByCurrentThread()) {
+            return;
+        }
+
+        Runnable task;
+        while ((task = rejectedRemovalBuffer.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // 与在线程池中执行一致，回调的异常不影响修改操作
+            }
+        }
+    }
+
+    /**
+     * 新建缓存满时删除元素的索引
+     * <ul>
+     * <li>若{@link #cacheFullRemoveType}实现了{@link IndexedCacheFullRemoveType}，返回其新建的索引</li>
+     * <li>否则返回null，缓存满时遍历缓存选出待删除元素</li>
+     * </ul>
+     * 
+     * @return
+     */
+    protected CacheRemoveIndex<K, V> newRemoveIndex() {
+        if (cacheFullRemoveType instanceof IndexedCacheFullRemoveType) {
+            return ((IndexedCacheFullRemoveType<V>)cacheFullRemoveType).<K> newRemoveIndex(maxSize);
+        }
+        return null;
+    }
+
+    /**
+     * 得到缓存最大容量
+     * 
+     * @return
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 得到缓存最大权重，-1表示不按权重限制容量
+     * 
+     * @return
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * 得到计算元素权重的{@link CacheWeigher}
+     * 
+     * @return
+     */
+    public CacheWeigher<K, V> getWeigher() {
+        return weigher;
+    }
+
+    /**
+     * 得到缓存中元素的权重之和，未设置weigher时为0
+     * 
+     * @return
+     */
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * 得到有效时间，以毫秒计
+     * 
+     * @return
+     */
+    public long getValidTime() {
+        return validTime;
+    }
+
+    /**
+     * 得到cache满时删除元素类型，见{@link CacheFullRemoveType}
+     * 
+     * @return
+     */
+    public CacheFullRemoveType<V> getCacheFullRemoveType() {
+        return cacheFullRemoveType;
+    }
+
+    /**
+     * 得到缓存中有效元素个数
+     * 
+     * @return
+     */
+    @Override
+    public int getSize() {
+        cleanUp();
+        return cache.size();
+    }
+
+    /**
+     * 从缓存中获取元素，若元素不存在或是已经失效，返回null
+     * 
+     * @param key
+     * @return
+     */
+    @Override
+    public CacheObject<V> get(K key) {
+        return getIfPresent(key);
+    }
+
+    /**
+     * 批量从缓存中获取元素，与逐个get相同，不加锁
+     * 
+     * @param keys
+     * @return key到元素的map，不包含不存在或已经失效的key
+     */
+    @Override
+    public Map<K, CacheObject<V>> getAll(Collection<K> keys) {
+        Map<K, CacheObject<V>> map = new HashMap<K, CacheObject<V>>();
+        if (keys != null) {
+            for (K key : keys) {
+                CacheObject<V> obj = getIfPresent(key);
+                if (obj != null) {
+                    map.put(key, obj);
+                }
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 从缓存中获取元素并记录命中或未命中，子类重写{@link #get(Object)}时不受影响
+     * 
+     * @param key
+     * @return
+     */
+    private CacheObject<V> getIfPresent(K key) {
+        return getIfPresent(key, true);
+    }
+
+    /**
+     * 从缓存中获取元素，子类重写{@link #get(Object)}时不受影响
+     * 
+     * @param key
+     * @param recordStats 是否记录命中或未命中，同一次get的再次查找(如获取数据完成后)不应重复记录
+     * @return
+     */
+    protected CacheObject<V> getIfPresent(K key, boolean recordStats) {
+        CacheObject<V> obj = cache.get(key);
+        if (!isExpired(obj) && obj != null) {
+            if (recordStats) {
+                statsCounter.recordHits(1);
+            }
+            setUsedInfo(key, obj);
+            return obj;
+        } else {
+            if (recordStats) {
+                statsCounter.recordMisses(1);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 设置使用信息，不加锁
+     * 
+     * @param obj
+     */
+    protected void setUsedInfo(CacheObject<V> obj) {
+        if (obj != null) {
+            obj.incrementUsedCount();
+            obj.setLastUsedTime(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 设置使用信息，并记录get以更新缓存满时删除元素的索引
+     * <ul>
+     * <li>get记录先放入缓冲区，缓冲区达到{@link #ACCESS_BUFFER_DRAIN_THRESHOLD}且锁空闲时处理缓冲区，否则由下一个修改操作处理</li>
+     * <li>缓冲区超过{@link #ACCESS_BUFFER_MAX_SIZE}时丢弃该记录，只影响删除顺序的精确度</li>
+     * </ul>
+     * 
+     * @param key
+     * @param obj
+     */
+    protected void setUsedInfo(K key, CacheObject<V> obj) {
+        setUsedInfo(obj);
+        if (obj == null || removeIndex == null) {
+            return;
+        }
+
+        if (accessBufferSize.get() < ACCESS_BUFFER_MAX_SIZE) {
+            accessBuffer.offer(key);
+            if (accessBufferSize.incrementAndGet() >= ACCESS_BUFFER_DRAIN_THRESHOLD && lock.tryLock()) {
+                try {
+                    drainAccessBuffer();
+                } finally {
+                    unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * 将缓冲区中的get记录更新到删除索引，需要持有锁
+     */
+    protected void drainAccessBuffer() {
+        if (removeIndex == null) {
+            return;
+        }
+
+        K key;
+        while ((key = accessBuffer.poll()) != null) {
+            accessBufferSize.decrementAndGet();
+            CacheObject<V> obj = cache.get(key);
+            if (obj != null) {
+                removeIndex.onGet(key, obj);
+            }
+        }
+    }
+
+    /**
+     * 向缓存中添加元素, key不允许为空
+     * <ul>
+     * <li>见{@link #put(Object, CacheObject)}</li>
+     * </ul>
+     * 
+     * @param key key
+     * @param value 元素值
+     * @return 为空表示缓存已满无法put，否则为put的value。
+     */
+    @Override
+    public CacheObject<V> put(K key, V value) {
+        CacheObject<V> obj = new CacheObject<V>();
+        obj.setData(value);
+        obj.setForever(validTime == -1);
+        return put(key, obj);
+    }
+
+    /**
+     * 向缓存中添加元素并设置元素自己的有效时间, key不允许为空
+     * <ul>
+     * <li>见{@link #put(Object, CacheObject)}</li>
+     * </ul>
+     * 
+     * @param key key
+     * @param value 元素值
+     * @param expireAfterWrite 写入后的有效时间，以毫秒计，小于等于0表示使用缓存的有效时间
+     * @param expireAfterAccess 上次使用(或写入)后的有效时间，以毫秒计，小于等于0表示不按使用时间过期
+     * @return 为空表示缓存已满无法put，否则为put的value。
+     */
+    public CacheObject<V> put(K key, V value, long expireAfterWrite, long expireAfterAccess) {
+        CacheObject<V> obj = new CacheObject<V>();
+        obj.setData(value);
+        obj.setExpireAfterWrite(expireAfterWrite);
+        obj.setExpireAfterAccess(expireAfterAccess);
+        obj.setForever(validTime == -1 && expireAfterWrite <= 0 && expireAfterAccess <= 0);
+        return put(key, obj);
+    }
+
+    /**
+     * 向缓存中添加元素, key和value均不允许为空
+     * <ul>
+     * <li>设置了weigher时，删除元素直到权重之和加上新元素的权重不超过maxWeight，新元素的权重超过maxWeight时直接返回null</li>
+     * </ul>
+     * 
+     * @param key key
+     * @param value 元素
+     * @return 为空表示缓存已满无法put，否则为put的value。
+     */
+    @Override
+    public CacheObject<V> put(K key, CacheObject<V> value) {
+        return put(key, value, false);
+    }
+
+    /**
+     * 向缓存中添加元素，见{@link #put(Object, CacheObject)}
+     * 
+     * @param key key
+     * @param value 元素
+     * @param restore 是否从快照恢复，恢复时保留元素原来的进入时间，并使用快照中保存的权重
+     * @return 为空表示缓存已满无法put，否则为put的value。
+     */
+    private CacheObject<V> put(K key, CacheObject<V> value, boolean restore) {
+        lock.lock();
+        try {
+            cleanUp();
+            // 先判断能否放入，无法放入时不删除任何元素
+            int weight = 0;
+            if (weigher != null) {
+                weight = weigh(key, value, restore);
+                if (weight > maxWeight) {
+                    return null;
+                }
+            }
+            // 替换已存在的key时不需要删除元素
+            boolean sizeFull = cache.size() >= maxSize && !cache.containsKey(key);
+            if (cacheFullRemoveType instanceof RemoveTypeNotRemove
+                && (sizeFull || (weigher != null && getWeightAfterPut(key, weight) > maxWeight))) {
+                return null;
+            }
+
+            if (sizeFull && fullRemoveOne(RemovalCause.SIZE) == null) {
+                return null;
+            }
+            if (weigher != null && !ensureWeight(key, weight)) {
+                return null;
+            }
+            if (weigher != null) {
+                value.setWeight(weight);
+            }
+            if (!restore) {
+                value.setEnterTime(System.currentTimeMillis());
+            }
+            CacheObject<V> oldValue = cache.put(key, value);
+            totalWeight += value.getWeight() - (oldValue == null ? 0 : oldValue.getWeight());
+            if (oldValue != null && oldValue != value) {
+                onRemoval(key, oldValue, RemovalCause.REPLACED);
+            }
+            if (removeIndex != null) {
+                removeIndex.onPut(key, value);
+            }
+            scheduleExpire(key, value);
+            return value;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * 计算新元素的权重
+     * 
+     * @param key
+     * @param value
+     * @param restore 是否从快照恢复，恢复时使用快照中保存的大于0的权重，不需要解码元素数据，否则重新计算
+     * @return
+     */
+    private int weigh(K key, CacheObject<V> value, boolean restore) {
+        int weight = (restore && value.getWeight() > 0) ? value.getWeight() : weigher.weigh(key, value.getData());
+        if (weight < 0) {
+            throw new IllegalArgumentException("The weight of value must not be less than 0.");
+        }
+        return weight;
+    }
+
+    /**
+     * 放入新元素后缓存的权重之和，被替换的元素的权重会在put时减去，需要持有锁
+     * 
+     * @param key
+     * @param weight 新元素的权重
+     * @return
+     */
+    private long getWeightAfterPut(K key, int weight) {
+        CacheObject<V> oldValue = cache.get(key);
+        return totalWeight - (oldValue == null ? 0 : oldValue.getWeight()) + weight;
+    }
+
+    /**
+     * 删除元素直到可以放入新元素，需要持有锁，调用前已保证新元素的权重不超过{@link #getMaxWeight()}
+     * 
+     * @param key
+     * @param weight 新元素的权重
+     * @return 是否可以放入新元素
+     */
+    private boolean ensureWeight(K key, int weight) {
+        while (getWeightAfterPut(key, weight) > maxWeight) {
+            if (fullRemoveOne(RemovalCause.WEIGHT) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 将cache2中的所有元素复制到当前cache，相当于将cache2中的每一个元素{@link #put(Object, CacheObject)}到当前cache
+     * 
+     * @param cache2
+     */
+    @Override
+    public void putAll(Cache<K, V> cache2) {
+        for (Entry<K, CacheObject<V>> e : cache2.entrySet()) {
+            if (e != null) {
+                put(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    /**
+     * 批量向缓存中添加元素，见{@link #putAllCacheObject(Map)}
+     * 
+     * @param map key到元素值的map
+     */
+    @Override
+    public void putAll(Map<K, V> map) {
+        if (MapUtils.isEmpty(map)) {
+            return;
+        }
+
+        Map<K, CacheObject<V>> objectMap = new LinkedHashMap<K, CacheObject<V>>();
+        for (Entry<K, V> entry : map.entrySet()) {
+            CacheObject<V> obj = new CacheObject<V>();
+            obj.setData(entry.getValue());
+            obj.setForever(validTime == -1);
+            objectMap.put(entry.getKey(), obj);
+        }
+        putAllCacheObject(objectMap);
+    }
+
+    /**
+     * 批量向缓存中添加元素
+     * <ul>
+     * <li>整批只加锁一次，并先按照cacheFullRemoveType一次删除足够多的元素，见{@link #fullRemove(int)}</li>
+     * <li>每个元素的添加规则与{@link #put(Object, CacheObject)}相同</li>
+     * </ul>
+     * 
+     * @param map key到元素的map
+     */
+    public void putAllCacheObject(Map<K, CacheObject<V>> map) {
+        if (MapUtils.isEmpty(map)) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            cleanUp();
+            int newCount = 0;
+            for (K key : map.keySet()) {
+                if (!cache.containsKey(key)) {
+                    newCount++;
+                }
+            }
+            fullRemove(Math.min(cache.size() + newCount - maxSize, cache.size()));
+            for (Entry<K, CacheObject<V>> entry : map.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * 向缓存中添加从快照恢复的元素，整批只加锁一次
+     * <ul>
+     * <li>保留元素原来的进入时间和使用信息，已经过期的元素不添加</li>
+     * <li>设置了{@link CacheWeigher}时使用快照中保存的权重，保存时没有权重(为0)的元素重新计算</li>
+     * <li>每个元素的添加规则与{@link #put(Object, CacheObject)}相同，添加后按进入(或上次使用)的先后顺序重建删除索引</li>
+     * </ul>
+     * 
+     * @param map key到元素的map
+     * @return 添加的元素个数
+     */
+    protected int restoreAll(Map<K, CacheObject<V>> map) {
+        if (MapUtils.isEmpty(map)) {
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            cleanUp();
+            int count = 0;
+            for (Entry<K, CacheObject<V>> entry : map.entrySet()) {
+                if (entry.getValue() != null && !isExpired(entry.getValue())
+                    && put(entry.getKey(), entry.getValue(), true) != null) {
+                    count++;
+                }
+            }
+            rebuildRemoveIndex();
+            return count;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * 缓存中某个key是否存在，若元素不存在或是已经失效，返回false
+     * 
+     * @param key
+     * @return
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return cache.containsKey(key) ? !isExpired(key) : false;
+    }
+
+    /**
+     * 缓存中某个Key对应元素是否过期
+     * 
+     * @param key
+     * @return
+     */
+    protected boolean isExpired(K key) {
+        return isExpired(cache.get(key));
+    }
+
+    /**
+     * 从缓存中删除某个元素, key不允许为空
+     * <ul>
+     * <li>若元素不存在，返回null</li>
+     * <li>否则删除并返回该元素</li>
+     * </ul>
+     * 
+     * @param key
+     * @return
+     */
+    @Override
+    public CacheObject<V> remove(K key) {
+        lock.lock();
+        try {
+            CacheObject<V> value = removeEntry(key);
+            if (value != null) {
+                onRemoval(key, value, RemovalCause.EXPLICIT);
+            }
+            return value;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * 批量从缓存中删除元素，整批只加锁一次
+     * 
+     * @param keys
+     * @return 删除的元素个数
+     */
+    @Override
+    public int removeAll(Collection<K> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            int count = 0;
+            for (K key : keys) {
+                CacheObject<V> value = removeEntry(key);
+                if (value != null) {
+                    onRemoval(key, value, RemovalCause.EXPLICIT);
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * 删除元素并更新删除索引、过期时间轮和权重，需要持有锁
+     * 
+     * @param key
+     * @return 删除的元素，不存在时返回null
+     */
+    private CacheObject<V> removeEntry(K key) {
+        if (removeIndex != null) {
+            removeIndex.onRemove(key);
+        }
+        if (timerWheel != null) {
+            timerWheel.cancel(key);
+        }
+        CacheObject<V> value = cache.remove(key);
+        if (value != null) {
+            totalWeight -= value.getWeight();
+        }
+        return value;
+    }
+
+    /**
+     * 缓存满时从缓存中按照{@link #cacheFullRemoveType}规则删除多个元素
+     * <ul>
+     * <li>若{@link #cacheFullRemoveType}是{@link RemoveTypeNotRemove}的实例返回0，否则</li>
+     * <li>若存在删除索引，从索引中依次取出待删除元素删除，否则</li>
+     * <li>只遍历一次缓存，按{@link #cacheFullRemoveType}从未过期元素中选出count个元素删除</li>
+     * </ul>
+     * 
+     * @param count 删除的元素个数
+     * @return 实际删除的元素个数
+     */
+    protected int fullRemove(int count) {
+        if (count <= 0 || MapUtils.isEmpty(cache) || cacheFullRemoveType instanceof RemoveTypeNotRemove) {
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            int removedCount = 0;
+            if (removeIndex != null) {
+                drainAccessBuffer();
+                K key;
+                while (removedCount < count && (key = removeIndex.poll()) != null) {
+                    CacheObject<V> value = removeEntry(key);
+                    if (value != null) {
+                        onRemoval(key, value, RemovalCause.SIZE);
+                        removedCount++;
+                    }
+                }
+                return removedCount;
+            }
+
+            // 堆中保留最应删除的count个元素，堆顶为其中最不应删除的
+            Comparator<Entry<K, CacheObject<V>>> reverseComparator = new Comparator<Entry<K, CacheObject<V>>>() {
+
+                @Override
+                public int compare(Entry<K, CacheObject<V>> entry1, Entry<K, CacheObject<V>> entry2) {
+                    return cacheFullRemoveType.compare(entry2.getValue(), entry1.getValue());
+                }
+            };
+            PriorityQueue<Entry<K, CacheObject<V>>> queue = new PriorityQueue<Entry<K, CacheObject<V>>>(count,
+                                                                                                         reverseComparator);
+            for (Entry<K, CacheObject<V>> entry : cache.entrySet()) {
+                if (entry != null && !isExpired(entry.getValue())) {
+                    if (queue.size() < count) {
+                        queue.add(entry);
+                    } else if (cacheFullRemoveType.compare(entry.getValue(), queue.peek().getValue()) < 0) {
+                        queue.poll();
+                        queue.add(entry);
+                    }
+                }
+            }
+            for (Entry<K, CacheObject<V>> entry : queue) {
+                CacheObject<V> value = removeEntry(entry.getKey());
+                if (value != null) {
+                    onRemoval(entry.getKey(), value, RemovalCause.SIZE);
+                    removedCount++;
+                }
+            }
+            return removedCount;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * 缓存满时从缓存中按照{@link #cacheFullRemoveType}规则删除一个元素
+     * <ul>
+     * <li>若{@link #cacheFullRemoveType}是{@link RemoveTypeNotRemove}的实例返回null，否则</li>
+     * <li>若存在删除索引，从索引中取出待删除元素删除，否则</li>
+     * <li>按{@link #cacheFullRemoveType}从未过期元素中查找删除的元素删除，未查找到返回null</li>
+     * </ul>
+     * 
+     * @return 返回删除的元素
+     */
+    protected CacheObject<V> fullRemoveOne() {
+        return fullRemoveOne(RemovalCause.SIZE);
+    }
+
+    /**
+     * 缓存满时从缓存中按照{@link #cacheFullRemoveType}规则删除一个元素，见{@link #fullRemoveOne()}
+     * 
+     * @param cause 删除原因，{@link RemovalCause#SIZE}或{@link RemovalCause#WEIGHT}
+     * @return 返回删除的元素
+     */
+    private CacheObject<V> fullRemoveOne(RemovalCause cause) {
+        if (MapUtils.isEmpty(cache) || cacheFullRemoveType instanceof RemoveTypeNotRemove) {
+            return null;
+        }
+
+        lock.lock();
+        try {
+            if (removeIndex != null) {
+                drainAccessBuffer();
+                K key;
+                while ((key = removeIndex.poll()) != null) {
+                    CacheObject<V> value = cache.remove(key);
+                    if (value != null) {
+                        totalWeight -= value.getWeight();
+                        if (timerWheel != null) {
+                            timerWheel.cancel(key);
+                        }
+                        onRemoval(key, value, cause);
+                        return value;
+                    }
+                }
+                return null;
+            }
+
+            K keyToRemove = null;
+            CacheObject<V> valueToRemove = null;
+            for (Entry<K, CacheObject<V>> entry : cache.entrySet()) {
+                if (entry != null && !isExpired(entry.getValue())) {
+                    if (valueToRemove == null) {
+                        valueToRemove = entry.getValue();
+                        keyToRemove = entry.getKey();
+                    } else {
+                        if (cacheFullRemoveType.compare(entry.getValue(), valueToRemove) < 0) {
+                            valueToRemove = entry.getValue();
+                            keyToRemove = entry.getKey();
+                        }
+                    }
+                }
+            }
+            if (keyToRemove != null) {
+                cache.remove(keyToRemove);
+                totalWeight -= valueToRemove.getWeight();
+                if (timerWheel != null) {
+                    timerWheel.cancel(keyToRemove);
+                }
+                onRemoval(keyToRemove, valueToRemove, cause);
+            }
+            return valueToRemove;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * 删除时间轮中到期的元素，只处理从上次调用到现在经过的时间轮桶，不遍历整个缓存
+     * <ul>
+     * <li>若时间轮中没有元素，则返回0</li>
+     * <li>put、{@link #getSize()}、{@link #keySet()}、{@link #entrySet()}、{@link #values()}时会自动调用，也可以定时调用</li>
+     * </ul>
+     * 
+     * @return 删除的元素个数
+     */
+    public int cleanUp() {
+        // 不加锁读取size，读到旧值时最多推迟到下次清理
+        if (timerWheel == null || timerWheel.size() == 0) {
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            int count = 0;
+            for (K key : timerWheel.advance(System.currentTimeMillis())) {
+                CacheObject<V> obj = cache.get(key);
+                if (obj == null) {
+                    continue;
+                }
+                if (isExpired(obj)) {
+                    cache.remove(key);
+                    totalWeight -= obj.getWeight();
+                    if (removeIndex != null) {
+                        removeIndex.onRemove(key);
+                    }
+                    onRemoval(key, obj, RemovalCause.EXPIRED);
+                    count++;
+                } else {
+                    scheduleExpire(key, obj);
+                }
+            }
+            return count;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * 将元素按过期时间放入时间轮，需要持有锁
+     * 
+     * @param key
+     * @param obj
+     */
+    private void scheduleExpire(K key, CacheObject<V> obj) {
+        if (timerWheel == null) {
+            return;
+        }
+
+        long expireTime = getExpireTime(obj);
+        if (expireTime < 0) {
+            timerWheel.cancel(key);
+        } else {
+            timerWheel.schedule(key, expireTime);
+        }
+    }
+
+    /**
+     * 得到元素开始过期的时间，与{@link #isExpired(CacheObject)}一致，取按写入时间和按使用时间过期中较早的一个
+     * 
+     * @param obj
+     * @return 小于0表示不会过期
+     */
+    protected long getExpireTime(CacheObject<V> obj) {
+        long expireTime = -1;
+        long writeValidTime = getWriteValidTime(obj);
+        if (writeValidTime > 0) {
+            expireTime = obj.getEnterTime() + writeValidTime + 1;
+        }
+        if (obj.getExpireAfterAccess() > 0) {
+            long accessExpireTime = Math.max(obj.getEnterTime(), obj.getLastUsedTime()) + obj.getExpireAfterAccess()
+                                    + 1;
+            expireTime = (expireTime < 0 ? accessExpireTime : Math.min(expireTime, accessExpireTime));
+        }
+        return expireTime;
+    }
+
+    /**
+     * 得到元素写入后的有效时间，元素设置了自己的有效时间时使用元素的，否则使用缓存的
+     * 
+     * @param obj
+     * @return 小于等于0表示不按写入时间过期
+     */
+    private long getWriteValidTime(CacheObject<V> obj) {
+        return obj.getExpireAfterWrite() > 0 ? obj.getExpireAfterWrite() : validTime;
+    }
+
+    /**
+     * 遍历缓存移除过期的元素
+     * <ul>
+     * <li>复杂度为O(n)，一般使用{@link #cleanUp()}即可，只有元素被手动设置为过期时才需要调用</li>
+     * </ul>
+     * 
+     * @return 删除的元素个数
+     */
+    protected int removeExpired() {
+        lock.lock();
+        try {
+            int count = 0;
+            for (Entry<K, CacheObject<V>> entry : cache.entrySet()) {
+                if (entry != null && isExpired(entry.getValue())) {
+                    cache.remove(entry.getKey());
+                    totalWeight -= entry.getValue().getWeight();
+                    if (removeIndex != null) {
+                        removeIndex.onRemove(entry.getKey());
+                    }
+                    if (timerWheel != null) {
+                        timerWheel.cancel(entry.getKey());
+                    }
+                    onRemoval(entry.getKey(), entry.getValue(), RemovalCause.EXPIRED);
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            for (Entry<K, CacheObject<V>> entry : cache.entrySet()) {
+                onRemoval(entry.getKey(), entry.getValue(), RemovalCause.EXPLICIT);
+            }
+            cache.clear();
+            totalWeight = 0;
+            if (removeIndex != null) {
+                removeIndex.clear();
+            }
+            if (timerWheel != null) {
+                timerWheel.clear();
+            }
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * 判断某个元素是否过期，过期返回true，否则返回false
+     * <ul>
+     * <li>若元素为空，validTime为-1时表示未过期，否则表示已经过期</li>
+     * <li>若validTime为-1并且元素未设置自己的有效时间，表示始终不过期</li>
+     * <li>若元素是否过期属性为true表示已经过期</li>
+     * <li>否则，若元素进入时间加上写入后有效时间(元素的{@link CacheObject#getExpireAfterWrite()}，未设置时为validTime)小于当前时间，表示已经过期</li>
+     * <li>否则，若元素设置了{@link CacheObject#getExpireAfterAccess()}，并且上次使用(或进入)时间加上该时间小于当前时间，表示已经过期</li>
+     * <li>否则未过期</li>
+     * </ul>
+     * 
+     * @param obj
+     * @return
+     */
+    protected boolean isExpired(CacheObject<V> obj) {
+        if (obj == null) {
+            return validTime != -1;
+        }
+        if (validTime == -1 && obj.getExpireAfterWrite() <= 0 && obj.getExpireAfterAccess() <= 0) {
+            return false;
+        }
+        if (obj.isExpired()) {
+            return true;
+        }
+        long expireTime = getExpireTime(obj);
+        return expireTime >= 0 && expireTime <= System.currentTimeMillis();
+    }
+
+    /**
+     * 元素被删除后调用，需要持有锁
+     * 
+     * @param key
+     * @param value 被删除的元素
+     * @param cause 删除原因
+     */
+    private void onRemoval(final K key, final CacheObject<V> value, final RemovalCause cause) {
+        statsCounter.recordRemoval(cause, 1);
+        final RemovalListener<K, V> listener = removalListener;
+        if (listener == null) {
+            return;
+        }
+
+        Runnable task = new Runnable() {
+
+            @Override
+            public void run() {
+                listener.onRemoval(key, value, cause);
+            }
+        };
+        try {
+            getRemovalListenerExecutor().execute(task);
+        } catch (RejectedExecutionException e) {
+            // 线程池拒绝时不在锁内回调，释放锁后在当前线程回调，不丢失删除通知
+            rejectedRemovalBuffer.offer(task);
+        }
+    }
+
+    /**
+     * 得到元素被删除时的回调
+     * 
+     * @return
+     */
+    public RemovalListener<K, V> getRemovalListener() {
+        return removalListener;
+    }
+
+    /**
+     * 设置元素被删除时的回调，回调在{@link #getRemovalListenerExecutor()}中执行
+     * <ul>
+     * <li>缓存满时删除、过期删除、remove、removeAll、clear以及put替换相同key的元素时都会回调，原因见{@link RemovalCause}</li>
+     * <li>回调在锁外异步执行，不会阻塞put等修改操作</li>
+     * </ul>
+     * 
+     * @param removalListener 为null表示不回调
+     */
+    public void setRemovalListener(RemovalListener<K, V> removalListener) {
+        this.removalListener = removalListener;
+    }
+
+    /**
+     * 得到执行删除回调的线程池，未设置时为{@link ForkJoinPool#commonPool()}
+     * 
+     * @return
+     */
+    public Executor getRemovalListenerExecutor() {
+        Executor executor = removalListenerExecutor;
+        return executor == null ? ForkJoinPool.commonPool() : executor;
+    }
+
+    /**
+     * 设置执行删除回调的线程池，线程池拒绝时在删除元素的线程释放锁后回调
+     * 
+     * @param removalListenerExecutor 为null表示使用{@link ForkJoinPool#commonPool()}
+     */
+    public void setRemovalListenerExecutor(Executor removalListenerExecutor) {
+        this.removalListenerExecutor = removalListenerExecutor;
+    }
+
+    /**
+     * 得到缓存命中次数
+     **/
+    public long getHitCount() {
+        return statsCounter.getHitCount();
+    }
+
+    /**
+     * 得到缓存未命中次数
+     **/
+    public long getMissCount() {
+        return statsCounter.getMissCount();
+    }
+
+    /**
+     * 得到缓存命中率，不加锁
+     * 
+     * @return
+     */
+    @Override
+    public double getHitRate() {
+        long hit = statsCounter.getHitCount(), total = hit + statsCounter.getMissCount();
+        return (total == 0 ? 0 : ((double)hit) / total);
+    }
+
+    /**
+     * 得到缓存统计的快照，不加锁，两次快照通过{@link CacheStats#minus(CacheStats)}得到这段时间内的增量
+     * 
+     * @return
+     */
+    @Override
+    public CacheStats getStats() {
+        return statsCounter.snapshot();
+    }
+
+    /**
+     * 缓存中key的集合
+     * 
+     * @return
+     */
+    @Override
+    public Set<K> keySet() {
+        cleanUp();
+        return cache.keySet();
+    }
+
+    /**
+     * 缓存中元素的集合
+     * 
+     * @return
+     */
+    @Override
+    public Set<Map.Entry<K, CacheObject<V>>> entrySet() {
+        cleanUp();
+        return cache.entrySet();
+    }
+
+    /**
+     * 缓存中元素值的集合
+     * 
+     * @return
+     */
+    @Override
+    public Collection<CacheObject<V>> values() {
+        cleanUp();
+        return cache.values();
+    }
+
+    /**
+     * 按照元素进入(或上次使用)的先后顺序重建缓存满时删除元素的索引
+     */
+    protected void rebuildRemoveIndex() {
+        lock.lock();
+        try {
+            removeIndex = newRemoveIndex();
+            if (removeIndex == null) {
+                return;
+            }
+
+            List<Entry<K, CacheObject<V>>> entryList = new ArrayList<Entry<K, CacheObject<V>>>(cache.entrySet());
+            final CacheFullRemoveType<V> orderType = (cacheFullRemoveType instanceof RemoveTypeLastUsedTimeFirst || cacheFullRemoveType instanceof RemoveTypeLastUsedTimeLast) ? new RemoveTypeLastUsedTimeFirst<V>()
+                : new RemoveTypeEnterTimeFirst<V>();
+            Collections.sort(entryList, new Comparator<Entry<K, CacheObject<V>>>() {
+
+                @Override
+                public int compare(Entry<K, CacheObject<V>> entry1, Entry<K, CacheObject<V>> entry2) {
+                    return orderType.compare(entry1.getValue(), entry2.getValue());
+                }
+            });
+            for (Entry<K, CacheObject<V>> entry : entryList) {
+                removeIndex.onPut(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * 重建元素过期时间轮
+     */
+    protected void rebuildTimerWheel() {
+        lock.lock();
+        try {
+            timerWheel = newTimerWheel();
+            for (Entry<K, CacheObject<V>> entry : cache.entrySet()) {
+                scheduleExpire(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            unlock();
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (statsCounter == null) {
+            // 旧版本保存的缓存没有统计
+            statsCounter = new StatsCounter();
+        }
+        initLock();
+        rebuildRemoveIndex();
+        rebuildTimerWheel();
+        long weight = 0;
+        for (CacheObject<V> value : cache.values()) {
+            weight += value.getWeight();
+        }
+        totalWeight = weight;
+    }
+
+    /**
+     * 从文件中恢复缓存
+     * 
+     * @param filePath 文件路径
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> SimpleCache<K, V> loadCache(String filePath) {
+        return (SimpleCache<K, V>)SerializeUtils.deserialization(filePath);
+    }
+
+    /**
+     * 保存缓存到文件
+     * 
+     * @param <K>
+     * @param <V>
+     * @param filePath 文件路径
+     * @param cache 缓存
+     */
+    public static <K, V> void saveCache(String filePath, SimpleCache<K, V> cache) {
+        SerializeUtils.serialization(filePath, cache);
+    }
+
+    /**
+     * 以二进制快照保存缓存中的元素到文件，比{@link #saveCache(String, SimpleCache)}更快、文件更小，见{@link CacheSnapshot}
+     * 
+     * @param filePath 文件路径
+     * @param cache 缓存
+     * @param keyCodec key的编解码
+     * @param valueCodec 元素数据的编解码
+     * @return 保存的元素个数
+     */
+    public static <K, V> int saveCache(String filePath, SimpleCache<K, V> cache, Codec<K> keyCodec,
+                                       Codec<V> valueCodec) {
+        return new CacheSnapshot<K, V>(keyCodec, valueCodec).save(filePath, cache);
+    }
+
+    /**
+     * 从{@link #saveCache(String, SimpleCache, Codec, Codec)}保存的二进制快照中恢复元素到缓存，见{@link CacheSnapshot}
+     * 
+     * @param filePath 文件路径
+     * @param cache 缓存，缓存的最大容量、有效时间等不保存在快照中
+     * @param keyCodec key的编解码
+     * @param valueCodec 元素数据的编解码
+     * @return 放入缓存的元素个数
+     */
+    public static <K, V> int loadCache(String filePath, SimpleCache<K, V> cache, Codec<K> keyCodec,
+                                       Codec<V> valueCodec) {
+        return new CacheSnapshot<K, V>(keyCodec, valueCodec).load(filePath, cache);
+    }
+
+    /**
+     * 内存映射二进制快照并恢复元素到缓存，只解码key和元素使用信息，元素数据在第一次{@link CacheObject#getData()}时解码，
+     * 见{@link CacheSnapshot#loadLazily(String, SimpleCache)}，缓存满时删除类型为{@link RemoveTypeDataBig}或
+     * {@link RemoveTypeDataSmall}时直接解码所有元素
+     * 
+     * @param filePath 文件路径
+     * @param cache 缓存
+     * @param keyCodec key的编解码
+     * @param valueCodec 元素数据的编解码
+     * @return 放入缓存的元素个数
+     */
+    public static <K, V> int loadCacheLazily(String filePath, SimpleCache<K, V> cache, Codec<K> keyCodec,
+                                             Codec<V> valueCodec) {
+        return new CacheSnapshot<K, V>(keyCodec, valueCodec).loadLazily(filePath, cache);
+    }
+}
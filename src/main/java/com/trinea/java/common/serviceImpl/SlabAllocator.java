@@ -0,0 +1,277 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 堆外内存分配器，用于{@link OffHeapCache}<br/>
+ * <br/>
+ * <ul>
+ * <li>内存由若干个大小相同的direct {@link ByteBuffer} slab组成，slab在需要时才分配，总大小不超过capacity</li>
+ * <li>按照大小分级分配块，块大小为{@link #MIN_BLOCK_SIZE}的2的幂倍，不超过slab大小，块在slab内按自身大小对齐</li>
+ * <li>分配时优先使用同级别的空闲块，没有时拆分最小的更大空闲块，都没有时才分配新的slab</li>
+ * <li>释放的块与同级别的伙伴块都空闲时合并为上一级别的块，直到合并为整个slab，避免块被拆小后无法再分配大块</li>
+ * <li>空闲块以双向链表相连，前后块的地址存放在空闲块自身的堆外内存中</li>
+ * <li>块的地址为long，高32位为slab序号，低32位为slab内偏移</li>
+ * </ul>
+ * 非线程安全，由缓存在持有锁时调用
+ * 
+ * @author Trinea 2012-7-6 下午10:40:16
+ */
+public class SlabAllocator {
+
+    /** 最小块大小 **/
+    public static final int    MIN_BLOCK_SIZE = 64;
+
+    /** 空闲块中前后块地址的偏移 **/
+    private static final int   PREV           = 0;
+    private static final int   NEXT           = 8;
+
+    private final int          slabSize;
+    private final ByteBuffer[] slabs;
+    /** 已分配的slab个数 **/
+    private int                slabCount;
+
+    /** 各级别空闲链表的头部地址，为-1表示没有空闲块 **/
+    private final long[]       freeHeads;
+    private final int[]        freeCounts;
+    /** 各slab中以每个{@link #MIN_BLOCK_SIZE}位置开始的空闲块的级别加1，为0表示该位置不是空闲块的开始 **/
+    private final byte[][]     freeClasses;
+
+    /** 已分配出去的字节数 **/
+    private long               usedBytes;
+
+    /**
+     * @param capacity 堆外内存总大小，以字节计
+     * @param slabSize 每个slab的大小，以字节计，会调整为不小于它的{@link #MIN_BLOCK_SIZE}的2的幂倍
+     */
+    public SlabAllocator(long capacity, int slabSize){
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity of allocator must be greater than 0.");
+        }
+        if (slabSize <= 0 || slabSize > (1 << 30)) {
+            throw new IllegalArgumentException("The slabSize of allocator must be between 1 and 2^30.");
+        }
+
+        int size = MIN_BLOCK_SIZE;
+        while (size < slabSize) {
+            size <<= 1;
+        }
+        this.slabSize = size;
+        long count = (capacity + size - 1) / size;
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The capacity of allocator is too large for the slabSize.");
+        }
+        this.slabs = new ByteBuffer[(int)count];
+        this.freeClasses = new byte[(int)count][];
+        int classCount = sizeClassOf(size) + 1;
+        this.freeHeads = new long[classCount];
+        this.freeCounts = new int[classCount];
+        Arrays.fill(freeHeads, -1);
+    }
+
+    /**
+     * 分配不小于size的块
+     * 
+     * @param size
+     * @return 块的地址，为-1表示空间不足或size超过slab大小
+     */
+    public long allocate(int size) {
+        if (size > slabSize) {
+            return -1;
+        }
+
+        int sizeClass = sizeClassOf(size);
+        int larger = sizeClass;
+        while (larger < freeCounts.length && freeCounts[larger] == 0) {
+            larger++;
+        }
+        if (larger >= freeCounts.length) {
+            if (!newSlab()) {
+                return -1;
+            }
+            larger = freeCounts.length - 1;
+        }
+
+        long address = freeHeads[larger];
+        removeFree(larger, address);
+        // 拆分出的后一半逐级放入空闲链表
+        while (larger > sizeClass) {
+            larger--;
+            pushFree(larger, address + blockSizeOf(larger));
+        }
+        usedBytes += blockSizeOf(sizeClass);
+        return address;
+    }
+
+    /**
+     * 释放块，并与空闲的伙伴块逐级合并
+     * 
+     * @param address 块的地址
+     * @param size 分配时的size
+     */
+    public void free(long address, int size) {
+        int sizeClass = sizeClassOf(size);
+        usedBytes -= blockSizeOf(sizeClass);
+
+        int slab = (int)(address >>> 32);
+        int offset = (int)address;
+        while (sizeClass + 1 < freeCounts.length) {
+            int buddy = offset ^ blockSizeOf(sizeClass);
+            if (freeClasses[slab][buddy / MIN_BLOCK_SIZE] != sizeClass + 1) {
+                break;
+            }
+            removeFree(sizeClass, ((long)slab << 32) | buddy);
+            offset = Math.min(offset, buddy);
+            sizeClass++;
+        }
+        pushFree(sizeClass, ((long)slab << 32) | offset);
+    }
+
+    /**
+     * 得到块所在slab的一个视图，position为块的起始位置，limit为块的结束位置
+     * 
+     * @param address 块的地址
+     * @param size 分配时的size
+     * @return
+     */
+    public ByteBuffer buffer(long address, int size) {
+        ByteBuffer buffer = slabs[(int)(address >>> 32)].duplicate();
+        int offset = (int)address;
+        buffer.limit(offset + size);
+        buffer.position(offset);
+        return buffer;
+    }
+
+    /**
+     * 释放所有块，已分配的slab保留以便复用
+     */
+    public void clear() {
+        Arrays.fill(freeHeads, -1);
+        Arrays.fill(freeCounts, 0);
+        // 倒序放入，使序号小的slab位于链表头部
+        for (int i = slabCount - 1; i >= 0; i--) {
+            Arrays.fill(freeClasses[i], (byte)0);
+            pushFree(freeCounts.length - 1, (long)i << 32);
+        }
+        usedBytes = 0;
+    }
+
+    /**
+     * 得到已分配出去的字节数
+     * 
+     * @return
+     */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * 得到已分配的堆外内存字节数
+     * 
+     * @return
+     */
+    public long getAllocatedBytes() {
+        return (long)slabCount * slabSize;
+    }
+
+    /**
+     * 得到堆外内存总大小
+     * 
+     * @return
+     */
+    public long getCapacity() {
+        return (long)slabs.length * slabSize;
+    }
+
+    /**
+     * 得到slab大小，即可以分配的最大块大小
+     * 
+     * @return
+     */
+    public int getSlabSize() {
+        return slabSize;
+    }
+
+    /**
+     * 分配新的slab，整个slab作为最高级别的空闲块
+     * 
+     * @return 是否还有slab
+     */
+    private boolean newSlab() {
+        if (slabCount >= slabs.length) {
+            return false;
+        }
+
+        slabs[slabCount] = ByteBuffer.allocateDirect(slabSize);
+        freeClasses[slabCount] = new byte[slabSize / MIN_BLOCK_SIZE];
+        pushFree(freeCounts.length - 1, (long)slabCount << 32);
+        slabCount++;
+        return true;
+    }
+
+    /**
+     * 将块放入空闲链表头部
+     * 
+     * @param sizeClass
+     * @param address
+     */
+    private void pushFree(int sizeClass, long address) {
+        long head = freeHeads[sizeClass];
+        setLink(address, PREV, -1);
+        setLink(address, NEXT, head);
+        if (head >= 0) {
+            setLink(head, PREV, address);
+        }
+        freeHeads[sizeClass] = address;
+        freeCounts[sizeClass]++;
+        freeClasses[(int)(address >>> 32)][(int)address / MIN_BLOCK_SIZE] = (byte)(sizeClass + 1);
+    }
+
+    /**
+     * 将块从空闲链表中删除
+     * 
+     * @param sizeClass
+     * @param address
+     */
+    private void removeFree(int sizeClass, long address) {
+        long prev = getLink(address, PREV), next = getLink(address, NEXT);
+        if (prev >= 0) {
+            setLink(prev, NEXT, next);
+        } else {
+            freeHeads[sizeClass] = next;
+        }
+        if (next >= 0) {
+            setLink(next, PREV, prev);
+        }
+        freeCounts[sizeClass]--;
+        freeClasses[(int)(address >>> 32)][(int)address / MIN_BLOCK_SIZE] = 0;
+    }
+
+    private long getLink(long address, int field) {
+        return slabs[(int)(address >>> 32)].getLong((int)address + field);
+    }
+
+    private void setLink(long address, int field, long value) {
+        slabs[(int)(address >>> 32)].putLong((int)address + field, value);
+    }
+
+    private static int sizeClassOf(int size) {
+        int sizeClass = 0;
+        while (blockSizeOf(sizeClass) < size) {
+            sizeClass++;
+        }
+        return sizeClass;
+    }
+
+    private static int blockSizeOf(int sizeClass) {
+        return MIN_BLOCK_SIZE << sizeClass;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.service.CacheFullRemoveType;
+import com.trinea.java.common.service.CacheRemoveIndex;
+
+/**
+ * 基于有序树的删除索引，put和选出待删除元素的复杂度为O(log n)<br/>
+ * <br/>
+ * 按照{@link CacheFullRemoveType#compare(CacheObject, CacheObject)}排序，比较结果相同时先进入的先删除。
+ * 索引保存元素put时的快照，所以只适用于比较字段在put后不会改变的类型，如优先级和对象值。
+ * 快照只复制使用信息，需要比较对象值时才复制元素数据，元素数据延迟解码时不会因为建立索引而解码
+ * 
+ * @author Trinea 2012-6-20 下午11:36:50
+ */
+public class SortedRemoveIndex<K, V> implements CacheRemoveIndex<K, V> {
+
+    private final Map<K, Node<K, V>> nodeMap;
+    private final TreeSet<Node<K, V>> nodeSet;
+    /** 排序是否比较元素数据 **/
+    private final boolean             compareData;
+
+    /** 进入顺序，比较结果相同时用 **/
+    private long                      sequence;
+
+    /**
+     * 排序比较元素数据，见{@link #SortedRemoveIndex(CacheFullRemoveType, boolean)}
+     * 
+     * @param cacheFullRemoveType 排序规则
+     */
+    public SortedRemoveIndex(CacheFullRemoveType<V> cacheFullRemoveType){
+        this(cacheFullRemoveType, true);
+    }
+
+    /**
+     * @param cacheFullRemoveType 排序规则
+     * @param compareData 排序是否比较元素数据，为false时索引中的快照不包含元素数据
+     */
+    public SortedRemoveIndex(final CacheFullRemoveType<V> cacheFullRemoveType, boolean compareData){
+        this.compareData = compareData;
+        this.nodeMap = new HashMap<K, Node<K, V>>();
+        this.nodeSet = new TreeSet<Node<K, V>>(new Comparator<Node<K, V>>() {
+
+            @Override
+            public int compare(Node<K, V> node1, Node<K, V> node2) {
+                int result = cacheFullRemoveType.compare(node1.value, node2.value);
+                if (result != 0) {
+                    return result;
+                }
+                return node1.sequence > node2.sequence ? 1 : (node1.sequence == node2.sequence ? 0 : -1);
+            }
+        });
+    }
+
+    @Override
+    public void onPut(K key, CacheObject<V> value) {
+        onRemove(key);
+        CacheObject<V> snapshot = new CacheObject<V>();
+        if (compareData) {
+            snapshot.setData(value.getData());
+        }
+        snapshot.setEnterTime(value.getEnterTime());
+        snapshot.setLastUsedTime(value.getLastUsedTime());
+        snapshot.setUsedCount(value.getUsedCount());
+        snapshot.setPriority(value.getPriority());
+        Node<K, V> node = new Node<K, V>(key, snapshot, sequence++);
+        nodeMap.put(key, node);
+        nodeSet.add(node);
+    }
+
+    @Override
+    public void onGet(K key, CacheObject<V> value) {
+        // 排序字段不随get改变
+    }
+
+    @Override
+    public void onRemove(K key) {
+        Node<K, V> node = nodeMap.remove(key);
+        if (node != null) {
+            nodeSet.remove(node);
+        }
+    }
+
+    @Override
+    public K poll() {
+        Node<K, V> node = nodeSet.pollFirst();
+        if (node == null) {
+            return null;
+        }
+        nodeMap.remove(node.key);
+        return node.key;
+    }
+
+    @Override
+    public int size() {
+        return nodeMap.size();
+    }
+
+    @Override
+    public void clear() {
+        nodeMap.clear();
+        nodeSet.clear();
+    }
+
+    /**
+     * 树节点
+     */
+    private static class Node<K, V> {
+
+        private final K              key;
+        private final CacheObject<V> value;
+        private final long           sequence;
+
+        public Node(K key, CacheObject<V> value, long sequence){
+            this.key = key;
+            this.value = value;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.trinea.java.common.entity.CacheStats;
+import com.trinea.java.common.entity.RemovalCause;
+
+/**
+ * 缓存统计计数器，由缓存在get、获取数据及删除元素时记录，通过{@link #snapshot()}得到{@link CacheStats}<br/>
+ * <br/>
+ * <ul>
+ * <li>每项统计使用{@link LongAdder}，多线程同时记录时分散到不同的单元，不加锁也不会因CAS失败而重试</li>
+ * <li>{@link #snapshot()}不加锁，各项统计分别读取，并发记录时快照中的各项可能不属于同一时刻</li>
+ * </ul>
+ * 线程安全
+ * 
+ * @author Trinea 2012-7-16 下午09:45:02
+ */
+public class StatsCounter implements Serializable {
+
+    private static final long serialVersionUID  = 1L;
+
+    private final LongAdder   hitCount          = new LongAdder();
+    private final LongAdder   missCount         = new LongAdder();
+    private final LongAdder   loadSuccessCount  = new LongAdder();
+    private final LongAdder   loadFailureCount  = new LongAdder();
+    private final LongAdder   totalLoadTime     = new LongAdder();
+    private final LongAdder[] loadTimeHistogram = newAdders(CacheStats.HISTOGRAM_BUCKET_COUNT);
+    private final LongAdder[] removalCounts     = newAdders(RemovalCause.values().length);
+
+    /**
+     * 记录命中
+     * 
+     * @param count 命中次数
+     */
+    public void recordHits(int count) {
+        hitCount.add(count);
+    }
+
+    /**
+     * 记录未命中
+     * 
+     * @param count 未命中次数
+     */
+    public void recordMisses(int count) {
+        missCount.add(count);
+    }
+
+    /**
+     * 记录一次获取数据成功
+     * 
+     * @param loadTime 获取数据用时，以纳秒计
+     */
+    public void recordLoadSuccess(long loadTime) {
+        loadSuccessCount.increment();
+        recordLoadTime(loadTime);
+    }
+
+    /**
+     * 记录一次获取数据失败，包括抛出异常和超时
+     * 
+     * @param loadTime 获取数据用时，以纳秒计
+     */
+    public void recordLoadFailure(long loadTime) {
+        loadFailureCount.increment();
+        recordLoadTime(loadTime);
+    }
+
+    /**
+     * 记录删除元素
+     * 
+     * @param cause 删除原因
+     * @param count 删除的元素个数
+     */
+    public void recordRemoval(RemovalCause cause, int count) {
+        if (count > 0) {
+            removalCounts[cause.ordinal()].add(count);
+        }
+    }
+
+    /**
+     * 得到命中次数，不创建快照
+     * 
+     * @return
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * 得到未命中次数，不创建快照
+     * 
+     * @return
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * 得到当前统计的快照
+     * 
+     * @return
+     */
+    public CacheStats snapshot() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+                              totalLoadTime.sum(), sum(loadTimeHistogram), sum(removalCounts));
+    }
+
+    private void recordLoadTime(long loadTime) {
+        totalLoadTime.add(Math.max(loadTime, 0));
+        loadTimeHistogram[CacheStats.getBucketIndex(loadTime)].increment();
+    }
+
+    private static LongAdder[] newAdders(int length) {
+        LongAdder[] adders = new LongAdder[length];
+        for (int i = 0; i < length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static long[] sum(LongAdder[] adders) {
+        long[] sums = new long[adders.length];
+        for (int i = 0; i < adders.length; i++) {
+            sums[i] = adders[i].sum();
+        }
+        return sums;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.trinea.java.common.service.Codec;
+
+/**
+ * String的编解码<br/>
+ * <br/>
+ * 编码格式为4字节长度加UTF-8编码的字节，null的长度为-1
+ * 
+ * @author Trinea 2012-7-25 下午08:20:36
+ */
+public class StringCodec implements Codec<String> {
+
+    @Override
+    public void encode(String value, ByteBuffer buffer) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    @Override
+    public String decode(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        String value;
+        if (buffer.hasArray()) {
+            // 直接从底层数组解码，不复制字节
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                               StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+}
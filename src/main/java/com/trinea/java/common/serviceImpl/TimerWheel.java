@@ -0,0 +1,218 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 分层时间轮，按过期时间管理key，用于缓存元素的过期<br/>
+ * <br/>
+ * <ul>
+ * 时间轮分为多层，每层64个桶
+ * <li>第0层每个桶1毫秒，共64毫秒</li>
+ * <li>第1层每个桶64毫秒，共约4秒</li>
+ * <li>依次类推，第5层每个桶约12天，共约2年，更远的过期时间放在溢出桶中</li>
+ * </ul>
+ * 元素按照过期时间与当前时间的差放入相应层的桶中，时间前进时只处理经过的桶，高层桶中的元素随时间推进逐层下移，直到在第0层中过期。
+ * 加入、删除的复杂度为O(1)，{@link #advance(long)}的复杂度为O(经过的桶个数 + 过期及下移的元素个数)，均摊到每个元素为O(1)。<br/>
+ * <br/>
+ * 非线程安全，由缓存在持有锁时调用
+ * 
+ * @author Trinea 2012-6-28 下午09:15:37
+ */
+public class TimerWheel<K> {
+
+    /** 每层桶个数的位数 **/
+    private static final int   BUCKET_BITS  = 6;
+    /** 每层桶个数 **/
+    private static final int   BUCKET_COUNT = 1 << BUCKET_BITS;
+    /** 每层每个桶的时间跨度位数，以毫秒计 **/
+    private static final int[] SHIFTS       = {0, 6, 12, 18, 24, 30};
+
+    /** 各层的桶，每个桶为带哨兵的双向循环链表，最后一层只有一个溢出桶 **/
+    private final Node<K>[][]  wheels;
+    private final Map<K, Node<K>> nodeMap;
+
+    /** 时间轮当前时间 **/
+    private long               currentTime;
+
+    /**
+     * @param currentTime 时间轮当前时间
+     */
+    public TimerWheel(long currentTime){
+        this.currentTime = currentTime;
+        this.nodeMap = new HashMap<K, Node<K>>();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<K>[][] wheels = new Node[SHIFTS.length + 1][];
+        this.wheels = wheels;
+        for (int i = 0; i < wheels.length; i++) {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Node<K>[] wheel = new Node[i < SHIFTS.length ? BUCKET_COUNT : 1];
+            wheels[i] = wheel;
+            for (int j = 0; j < wheels[i].length; j++) {
+                wheels[i][j] = new Node<K>(null, 0);
+            }
+        }
+    }
+
+    /**
+     * 加入key或更新key的过期时间
+     * 
+     * @param key
+     * @param expireTime 过期时间，该时刻及之后为过期
+     */
+    public void schedule(K key, long expireTime) {
+        Node<K> node = nodeMap.get(key);
+        if (node == null) {
+            node = new Node<K>(key, expireTime);
+            nodeMap.put(key, node);
+        } else {
+            unlink(node);
+            node.expireTime = expireTime;
+        }
+        link(node);
+    }
+
+    /**
+     * 删除key，key不存在时忽略
+     * 
+     * @param key
+     */
+    public void cancel(K key) {
+        Node<K> node = nodeMap.remove(key);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    /**
+     * 时间前进到now，删除并返回所有过期时间小于等于now的key
+     * 
+     * @param now
+     * @return
+     */
+    public List<K> advance(long now) {
+        List<K> expiredList = new ArrayList<K>();
+        if (nodeMap.isEmpty()) {
+            currentTime = Math.max(currentTime, now);
+            return expiredList;
+        }
+
+        long previousTime = currentTime;
+        currentTime = Math.max(currentTime, now);
+        for (int i = 0; i < SHIFTS.length; i++) {
+            long previousTicks = previousTime >>> SHIFTS[i], currentTicks = currentTime >>> SHIFTS[i];
+            // 第0层当前桶中的元素也可能已经过期，高层只处理已经经过的桶
+            long startTicks = (i == 0 ? previousTicks : previousTicks + 1);
+            if (currentTicks < startTicks) {
+                return expiredList;
+            }
+
+            long count = Math.min(currentTicks - startTicks + 1, BUCKET_COUNT);
+            for (long ticks = startTicks; ticks < startTicks + count; ticks++) {
+                expireBucket(wheels[i][(int)(ticks & (BUCKET_COUNT - 1))], expiredList);
+            }
+        }
+        expireBucket(wheels[SHIFTS.length][0], expiredList);
+        return expiredList;
+    }
+
+    /**
+     * 时间轮中key的个数
+     * 
+     * @return
+     */
+    public int size() {
+        return nodeMap.size();
+    }
+
+    /**
+     * 清空时间轮
+     */
+    public void clear() {
+        nodeMap.clear();
+        for (Node<K>[] wheel : wheels) {
+            for (Node<K> sentinel : wheel) {
+                sentinel.prev = sentinel.next = sentinel;
+            }
+        }
+    }
+
+    /**
+     * 处理某个桶，过期的key放入expiredList，未过期的重新放入相应的桶
+     * 
+     * @param sentinel
+     * @param expiredList
+     */
+    private void expireBucket(Node<K> sentinel, List<K> expiredList) {
+        Node<K> node = sentinel.next;
+        sentinel.prev = sentinel.next = sentinel;
+        while (node != sentinel) {
+            Node<K> next = node.next;
+            node.prev = node.next = null;
+            if (node.expireTime <= currentTime) {
+                nodeMap.remove(node.key);
+                expiredList.add(node.key);
+            } else {
+                link(node);
+            }
+            node = next;
+        }
+    }
+
+    /**
+     * 按照过期时间将节点放入相应的桶
+     * 
+     * @param node
+     */
+    private void link(Node<K> node) {
+        long expireTime = Math.max(node.expireTime, currentTime);
+        long delta = expireTime - currentTime;
+        Node<K> sentinel = wheels[SHIFTS.length][0];
+        for (int i = 0; i < SHIFTS.length; i++) {
+            if (delta < (1L << (SHIFTS[i] + BUCKET_BITS))) {
+                sentinel = wheels[i][(int)((expireTime >>> SHIFTS[i]) & (BUCKET_COUNT - 1))];
+                break;
+            }
+        }
+        node.next = sentinel;
+        node.prev = sentinel.prev;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    private void unlink(Node<K> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = node.next = null;
+        }
+    }
+
+    /**
+     * 链表节点
+     */
+    private static class Node<K> {
+
+        private final K key;
+        private long    expireTime;
+        private Node<K> prev, next;
+
+        public Node(K key, long expireTime){
+            this.key = key;
+            this.expireTime = expireTime;
+            if (key == null) {
+                // 哨兵节点
+                this.prev = this.next = this;
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2012 Trinea.com All right reserved. This software is the
+ * confidential and proprietary information of Trinea.com ("Confidential
+ * Information"). You shall not disclose such Confidential Information and shall
+ * use it only in accordance with the terms of the license agreement you entered
+ * into with Trinea.com.
+ */
+package com.trinea.java.common.serviceImpl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.service.CacheRemoveIndex;
+
+/**
+ * W-TinyLFU删除索引，put、get和选出待删除元素的复杂度均为O(1)<br/>
+ * <br/>
+ * <ul>
+ * 元素分为三个LRU队列
+ * <li>窗口队列，约占缓存容量的1%，新put的元素先进入窗口队列</li>
+ * <li>试用队列，窗口队列淘汰的元素通过准入后进入试用队列</li>
+ * <li>保护队列，约占主区(试用队列和保护队列)的80%，试用队列中的元素被get后进入保护队列，保护队列满时最久未使用的元素降回试用队列</li>
+ * </ul>
+ * <ul>
+ * 缓存满时选出待删除元素
+ * <li>若窗口队列未满，删除试用队列中最久未使用的元素</li>
+ * <li>否则窗口队列中最久未使用的元素作为候选，与试用队列中最久未使用的元素比较{@link FrequencySketch}估计的访问频率，
+ * 候选频率更高时进入试用队列并删除后者，否则删除候选</li>
+ * </ul>
+ * 这样只访问一次的扫描数据停留在窗口队列中并很快被删除，不会挤掉经常访问的元素。
+ * 
+ * @author Trinea 2012-7-2 下午10:46:51
+ */
+public class TinyLfuRemoveIndex<K, V> implements CacheRemoveIndex<K, V> {
+
+    /** 窗口队列占缓存容量的比例 **/
+    public static final double  WINDOW_PERCENT    = 0.01;
+    /** 保护队列占主区的比例 **/
+    public static final double  PROTECTED_PERCENT = 0.8;
+
+    private static final int    WINDOW            = 0;
+    private static final int    PROBATION         = 1;
+    private static final int    PROTECTED         = 2;
+
+    private final int             windowMaxSize;
+    private final int             protectedMaxSize;
+    private final FrequencySketch sketch;
+
+    private final Map<K, Node<K>> nodeMap;
+    /** 各队列的哨兵节点，哨兵的next为最久未使用的元素 **/
+    private final Node<K>[]       queues;
+    private final int[]           queueSizes;
+
+    /**
+     * @param maxSize 缓存最大容量
+     */
+    public TinyLfuRemoveIndex(int maxSize){
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maxSize of cache must be greater than 0.");
+        }
+
+        this.windowMaxSize = Math.max(1, (int)(maxSize * WINDOW_PERCENT));
+        this.protectedMaxSize = (int)((maxSize - windowMaxSize) * PROTECTED_PERCENT);
+        this.sketch = new FrequencySketch(maxSize);
+        this.nodeMap = new HashMap<K, Node<K>>();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node<K>[] queues = new Node[3];
+        this.queues = queues;
+        this.queueSizes = new int[3];
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new Node<K>(null);
+        }
+    }
+
+    @Override
+    public void onPut(K key, CacheObject<V> value) {
+        sketch.increment(key);
+        Node<K> node = nodeMap.get(key);
+        if (node != null) {
+            onAccess(node);
+            return;
+        }
+
+        node = new Node<K>(key);
+        nodeMap.put(key, node);
+        linkLast(WINDOW, node);
+        // 缓存未满时窗口队列也可能超出，多出的元素直接进入试用队列
+        while (queueSizes[WINDOW] > windowMaxSize) {
+            Node<K> first = queues[WINDOW].next;
+            unlink(first);
+            linkLast(PROBATION, first);
+        }
+    }
+
+    @Override
+    public void onGet(K key, CacheObject<V> value) {
+        sketch.increment(key);
+        Node<K> node = nodeMap.get(key);
+        if (node != null) {
+            onAccess(node);
+        }
+    }
+
+    @Override
+    public void onRemove(K key) {
+        Node<K> node = nodeMap.remove(key);
+        if (node != null) {
+            unlink(node);
+        }
+    }
+
+    @Override
+    public K poll() {
+        Node<K> candidate = (queueSizes[WINDOW] >= windowMaxSize ? firstOf(WINDOW) : null);
+        Node<K> victim = firstOfMain();
+        Node<K> toRemove;
+        if (candidate == null) {
+            toRemove = (victim != null ? victim : firstOf(WINDOW));
+        } else if (victim == null) {
+            toRemove = candidate;
+        } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            unlink(candidate);
+            linkLast(PROBATION, candidate);
+            toRemove = victim;
+        } else {
+            toRemove = candidate;
+        }
+
+        if (toRemove == null) {
+            return null;
+        }
+        nodeMap.remove(toRemove.key);
+        unlink(toRemove);
+        return toRemove.key;
+    }
+
+    @Override
+    public int size() {
+        return nodeMap.size();
+    }
+
+    @Override
+    public void clear() {
+        nodeMap.clear();
+        for (int i = 0; i < queues.length; i++) {
+            queues[i].prev = queues[i].next = queues[i];
+            queueSizes[i] = 0;
+        }
+        sketch.clear();
+    }
+
+    /**
+     * 估计key的访问频率
+     * 
+     * @param key
+     * @return
+     */
+    public int frequency(K key) {
+        return sketch.frequency(key);
+    }
+
+    private void onAccess(Node<K> node) {
+        if (node.queue == PROBATION) {
+            unlink(node);
+            linkLast(PROTECTED, node);
+            if (queueSizes[PROTECTED] > protectedMaxSize) {
+                Node<K> first = queues[PROTECTED].next;
+                unlink(first);
+                linkLast(PROBATION, first);
+            }
+        } else {
+            int queue = node.queue;
+            unlink(node);
+            linkLast(queue, node);
+        }
+    }
+
+    /**
+     * 主区中最久未使用的元素，优先从试用队列中选择
+     */
+    private Node<K> firstOfMain() {
+        Node<K> node = firstOf(PROBATION);
+        return node != null ? node : firstOf(PROTECTED);
+    }
+
+    private Node<K> firstOf(int queue) {
+        Node<K> first = queues[queue].next;
+        return first == queues[queue] ? null : first;
+    }
+
+    private void linkLast(int queue, Node<K> node) {
+        Node<K> sentinel = queues[queue];
+        node.queue = queue;
+        node.next = sentinel;
+        node.prev = sentinel.prev;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+        queueSizes[queue]++;
+    }
+
+    private void unlink(Node<K> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = node.next = null;
+            queueSizes[node.queue]--;
+        }
+    }
+
+    /**
+     * 链表节点
+     */
+    private static class Node<K> {
+
+        private final K key;
+        private int     queue;
+        private Node<K> prev, next;
+
+        public Node(K key){
+            this.key = key;
+            if (key == null) {
+                // 哨兵节点
+                this.prev = this.next = this;
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.trinea.java.common;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.trinea.java.common.serviceImpl.ListCodec;
+import com.trinea.java.common.serviceImpl.LongCodec;
+import com.trinea.java.common.serviceImpl.MapCodec;
+import com.trinea.java.common.serviceImpl.StringCodec;
+
+/**
+ * SerializeUtils各种序列化方式的耗时和大小比较，直接运行main
+ * <ul>
+ * <li>原实现：ObjectOutputStream直接包装FileOutputStream，没有缓冲</li>
+ * <li>缓冲文件、GZIP压缩文件、byte数组：见{@link SerializeUtils#serialization(String, Object, boolean)}等</li>
+ * <li>codec文件、codec byte数组：通过{@link com.trinea.java.common.service.Codec}编解码，不使用java序列化</li>
+ * </ul>
+ * 
+ * @author Trinea 2012-7-26 下午09:02:33
+ */
+public class SerializeUtilsBenchmark {
+
+    private static final int    ENTRY_COUNT = 100000;
+    private static final int    WARM_UP     = 3;
+    private static final int    ITERATIONS  = 10;
+
+    private static final String FILE_PATH   = System.getProperty("java.io.tmpdir") + File.separator
+                                              + "SerializeUtilsBenchmark.obj";
+
+    public static void main(String[] args) {
+        final HashMap<String, List<Long>> map = new HashMap<String, List<Long>>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            List<Long> list = new ArrayList<Long>();
+            for (int j = 0; j < 5; j++) {
+                list.add((long)i * j);
+            }
+            map.put("key" + i, list);
+        }
+        final MapCodec<String, List<Long>> codec = new MapCodec<String, List<Long>>(new StringCodec(),
+                                                                                    new ListCodec<Long>(new LongCodec()));
+
+        System.out.println("元素个数：" + ENTRY_COUNT + "，每种方式运行" + ITERATIONS + "次取平均值");
+        System.out.println(String.format("%-16s%12s%12s%14s", "方式", "序列化(ms)", "反序列化(ms)", "大小(byte)"));
+        run("原实现", new Runnable() {
+
+            @Override
+            public void run() {
+                unbufferedSerialization(FILE_PATH, map);
+            }
+        }, new Runnable() {
+
+            @Override
+            public void run() {
+                unbufferedDeserialization(FILE_PATH);
+            }
+        });
+        run("缓冲文件", new Runnable() {
+
+            @Override
+            public void run() {
+                SerializeUtils.serialization(FILE_PATH, map);
+            }
+        }, new Runnable() {
+
+            @Override
+            public void run() {
+                SerializeUtils.deserialization(FILE_PATH);
+            }
+        });
+        run("GZIP压缩文件", new Runnable() {
+
+            @Override
+            public void run() {
+                SerializeUtils.serialization(FILE_PATH, map, true);
+            }
+        }, new Runnable() {
+
+            @Override
+            public void run() {
+                SerializeUtils.deserialization(FILE_PATH);
+            }
+        });
+        run("codec文件", new Runnable() {
+
+            @Override
+            public void run() {
+                SerializeUtils.serialization(FILE_PATH, map, codec);
+            }
+        }, new Runnable() {
+
+            @Override
+            public void run() {
+                SerializeUtils.deserialization(FILE_PATH, codec);
+            }
+        });
+
+        final byte[][] bytes = new byte[1][];
+        run("byte数组", new Runnable() {
+
+            @Override
+            public void run() {
+                bytes[0] = SerializeUtils.serialization(map, false);
+            }
+        }, new Runnable() {
+
+            @Override
+            public void run() {
+                SerializeUtils.deserialization(bytes[0]);
+            }
+        });
+        run("codec byte数组", new Runnable() {
+
+            @Override
+            public void run() {
+                bytes[0] = SerializeUtils.encode(map, codec);
+            }
+        }, new Runnable() {
+
+            @Override
+            public void run() {
+                SerializeUtils.decode(bytes[0], codec);
+            }
+        });
+        new File(FILE_PATH).delete();
+    }
+
+    /**
+     * 预热后分别运行序列化和反序列化，输出平均耗时和文件(或最后一次序列化的byte数组)大小
+     */
+    private static void run(String name, Runnable serialization, Runnable deserialization) {
+        for (int i = 0; i < WARM_UP; i++) {
+            serialization.run();
+            deserialization.run();
+        }
+        long serializationTime = 0, deserializationTime = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            serialization.run();
+            serializationTime += System.nanoTime() - start;
+            start = System.nanoTime();
+            deserialization.run();
+            deserializationTime += System.nanoTime() - start;
+        }
+        long size = name.contains("byte") ? -1 : new File(FILE_PATH).length();
+        System.out.println(String.format("%-16s%12.1f%12.1f%14s", name, serializationTime / 1e6 / ITERATIONS,
+                                         deserializationTime / 1e6 / ITERATIONS, size < 0 ? "-" : size));
+    }
+
+    /**
+     * 原实现
+     */
+    private static void unbufferedSerialization(String filePath, Object obj) {
+        try {
+            ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(filePath));
+            try {
+                out.writeObject(obj);
+            } finally {
+                out.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        }
+    }
+
+    /**
+     * 原实现
+     */
+    private static Object unbufferedDeserialization(String filePath) {
+        try {
+            ObjectInputStream in = new ObjectInputStream(new FileInputStream(filePath));
+            try {
+                return in.readObject();
+            } finally {
+                in.close();
+            }
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("ClassNotFoundException occurred. ", e);
+        } catch (IOException e) {
+            throw new RuntimeException("IOException occurred. ", e);
+        }
+    }
+}
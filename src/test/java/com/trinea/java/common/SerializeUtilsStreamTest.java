@@ -0,0 +1,72 @@
+package com.trinea.java.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.trinea.java.common.SerializeUtilsTest.ClassImplSerialize;
+
+/**
+ * SerializeUtils流和byte数组序列化测试，不需要读写文件
+ * 
+ * @author Trinea 2012-7-26 下午08:16:42
+ */
+public class SerializeUtilsStreamTest extends TestCase {
+
+    private static List<ClassImplSerialize> newList(int size) {
+        List<ClassImplSerialize> list = new ArrayList<ClassImplSerialize>();
+        for (int i = 0; i < size; i++) {
+            list.add(new ClassImplSerialize(i, "user" + i));
+        }
+        return list;
+    }
+
+    private static void assertListEquals(List<ClassImplSerialize> list1, List<ClassImplSerialize> list2) {
+        assertEquals(list1.size(), list2.size());
+        for (int i = 0; i < list1.size(); i++) {
+            assertEquals(list1.get(i).getUserId(), list2.get(i).getUserId());
+            assertEquals(list1.get(i).getUserName(), list2.get(i).getUserName());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testByteArray() {
+        List<ClassImplSerialize> list = newList(1000);
+        byte[] bytes = SerializeUtils.serialization(list, false);
+        byte[] compressedBytes = SerializeUtils.serialization(list, true);
+        assertTrue(compressedBytes.length < bytes.length);
+        assertListEquals((List<ClassImplSerialize>)SerializeUtils.deserialization(bytes), list);
+        assertListEquals((List<ClassImplSerialize>)SerializeUtils.deserialization(compressedBytes), list);
+        assertEquals(SerializeUtils.deserialization(SerializeUtils.serialization("abc", true)), "abc");
+        assertNull(SerializeUtils.deserialization(SerializeUtils.serialization(null, false)));
+
+        try {
+            SerializeUtils.deserialization(Arrays.copyOf(compressedBytes, compressedBytes.length / 2));
+            assertTrue(false);
+        } catch (RuntimeException e) {
+        }
+        try {
+            SerializeUtils.deserialization(new byte[0]);
+            assertTrue(false);
+        } catch (RuntimeException e) {
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testStream() {
+        List<ClassImplSerialize> list = newList(100);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SerializeUtils.serialization(out, list, true);
+        // 不关闭流，可以继续写入
+        out.write(1);
+        byte[] bytes = out.toByteArray();
+        assertEquals(bytes[bytes.length - 1], 1);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+        assertListEquals((List<ClassImplSerialize>)SerializeUtils.deserialization(in), list);
+    }
+}
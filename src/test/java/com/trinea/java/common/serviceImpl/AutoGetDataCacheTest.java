@@ -1,218 +1,923 @@
-package com.trinea.java.common.serviceImpl;
-
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-import junit.framework.TestCase;
-
-import com.trinea.java.common.FileUtils;
-import com.trinea.java.common.ObjectUtils;
-import com.trinea.java.common.entity.CacheObject;
-import com.trinea.java.common.serviceImpl.AutoGetDataCache.OnGetDataListener;
-import com.trinea.java.common.utils.SleepUtils;
-
-/**
- * 类AutoGetDataCacheTest.java的实现描述：TODO 类实现描述
- * 
- * @author Trinea 2012-5-6 下午08:39:27
- */
-public class AutoGetDataCacheTest extends TestCase {
-
-    private static final String BASE_DIR = "C:\\Users\\Trinea\\Desktop\\temp\\JavaCommonTest\\AutoGetDataCacheTest\\";
-
-    protected void setUp() throws Exception {
-        super.setUp();
-        FileUtils.makeFolder(BASE_DIR);
-    }
-
-    protected void tearDown() throws Exception {
-        super.tearDown();
-    }
-
-    public void testAutoGetDataCache() {
-        // 数据源，用map代替网络数据源
-        final Map<String, String> dataSource = new HashMap<String, String>();
-        List<String> keyList = new ArrayList<String>();
-        for (int i = 0; i < 20; i++) {
-            String temp = Integer.toString(i);
-            dataSource.put(temp, temp);
-            keyList.add(temp);
-        }
-
-        // 新建缓存
-        AutoGetDataCache<String, String> cache = null;
-        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
-
-            private static final long serialVersionUID = 1L;
-
-            @Override
-            public CacheObject<String> onGetData(String key) {
-                CacheObject<String> o = new CacheObject<String>();
-                o.setData(dataSource.get(key));
-                return o;
-            }
-        }, 5, -1, new RemoveTypeUsedCountBig<String>());
-        assertNotNull(cache);
-
-        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
-
-            private static final long serialVersionUID = 1L;
-
-            @Override
-            public CacheObject<String> onGetData(String key) {
-                CacheObject<String> o = new CacheObject<String>();
-                o.setData(dataSource.get(key));
-                return o;
-            }
-        }, 5, -1);
-        assertNotNull(cache);
-
-        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
-
-            private static final long serialVersionUID = 1L;
-
-            @Override
-            public CacheObject<String> onGetData(String key) {
-                CacheObject<String> o = new CacheObject<String>();
-                o.setData(dataSource.get(key));
-                return o;
-            }
-        }, 5, new RemoveTypeUsedCountSmall<String>());
-        assertNotNull(cache);
-
-        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
-
-            private static final long serialVersionUID = 1L;
-
-            @Override
-            public CacheObject<String> onGetData(String key) {
-                CacheObject<String> o = new CacheObject<String>();
-                o.setData(dataSource.get(key));
-                return o;
-            }
-        }, 5);
-        assertNotNull(cache);
-
-        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
-
-            private static final long serialVersionUID = 1L;
-
-            @Override
-            public CacheObject<String> onGetData(String key) {
-                CacheObject<String> o = new CacheObject<String>();
-                o.setData(dataSource.get(key));
-                return o;
-            }
-        });
-        assertNotNull(cache);
-
-        cache = null;
-        cache = new AutoGetDataCache<String, String>(null);
-        assertNotNull(cache);
-        assertNull(cache.get(null));
-        CacheObject<String> value = cache.get(Integer.toString(2), null);
-        assertNull(value);
-    }
-
-    public void testGetAndAutoCacheNewData() {
-        // 数据源，用map代替网络数据源
-        final Map<String, String> dataSource = new HashMap<String, String>();
-        List<String> keyList = new ArrayList<String>();
-        for (int i = 0; i < 20; i++) {
-            String temp = Integer.toString(i);
-            dataSource.put(temp, temp);
-            keyList.add(temp);
-        }
-
-        // 新建缓存
-        AutoGetDataCache<String, String> cache = null;
-        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
-
-            private static final long serialVersionUID = 1L;
-
-            @Override
-            public CacheObject<String> onGetData(String key) {
-                CacheObject<String> o = new CacheObject<String>();
-                o.setData(dataSource.get(key));
-                return o;
-            }
-        }, 5, -1, new RemoveTypeEnterTimeFirst<String>());
-        assertNotNull(cache);
-        // 设置向后缓存1个，向前缓存2个
-        cache.setBackCacheNumber(1);
-        cache.setForwardCacheNumber(2);
-
-        CacheObject<String> value = cache.get(Integer.toString(0));
-        assertNull(cache.get(null));
-        assertNull(cache.get(null, null));
-        assertTrue(value != null && ObjectUtils.isEquals(value.getData(), Integer.toString(0)));
-        assertTrue(cache.getSize() == 1);
-        assertTrue(cache.getHitRate() == 0);
-        value = cache.get(Integer.toString(2), null);
-        value = cache.get(Integer.toString(2), keyList);
-        assertTrue(1 / 3 - cache.getHitRate() < 0.000001);
-        assertTrue(value != null && ObjectUtils.isEquals(value.getData(), Integer.toString(2)));
-        SleepUtils.sleep();
-        if (cache.getSize() == 5) {
-            value = cache.get(Integer.toString(3), keyList);
-            assertTrue(cache.getHitRate() == 0.5);
-            value = cache.get(Integer.toString(4), keyList);
-            assertTrue(cache.getHitRate() == 0.6);
-            value = cache.get(Integer.toString(1), keyList);
-            assertTrue(2 / 3 - cache.getHitRate() < 0.00001);
-        }
-        value = cache.get(Integer.toString(5), keyList);
-    }
-
-    public static void testSaveAndLoadData() {
-        // 数据源，用map代替网络数据源
-        final Map<String, String> dataSource = new HashMap<String, String>();
-        List<String> keyList = new ArrayList<String>();
-        for (int i = 0; i < 20; i++) {
-            String temp = Integer.toString(i);
-            dataSource.put(temp, temp);
-            keyList.add(temp);
-        }
-
-        int cacheSize = 30, putSize = 50;
-        // 新建缓存
-        AutoGetDataCache<String, String> cache = null;
-        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
-
-            private static final long serialVersionUID = 1L;
-
-            @Override
-            public CacheObject<String> onGetData(String key) {
-                CacheObject<String> o = new CacheObject<String>();
-                o.setData(dataSource.get(key));
-                return o;
-            }
-        }, cacheSize, -1, new RemoveTypeEnterTimeFirst<String>());
-        cache.setBackCacheNumber(2);
-        cache.setForwardCacheNumber(4);
-        for (int i = 1; i <= putSize; i++) {
-            CacheObject<String> obj = new CacheObject<String>();
-            obj.setData(Integer.toString(i));
-            obj.setPriority(i);
-            cache.put(Integer.toString(i), obj);
-            SleepUtils.sleep(2);
-        }
-        String saveFile = BASE_DIR + "AutoGetDataCache.obj";
-        AutoGetDataCache.saveCache(saveFile, cache);
-        assertTrue(FileUtils.isFileExist(saveFile));
-        AutoGetDataCache<String, String> outCache = AutoGetDataCache.loadCache(saveFile);
-        assertNotNull(outCache);
-        assertNotNull(outCache.getOnGetDataListener());
-        assertTrue(outCache.getOnGetDataListener() instanceof OnGetDataListener);
-        assertEquals(cache.getSize(), 30);
-        assertEquals(outCache.getMaxSize(), 30);
-        assertTrue(outCache.getCacheFullRemoveType() instanceof RemoveTypeEnterTimeFirst);
-        assertEquals(cache.getSize(), outCache.getSize());
-        for (int i = putSize - cacheSize + 1; i <= putSize; i++) {
-            assertNotNull(cache.get(Integer.toString(i)));
-            assertEquals(cache.get(Integer.toString(i)), outCache.get(Integer.toString(i)));
-        }
-    }
-}
+package com.trinea.java.common.serviceImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import com.trinea.java.common.FileUtils;
+import com.trinea.java.common.ObjectUtils;
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.entity.CacheStats;
+import com.trinea.java.common.serviceImpl.AutoGetDataCache.OnGetBulkDataListener;
+import com.trinea.java.common.serviceImpl.AutoGetDataCache.OnGetDataListener;
+import com.trinea.java.common.utils.SleepUtils;
+
+/**
+ * 类AutoGetDataCacheTest.java的实现描述：TODO 类实现描述
+ * 
+ * @author Trinea 2012-5-6 下午08:39:27
+ */
+public class AutoGetDataCacheTest extends TestCase {
+
+    private static final String BASE_DIR = "C:\\Users\\Trinea\\Desktop\\temp\\JavaCommonTest\\AutoGetDataCacheTest\\";
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        FileUtils.makeFolder(BASE_DIR);
+    }
+
+    protected void tearDown() throws Exception {
+        super.tearDown();
+    }
+
+    public void testAutoGetDataCache() {
+        // 数据源，用map代替网络数据源
+        final Map<String, String> dataSource = new HashMap<String, String>();
+        List<String> keyList = new ArrayList<String>();
+        for (int i = 0; i < 20; i++) {
+            String temp = Integer.toString(i);
+            dataSource.put(temp, temp);
+            keyList.add(temp);
+        }
+
+        // 新建缓存
+        AutoGetDataCache<String, String> cache = null;
+        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                CacheObject<String> o = new CacheObject<String>();
+                o.setData(dataSource.get(key));
+                return o;
+            }
+        }, 5, -1, new RemoveTypeUsedCountBig<String>());
+        assertNotNull(cache);
+
+        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                CacheObject<String> o = new CacheObject<String>();
+                o.setData(dataSource.get(key));
+                return o;
+            }
+        }, 5, -1);
+        assertNotNull(cache);
+
+        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                CacheObject<String> o = new CacheObject<String>();
+                o.setData(dataSource.get(key));
+                return o;
+            }
+        }, 5, new RemoveTypeUsedCountSmall<String>());
+        assertNotNull(cache);
+
+        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                CacheObject<String> o = new CacheObject<String>();
+                o.setData(dataSource.get(key));
+                return o;
+            }
+        }, 5);
+        assertNotNull(cache);
+
+        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                CacheObject<String> o = new CacheObject<String>();
+                o.setData(dataSource.get(key));
+                return o;
+            }
+        });
+        assertNotNull(cache);
+
+        cache = null;
+        cache = new AutoGetDataCache<String, String>(null);
+        assertNotNull(cache);
+        assertNull(cache.get(null));
+        CacheObject<String> value = cache.get(Integer.toString(2), null);
+        assertNull(value);
+    }
+
+    public void testGetAndAutoCacheNewData() {
+        // 数据源，用map代替网络数据源
+        final Map<String, String> dataSource = new HashMap<String, String>();
+        List<String> keyList = new ArrayList<String>();
+        for (int i = 0; i < 20; i++) {
+            String temp = Integer.toString(i);
+            dataSource.put(temp, temp);
+            keyList.add(temp);
+        }
+
+        // 新建缓存
+        AutoGetDataCache<String, String> cache = null;
+        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                CacheObject<String> o = new CacheObject<String>();
+                o.setData(dataSource.get(key));
+                return o;
+            }
+        }, 5, -1, new RemoveTypeEnterTimeFirst<String>());
+        assertNotNull(cache);
+        // 设置向后缓存1个，向前缓存2个
+        cache.setBackCacheNumber(1);
+        cache.setForwardCacheNumber(2);
+
+        CacheObject<String> value = cache.get(Integer.toString(0));
+        assertNull(cache.get(null));
+        assertNull(cache.get(null, null));
+        assertTrue(value != null && ObjectUtils.isEquals(value.getData(), Integer.toString(0)));
+        assertTrue(cache.getSize() == 1);
+        assertTrue(cache.getHitRate() == 0);
+        value = cache.get(Integer.toString(2), null);
+        value = cache.get(Integer.toString(2), keyList);
+        assertTrue(1 / 3 - cache.getHitRate() < 0.000001);
+        assertTrue(value != null && ObjectUtils.isEquals(value.getData(), Integer.toString(2)));
+        SleepUtils.sleep();
+        if (cache.getSize() == 5) {
+            value = cache.get(Integer.toString(3), keyList);
+            assertTrue(cache.getHitRate() == 0.5);
+            value = cache.get(Integer.toString(4), keyList);
+            assertTrue(cache.getHitRate() == 0.6);
+            value = cache.get(Integer.toString(1), keyList);
+            assertTrue(2 / 3 - cache.getHitRate() < 0.00001);
+        }
+        value = cache.get(Integer.toString(5), keyList);
+    }
+
+    public void testGetAll() {
+        final AtomicInteger bulkCount = new AtomicInteger();
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(null, 10);
+        cache.setOnGetBulkDataListener(new OnGetBulkDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Map<String, CacheObject<String>> onGetData(Collection<String> keys) {
+                bulkCount.incrementAndGet();
+                Map<String, CacheObject<String>> map = new HashMap<String, CacheObject<String>>();
+                for (String key : keys) {
+                    if (!"notExist".equals(key)) {
+                        map.put(key, new CacheObject<String>(key));
+                    }
+                }
+                return map;
+            }
+        });
+        cache.put("1", "1");
+
+        Map<String, CacheObject<String>> result = cache.getAll(Arrays.asList("1", "2", "3", "notExist"));
+        assertEquals(bulkCount.get(), 1);
+        assertEquals(result.size(), 3);
+        assertEquals(result.get("3").getData(), "3");
+        assertEquals(cache.getSize(), 3);
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getMissCount(), 3);
+
+        // 没有单个获取的接口时使用批量获取
+        assertEquals(cache.get("4").getData(), "4");
+        assertEquals(bulkCount.get(), 2);
+        assertEquals(cache.getAll(Arrays.asList("1", "2", "3")).size(), 3);
+        assertEquals(bulkCount.get(), 2);
+    }
+
+    public void testBulkAutoCacheNewData() {
+        final List<Collection<String>> bulkKeysList = new ArrayList<Collection<String>>();
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(null, 10);
+        cache.setOnGetBulkDataListener(new OnGetBulkDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Map<String, CacheObject<String>> onGetData(Collection<String> keys) {
+                synchronized (bulkKeysList) {
+                    bulkKeysList.add(new ArrayList<String>(keys));
+                }
+                Map<String, CacheObject<String>> map = new HashMap<String, CacheObject<String>>();
+                for (String key : keys) {
+                    map.put(key, new CacheObject<String>(key));
+                }
+                return map;
+            }
+        });
+        cache.setForwardCacheNumber(3);
+        cache.setBackCacheNumber(0);
+        List<String> keyList = new ArrayList<String>();
+        for (int i = 0; i < 10; i++) {
+            keyList.add(Integer.toString(i));
+        }
+
+        assertEquals(cache.get("0", keyList).getData(), "0");
+        SleepUtils.sleep(200);
+        assertTrue(cache.containsKey("1"));
+        assertTrue(cache.containsKey("3"));
+        // 当前key和预取的key各一次
+        assertEquals(bulkKeysList.size(), 2);
+        assertTrue(bulkKeysList.get(0).size() > 1 || bulkKeysList.get(1).size() > 1);
+
+        // 已缓存的key不再获取
+        cache.get("1", keyList);
+        SleepUtils.sleep(200);
+        assertEquals(bulkKeysList.size(), 3);
+        assertEquals(bulkKeysList.get(2), Arrays.asList("5"));
+
+        // 前后预取的key一次获取
+        cache.setBackCacheNumber(1);
+        cache.get("8", keyList);
+        SleepUtils.sleep(200);
+        assertEquals(bulkKeysList.size(), 5);
+        assertTrue(bulkKeysList.contains(Arrays.asList("9", "7", "6")));
+    }
+
+    public void testGetDataExecutor() {
+        final AtomicInteger runningCount = new AtomicInteger(), maxRunningCount = new AtomicInteger();
+        OnGetDataListener<String, String> onGetDataListener = new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                int count = runningCount.incrementAndGet();
+                synchronized (maxRunningCount) {
+                    if (count > maxRunningCount.get()) {
+                        maxRunningCount.set(count);
+                    }
+                }
+                SleepUtils.sleep(20);
+                runningCount.decrementAndGet();
+                return new CacheObject<String>(key);
+            }
+        };
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(onGetDataListener, 20);
+        ExecutorService executor = AutoGetDataCache.newGetDataExecutor(2, 100,
+                                                                       new ThreadPoolExecutor.CallerRunsPolicy());
+        cache.setGetDataExecutor(executor);
+        cache.setForwardCacheNumber(9);
+        List<String> keyList = new ArrayList<String>();
+        for (int i = 0; i < 10; i++) {
+            keyList.add(Integer.toString(i));
+        }
+        assertEquals(cache.get("0", keyList).getData(), "0");
+        SleepUtils.sleep(300);
+        assertEquals(cache.getSize(), 10);
+        // 线程池中2个线程加上调用者线程
+        assertTrue(maxRunningCount.get() <= 3);
+        executor.shutdown();
+
+        // 线程池拒绝时不会阻塞
+        final CountDownLatch blockLatch = new CountDownLatch(1);
+        executor = AutoGetDataCache.newGetDataExecutor(1, 1, new ThreadPoolExecutor.AbortPolicy());
+        executor.execute(new Runnable() {
+
+            public void run() {
+                try {
+                    blockLatch.await();
+                } catch (InterruptedException e) {
+                }
+            }
+        });
+        executor.execute(new Runnable() {
+
+            public void run() {
+            }
+        });
+        cache.setGetDataExecutor(executor);
+        assertNull(cache.get("rejected"));
+        blockLatch.countDown();
+        executor.shutdown();
+
+        ExecutorService virtualThreadExecutor = AutoGetDataCache.newVirtualThreadExecutor();
+        if (virtualThreadExecutor != null) {
+            cache.setGetDataExecutor(virtualThreadExecutor);
+            assertEquals(cache.get("virtual").getData(), "virtual");
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    public void testPrefetchRejected() {
+        final Map<String, Thread> loadThreadMap = new ConcurrentHashMap<String, Thread>();
+        OnGetDataListener<String, String> onGetDataListener = new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                loadThreadMap.put(key, Thread.currentThread());
+                if ("3".equals(key)) {
+                    throw new IllegalStateException(key);
+                }
+                return new CacheObject<String>(key);
+            }
+        };
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(onGetDataListener, 10);
+        cache.setForwardCacheNumber(2);
+        cache.setBackCacheNumber(0);
+        List<String> keyList = new ArrayList<String>();
+        for (int i = 0; i < 5; i++) {
+            keyList.add(Integer.toString(i));
+        }
+
+        // 线程池满时预取的任务被丢弃，当前key由调用者线程获取
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        ExecutorService executor = newFullExecutor(new AutoGetDataCache.GetDataRejectedPolicy(), blockLatch);
+        cache.setGetDataExecutor(executor);
+        assertEquals(cache.get("0", keyList).getData(), "0");
+        assertSame(loadThreadMap.get("0"), Thread.currentThread());
+        assertFalse(loadThreadMap.containsKey("1"));
+        assertEquals(cache.getLoadingCount(), 0);
+        blockLatch.countDown();
+        executor.shutdown();
+
+        // 自定义线程池的拒绝策略在调用者线程执行时，预取的任务同样被丢弃，预取key的异常不影响get
+        blockLatch = new CountDownLatch(1);
+        executor = newFullExecutor(new ThreadPoolExecutor.CallerRunsPolicy(), blockLatch);
+        cache.setGetDataExecutor(executor);
+        assertEquals(cache.get("2", keyList).getData(), "2");
+        assertFalse(loadThreadMap.containsKey("3"));
+        assertFalse(loadThreadMap.containsKey("4"));
+        blockLatch.countDown();
+        executor.shutdown();
+    }
+
+    /**
+     * 新建只有一个线程并且等待队列已满的线程池，blockLatch countDown前不会执行新任务
+     */
+    private static ExecutorService newFullExecutor(RejectedExecutionHandler handler, final CountDownLatch blockLatch) {
+        ExecutorService executor = AutoGetDataCache.newGetDataExecutor(1, 1, handler);
+        executor.execute(new Runnable() {
+
+            public void run() {
+                try {
+                    blockLatch.await();
+                } catch (InterruptedException e) {
+                }
+            }
+        });
+        executor.execute(new Runnable() {
+
+            public void run() {
+            }
+        });
+        return executor;
+    }
+
+    public void testGetByPosition() {
+        final AtomicInteger accessCount = new AtomicInteger();
+        List<String> keyList = new AbstractList<String>() {
+
+            @Override
+            public String get(int index) {
+                accessCount.incrementAndGet();
+                return Integer.toString(index);
+            }
+
+            @Override
+            public int size() {
+                return 100000;
+            }
+        };
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(new KeyAsDataListener(), 100);
+        cache.setForwardCacheNumber(3);
+        cache.setBackCacheNumber(1);
+
+        assertEquals(cache.get("50000", keyList, 50000).getData(), "50000");
+        assertTrue(accessCount.get() < 10);
+        SleepUtils.sleep(100);
+        assertTrue(cache.containsKey("49999"));
+        assertTrue(cache.containsKey("50003"));
+
+        // 位置不正确时遍历keyList
+        List<String> shortKeyList = Arrays.asList("0", "1", "2", "3", "4", "5");
+        assertEquals(cache.get("4", shortKeyList, 1).getData(), "4");
+        SleepUtils.sleep(100);
+        assertTrue(cache.containsKey("3"));
+        assertTrue(cache.containsKey("5"));
+        assertNull(cache.get(null, shortKeyList, 0));
+    }
+
+    public void testAdaptivePrefetcher() {
+        List<String> keyList = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            keyList.add(Integer.toString(i));
+        }
+        AdaptivePrefetcher<String> prefetcher = new AdaptivePrefetcher<String>(1, 4);
+        assertEquals(prefetcher.onAccess("0", keyList, 0, false), Arrays.asList("1"));
+        assertEquals(prefetcher.onAccess("1", keyList, 1, false), Arrays.asList("2", "0"));
+        assertEquals(prefetcher.getDirection(), 1);
+        // 访问有规律但未命中，预取个数加倍
+        assertEquals(prefetcher.onAccess("2", keyList, 2, false), Arrays.asList("3", "4", "1"));
+        assertEquals(prefetcher.getCacheNumber(), 2);
+        assertEquals(prefetcher.onAccess("3", keyList, 3, true), Arrays.asList("4", "5", "2"));
+        assertEquals(prefetcher.getCacheNumber(), 2);
+        assertEquals(prefetcher.getPrefetchHitCount(), 1);
+        prefetcher.onAccess("4", keyList, 4, false);
+        prefetcher.onAccess("5", keyList, 5, false);
+        assertEquals(prefetcher.getCacheNumber(), 4);
+        assertEquals(prefetcher.getIncreaseCount(), 2);
+
+        // 步长改变时重新开始，越过的预取记为浪费
+        prefetcher.onAccess("10", keyList, 10, false);
+        assertEquals(prefetcher.getStride(), 5);
+        assertEquals(prefetcher.getCacheNumber(), 1);
+        assertEquals(prefetcher.onAccess("15", keyList, 15, false), Arrays.asList("20", "14"));
+        assertEquals(prefetcher.getPrefetchWasteCount(), 4);
+
+        // 向后访问
+        prefetcher.onAccess("50", keyList, 50, false);
+        assertEquals(prefetcher.onAccess("49", keyList, 49, false), Arrays.asList("48", "50"));
+        assertEquals(prefetcher.getDirection(), -1);
+        assertTrue(prefetcher.getPrefetchHitRate() > 0);
+        prefetcher.clear();
+        assertEquals(prefetcher.getAccessCount(), 0);
+        assertEquals(prefetcher.getDirection(), 0);
+        try {
+            new AdaptivePrefetcher<String>(2, 1);
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            new AdaptivePrefetcher<String>(1, 4, 0);
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+        }
+
+        // 交替访问不同的序列时分别调整，序列按对象本身区分
+        List<String> otherKeyList = new ArrayList<String>(keyList);
+        for (int i = 0; i < 4; i++) {
+            prefetcher.onAccess(Integer.toString(i), keyList, i, false);
+            prefetcher.onAccess(Integer.toString(50 + i), otherKeyList, 50 + i, false);
+        }
+        assertEquals(prefetcher.getSequenceCount(), 2);
+        assertEquals(prefetcher.getDirection(), 1);
+        assertEquals(prefetcher.getCacheNumber(), 4);
+        assertEquals(prefetcher.getIncreaseCount(), 4);
+        assertEquals(prefetcher.onAccess("4", keyList, 4, true), Arrays.asList("5", "6", "7", "8", "3"));
+
+        // 超过最多序列个数时删除最久未访问的序列
+        prefetcher = new AdaptivePrefetcher<String>(1, 4, 1);
+        prefetcher.onAccess("0", keyList, 0, false);
+        prefetcher.onAccess("90", otherKeyList, 90, false);
+        assertEquals(prefetcher.getSequenceCount(), 1);
+        assertEquals(prefetcher.getPrefetchWasteCount(), 1);
+
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(new KeyAsDataListener(), 100);
+        cache.setAdaptivePrefetcher(new AdaptivePrefetcher<String>());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(cache.get(Integer.toString(i), keyList, i).getData(), Integer.toString(i));
+        }
+        SleepUtils.sleep(100);
+        assertTrue(cache.getAdaptivePrefetcher().getPrefetchCount() > 0);
+        assertEquals(cache.getAdaptivePrefetcher().getAccessCount(), 10);
+        assertTrue(cache.containsKey("10"));
+    }
+
+    public void testGetAsync() throws Exception {
+        final CountDownLatch getDataLatch = new CountDownLatch(1);
+        final AtomicInteger getDataCount = new AtomicInteger();
+        OnGetDataListener<String, String> onGetDataListener = new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                getDataCount.incrementAndGet();
+                if ("error".equals(key)) {
+                    throw new IllegalStateException(key);
+                }
+                try {
+                    getDataLatch.await();
+                } catch (InterruptedException e) {
+                }
+                return new CacheObject<String>(key);
+            }
+        };
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(onGetDataListener);
+        assertNull(cache.getAsync(null).get());
+
+        CompletableFuture<CacheObject<String>> future1 = cache.getAsync("1");
+        CompletableFuture<CacheObject<String>> future2 = cache.getAsync("1");
+        assertFalse(future1.isDone());
+        getDataLatch.countDown();
+        assertEquals(future1.get(1, TimeUnit.SECONDS).getData(), "1");
+        assertEquals(future2.get(1, TimeUnit.SECONDS).getData(), "1");
+        assertEquals(getDataCount.get(), 1);
+        assertEquals(cache.getHitCount(), 0);
+        assertEquals(cache.getMissCount(), 2);
+
+        CompletableFuture<CacheObject<String>> future3 = cache.getAsync("1");
+        assertTrue(future3.isDone());
+        assertEquals(future3.get().getData(), "1");
+        assertEquals(cache.getHitCount(), 1);
+
+        try {
+            cache.getAsync("error").get(1, TimeUnit.SECONDS);
+            assertTrue(false);
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        // 线程池满时不在调用者线程获取数据
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        ExecutorService executor = newFullExecutor(new ThreadPoolExecutor.CallerRunsPolicy(), blockLatch);
+        cache.setGetDataExecutor(executor);
+        getDataCount.set(0);
+        CompletableFuture<CacheObject<String>> future4 = cache.getAsync("rejected");
+        assertTrue(future4.isCompletedExceptionally());
+        assertEquals(getDataCount.get(), 0);
+        try {
+            future4.get();
+            assertTrue(false);
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        blockLatch.countDown();
+        executor.shutdown();
+    }
+
+    public void testRefreshAfterWrite() {
+        final AtomicInteger getDataCount = new AtomicInteger();
+        OnGetDataListener<String, String> onGetDataListener = new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                return new CacheObject<String>(key + getDataCount.incrementAndGet());
+            }
+        };
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(onGetDataListener, 2);
+        cache.setRefreshAfterWrite(200);
+        assertEquals(cache.getRefreshAfterWrite(), 200);
+        assertEquals(cache.get("a").getData(), "a1");
+        assertEquals(cache.get("b").getData(), "b2");
+        assertEquals(cache.get("a").getData(), "a1");
+        assertEquals(getDataCount.get(), 2);
+
+        // 超过刷新时间时返回旧值，并在后台刷新
+        SleepUtils.sleep(250);
+        assertEquals(cache.get("a").getData(), "a1");
+        SleepUtils.sleep(50);
+        assertEquals(getDataCount.get(), 3);
+        assertEquals(cache.get("a").getData(), "a3");
+        // 刷新替换元素不会删除其他元素
+        assertEquals(cache.getSize(), 2);
+        assertTrue(cache.containsKey("b"));
+
+        cache.setRefreshAfterWrite(-1);
+        SleepUtils.sleep(250);
+        assertEquals(cache.get("a").getData(), "a3");
+        SleepUtils.sleep(50);
+        assertEquals(getDataCount.get(), 3);
+    }
+
+    public void testNegativeCache() {
+        final AtomicInteger getDataCount = new AtomicInteger();
+        OnGetDataListener<String, String> onGetDataListener = new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                getDataCount.incrementAndGet();
+                return key.startsWith("notExist") ? null : new CacheObject<String>(key);
+            }
+        };
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(onGetDataListener);
+        assertNull(cache.get("notExist"));
+        assertNull(cache.get("notExist"));
+        assertEquals(getDataCount.get(), 2);
+
+        cache.setNegativeCache(2, 200);
+        assertNull(cache.get("notExist"));
+        assertNull(cache.get("notExist"));
+        assertNull(cache.getAsync("notExist").join());
+        assertEquals(getDataCount.get(), 3);
+        assertEquals(cache.getNegativeCacheSize(), 1);
+        assertEquals(cache.getNegativeHitCount(), 2);
+        assertEquals(cache.getMissCount(), 5);
+
+        // put后删除记录
+        cache.put("notExist", "value");
+        assertEquals(cache.getNegativeCacheSize(), 0);
+        cache.remove("notExist");
+
+        // 超过有效时间后重新获取
+        assertNull(cache.get("notExist1"));
+        SleepUtils.sleep(250);
+        assertNull(cache.get("notExist1"));
+        assertEquals(getDataCount.get(), 5);
+
+        // 记录超过最大个数时删除最早的记录
+        cache.get("notExist2");
+        cache.get("notExist3");
+        assertEquals(cache.getNegativeCacheSize(), 2);
+        cache.clear();
+        assertEquals(cache.getNegativeCacheSize(), 0);
+
+        try {
+            cache.setNegativeCache(10, -1);
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+        }
+        cache.setNegativeCache(0, -1);
+        assertEquals(cache.getNegativeCacheSize(), 0);
+    }
+
+    public void testLoadTimeoutAndRetry() {
+        final AtomicInteger getDataCount = new AtomicInteger();
+        OnGetDataListener<String, String> onGetDataListener = new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                int count = getDataCount.incrementAndGet();
+                if ("slow".equals(key)) {
+                    SleepUtils.sleep(300);
+                } else if ("retry".equals(key) && count < 3) {
+                    throw new IllegalStateException(key);
+                }
+                return new CacheObject<String>(key);
+            }
+        };
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(onGetDataListener);
+        cache.setLoadTimeout(50);
+        assertEquals(cache.getLoadTimeout(), 50);
+        long startTime = System.currentTimeMillis();
+        assertNull(cache.get("slow"));
+        assertTrue(System.currentTimeMillis() - startTime < 250);
+        SleepUtils.sleep(350);
+        assertEquals(cache.get("slow").getData(), "slow");
+
+        // 重试
+        getDataCount.set(0);
+        cache.setLoadTimeout(-1);
+        cache.setRetry(2, 10);
+        assertEquals(cache.getRetryCount(), 2);
+        assertEquals(cache.getRetryInterval(), 10);
+        assertEquals(cache.get("retry").getData(), "retry");
+        assertEquals(getDataCount.get(), 3);
+        try {
+            cache.setRetry(-1, 0);
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    public void testLoadTimeoutHung() {
+        final CountDownLatch hangLatch = new CountDownLatch(1);
+        final AtomicInteger getDataCount = new AtomicInteger();
+        final AtomicInteger interruptedCount = new AtomicInteger();
+        final Map<String, Thread> loadThreadMap = new ConcurrentHashMap<String, Thread>();
+        OnGetDataListener<String, String> onGetDataListener = new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                getDataCount.incrementAndGet();
+                loadThreadMap.put(key, Thread.currentThread());
+                try {
+                    hangLatch.await();
+                } catch (InterruptedException e) {
+                    interruptedCount.incrementAndGet();
+                }
+                return null;
+            }
+        };
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(onGetDataListener);
+        cache.setLoadTimeout(50);
+        cache.setCircuitBreaker(new CircuitBreaker(0.5, 2, 10000));
+
+        // 等待超时时立即记为失败并中断挂起的任务
+        assertNull(cache.get("1"));
+        assertEquals(cache.getStats().getLoadFailureCount(), 1);
+        assertNull(cache.get("1"));
+        assertEquals(cache.getStats().getLoadFailureCount(), 2);
+        assertEquals(cache.getCircuitBreaker().getState(), CircuitBreaker.State.OPEN);
+        SleepUtils.sleep(50);
+        assertEquals(interruptedCount.get(), 2);
+        assertEquals(cache.getLoadingCount(), 0);
+        assertEquals(cache.getStats().getLoadFailureCount(), 2);
+        assertEquals(cache.getStats().getLoadSuccessCount(), 0);
+
+        // 熔断后不再新建任务
+        assertNull(cache.get("1"));
+        assertEquals(getDataCount.get(), 2);
+
+        // 设置了超时时间时，线程池满时不会在调用者线程执行
+        cache.setCircuitBreaker(null);
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        ExecutorService executor = newFullExecutor(new ThreadPoolExecutor.CallerRunsPolicy(), blockLatch);
+        cache.setGetDataExecutor(executor);
+        long startTime = System.currentTimeMillis();
+        assertNull(cache.get("2"));
+        assertNull(cache.getAll(Arrays.asList("3", "4")).get("3"));
+        assertTrue(System.currentTimeMillis() - startTime < 250);
+        assertFalse(loadThreadMap.containsKey("2"));
+        assertFalse(loadThreadMap.containsKey("3"));
+        blockLatch.countDown();
+        executor.shutdown();
+        hangLatch.countDown();
+    }
+
+    public void testCircuitBreaker() {
+        CircuitBreaker breaker = new CircuitBreaker(0.5, 4, 100);
+        assertTrue(breaker.allowRequest());
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onSuccess();
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        breaker.onFailure();
+        assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        assertFalse(breaker.allowRequest());
+        assertEquals(breaker.getRejectedCount(), 1);
+        SleepUtils.sleep(150);
+        assertTrue(breaker.allowRequest());
+        assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN);
+        assertFalse(breaker.allowRequest());
+        breaker.onSuccess();
+        assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        assertEquals(breaker.getFailureRate(), 0.0);
+        try {
+            new CircuitBreaker(0, 4, 100);
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+        }
+
+        final AtomicInteger getDataCount = new AtomicInteger();
+        final AtomicInteger failCount = new AtomicInteger(2);
+        OnGetDataListener<String, String> onGetDataListener = new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                getDataCount.incrementAndGet();
+                if (failCount.getAndDecrement() > 0) {
+                    throw new IllegalStateException(key);
+                }
+                return new CacheObject<String>(key);
+            }
+        };
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(onGetDataListener);
+        cache.setCircuitBreaker(new CircuitBreaker(0.5, 2, 200));
+        assertNull(cache.get("1"));
+        assertNull(cache.get("2"));
+        assertEquals(cache.getCircuitBreaker().getState(), CircuitBreaker.State.OPEN);
+        // 熔断时快速失败
+        assertNull(cache.get("3"));
+        assertEquals(getDataCount.get(), 2);
+        SleepUtils.sleep(250);
+        assertEquals(cache.get("3").getData(), "3");
+        assertEquals(cache.getCircuitBreaker().getState(), CircuitBreaker.State.CLOSED);
+    }
+
+    public void testLoadStats() {
+        OnGetDataListener<String, String> onGetDataListener = new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                if ("error".equals(key)) {
+                    throw new IllegalStateException(key);
+                }
+                SleepUtils.sleep(20);
+                return "null".equals(key) ? null : new CacheObject<String>(key);
+            }
+        };
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(onGetDataListener);
+        assertEquals(cache.get("1").getData(), "1");
+        assertEquals(cache.get("1").getData(), "1");
+        assertNull(cache.get("null"));
+        assertNull(cache.get("error"));
+        cache.getAll(Arrays.asList("1", "2", "3"));
+
+        CacheStats stats = cache.getStats();
+        assertEquals(stats.getHitCount(), 2);
+        assertEquals(stats.getMissCount(), 5);
+        assertEquals(stats.getLoadSuccessCount(), 4);
+        assertEquals(stats.getLoadFailureCount(), 1);
+        assertTrue(stats.getAverageLoadTime() > 0);
+        assertTrue(stats.getLoadTimePercentile(0.5) >= 16 * 1000 * 1000);
+    }
+
+    public void testGetDataAfterDeserialization() throws Exception {
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(new KeyAsDataListener());
+        assertEquals(cache.get("1").getData(), "1");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ObjectOutputStream objectOut = new ObjectOutputStream(out);
+        objectOut.writeObject(cache);
+        objectOut.close();
+        ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()));
+        @SuppressWarnings("unchecked")
+        AutoGetDataCache<String, String> loadCache = (AutoGetDataCache<String, String>)objectIn.readObject();
+        assertEquals(loadCache.get("1").getData(), "1");
+        assertEquals(loadCache.get("2").getData(), "2");
+    }
+
+    public static void testSaveAndLoadData() {
+        // 数据源，用map代替网络数据源
+        final Map<String, String> dataSource = new HashMap<String, String>();
+        List<String> keyList = new ArrayList<String>();
+        for (int i = 0; i < 20; i++) {
+            String temp = Integer.toString(i);
+            dataSource.put(temp, temp);
+            keyList.add(temp);
+        }
+
+        int cacheSize = 30, putSize = 50;
+        // 新建缓存
+        AutoGetDataCache<String, String> cache = null;
+        cache = new AutoGetDataCache<String, String>(new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                CacheObject<String> o = new CacheObject<String>();
+                o.setData(dataSource.get(key));
+                return o;
+            }
+        }, cacheSize, -1, new RemoveTypeEnterTimeFirst<String>());
+        cache.setBackCacheNumber(2);
+        cache.setForwardCacheNumber(4);
+        for (int i = 1; i <= putSize; i++) {
+            CacheObject<String> obj = new CacheObject<String>();
+            obj.setData(Integer.toString(i));
+            obj.setPriority(i);
+            cache.put(Integer.toString(i), obj);
+            SleepUtils.sleep(2);
+        }
+        String saveFile = BASE_DIR + "AutoGetDataCache.obj";
+        AutoGetDataCache.saveCache(saveFile, cache);
+        assertTrue(FileUtils.isFileExist(saveFile));
+        AutoGetDataCache<String, String> outCache = AutoGetDataCache.loadCache(saveFile);
+        assertNotNull(outCache);
+        assertNotNull(outCache.getOnGetDataListener());
+        assertTrue(outCache.getOnGetDataListener() instanceof OnGetDataListener);
+        assertEquals(cache.getSize(), 30);
+        assertEquals(outCache.getMaxSize(), 30);
+        assertTrue(outCache.getCacheFullRemoveType() instanceof RemoveTypeEnterTimeFirst);
+        assertEquals(cache.getSize(), outCache.getSize());
+        for (int i = putSize - cacheSize + 1; i <= putSize; i++) {
+            assertNotNull(cache.get(Integer.toString(i)));
+            assertEquals(cache.get(Integer.toString(i)), outCache.get(Integer.toString(i)));
+        }
+    }
+
+    /**
+     * 以key作为数据的获取数据接口
+     */
+    private static class KeyAsDataListener implements OnGetDataListener<String, String> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public CacheObject<String> onGetData(String key) {
+            return new CacheObject<String>(key);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.trinea.java.common.serviceImpl;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.MBeanServer;
+
+import junit.framework.TestCase;
+
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.entity.CacheStats;
+import com.trinea.java.common.service.CacheStatsMXBean;
+import com.trinea.java.common.service.CacheStatsReporter;
+import com.trinea.java.common.serviceImpl.AutoGetDataCache.OnGetDataListener;
+import com.trinea.java.common.utils.SleepUtils;
+
+/**
+ * CacheMonitor测试
+ * 
+ * @author Trinea 2012-7-18 下午09:02:14
+ */
+public class CacheMonitorTest extends TestCase {
+
+    public void testMBean() throws Exception {
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(2);
+        cache.put("1", "1");
+        cache.put("2", "2");
+        cache.put("3", "3");
+        cache.get("3");
+        cache.get("1");
+
+        CacheMonitor monitor = new CacheMonitor("simple cache", cache);
+        monitor.registerMBean();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(server.getAttribute(monitor.getObjectName(), "Size"), 2);
+            assertEquals(server.getAttribute(monitor.getObjectName(), "HitRate"), 0.5);
+            assertEquals(server.getAttribute(monitor.getObjectName(), "EvictionCount"), 1L);
+            assertEquals(server.getAttribute(monitor.getObjectName(), "LoadingCount"), 0);
+            // 重复注册
+            monitor.registerMBean();
+        } finally {
+            monitor.unregisterMBean();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(monitor.getObjectName()));
+
+        try {
+            new CacheMonitor("", cache);
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    public void testReport() {
+        OnGetDataListener<String, String> onGetDataListener = new OnGetDataListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public CacheObject<String> onGetData(String key) {
+                SleepUtils.sleep(10);
+                return new CacheObject<String>(key);
+            }
+        };
+        AutoGetDataCache<String, String> cache = new AutoGetDataCache<String, String>(onGetDataListener);
+        final List<CacheStats> deltaList = new ArrayList<CacheStats>();
+        CacheStatsReporter reporter = new CacheStatsReporter() {
+
+            @Override
+            public void report(CacheStatsMXBean metrics, CacheStats delta) {
+                assertEquals(metrics.getName(), "auto cache");
+                deltaList.add(delta);
+            }
+        };
+        CacheMonitor monitor = new CacheMonitor("auto cache", cache);
+        monitor.addReporter(reporter);
+
+        cache.get("1");
+        cache.get("1");
+        monitor.report();
+        cache.get("1");
+        monitor.report();
+        assertEquals(deltaList.size(), 2);
+        assertEquals(deltaList.get(0).getHitRate(), 0.5);
+        assertEquals(deltaList.get(0).getLoadSuccessCount(), 1);
+        assertEquals(deltaList.get(1).getHitRate(), 1.0);
+        assertEquals(deltaList.get(1).getLoadCount(), 0);
+        assertEquals(monitor.getHitCount(), 2);
+        assertTrue(monitor.getAverageLoadTime() >= 10);
+        assertTrue(monitor.getLoadTime99thPercentile() >= monitor.getLoadTime50thPercentile());
+
+        assertTrue(monitor.removeReporter(reporter));
+        monitor.report();
+        assertEquals(deltaList.size(), 2);
+    }
+}
@@ -0,0 +1,137 @@
+package com.trinea.java.common.serviceImpl;
+
+import junit.framework.TestCase;
+
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.service.CacheFullRemoveType;
+import com.trinea.java.common.service.CacheRemoveIndex;
+
+/**
+ * 缓存满时删除元素索引的测试
+ * 
+ * @author Trinea 2012-6-21 上午12:05:18
+ */
+public class CacheRemoveIndexTest extends TestCase {
+
+    public void testLinkedRemoveIndex() {
+        CacheRemoveIndex<String, String> index = new RemoveTypeEnterTimeFirst<String>().newRemoveIndex(5);
+        for (int i = 1; i <= 3; i++) {
+            index.onPut(Integer.toString(i), new CacheObject<String>(Integer.toString(i)));
+        }
+        index.onGet("1", null);
+        assertEquals(index.size(), 3);
+        assertEquals(index.poll(), "1");
+        index.onRemove("2");
+        assertEquals(index.poll(), "3");
+        assertNull(index.poll());
+
+        index = new RemoveTypeEnterTimeLast<String>().newRemoveIndex(5);
+        for (int i = 1; i <= 3; i++) {
+            index.onPut(Integer.toString(i), new CacheObject<String>(Integer.toString(i)));
+        }
+        assertEquals(index.poll(), "3");
+
+        index = new RemoveTypeLastUsedTimeFirst<String>().newRemoveIndex(5);
+        for (int i = 1; i <= 3; i++) {
+            index.onPut(Integer.toString(i), new CacheObject<String>(Integer.toString(i)));
+        }
+        index.onGet("1", null);
+        assertEquals(index.poll(), "2");
+        assertEquals(index.poll(), "3");
+        assertEquals(index.poll(), "1");
+
+        index = new RemoveTypeLastUsedTimeLast<String>().newRemoveIndex(5);
+        for (int i = 1; i <= 3; i++) {
+            index.onPut(Integer.toString(i), new CacheObject<String>(Integer.toString(i)));
+        }
+        index.onGet("1", null);
+        assertEquals(index.poll(), "1");
+        index.clear();
+        assertEquals(index.size(), 0);
+        assertNull(index.poll());
+    }
+
+    public void testFrequencyRemoveIndex() {
+        CacheRemoveIndex<String, String> small = new RemoveTypeUsedCountSmall<String>().newRemoveIndex(5);
+        CacheRemoveIndex<String, String> big = new RemoveTypeUsedCountBig<String>().newRemoveIndex(5);
+        for (int i = 1; i <= 4; i++) {
+            CacheObject<String> obj = new CacheObject<String>(Integer.toString(i));
+            small.onPut(Integer.toString(i), obj);
+            big.onPut(Integer.toString(i), obj);
+            for (int j = 0; j < 5 - i; j++) {
+                obj.setUsedCount(obj.getUsedCount() + 1);
+                small.onGet(Integer.toString(i), obj);
+                big.onGet(Integer.toString(i), obj);
+            }
+        }
+        assertEquals(small.poll(), "4");
+        assertEquals(small.poll(), "3");
+        assertEquals(big.poll(), "1");
+        big.onRemove("2");
+        assertEquals(big.poll(), "3");
+        assertEquals(big.size(), 1);
+    }
+
+    public void testSortedRemoveIndex() {
+        CacheFullRemoveType<Integer> removeType = new RemoveTypeDataSmall<Integer>();
+        CacheRemoveIndex<String, Integer> index = new SortedRemoveIndex<String, Integer>(removeType);
+        int[] data = {5, 3, 8, 1, 3};
+        for (int i = 0; i < data.length; i++) {
+            index.onPut(Integer.toString(i), new CacheObject<Integer>(data[i]));
+        }
+        assertEquals(index.poll(), "3");
+        assertEquals(index.poll(), "1");
+        assertEquals(index.poll(), "4");
+        index.onPut("0", new CacheObject<Integer>(10));
+        assertEquals(index.poll(), "2");
+        assertEquals(index.poll(), "0");
+        assertNull(index.poll());
+    }
+
+    public void testFrequencySketch() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("hot");
+        }
+        sketch.increment("cold");
+        assertTrue(sketch.frequency("hot") >= 5);
+        assertTrue(sketch.frequency("hot") > sketch.frequency("cold"));
+        for (int i = 0; i < 100; i++) {
+            sketch.increment("hot");
+        }
+        assertEquals(sketch.frequency("hot"), FrequencySketch.MAX_FREQUENCY);
+
+        // 记录次数达到样本数后计数器减半
+        for (int i = 0; i < 1000; i++) {
+            sketch.increment("other" + i);
+        }
+        assertTrue(sketch.frequency("hot") < FrequencySketch.MAX_FREQUENCY);
+        sketch.clear();
+        assertEquals(sketch.frequency("hot"), 0);
+    }
+
+    public void testTinyLfuRemoveIndex() {
+        CacheRemoveIndex<String, String> index = new RemoveTypeTinyLfu<String>().newRemoveIndex(10);
+        for (int i = 0; i < 10; i++) {
+            index.onPut(Integer.toString(i), null);
+        }
+        for (int i = 0; i < 3; i++) {
+            index.onGet("0", null);
+            index.onGet("9", null);
+        }
+        assertEquals(index.size(), 10);
+
+        // 窗口中的9访问频率高于试用队列头部的1，9进入主区并删除1
+        assertEquals(index.poll(), "1");
+        index.onPut("10", null);
+        // 窗口中的10只访问过一次，不会替换试用队列中的元素
+        assertEquals(index.poll(), "10");
+        index.onPut("11", null);
+        index.onRemove("2");
+        assertEquals(index.size(), 9);
+        assertEquals(index.poll(), "11");
+        index.clear();
+        assertEquals(index.size(), 0);
+        assertNull(index.poll());
+    }
+}
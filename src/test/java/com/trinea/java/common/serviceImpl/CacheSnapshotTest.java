@@ -0,0 +1,201 @@
+package com.trinea.java.common.serviceImpl;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import com.trinea.java.common.FileUtils;
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.service.CacheWeigher;
+import com.trinea.java.common.service.Codec;
+
+/**
+ * CacheSnapshot测试
+ * 
+ * @author Trinea 2012-7-21 下午04:32:10
+ */
+public class CacheSnapshotTest extends TestCase {
+
+    private static final String BASE_DIR = "C:\\Users\\Trinea\\Desktop\\temp\\JavaCommonTest\\CacheSnapshotTest\\";
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        FileUtils.makeFolder(BASE_DIR);
+    }
+
+    public void testSaveAndLoad() {
+        int cacheSize = 30, putSize = 50;
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(cacheSize, -1,
+                                                                            new RemoveTypePriorityLow<String>());
+        for (int i = 1; i <= putSize; i++) {
+            CacheObject<String> obj = new CacheObject<String>();
+            obj.setData(Integer.toString(i));
+            obj.setPriority(i);
+            cache.put(Integer.toString(i), obj);
+        }
+        assertEquals(SimpleCache.saveCache(BASE_DIR + "simplecache.snapshot", cache,
+                                           new SerializableCodec<String>(), new SerializableCodec<String>()),
+                     cacheSize);
+
+        SimpleCache<String, String> outCache = new SimpleCache<String, String>(cacheSize, -1,
+                                                                               new RemoveTypePriorityLow<String>());
+        assertEquals(SimpleCache.loadCache(BASE_DIR + "simplecache.snapshot", outCache,
+                                           new SerializableCodec<String>(), new SerializableCodec<String>()),
+                     cacheSize);
+        for (int i = putSize - cacheSize + 1; i <= putSize; i++) {
+            CacheObject<String> obj = cache.get(Integer.toString(i)), outObj = outCache.get(Integer.toString(i));
+            assertEquals(obj.getData(), outObj.getData());
+            assertEquals(obj.getPriority(), outObj.getPriority());
+            assertEquals(obj.getEnterTime(), outObj.getEnterTime());
+        }
+        // 恢复后按优先级删除
+        outCache.put("0", "0");
+        outCache.put("-1", "-1");
+        assertNull(outCache.get(Integer.toString(putSize - cacheSize + 1)));
+        assertNull(outCache.get("0"));
+        assertNotNull(outCache.get(Integer.toString(putSize - cacheSize + 2)));
+    }
+
+    public void testCompressAndChecksum() throws Exception {
+        char[] chars = new char[100 * 1024];
+        Arrays.fill(chars, 'a');
+        String bigData = new String(chars);
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(100);
+        for (int i = 0; i < 100; i++) {
+            cache.put(Integer.toString(i), i == 50 ? bigData : Integer.toString(i));
+        }
+
+        String filePath = BASE_DIR + "compress.snapshot";
+        CacheSnapshot<String, String> snapshot = new CacheSnapshot<String, String>(new SerializableCodec<String>(),
+                                                                                   new SerializableCodec<String>(),
+                                                                                   true);
+        assertEquals(snapshot.save(filePath, cache), 100);
+        RandomAccessFile file = new RandomAccessFile(filePath, "rw");
+        try {
+            assertTrue(file.length() < chars.length);
+            Map<String, CacheObject<String>> map = snapshot.read(filePath);
+            assertEquals(map.size(), 100);
+            assertEquals(map.get("50").getData(), bigData);
+            assertEquals(map.get("99").getData(), "99");
+
+            // 修改数据部分后校验失败
+            file.seek(file.length() - 1);
+            int b = file.read();
+            file.seek(file.length() - 1);
+            file.write(b ^ 0xff);
+        } finally {
+            file.close();
+        }
+        try {
+            snapshot.read(filePath);
+            assertTrue(false);
+        } catch (RuntimeException e) {
+        }
+
+        // 不压缩时大元素扩大缓冲区
+        snapshot = new CacheSnapshot<String, String>(new SerializableCodec<String>(), new SerializableCodec<String>());
+        assertEquals(snapshot.save(filePath, cache), 100);
+        assertEquals(snapshot.read(filePath).get("50").getData(), bigData);
+
+        // 编码失败时删除临时文件，原文件不变
+        snapshot = new CacheSnapshot<String, String>(new SerializableCodec<String>(), new Codec<String>() {
+
+            @Override
+            public void encode(String value, ByteBuffer buffer) {
+                throw new IllegalStateException(value);
+            }
+
+            @Override
+            public String decode(ByteBuffer buffer) {
+                return null;
+            }
+        });
+        try {
+            snapshot.save(filePath, cache);
+            assertTrue(false);
+        } catch (IllegalStateException e) {
+        }
+        assertFalse(new File(filePath + ".tmp").exists());
+        assertEquals(new CacheSnapshot<String, String>(new SerializableCodec<String>(), new SerializableCodec<String>())
+                             .read(filePath).get("50").getData(), bigData);
+    }
+
+    public void testLoadLazily() {
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(100);
+        for (int i = 0; i < 100; i++) {
+            cache.put(Integer.toString(i), Integer.toString(i));
+        }
+        String filePath = BASE_DIR + "lazy.snapshot";
+        assertEquals(SimpleCache.saveCache(filePath, cache, new SerializableCodec<String>(),
+                                           new SerializableCodec<String>()), 100);
+
+        SimpleCache<String, String> outCache = new SimpleCache<String, String>(100);
+        assertEquals(SimpleCache.loadCacheLazily(filePath, outCache, new SerializableCodec<String>(),
+                                                 new SerializableCodec<String>()), 100);
+        CacheSnapshot.LazyCacheObject<String> obj = (CacheSnapshot.LazyCacheObject<String>)outCache.get("10");
+        assertFalse(obj.isDecoded());
+        assertEquals(obj.getEnterTime(), cache.get("10").getEnterTime());
+        assertEquals(obj.getData(), "10");
+        assertTrue(obj.isDecoded());
+        assertFalse(((CacheSnapshot.LazyCacheObject<String>)outCache.get("20")).isDecoded());
+
+        // java序列化时解码所有元素
+        SimpleCache.saveCache(BASE_DIR + "lazy.obj", outCache);
+        SimpleCache<String, String> objCache = SimpleCache.loadCache(BASE_DIR + "lazy.obj");
+        assertEquals(objCache.get("20").getData(), "20");
+        assertFalse(objCache.get("20") instanceof CacheSnapshot.LazyCacheObject);
+
+        // 压缩的快照直接读取
+        CacheSnapshot<String, String> snapshot = new CacheSnapshot<String, String>(new SerializableCodec<String>(),
+                                                                                   new SerializableCodec<String>(),
+                                                                                   true);
+        snapshot.save(BASE_DIR + "lazy_compress.snapshot", cache);
+        outCache = new SimpleCache<String, String>(100);
+        assertEquals(snapshot.loadLazily(BASE_DIR + "lazy_compress.snapshot", outCache), 100);
+        assertEquals(outCache.get("99").getData(), "99");
+        assertFalse(outCache.get("99") instanceof CacheSnapshot.LazyCacheObject);
+
+        // 按优先级删除并设置了权重时，恢复不解码元素数据，使用快照中保存的权重
+        final AtomicInteger weighCount = new AtomicInteger();
+        CacheWeigher<String, String> weigher = new CacheWeigher<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public int weigh(String key, String value) {
+                weighCount.incrementAndGet();
+                return value.length();
+            }
+        };
+        cache = new SimpleCache<String, String>(100, weigher, 1000, -1, new RemoveTypePriorityLow<String>());
+        for (int i = 0; i < 100; i++) {
+            CacheObject<String> value = new CacheObject<String>(Integer.toString(i));
+            value.setPriority(i);
+            cache.put(Integer.toString(i), value);
+        }
+        SimpleCache.saveCache(filePath, cache, new SerializableCodec<String>(), new SerializableCodec<String>());
+        weighCount.set(0);
+        outCache = new SimpleCache<String, String>(100, weigher, 1000, -1, new RemoveTypePriorityLow<String>());
+        assertEquals(SimpleCache.loadCacheLazily(filePath, outCache, new SerializableCodec<String>(),
+                                                 new SerializableCodec<String>()), 100);
+        assertEquals(weighCount.get(), 0);
+        assertEquals(outCache.getTotalWeight(), cache.getTotalWeight());
+        for (CacheObject<String> value : outCache.values()) {
+            assertFalse(((CacheSnapshot.LazyCacheObject<String>)value).isDecoded());
+        }
+        outCache.put("100", "100");
+        assertNull(outCache.get("0"));
+        assertFalse(((CacheSnapshot.LazyCacheObject<String>)outCache.get("1")).isDecoded());
+
+        // 按数据删除时直接解码
+        outCache = new SimpleCache<String, String>(100, new RemoveTypeDataSmall<String>());
+        assertEquals(SimpleCache.loadCacheLazily(filePath, outCache, new SerializableCodec<String>(),
+                                                 new SerializableCodec<String>()), 100);
+        assertFalse(outCache.get("50") instanceof CacheSnapshot.LazyCacheObject);
+    }
+}
@@ -0,0 +1,84 @@
+package com.trinea.java.common.serviceImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import com.trinea.java.common.FileUtils;
+import com.trinea.java.common.SerializeUtils;
+
+/**
+ * 内置Codec及SerializeUtils编解码测试
+ * 
+ * @author Trinea 2012-7-25 下午09:30:18
+ */
+public class CodecTest extends TestCase {
+
+    private static final String BASE_DIR = "C:\\Users\\Trinea\\Desktop\\temp\\JavaCommonTest\\CodecTest\\";
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        FileUtils.makeFolder(BASE_DIR);
+    }
+
+    public void testEncodeAndDecode() {
+        Map<String, List<Long>> inMap = new LinkedHashMap<String, List<Long>>();
+        for (int i = 0; i < 1000; i++) {
+            List<Long> list = new ArrayList<Long>();
+            list.add((long)i);
+            list.add(i % 10 == 0 ? null : Long.MAX_VALUE - i);
+            inMap.put("用户" + i, list);
+        }
+        inMap.put(null, null);
+        MapCodec<String, List<Long>> codec = new MapCodec<String, List<Long>>(new StringCodec(),
+                                                                              new ListCodec<Long>(new LongCodec()));
+        // 大于初始缓冲区
+        byte[] bytes = SerializeUtils.encode(inMap, codec);
+        assertTrue(bytes.length > 4 * 1024);
+        assertEquals(SerializeUtils.decode(bytes, codec), inMap);
+        assertNull(SerializeUtils.decode(SerializeUtils.encode(null, codec), codec));
+
+        String mapFile = BASE_DIR + "map.codec";
+        SerializeUtils.serialization(mapFile, inMap, codec);
+        assertEquals(SerializeUtils.deserialization(mapFile, codec), inMap);
+    }
+
+    public void testStream() {
+        // 同一个流中写入多个对象
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SerializeUtils.encode(12, new IntegerCodec(), out);
+        SerializeUtils.encode(1.5, new DoubleCodec(), out);
+        SerializeUtils.encode(new byte[] {1, 2, 3}, new ByteArrayCodec(), out);
+        SerializeUtils.encode(null, new IntegerCodec(), out);
+        SerializeUtils.encode("", new StringCodec(), out);
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertEquals(SerializeUtils.decode(in, new IntegerCodec()), Integer.valueOf(12));
+        assertEquals(SerializeUtils.decode(in, new DoubleCodec()), Double.valueOf(1.5));
+        assertTrue(Arrays.equals(SerializeUtils.decode(in, new ByteArrayCodec()), new byte[] {1, 2, 3}));
+        assertNull(SerializeUtils.decode(in, new IntegerCodec()));
+        assertEquals(SerializeUtils.decode(in, new StringCodec()), "");
+        try {
+            SerializeUtils.decode(in, new IntegerCodec());
+            assertTrue(false);
+        } catch (RuntimeException e) {
+        }
+    }
+
+    public void testCacheSnapshot() {
+        SimpleCache<Long, String> cache = new SimpleCache<Long, String>(100);
+        for (long i = 0; i < 100; i++) {
+            cache.put(i, "data" + i);
+        }
+        String filePath = BASE_DIR + "codec.snapshot";
+        assertEquals(SimpleCache.saveCache(filePath, cache, new LongCodec(), new StringCodec()), 100);
+        SimpleCache<Long, String> outCache = new SimpleCache<Long, String>(100);
+        assertEquals(SimpleCache.loadCacheLazily(filePath, outCache, new LongCodec(), new StringCodec()), 100);
+        assertEquals(outCache.get(99L).getData(), "data99");
+    }
+}
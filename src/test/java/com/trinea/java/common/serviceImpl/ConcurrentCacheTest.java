@@ -0,0 +1,118 @@
+package com.trinea.java.common.serviceImpl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import com.trinea.java.common.entity.CacheObject;
+
+/**
+ * 分段并发缓存测试
+ * 
+ * @author Trinea 2012-6-24 下午04:02:13
+ */
+public class ConcurrentCacheTest extends TestCase {
+
+    public void testConcurrentCache() {
+        ConcurrentCache<String, String> cache = new ConcurrentCache<String, String>(5, -1,
+                                                                                    new RemoveTypeEnterTimeFirst<String>(),
+                                                                                    16);
+        assertEquals(cache.getSegmentCount(), 4);
+        assertEquals(cache.getMaxSize(), 5);
+        try {
+            new ConcurrentCache<String, String>(0);
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+            assertTrue(true);
+        }
+        assertEquals(new ConcurrentCache<String, String>().getSegmentCount(), ConcurrentCache.DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public void testPutAndGet() {
+        int maxSize = 100;
+        ConcurrentCache<String, String> cache = new ConcurrentCache<String, String>(maxSize);
+        for (int i = 0; i < maxSize * 3; i++) {
+            cache.put(Integer.toString(i), Integer.toString(i));
+        }
+        assertTrue(cache.getSize() <= maxSize);
+        assertTrue(cache.getSize() > 0);
+        assertEquals(cache.keySet().size(), cache.getSize());
+        assertEquals(cache.values().size(), cache.getSize());
+        assertEquals(cache.entrySet().size(), cache.getSize());
+
+        String key = cache.keySet().iterator().next();
+        assertTrue(cache.containsKey(key));
+        assertEquals(cache.get(key).getData(), key);
+        assertNull(cache.get("notExist"));
+        assertEquals(cache.getHitCount(), 1);
+        assertEquals(cache.getMissCount(), 1);
+        assertEquals(cache.getHitRate(), 0.5);
+
+        assertNotNull(cache.remove(key));
+        assertFalse(cache.containsKey(key));
+        cache.clear();
+        assertEquals(cache.getSize(), 0);
+    }
+
+    public void testBulkOperation() {
+        ConcurrentCache<String, String> cache = new ConcurrentCache<String, String>(100);
+        Map<String, String> map = new HashMap<String, String>();
+        List<String> keyList = new ArrayList<String>();
+        for (int i = 0; i < 50; i++) {
+            map.put(Integer.toString(i), Integer.toString(i));
+            keyList.add(Integer.toString(i));
+        }
+        cache.putAll(map);
+        assertEquals(cache.getSize(), 50);
+
+        keyList.add("notExist");
+        Map<String, CacheObject<String>> result = cache.getAll(keyList);
+        assertEquals(result.size(), 50);
+        assertEquals(result.get("10").getData(), "10");
+        assertEquals(cache.getHitCount(), 50);
+        assertEquals(cache.getMissCount(), 1);
+
+        assertEquals(cache.removeAll(keyList.subList(0, 20)), 20);
+        assertEquals(cache.getSize(), 30);
+        assertFalse(cache.containsKey("0"));
+        assertTrue(cache.containsKey("20"));
+    }
+
+    public void testMultiThread() throws InterruptedException {
+        final int maxSize = 1000, threadCount = 8, opCount = 20000;
+        final ConcurrentCache<Integer, Integer> cache = new ConcurrentCache<Integer, Integer>(
+                                                                                              maxSize,
+                                                                                              new RemoveTypeLastUsedTimeFirst<Integer>());
+        final AtomicInteger errorCount = new AtomicInteger(0);
+        List<Thread> threadList = new ArrayList<Thread>();
+        for (int i = 0; i < threadCount; i++) {
+            final int seed = i;
+            Thread thread = new Thread() {
+
+                public void run() {
+                    for (int j = 0; j < opCount; j++) {
+                        int key = (j * 31 + seed) % (maxSize * 2);
+                        CacheObject<Integer> value = cache.get(key);
+                        if (value == null) {
+                            cache.put(key, key);
+                        } else if (value.getData() != key) {
+                            errorCount.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            threadList.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threadList) {
+            thread.join();
+        }
+        assertEquals(errorCount.get(), 0);
+        assertTrue(cache.getSize() <= maxSize);
+        assertEquals(cache.getHitCount() + cache.getMissCount(), threadCount * opCount);
+    }
+}
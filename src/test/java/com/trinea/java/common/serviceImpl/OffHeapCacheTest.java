@@ -0,0 +1,246 @@
+package com.trinea.java.common.serviceImpl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.entity.RemovalCause;
+import com.trinea.java.common.utils.SleepUtils;
+
+/**
+ * 堆外缓存的测试
+ * 
+ * @author Trinea 2012-7-7 下午05:12:33
+ */
+public class OffHeapCacheTest extends TestCase {
+
+    public void testOffHeapCache() {
+        try {
+            new OffHeapCache<String, String>(10, 1024, null);
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            new OffHeapCache<String, Integer>(10, 1024, new SerializableCodec<Integer>(), -1,
+                                              new SimpleCacheTest.ScanRemoveTypeDataBig<Integer>());
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            new OffHeapCache<String, Integer>(10, 1024, new SerializableCodec<Integer>(), -1,
+                                              new RemoveTypeDataBig<Integer>());
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+        }
+        OffHeapCache<String, String> cache = new OffHeapCache<String, String>(10, 1024,
+                                                                              new SerializableCodec<String>());
+        assertEquals(cache.getMaxSize(), 10);
+        assertEquals(cache.getValidTime(), -1);
+        assertEquals(cache.getCapacity(), 1024);
+    }
+
+    public void testPutAndGet() {
+        OffHeapCache<String, Map<String, Integer>> cache = new OffHeapCache<String, Map<String, Integer>>(
+                                                                                                          10,
+                                                                                                          64 * 1024,
+                                                                                                          new SerializableCodec<Map<String, Integer>>());
+        Map<String, Integer> value = new HashMap<String, Integer>();
+        value.put("a", 1);
+        value.put("b", 2);
+        CacheObject<Map<String, Integer>> obj = new CacheObject<Map<String, Integer>>(value);
+        obj.setPriority(3);
+        cache.put("1", obj);
+        cache.put("2", (Map<String, Integer>)null);
+
+        CacheObject<Map<String, Integer>> result = cache.get("1");
+        assertEquals(result.getData(), value);
+        assertNotSame(result.getData(), value);
+        assertEquals(result.getPriority(), 3);
+        assertEquals(result.getUsedCount(), 1);
+        assertEquals(cache.get("1").getUsedCount(), 2);
+        assertNull(cache.get("2").getData());
+        assertNull(cache.get("3"));
+        assertEquals(cache.getHitCount(), 3);
+        assertEquals(cache.getMissCount(), 1);
+        assertEquals(cache.getHitRate(), 0.75);
+
+        assertTrue(cache.containsKey("1"));
+        assertEquals(cache.getSize(), 2);
+        assertEquals(cache.keySet().size(), 2);
+        assertEquals(cache.values().size(), 2);
+        assertTrue(cache.getUsedBytes() > 0);
+        assertEquals(cache.remove("1").getData(), value);
+        assertFalse(cache.containsKey("1"));
+        cache.clear();
+        assertEquals(cache.getSize(), 0);
+        assertEquals(cache.getUsedBytes(), 0);
+    }
+
+    public void testRemoveWhenFull() {
+        OffHeapCache<Integer, String> cache = new OffHeapCache<Integer, String>(3, 64 * 1024,
+                                                                                new SerializableCodec<String>());
+        for (int i = 0; i < 5; i++) {
+            cache.put(i, "value" + i);
+        }
+        assertEquals(cache.getSize(), 3);
+        assertFalse(cache.containsKey(1));
+        assertTrue(cache.containsKey(4));
+
+        // 堆外内存不足时删除元素
+        cache = new OffHeapCache<Integer, String>(100, 1024, 256, new SerializableCodec<String>(), -1,
+                                                  new RemoveTypeEnterTimeFirst<String>());
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            data.append('a');
+        }
+        for (int i = 0; i < 20; i++) {
+            assertNotNull(cache.put(i, data.toString()));
+        }
+        assertTrue(cache.getSize() < 20);
+        assertTrue(cache.getUsedBytes() <= cache.getCapacity());
+        assertTrue(cache.containsKey(19));
+        assertFalse(cache.containsKey(0));
+        for (int i = 0; i < 10; i++) {
+            data.append(data);
+        }
+        assertNull(cache.put(100, data.toString()));
+
+        cache = new OffHeapCache<Integer, String>(2, 1024, new SerializableCodec<String>(), -1,
+                                                  new RemoveTypeNotRemove<String>());
+        cache.put(1, "1");
+        cache.put(2, "2");
+        assertNull(cache.put(3, "3"));
+        assertNotNull(cache.put(2, "22"));
+        assertEquals(cache.get(2).getData(), "22");
+
+        // 按优先级删除
+        cache = new OffHeapCache<Integer, String>(3, 1024, new SerializableCodec<String>(), -1,
+                                                  new RemoveTypePriorityLow<String>());
+        int[] priorities = {3, 1, 2, 5};
+        for (int i = 0; i < priorities.length; i++) {
+            CacheObject<String> obj = new CacheObject<String>(Integer.toString(i));
+            obj.setPriority(priorities[i]);
+            cache.put(i, obj);
+        }
+        assertEquals(cache.getSize(), 3);
+        assertFalse(cache.containsKey(1));
+        assertEquals(cache.get(3).getData(), "3");
+    }
+
+    public void testBulkOperation() {
+        OffHeapCache<Integer, String> cache = new OffHeapCache<Integer, String>(10, 64 * 1024,
+                                                                                new SerializableCodec<String>());
+        Map<Integer, String> map = new HashMap<Integer, String>();
+        for (int i = 0; i < 5; i++) {
+            map.put(i, "value" + i);
+        }
+        cache.putAll(map);
+        assertEquals(cache.getSize(), 5);
+
+        Map<Integer, CacheObject<String>> result = cache.getAll(Arrays.asList(1, 3, 10));
+        assertEquals(result.size(), 2);
+        assertEquals(result.get(3).getData(), "value3");
+        assertEquals(cache.getHitCount(), 2);
+        assertEquals(cache.getMissCount(), 1);
+
+        assertEquals(cache.removeAll(Arrays.asList(0, 1, 10)), 2);
+        assertEquals(cache.getSize(), 3);
+    }
+
+    public void testExpire() {
+        OffHeapCache<String, String> cache = new OffHeapCache<String, String>(10, 64 * 1024,
+                                                                              new SerializableCodec<String>(), 100,
+                                                                              new RemoveTypeEnterTimeFirst<String>());
+        cache.put("1", "value");
+        CacheObject<String> obj = new CacheObject<String>("value");
+        obj.setExpireAfterWrite(1000);
+        cache.put("2", obj);
+        SleepUtils.sleep(150);
+        assertNull(cache.get("1"));
+        assertEquals(cache.getSize(), 1);
+        assertEquals(cache.get("2").getData(), "value");
+    }
+
+    public void testSlabAllocator() {
+        SlabAllocator allocator = new SlabAllocator(1000, 500);
+        assertEquals(allocator.getSlabSize(), 512);
+        assertEquals(allocator.getCapacity(), 1024);
+        assertEquals(allocator.getAllocatedBytes(), 0);
+
+        long first = allocator.allocate(100);
+        long second = allocator.allocate(300);
+        assertTrue(first >= 0 && second >= 0);
+        assertEquals(allocator.getUsedBytes(), 128 + 512);
+        assertEquals(allocator.getAllocatedBytes(), 1024);
+        assertEquals(allocator.allocate(600), -1);
+
+        allocator.buffer(first, 100).putInt(12345);
+        assertEquals(allocator.buffer(first, 100).getInt(), 12345);
+        allocator.free(first, 100);
+        assertEquals(allocator.allocate(65), first);
+
+        // 拆分空闲块
+        allocator.free(second, 300);
+        long third = allocator.allocate(64);
+        assertTrue(third >= 0);
+        assertTrue(allocator.allocate(256) >= 0);
+        allocator.clear();
+        assertEquals(allocator.getUsedBytes(), 0);
+        assertEquals(allocator.allocate(512), first & 0xffffffff00000000L);
+    }
+
+    public void testFragmentation() {
+        OffHeapCache<String, String> cache = new OffHeapCache<String, String>(2048, 64 * 1024,
+                                                                              new SerializableCodec<String>());
+        for (int i = 0; i < 1024; i++) {
+            assertNotNull(cache.put(Integer.toString(i), "v" + i));
+        }
+        assertEquals(cache.getSize(), 1024);
+        assertEquals(cache.getUsedBytes(), 64 * 1024);
+
+        // 小块合并后可以分配大块，只删除腾出空间所需的元素
+        char[] chars = new char[1900];
+        Arrays.fill(chars, 'a');
+        assertNotNull(cache.put("big", new String(chars)));
+        assertEquals(cache.get("big").getData(), new String(chars));
+        assertTrue(cache.getSize() > 1024 - 64);
+        assertEquals(cache.get("1023").getData(), "v1023");
+
+        // 超过slab大小的元素不会删除已有元素
+        int size = cache.getSize();
+        chars = new char[64 * 1024];
+        assertNull(cache.put("huge", new String(chars)));
+        assertEquals(cache.getSize(), size);
+
+        // 清空后可以分配整个slab
+        cache.clear();
+        chars = new char[60 * 1024];
+        Arrays.fill(chars, 'a');
+        assertNotNull(cache.put("large", new String(chars)));
+    }
+
+    public void testReplace() {
+        OffHeapCache<String, String> cache = new OffHeapCache<String, String>(2, 1024, 1024,
+                                                                              new SerializableCodec<String>(), -1,
+                                                                              new RemoveTypeNotRemove<String>());
+        char[] chars = new char[400];
+        Arrays.fill(chars, 'a');
+        assertNotNull(cache.put("1", "v1"));
+        assertNotNull(cache.put("2", new String(chars)));
+
+        // 堆外内存不足，旧元素保留
+        chars = new char[600];
+        assertNull(cache.put("1", new String(chars)));
+        assertEquals(cache.get("1").getData(), "v1");
+        assertEquals(cache.getStats().getRemovalCount(RemovalCause.REPLACED), 0);
+
+        // 元素个数已满时仍可以替换
+        assertNotNull(cache.put("1", "v11"));
+        assertEquals(cache.get("1").getData(), "v11");
+        assertEquals(cache.getSize(), 2);
+        assertEquals(cache.getStats().getRemovalCount(RemovalCause.REPLACED), 1);
+    }
+}
@@ -0,0 +1,300 @@
+package com.trinea.java.common.serviceImpl;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import com.trinea.java.common.FileUtils;
+import com.trinea.java.common.entity.CacheObject;
+
+/**
+ * PersistentCache测试
+ * 
+ * @author Trinea 2012-7-22 下午05:20:36
+ */
+public class PersistentCacheTest extends TestCase {
+
+    /** 需要删除并重建目录，使用临时目录 **/
+    private static final String BASE_DIR = System.getProperty("java.io.tmpdir") + File.separator
+                                           + "PersistentCacheTest" + File.separator;
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        FileUtils.deleteFile(BASE_DIR);
+        FileUtils.makeFolder(BASE_DIR);
+    }
+
+    private static PersistentCache<String, String> newCache(String filePath, long syncInterval, long compactSize) {
+        return new PersistentCache<String, String>(100, -1, new RemoveTypeEnterTimeFirst<String>(), filePath,
+                                                   new CacheSnapshot<String, String>(new SerializableCodec<String>(),
+                                                                                     new SerializableCodec<String>()),
+                                                   syncInterval, compactSize);
+    }
+
+    public void testRecover() throws Exception {
+        String filePath = BASE_DIR + "recover.snapshot";
+        PersistentCache<String, String> cache = newCache(filePath, 0, PersistentCache.DEFAULT_COMPACT_SIZE);
+        cache.put("1", "1");
+        cache.put("2", "2");
+        cache.put("3", "3");
+        cache.put("2", "22");
+        cache.remove("1");
+        long enterTime = cache.get("3").getEnterTime();
+        cache.close();
+
+        cache = newCache(filePath, 0, PersistentCache.DEFAULT_COMPACT_SIZE);
+        assertEquals(cache.getSize(), 2);
+        assertNull(cache.get("1"));
+        assertEquals(cache.get("2").getData(), "22");
+        assertEquals(cache.get("3").getEnterTime(), enterTime);
+        cache.clear();
+        cache.put("4", "4");
+        cache.removeAll(Arrays.asList("3", "4"));
+        cache.put("5", "5");
+        cache.close();
+
+        cache = newCache(filePath, 0, PersistentCache.DEFAULT_COMPACT_SIZE);
+        assertEquals(cache.keySet().size(), 1);
+        assertEquals(cache.get("5").getData(), "5");
+
+        // 最后一条记录不完整
+        cache.put("6", "6");
+        cache.close();
+        RandomAccessFile file = new RandomAccessFile(filePath + ".log", "rw");
+        try {
+            file.setLength(file.length() - 1);
+        } finally {
+            file.close();
+        }
+        cache = newCache(filePath, PersistentCache.DEFAULT_SYNC_INTERVAL, PersistentCache.DEFAULT_COMPACT_SIZE);
+        assertNull(cache.get("6"));
+        cache.put("7", "7");
+        cache.close();
+        cache = newCache(filePath, 0, PersistentCache.DEFAULT_COMPACT_SIZE);
+        assertNotNull(cache.get("5"));
+        assertNotNull(cache.get("7"));
+        cache.close();
+    }
+
+    public void testCompact() throws Exception {
+        String filePath = BASE_DIR + "compact.snapshot";
+        PersistentCache<String, String> cache = newCache(filePath, 0, 1024);
+        for (int i = 0; i < 200; i++) {
+            cache.put(Integer.toString(i % 20), Integer.toString(i));
+        }
+        cache.remove("0");
+        assertEquals(cache.compact(), 19);
+        assertTrue(new File(filePath).exists());
+        assertFalse(cache.getLog().hasOldLog());
+        assertTrue(cache.getLog().getSize() < 1024);
+        cache.put("20", "20");
+        cache.close();
+
+        cache = newCache(filePath, 0, 1024);
+        assertEquals(cache.keySet().size(), 20);
+        assertNull(cache.get("0"));
+        assertEquals(cache.get("19").getData(), "199");
+        assertEquals(cache.get("20").getData(), "20");
+        cache.close();
+    }
+
+    public void testGroupCommit() throws Exception {
+        String filePath = BASE_DIR + "group.snapshot";
+        final PersistentCache<String, String> cache = newCache(filePath, 0, PersistentCache.DEFAULT_COMPACT_SIZE);
+        List<Thread> threadList = new ArrayList<Thread>();
+        for (int i = 0; i < 4; i++) {
+            final int threadIndex = i;
+            Thread thread = new Thread() {
+
+                public void run() {
+                    for (int j = 0; j < 25; j++) {
+                        String key = threadIndex + "_" + j;
+                        cache.put(key, key);
+                        // 返回前已经同步
+                        assertTrue(cache.getLog().getSyncedCount() > 0);
+                    }
+                }
+            };
+            threadList.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threadList) {
+            thread.join();
+        }
+        assertEquals(cache.getLog().getSyncedCount(), 100);
+        cache.close();
+
+        PersistentCache<String, String> outCache = newCache(filePath, 0, PersistentCache.DEFAULT_COMPACT_SIZE);
+        assertEquals(outCache.keySet().size(), 100);
+        CacheObject<String> obj = outCache.get("3_24");
+        assertEquals(obj.getData(), "3_24");
+        outCache.close();
+    }
+
+    public void testSyncFailure() throws Exception {
+        String filePath = BASE_DIR + "failure.log";
+        CacheSnapshot<String, String> snapshot = new CacheSnapshot<String, String>(new SerializableCodec<String>(),
+                                                                                   new SerializableCodec<String>());
+        CacheLog<String, String> log = new CacheLog<String, String>(filePath, snapshot);
+        log.open(new LinkedHashMap<String, CacheObject<String>>());
+        log.appendPut("1", new CacheObject<String>("1"));
+        log.sync();
+        long length = new File(filePath).length();
+
+        // 同步时线程被中断，重新打开文件，日志不失败
+        long sequence = log.appendPut("2", new CacheObject<String>("2"));
+        Thread.currentThread().interrupt();
+        try {
+            log.sync(sequence);
+            assertTrue(false);
+        } catch (RuntimeException e) {
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+        assertFalse(log.isFailed());
+        assertEquals(log.getSyncedCount(), 1);
+        assertTrue(log.getPendingSize() > 0);
+        assertEquals(new File(filePath).length(), length);
+        log.sync(sequence);
+        assertEquals(log.getSyncedCount(), 2);
+        log.close();
+
+        Map<String, CacheObject<String>> map = new LinkedHashMap<String, CacheObject<String>>();
+        log = new CacheLog<String, String>(filePath, snapshot);
+        log.open(map);
+        assertEquals(map.size(), 2);
+        assertEquals(map.get("2").getData(), "2");
+
+        // 文件被删除后无法重新打开，日志失败
+        assertTrue(new File(filePath).delete());
+        sequence = log.appendPut("3", new CacheObject<String>("3"));
+        Thread.currentThread().interrupt();
+        try {
+            log.sync(sequence);
+            assertTrue(false);
+        } catch (RuntimeException e) {
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(log.isFailed());
+        assertTrue(log.getPendingSize() > 0);
+
+        // 失败后同步和追加都抛出异常，不会当作已同步
+        try {
+            log.sync(sequence);
+            assertTrue(false);
+        } catch (IllegalStateException e) {
+        }
+        try {
+            log.appendRemove("1");
+            assertTrue(false);
+        } catch (IllegalStateException e) {
+        }
+        try {
+            log.close();
+            assertTrue(false);
+        } catch (IllegalStateException e) {
+        }
+        assertEquals(log.getSyncedCount(), 0);
+    }
+
+    public void testTornLength() throws Exception {
+        String filePath = BASE_DIR + "torn.log";
+        CacheSnapshot<String, String> snapshot = new CacheSnapshot<String, String>(new SerializableCodec<String>(),
+                                                                                   new SerializableCodec<String>());
+        CacheLog<String, String> log = new CacheLog<String, String>(filePath, snapshot);
+        log.open(new LinkedHashMap<String, CacheObject<String>>());
+        log.appendPut("1", new CacheObject<String>("1"));
+        log.close();
+        long length = new File(filePath).length();
+
+        // 最后一条记录的长度为任意值时截断，不按该长度分配缓冲区
+        for (int tornLength : new int[] {1 << 30, Integer.MAX_VALUE - 4, Integer.MAX_VALUE}) {
+            RandomAccessFile file = new RandomAccessFile(filePath, "rw");
+            try {
+                file.seek(length);
+                file.writeInt(tornLength);
+                file.writeInt(0);
+                file.write(new byte[16]);
+            } finally {
+                file.close();
+            }
+
+            Map<String, CacheObject<String>> map = new LinkedHashMap<String, CacheObject<String>>();
+            log = new CacheLog<String, String>(filePath, snapshot);
+            log.open(map);
+            assertEquals(map.size(), 1);
+            assertEquals(new File(filePath).length(), length);
+            log.close();
+        }
+    }
+
+    public void testFailedLog() throws Exception {
+        String filePath = BASE_DIR + "failed.snapshot";
+        PersistentCache<String, String> cache = newCache(filePath, 0, PersistentCache.DEFAULT_COMPACT_SIZE);
+        cache.put("a", "a");
+
+        // 同步时线程被中断，之后的修改仍然记录到日志
+        Thread.currentThread().interrupt();
+        try {
+            cache.put("b", "b");
+            assertTrue(false);
+        } catch (RuntimeException e) {
+        } finally {
+            Thread.interrupted();
+        }
+        assertFalse(cache.getLog().isFailed());
+        cache.put("c", "c");
+        cache.close();
+
+        cache = newCache(filePath, 0, PersistentCache.DEFAULT_COMPACT_SIZE);
+        assertEquals(cache.getSize(), 3);
+        assertEquals(cache.get("b").getData(), "b");
+
+        // 日志失败后，修改在改变缓存前抛出异常
+        assertTrue(new File(filePath + ".log").delete());
+        Thread.currentThread().interrupt();
+        try {
+            cache.put("d", "d");
+            assertTrue(false);
+        } catch (RuntimeException e) {
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(cache.getLog().isFailed());
+        try {
+            cache.put("e", "e");
+            assertTrue(false);
+        } catch (IllegalStateException e) {
+        }
+        assertFalse(cache.containsKey("e"));
+        try {
+            cache.remove("a");
+            assertTrue(false);
+        } catch (IllegalStateException e) {
+        }
+        try {
+            cache.removeAll(Arrays.asList("a", "b"));
+            assertTrue(false);
+        } catch (IllegalStateException e) {
+        }
+        try {
+            cache.clear();
+            assertTrue(false);
+        } catch (IllegalStateException e) {
+        }
+        assertTrue(cache.containsKey("a"));
+        assertEquals(cache.getSize(), 4);
+        try {
+            cache.close();
+            assertTrue(false);
+        } catch (IllegalStateException e) {
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.trinea.java.common.serviceImpl;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import junit.framework.TestCase;
+
+import com.trinea.java.common.FileUtils;
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.service.Codec;
+
+/**
+ * SegmentedCacheSnapshot测试
+ * 
+ * @author Trinea 2012-7-24 下午11:05:52
+ */
+public class SegmentedCacheSnapshotTest extends TestCase {
+
+    /** 需要列出目录中的段文件，使用临时目录 **/
+    private static final String BASE_DIR = System.getProperty("java.io.tmpdir") + File.separator
+                                           + "SegmentedCacheSnapshotTest" + File.separator;
+
+    private ForkJoinPool        pool;
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        FileUtils.deleteFile(BASE_DIR);
+        FileUtils.makeFolder(BASE_DIR);
+        pool = new ForkJoinPool(4);
+    }
+
+    protected void tearDown() throws Exception {
+        pool.shutdown();
+        super.tearDown();
+    }
+
+    private SegmentedCacheSnapshot<String, String> newSnapshot(int segmentCount) {
+        return new SegmentedCacheSnapshot<String, String>(
+                                                          new CacheSnapshot<String, String>(
+                                                                                            new SerializableCodec<String>(),
+                                                                                            new SerializableCodec<String>()),
+                                                          segmentCount, pool);
+    }
+
+    public void testSaveAndLoad() {
+        ConcurrentCache<String, String> cache = new ConcurrentCache<String, String>(1000);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(Integer.toString(i), Integer.toString(i));
+        }
+        String filePath = BASE_DIR + "segmented.snapshot";
+        SegmentedCacheSnapshot<String, String> snapshot = newSnapshot(5);
+        assertEquals(snapshot.save(filePath, cache), cache.getSize());
+
+        ConcurrentCache<String, String> outCache = new ConcurrentCache<String, String>(1000);
+        assertEquals(snapshot.load(filePath, outCache), cache.getSize());
+        for (String key : cache.keySet()) {
+            assertEquals(outCache.get(key).getData(), cache.get(key).getData());
+            assertEquals(outCache.get(key).getEnterTime(), cache.get(key).getEnterTime());
+        }
+
+        // 读取时以清单中的段数为准
+        SimpleCache<String, String> simpleCache = new SimpleCache<String, String>(2000);
+        assertEquals(newSnapshot(2).load(filePath, simpleCache), cache.getSize());
+
+        // 重新保存后删除上一代的段
+        File[] oldFiles = new File(BASE_DIR).listFiles();
+        assertEquals(oldFiles.length, 6);
+        snapshot = newSnapshot(3);
+        assertEquals(snapshot.save(filePath, simpleCache), cache.getSize());
+        for (File file : oldFiles) {
+            assertEquals(file.exists(), file.getName().equals("segmented.snapshot"));
+        }
+        assertEquals(new File(BASE_DIR).listFiles().length, 4);
+        Map<String, CacheObject<String>> map = snapshot.read(filePath);
+        assertEquals(map.size(), cache.getSize());
+        assertEquals(map.get("999").getData(), "999");
+    }
+
+    public void testSaveFailure() {
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(100);
+        for (int i = 0; i < 100; i++) {
+            cache.put(Integer.toString(i), Integer.toString(i));
+        }
+        String filePath = BASE_DIR + "failure.snapshot";
+        assertEquals(newSnapshot(4).save(filePath, cache), 100);
+        File[] oldFiles = new File(BASE_DIR).listFiles();
+        assertEquals(oldFiles.length, 5);
+
+        // 一段编码失败时删除这一代已保存的段，原快照不变
+        final Codec<String> codec = new SerializableCodec<String>();
+        Codec<String> failureCodec = new Codec<String>() {
+
+            @Override
+            public void encode(String value, ByteBuffer buffer) {
+                if ("50".equals(value)) {
+                    throw new IllegalStateException(value);
+                }
+                codec.encode(value, buffer);
+            }
+
+            @Override
+            public String decode(ByteBuffer buffer) {
+                return codec.decode(buffer);
+            }
+        };
+        CacheSnapshot<String, String> failureSnapshot = new CacheSnapshot<String, String>(codec, failureCodec);
+        SegmentedCacheSnapshot<String, String> snapshot = new SegmentedCacheSnapshot<String, String>(failureSnapshot, 4,
+                                                                                                     pool);
+        try {
+            snapshot.save(filePath, cache);
+            assertTrue(false);
+        } catch (IllegalStateException e) {
+        }
+        assertEquals(new File(BASE_DIR).listFiles().length, 5);
+        for (File file : oldFiles) {
+            assertTrue(file.exists());
+        }
+        assertEquals(newSnapshot(4).read(filePath).size(), 100);
+    }
+
+    public void testCorrupted() throws Exception {
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(100);
+        for (int i = 0; i < 100; i++) {
+            cache.put(Integer.toString(i), Integer.toString(i));
+        }
+        String filePath = BASE_DIR + "corrupted.snapshot";
+        SegmentedCacheSnapshot<String, String> snapshot = newSnapshot(4);
+        snapshot.save(filePath, cache);
+
+        RandomAccessFile file = new RandomAccessFile(filePath, "rw");
+        try {
+            file.seek(16);
+            int b = file.read();
+            file.seek(16);
+            file.write(b ^ 0xff);
+        } finally {
+            file.close();
+        }
+        try {
+            snapshot.read(filePath);
+            assertTrue(false);
+        } catch (RuntimeException e) {
+        }
+
+        // 段文件缺失
+        snapshot.save(filePath, cache);
+        for (File segmentFile : new File(BASE_DIR).listFiles()) {
+            if (segmentFile.getName().endsWith(".3")) {
+                assertTrue(segmentFile.delete());
+            }
+        }
+        try {
+            snapshot.read(filePath);
+            assertTrue(false);
+        } catch (RuntimeException e) {
+        }
+
+        try {
+            newSnapshot(0);
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+        }
+    }
+}
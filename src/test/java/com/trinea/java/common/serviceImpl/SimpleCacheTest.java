@@ -1,396 +1,717 @@
-package com.trinea.java.common.serviceImpl;
-
-import java.lang.reflect.Field;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-
-import junit.framework.TestCase;
-
-import com.trinea.java.common.FileUtils;
-import com.trinea.java.common.entity.CacheObject;
-import com.trinea.java.common.service.CacheFullRemoveType;
-import com.trinea.java.common.utils.SleepUtils;
-
-public class SimpleCacheTest extends TestCase {
-
-    private static final String BASE_DIR        = "C:\\Users\\Trinea\\Desktop\\temp\\JavaCommonTest\\SimpleCacheTest\\";
-
-    SimpleCache<String, String> cache1;
-    SimpleCache<String, String> cache2;
-    SimpleCache<String, String> cache3;
-    SimpleCache<String, String> cache4;
-
-    int                         cache1MaxSize   = 5, cache2MaxSize = 5, cache3MaxSize = 5;
-    long                        cache1ValidTime = 1000;
-
-    protected void setUp() throws Exception {
-        super.setUp();
-        FileUtils.makeFolder(BASE_DIR);
-        cache1 = new SimpleCache<String, String>(cache3MaxSize, cache1ValidTime, new RemoveTypeEnterTimeFirst<String>());
-        cache2 = new SimpleCache<String, String>(cache2MaxSize, -1, new RemoveTypeNotRemove<String>());
-        cache2 = new SimpleCache<String, String>(cache2MaxSize, new RemoveTypeNotRemove<String>());
-        try {
-            cache2 = new SimpleCache<String, String>(-1, -1, new RemoveTypeNotRemove<String>());
-            assertTrue(false);
-        } catch (Exception e) {
-            assertTrue(true);
-        }
-        try {
-            cache2 = new SimpleCache<String, String>(cache2MaxSize, -1, null);
-            assertTrue(false);
-        } catch (Exception e) {
-            assertTrue(true);
-        }
-        cache3 = new SimpleCache<String, String>(cache3MaxSize);
-        cache4 = new SimpleCache<String, String>();
-    }
-
-    protected void tearDown() throws Exception {
-        super.tearDown();
-    }
-
-    public void testSimpleCacheIntLongCacheFullRemoveType() {
-        SimpleCache<String, String> cache5 = new SimpleCache<String, String>(5, 1, new RemoveTypeDataBig<String>());
-        assertTrue(cache5 != null);
-    }
-
-    public void testSimpleCacheIntLong() {
-        SimpleCache<String, String> cache5 = new SimpleCache<String, String>(5, 1);
-        assertTrue(cache5 != null);
-    }
-
-    public void testSimpleCacheInt() {
-        SimpleCache<String, String> cache5 = new SimpleCache<String, String>(5);
-        assertTrue(cache5 != null);
-    }
-
-    public void testSimpleCache() {
-        SimpleCache<String, String> cache5 = new SimpleCache<String, String>(5);
-        assertTrue(cache5 != null);
-        SimpleCache<String, String> cache6 = null;
-        try {
-            cache6 = new SimpleCache<String, String>(-1);
-            assertTrue(false);
-        } catch (Exception e) {
-            assertTrue(cache6 == null);
-        }
-    }
-
-    public void testGetMaxSize() {
-        assertTrue(cache1.getMaxSize() == cache1MaxSize);
-        assertTrue(cache4.getMaxSize() == SimpleCache.DEFAULT_MAX_SIZE);
-    }
-
-    public void testGetValidTime() {
-        assertTrue(cache1.getValidTime() == cache1ValidTime);
-    }
-
-    public void testGetCacheFullRemoveType() {
-        assertTrue(cache2.getCacheFullRemoveType() instanceof RemoveTypeNotRemove);
-    }
-
-    public void testGetSize() {
-        cache1.put("cache1Key2", "cache1Value2");
-        cache2.put("cache2Key2", "cache2Value2");
-        try {
-            assertTrue(cache1.getSize() > 0);
-            int size1 = cache1.getSize(), size2 = cache2.getSize();
-            Thread.sleep(cache1ValidTime + 10);
-            assertTrue(size1 > cache1.getSize());
-            assertTrue(size2 == cache2.getSize());
-        } catch (InterruptedException e) {
-        }
-    }
-
-    public void testGet() {
-        cache1.put("cache1Key3", "cache1Value3");
-        assertTrue(cache1.get("cache1Key3").getData().equals("cache1Value3"));
-        try {
-            Thread.sleep(cache1ValidTime + 10);
-            assertTrue(cache1.get("cache1Key3") == null);
-        } catch (InterruptedException e) {
-        }
-    }
-
-    public void testPutKV() {
-        cache1.clear();
-        cache1.put("cache1Key4", "cache1Value4");
-        assertTrue(cache1.getSize() > 0);
-        cache2.clear();
-        for (int i = 0; i <= cache2MaxSize; i++) {
-            cache2.put("cache2Key" + i, "cache2Value" + i);
-        }
-        cache2.put("cache2Key" + (cache2MaxSize + 1), "cache2Value" + (cache2MaxSize + 1));
-        assertFalse(cache2.containsKey("cache2Key" + (cache2MaxSize + 1)));
-    }
-
-    public void testPutKCacheObjectOfV() {
-        CacheObject<String> obj = new CacheObject<String>();
-        obj.setData("cache1Value51");
-        cache1.clear();
-        cache1.put("cache1Key51", obj);
-        assertTrue(cache1.getSize() > 0);
-
-        try {
-            Thread.sleep(cache1ValidTime + 10);
-            obj = new CacheObject<String>();
-            obj.setData("cache1Value52");
-            cache1.clear();
-            cache1.put("cache1Key52", obj);
-            assertTrue(cache1.getSize() > 0);
-        } catch (InterruptedException e) {
-        }
-
-        cache2.clear();
-        for (int i = 0; i <= cache2MaxSize; i++) {
-            cache2.put("cache2Key" + i, "cache2Value" + i);
-        }
-    }
-
-    public void testExist() {
-        cache1.put("cache1Key6", "cache1Value6");
-        assertTrue(cache1.containsKey("cache1Key6"));
-
-        cache2.clear();
-        for (int i = 0; i <= cache2MaxSize; i++) {
-            cache2.put("cache2Key" + i, "cache2Value" + i);
-        }
-        cache2.put("cache2Key" + (cache2MaxSize + 1), "cache2Value" + (cache2MaxSize + 1));
-        assertFalse(cache2.containsKey("cache2Key" + (cache2MaxSize + 1)));
-    }
-
-    public void testIsExpired() {
-        cache1.put("cache1Key7", "cache1Value7");
-        cache3.put("cache3Key1", "cache3Value1");
-        try {
-            Thread.sleep(cache1ValidTime + 10);
-            assertTrue(cache1.isExpired("cache1Key7"));
-            assertFalse(cache3.isExpired("cache3Key1"));
-        } catch (InterruptedException e) {
-        }
-    }
-
-    public void testRemove() {
-        cache1.put("cache1Key7", "cache1Value7");
-        assertTrue(cache1.remove("cache1Key7") != null);
-    }
-
-    public void testFullRemoveOne() {
-        cache1.clear();
-        for (int i = 0; i < cache1MaxSize; i++) {
-            try {
-                Thread.sleep(100);
-                cache1.put("cache1Key" + i, "cache1Value" + i);
-            } catch (InterruptedException e) {
-            }
-        }
-        CacheObject<String> removeOne = cache1.fullRemoveOne();
-        assertTrue(removeOne != null && removeOne.getData() != null && removeOne.getData().equals("cache1Value0"));
-    }
-
-    public void testRemoveExpired() {
-        cache1.clear();
-        for (int i = 0; i < cache1MaxSize; i++) {
-            cache1.put("cache1Key" + i, "cache1Value" + i);
-        }
-        try {
-            Thread.sleep(cache1ValidTime + 10);
-            int sourceSize = cache1.getSize();
-            assertTrue(cache1.removeExpired() == sourceSize);
-        } catch (InterruptedException e) {
-        }
-    }
-
-    public void testClear() {
-        cache1.clear();
-    }
-
-    public void testRemoveByLastUsedTime() {
-        int cacheSize = 5, putSize = cacheSize + 3;
-        SimpleCache<String, String> cache = new SimpleCache<String, String>(cacheSize, -1,
-                                                                            new RemoveTypeLastUsedTimeFirst<String>());
-        for (int i = 1; i <= putSize; i++) {
-            cache.put(Integer.toString(i), Integer.toString(i));
-            cache.get(Integer.toString(i));
-            SleepUtils.sleep(10);
-        }
-        assertFalse(cache.containsKey("1"));
-        assertFalse(cache.containsKey("3"));
-        assertTrue(cache.containsKey("4"));
-        assertTrue(cache.containsKey(Integer.toString(putSize)));
-
-        cache = new SimpleCache<String, String>(cacheSize, -1, new RemoveTypeLastUsedTimeLast<String>());
-        for (int i = 1; i <= putSize; i++) {
-            cache.put(Integer.toString(i), Integer.toString(i));
-            cache.get(Integer.toString(i));
-            SleepUtils.sleep(10);
-        }
-        assertTrue(cache.containsKey("1"));
-        assertTrue(cache.containsKey("4"));
-        assertFalse(cache.containsKey("5"));
-        assertFalse(cache.containsKey("6"));
-        assertTrue(cache.containsKey(Integer.toString(putSize)));
-    }
-
-    public void testRemoveByUsedCount() {
-        int cacheSize = 5, putSize = cacheSize + 3;
-        SimpleCache<String, String> cache = new SimpleCache<String, String>(cacheSize, -1,
-                                                                            new RemoveTypeUsedCountSmall<String>());
-        for (int i = 1; i <= putSize; i++) {
-            cache.put(Integer.toString(i), Integer.toString(i));
-            for (int j = 0; j < i; j++) {
-                cache.get(Integer.toString(i));
-            }
-        }
-        assertFalse(cache.containsKey("1"));
-        assertFalse(cache.containsKey("3"));
-        assertTrue(cache.containsKey("4"));
-        assertTrue(cache.containsKey(Integer.toString(putSize)));
-
-        cache = new SimpleCache<String, String>(cacheSize, -1, new RemoveTypeUsedCountBig<String>());
-        for (int i = 1; i <= putSize; i++) {
-            cache.put(Integer.toString(i), Integer.toString(i));
-            for (int j = 0; j < i; j++) {
-                cache.get(Integer.toString(i));
-            }
-        }
-        assertTrue(cache.containsKey("1"));
-        assertTrue(cache.containsKey("4"));
-        assertFalse(cache.containsKey("5"));
-        assertFalse(cache.containsKey("6"));
-        assertTrue(cache.containsKey(Integer.toString(putSize)));
-    }
-
-    public void testRemoveByPriority() {
-        int cacheSize = 5, putSize = cacheSize + 3;
-        SimpleCache<String, String> cache = new SimpleCache<String, String>(cacheSize, -1,
-                                                                            new RemoveTypePriorityLow<String>());
-        for (int i = 1; i <= putSize; i++) {
-            CacheObject<String> obj = new CacheObject<String>();
-            obj.setData(Integer.toString(i));
-            obj.setPriority(i);
-            cache.put(Integer.toString(i), obj);
-        }
-        assertFalse(cache.containsKey("1"));
-        assertFalse(cache.containsKey("3"));
-        assertTrue(cache.containsKey("4"));
-        assertTrue(cache.containsKey(Integer.toString(putSize)));
-
-        cache = new SimpleCache<String, String>(cacheSize, -1, new RemoveTypePriorityHigh<String>());
-        for (int i = 1; i <= putSize; i++) {
-            CacheObject<String> obj = new CacheObject<String>();
-            obj.setData(Integer.toString(i));
-            obj.setPriority(i);
-            cache.put(Integer.toString(i), obj);
-        }
-        assertTrue(cache.containsKey("1"));
-        assertTrue(cache.containsKey("4"));
-        assertFalse(cache.containsKey("5"));
-        assertFalse(cache.containsKey("6"));
-        assertTrue(cache.containsKey(Integer.toString(putSize)));
-    }
-
-    public void testRemoveByData() {
-        int cacheSize = 5, putSize = cacheSize + 3;
-        SimpleCache<String, Integer> cache = new SimpleCache<String, Integer>(cacheSize, -1,
-                                                                              new RemoveTypeDataSmall<Integer>());
-        for (int i = 1; i <= putSize; i++) {
-            CacheObject<Integer> obj = new CacheObject<Integer>();
-            obj.setData(i);
-            obj.setPriority(i);
-            cache.put(Integer.toString(i), obj);
-        }
-        assertFalse(cache.containsKey("1"));
-        assertFalse(cache.containsKey("3"));
-        assertTrue(cache.containsKey("4"));
-        assertTrue(cache.containsKey(Integer.toString(putSize)));
-
-        cache = new SimpleCache<String, Integer>(cacheSize, -1, new RemoveTypeDataBig<Integer>());
-        for (int i = 1; i <= putSize; i++) {
-            CacheObject<Integer> obj = new CacheObject<Integer>();
-            obj.setData(i);
-            obj.setPriority(i);
-            cache.put(Integer.toString(i), obj);
-        }
-        assertTrue(cache.containsKey("1"));
-        assertTrue(cache.containsKey("4"));
-        assertFalse(cache.containsKey("5"));
-        assertFalse(cache.containsKey("6"));
-        assertTrue(cache.containsKey(Integer.toString(putSize)));
-    }
-
-    public void testGetHitRate() {
-        int cacheSize = 5, putSize = cacheSize + 3;
-        SimpleCache<String, String> cache = new SimpleCache<String, String>(cacheSize, -1,
-                                                                            new RemoveTypePriorityLow<String>());
-        assertTrue(cache.getHitRate() - 0 < 0.0001);
-        for (int i = 1; i <= putSize; i++) {
-            CacheObject<String> obj = new CacheObject<String>();
-            obj.setData(Integer.toString(i));
-            obj.setPriority(i);
-            cache.put(Integer.toString(i), obj);
-        }
-        assertTrue(cache.get("1") == null);
-        assertTrue(cache.get("3") == null);
-        assertTrue(cache.get("4") != null);
-        assertTrue(cache.get(Integer.toString(putSize)) != null);
-        assertEquals(cache.getHitCount(), 2);
-        assertEquals(cache.getMissCount(), 2);
-        assertEquals(cache.getHitRate(), 0.5);
-    }
-
-    public void testSaveAndLoadData() {
-        int cacheSize = 30, putSize = 50;
-        SimpleCache<String, String> cache = new SimpleCache<String, String>(cacheSize, -1,
-                                                                            new RemoveTypePriorityLow<String>());
-        for (int i = 1; i <= putSize; i++) {
-            CacheObject<String> obj = new CacheObject<String>();
-            obj.setData(Integer.toString(i));
-            obj.setPriority(i);
-            cache.put(Integer.toString(i), obj);
-        }
-        SimpleCache.saveCache(BASE_DIR + "simplecache.obj", cache);
-        SimpleCache<String, String> outCache = SimpleCache.loadCache(BASE_DIR + "simplecache.obj");
-
-        assertEquals(cache.getSize(), 30);
-        assertEquals(outCache.getMaxSize(), 30);
-        assertTrue(outCache.getCacheFullRemoveType() instanceof RemoveTypePriorityLow);
-        assertEquals(cache.getSize(), outCache.getSize());
-        for (int i = putSize - cacheSize + 1; i <= putSize; i++) {
-            assertNotNull(cache.get(Integer.toString(i)));
-            assertEquals(cache.get(Integer.toString(i)), outCache.get(Integer.toString(i)));
-        }
-    }
-
-    public static void main(String[] args) {
-        SimpleCache<String, Thread> imageCache = new SimpleCache<String, Thread>(2, -1,
-                                                                                 new RemoveTypeUsedCountSmall<Thread>());
-        Class a = imageCache.getCacheFullRemoveType().getClass();
-        System.out.println(a);
-
-        try {
-            CacheFullRemoveType<String> removeType = (CacheFullRemoveType<String>)(a.newInstance());
-            SimpleCache<String, String> imageCache2 = new SimpleCache<String, String>(2, -1, removeType);
-            imageCache2.put("aa", "bb");
-            System.out.println(imageCache2.get("aa").getData());
-            Field[] field = a.getDeclaredFields();
-        } catch (IllegalAccessException e) {
-            // TODO Auto-generated catch block
-            e.printStackTrace();
-        } catch (InstantiationException e) {
-            // TODO Auto-generated catch block
-            e.printStackTrace();
-        }
-
-        Field[] field = a.getDeclaredFields();
-        for (Field f : field) {
-            Type t = f.getGenericType();
-            if (t instanceof ParameterizedType) {
-                ParameterizedType p = (ParameterizedType)t;
-                System.out.println(p.getActualTypeArguments()[0]);
-            }
-        }
-        // Type t = a.getGenericInterfaces()[0];
-        // System.out.println(t);
-    }
-}
+package com.trinea.java.common.serviceImpl;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import com.trinea.java.common.FileUtils;
+import com.trinea.java.common.entity.CacheObject;
+import com.trinea.java.common.entity.CacheStats;
+import com.trinea.java.common.entity.RemovalCause;
+import com.trinea.java.common.service.CacheFullRemoveType;
+import com.trinea.java.common.service.CacheWeigher;
+import com.trinea.java.common.service.RemovalListener;
+import com.trinea.java.common.utils.SleepUtils;
+
+public class SimpleCacheTest extends TestCase {
+
+    private static final String BASE_DIR        = "C:\\Users\\Trinea\\Desktop\\temp\\JavaCommonTest\\SimpleCacheTest\\";
+
+    SimpleCache<String, String> cache1;
+    SimpleCache<String, String> cache2;
+    SimpleCache<String, String> cache3;
+    SimpleCache<String, String> cache4;
+
+    int                         cache1MaxSize   = 5, cache2MaxSize = 5, cache3MaxSize = 5;
+    long                        cache1ValidTime = 1000;
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        FileUtils.makeFolder(BASE_DIR);
+        cache1 = new SimpleCache<String, String>(cache3MaxSize, cache1ValidTime, new RemoveTypeEnterTimeFirst<String>());
+        cache2 = new SimpleCache<String, String>(cache2MaxSize, -1, new RemoveTypeNotRemove<String>());
+        cache2 = new SimpleCache<String, String>(cache2MaxSize, new RemoveTypeNotRemove<String>());
+        try {
+            cache2 = new SimpleCache<String, String>(-1, -1, new RemoveTypeNotRemove<String>());
+            assertTrue(false);
+        } catch (Exception e) {
+            assertTrue(true);
+        }
+        try {
+            cache2 = new SimpleCache<String, String>(cache2MaxSize, -1, null);
+            assertTrue(false);
+        } catch (Exception e) {
+            assertTrue(true);
+        }
+        cache3 = new SimpleCache<String, String>(cache3MaxSize);
+        cache4 = new SimpleCache<String, String>();
+    }
+
+    protected void tearDown() throws Exception {
+        super.tearDown();
+    }
+
+    public void testSimpleCacheIntLongCacheFullRemoveType() {
+        SimpleCache<String, String> cache5 = new SimpleCache<String, String>(5, 1, new RemoveTypeDataBig<String>());
+        assertTrue(cache5 != null);
+    }
+
+    public void testSimpleCacheIntLong() {
+        SimpleCache<String, String> cache5 = new SimpleCache<String, String>(5, 1);
+        assertTrue(cache5 != null);
+    }
+
+    public void testSimpleCacheInt() {
+        SimpleCache<String, String> cache5 = new SimpleCache<String, String>(5);
+        assertTrue(cache5 != null);
+    }
+
+    public void testSimpleCache() {
+        SimpleCache<String, String> cache5 = new SimpleCache<String, String>(5);
+        assertTrue(cache5 != null);
+        SimpleCache<String, String> cache6 = null;
+        try {
+            cache6 = new SimpleCache<String, String>(-1);
+            assertTrue(false);
+        } catch (Exception e) {
+            assertTrue(cache6 == null);
+        }
+    }
+
+    public void testGetMaxSize() {
+        assertTrue(cache1.getMaxSize() == cache1MaxSize);
+        assertTrue(cache4.getMaxSize() == SimpleCache.DEFAULT_MAX_SIZE);
+    }
+
+    public void testGetValidTime() {
+        assertTrue(cache1.getValidTime() == cache1ValidTime);
+    }
+
+    public void testGetCacheFullRemoveType() {
+        assertTrue(cache2.getCacheFullRemoveType() instanceof RemoveTypeNotRemove);
+    }
+
+    public void testGetSize() {
+        cache1.put("cache1Key2", "cache1Value2");
+        cache2.put("cache2Key2", "cache2Value2");
+        try {
+            assertTrue(cache1.getSize() > 0);
+            int size1 = cache1.getSize(), size2 = cache2.getSize();
+            Thread.sleep(cache1ValidTime + 10);
+            assertTrue(size1 > cache1.getSize());
+            assertTrue(size2 == cache2.getSize());
+        } catch (InterruptedException e) {
+        }
+    }
+
+    public void testGet() {
+        cache1.put("cache1Key3", "cache1Value3");
+        assertTrue(cache1.get("cache1Key3").getData().equals("cache1Value3"));
+        try {
+            Thread.sleep(cache1ValidTime + 10);
+            assertTrue(cache1.get("cache1Key3") == null);
+        } catch (InterruptedException e) {
+        }
+    }
+
+    public void testPutKV() {
+        cache1.clear();
+        cache1.put("cache1Key4", "cache1Value4");
+        assertTrue(cache1.getSize() > 0);
+        cache2.clear();
+        for (int i = 0; i <= cache2MaxSize; i++) {
+            cache2.put("cache2Key" + i, "cache2Value" + i);
+        }
+        cache2.put("cache2Key" + (cache2MaxSize + 1), "cache2Value" + (cache2MaxSize + 1));
+        assertFalse(cache2.containsKey("cache2Key" + (cache2MaxSize + 1)));
+    }
+
+    public void testPutKCacheObjectOfV() {
+        CacheObject<String> obj = new CacheObject<String>();
+        obj.setData("cache1Value51");
+        cache1.clear();
+        cache1.put("cache1Key51", obj);
+        assertTrue(cache1.getSize() > 0);
+
+        try {
+            Thread.sleep(cache1ValidTime + 10);
+            obj = new CacheObject<String>();
+            obj.setData("cache1Value52");
+            cache1.clear();
+            cache1.put("cache1Key52", obj);
+            assertTrue(cache1.getSize() > 0);
+        } catch (InterruptedException e) {
+        }
+
+        cache2.clear();
+        for (int i = 0; i <= cache2MaxSize; i++) {
+            cache2.put("cache2Key" + i, "cache2Value" + i);
+        }
+    }
+
+    public void testExist() {
+        cache1.put("cache1Key6", "cache1Value6");
+        assertTrue(cache1.containsKey("cache1Key6"));
+
+        cache2.clear();
+        for (int i = 0; i <= cache2MaxSize; i++) {
+            cache2.put("cache2Key" + i, "cache2Value" + i);
+        }
+        cache2.put("cache2Key" + (cache2MaxSize + 1), "cache2Value" + (cache2MaxSize + 1));
+        assertFalse(cache2.containsKey("cache2Key" + (cache2MaxSize + 1)));
+    }
+
+    public void testIsExpired() {
+        cache1.put("cache1Key7", "cache1Value7");
+        cache3.put("cache3Key1", "cache3Value1");
+        try {
+            Thread.sleep(cache1ValidTime + 10);
+            assertTrue(cache1.isExpired("cache1Key7"));
+            assertFalse(cache3.isExpired("cache3Key1"));
+        } catch (InterruptedException e) {
+        }
+    }
+
+    public void testRemove() {
+        cache1.put("cache1Key7", "cache1Value7");
+        assertTrue(cache1.remove("cache1Key7") != null);
+    }
+
+    public void testFullRemoveOne() {
+        cache1.clear();
+        for (int i = 0; i < cache1MaxSize; i++) {
+            try {
+                Thread.sleep(100);
+                cache1.put("cache1Key" + i, "cache1Value" + i);
+            } catch (InterruptedException e) {
+            }
+        }
+        CacheObject<String> removeOne = cache1.fullRemoveOne();
+        assertTrue(removeOne != null && removeOne.getData() != null && removeOne.getData().equals("cache1Value0"));
+    }
+
+    public void testRemoveExpired() {
+        cache1.clear();
+        for (int i = 0; i < cache1MaxSize; i++) {
+            cache1.put("cache1Key" + i, "cache1Value" + i);
+        }
+        try {
+            Thread.sleep(cache1ValidTime + 10);
+            int sourceSize = cache1.getSize();
+            assertTrue(cache1.removeExpired() == sourceSize);
+        } catch (InterruptedException e) {
+        }
+    }
+
+    public void testCleanUp() {
+        cache1.clear();
+        for (int i = 0; i < cache1MaxSize; i++) {
+            cache1.put("cache1Key" + i, "cache1Value" + i);
+        }
+        assertEquals(cache1.cleanUp(), 0);
+        assertEquals(cache1.getSize(), cache1MaxSize);
+        SleepUtils.sleep(cache1ValidTime + 10);
+        assertEquals(cache1.cleanUp(), cache1MaxSize);
+        assertEquals(cache1.getSize(), 0);
+        assertEquals(cache2.cleanUp(), 0);
+    }
+
+    public void testPerEntryExpire() {
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(10);
+        cache.put("forever", "value");
+        cache.put("write", "value", 100, -1);
+        cache.put("access", "value", -1, 100);
+        cache.put("both", "value", 300, 100);
+        assertEquals(cache.getSize(), 4);
+
+        for (int i = 0; i < 3; i++) {
+            SleepUtils.sleep(50);
+            assertNotNull(cache.get("access"));
+            assertNotNull(cache.get("both"));
+        }
+        assertFalse(cache.containsKey("write"));
+        assertTrue(cache.containsKey("access"));
+        assertEquals(cache.getSize(), 3);
+
+        SleepUtils.sleep(200);
+        assertFalse(cache.containsKey("access"));
+        assertFalse(cache.containsKey("both"));
+        assertTrue(cache.containsKey("forever"));
+        assertEquals(cache.getSize(), 1);
+
+        cache1.put("cache1Key0", "cache1Value0", cache1ValidTime * 10, -1);
+        SleepUtils.sleep(cache1ValidTime + 10);
+        assertTrue(cache1.containsKey("cache1Key0"));
+    }
+
+    public void testClear() {
+        cache1.clear();
+    }
+
+    public void testRemoveByLastUsedTime() {
+        int cacheSize = 5, putSize = cacheSize + 3;
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(cacheSize, -1,
+                                                                            new RemoveTypeLastUsedTimeFirst<String>());
+        for (int i = 1; i <= putSize; i++) {
+            cache.put(Integer.toString(i), Integer.toString(i));
+            cache.get(Integer.toString(i));
+            SleepUtils.sleep(10);
+        }
+        assertFalse(cache.containsKey("1"));
+        assertFalse(cache.containsKey("3"));
+        assertTrue(cache.containsKey("4"));
+        assertTrue(cache.containsKey(Integer.toString(putSize)));
+
+        cache = new SimpleCache<String, String>(cacheSize, -1, new RemoveTypeLastUsedTimeLast<String>());
+        for (int i = 1; i <= putSize; i++) {
+            cache.put(Integer.toString(i), Integer.toString(i));
+            cache.get(Integer.toString(i));
+            SleepUtils.sleep(10);
+        }
+        assertTrue(cache.containsKey("1"));
+        assertTrue(cache.containsKey("4"));
+        assertFalse(cache.containsKey("5"));
+        assertFalse(cache.containsKey("6"));
+        assertTrue(cache.containsKey(Integer.toString(putSize)));
+    }
+
+    public void testRemoveByUsedCount() {
+        int cacheSize = 5, putSize = cacheSize + 3;
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(cacheSize, -1,
+                                                                            new RemoveTypeUsedCountSmall<String>());
+        for (int i = 1; i <= putSize; i++) {
+            cache.put(Integer.toString(i), Integer.toString(i));
+            for (int j = 0; j < i; j++) {
+                cache.get(Integer.toString(i));
+            }
+        }
+        assertFalse(cache.containsKey("1"));
+        assertFalse(cache.containsKey("3"));
+        assertTrue(cache.containsKey("4"));
+        assertTrue(cache.containsKey(Integer.toString(putSize)));
+
+        cache = new SimpleCache<String, String>(cacheSize, -1, new RemoveTypeUsedCountBig<String>());
+        for (int i = 1; i <= putSize; i++) {
+            cache.put(Integer.toString(i), Integer.toString(i));
+            for (int j = 0; j < i; j++) {
+                cache.get(Integer.toString(i));
+            }
+        }
+        assertTrue(cache.containsKey("1"));
+        assertTrue(cache.containsKey("4"));
+        assertFalse(cache.containsKey("5"));
+        assertFalse(cache.containsKey("6"));
+        assertTrue(cache.containsKey(Integer.toString(putSize)));
+    }
+
+    public void testRemoveByPriority() {
+        int cacheSize = 5, putSize = cacheSize + 3;
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(cacheSize, -1,
+                                                                            new RemoveTypePriorityLow<String>());
+        for (int i = 1; i <= putSize; i++) {
+            CacheObject<String> obj = new CacheObject<String>();
+            obj.setData(Integer.toString(i));
+            obj.setPriority(i);
+            cache.put(Integer.toString(i), obj);
+        }
+        assertFalse(cache.containsKey("1"));
+        assertFalse(cache.containsKey("3"));
+        assertTrue(cache.containsKey("4"));
+        assertTrue(cache.containsKey(Integer.toString(putSize)));
+
+        cache = new SimpleCache<String, String>(cacheSize, -1, new RemoveTypePriorityHigh<String>());
+        for (int i = 1; i <= putSize; i++) {
+            CacheObject<String> obj = new CacheObject<String>();
+            obj.setData(Integer.toString(i));
+            obj.setPriority(i);
+            cache.put(Integer.toString(i), obj);
+        }
+        assertTrue(cache.containsKey("1"));
+        assertTrue(cache.containsKey("4"));
+        assertFalse(cache.containsKey("5"));
+        assertFalse(cache.containsKey("6"));
+        assertTrue(cache.containsKey(Integer.toString(putSize)));
+    }
+
+    public void testRemoveByData() {
+        int cacheSize = 5, putSize = cacheSize + 3;
+        SimpleCache<String, Integer> cache = new SimpleCache<String, Integer>(cacheSize, -1,
+                                                                              new RemoveTypeDataSmall<Integer>());
+        for (int i = 1; i <= putSize; i++) {
+            CacheObject<Integer> obj = new CacheObject<Integer>();
+            obj.setData(i);
+            obj.setPriority(i);
+            cache.put(Integer.toString(i), obj);
+        }
+        assertFalse(cache.containsKey("1"));
+        assertFalse(cache.containsKey("3"));
+        assertTrue(cache.containsKey("4"));
+        assertTrue(cache.containsKey(Integer.toString(putSize)));
+
+        cache = new SimpleCache<String, Integer>(cacheSize, -1, new RemoveTypeDataBig<Integer>());
+        for (int i = 1; i <= putSize; i++) {
+            CacheObject<Integer> obj = new CacheObject<Integer>();
+            obj.setData(i);
+            obj.setPriority(i);
+            cache.put(Integer.toString(i), obj);
+        }
+        assertTrue(cache.containsKey("1"));
+        assertTrue(cache.containsKey("4"));
+        assertFalse(cache.containsKey("5"));
+        assertFalse(cache.containsKey("6"));
+        assertTrue(cache.containsKey(Integer.toString(putSize)));
+    }
+
+    public void testRemoveIndexSameAsCompare() {
+        int cacheSize = 50, putSize = 200;
+        SimpleCache<Integer, Integer> indexCache = new SimpleCache<Integer, Integer>(cacheSize,
+                                                                                     new RemoveTypeDataBig<Integer>());
+        // 未实现IndexedCacheFullRemoveType，遍历缓存选出待删除元素
+        SimpleCache<Integer, Integer> scanCache = new SimpleCache<Integer, Integer>(cacheSize,
+                                                                                    new ScanRemoveTypeDataBig<Integer>());
+        Random random = new Random(1);
+        for (int i = 0; i < putSize; i++) {
+            int data = random.nextInt(10000) * putSize + i;
+            indexCache.put(i, data);
+            scanCache.put(i, data);
+        }
+        assertEquals(indexCache.getSize(), cacheSize);
+        assertEquals(indexCache.keySet(), scanCache.keySet());
+        indexCache.remove(putSize - 1);
+        assertFalse(indexCache.containsKey(putSize - 1));
+        indexCache.put(putSize, -1);
+        indexCache.put(putSize + 1, -1);
+        assertTrue(indexCache.containsKey(putSize));
+        assertEquals(indexCache.getSize(), cacheSize);
+    }
+
+    public void testRemoveByTinyLfu() {
+        SimpleCache<String, String> lfuCache = new SimpleCache<String, String>(100, new RemoveTypeTinyLfu<String>());
+        SimpleCache<String, String> lruCache = new SimpleCache<String, String>(100,
+                                                                               new RemoveTypeLastUsedTimeFirst<String>());
+        for (int i = 0; i < 50; i++) {
+            lfuCache.put("hot" + i, "value");
+            lruCache.put("hot" + i, "value");
+            for (int j = 0; j < 5; j++) {
+                lfuCache.get("hot" + i);
+                lruCache.get("hot" + i);
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            lfuCache.put("scan" + i, "value");
+            lruCache.put("scan" + i, "value");
+        }
+        assertEquals(lfuCache.getSize(), 100);
+        for (int i = 0; i < 50; i++) {
+            assertTrue(lfuCache.containsKey("hot" + i));
+            assertFalse(lruCache.containsKey("hot" + i));
+        }
+    }
+
+    public void testMaxWeight() {
+        CacheWeigher<String, String> weigher = new CacheWeigher<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public int weigh(String key, String value) {
+                return value == null ? 0 : value.length();
+            }
+        };
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(10, weigher, 10);
+        assertEquals(cache.getMaxWeight(), 10);
+        cache.put("1", "aaa");
+        cache.put("2", "bbb");
+        cache.put("3", "ccc");
+        assertEquals(cache.getTotalWeight(), 9);
+        cache.put("4", "dddd");
+        assertFalse(cache.containsKey("1"));
+        assertEquals(cache.getTotalWeight(), 10);
+
+        // 替换时减去旧元素的权重
+        cache.put("4", "d");
+        assertEquals(cache.getSize(), 3);
+        assertEquals(cache.getTotalWeight(), 7);
+        cache.remove("2");
+        assertEquals(cache.getTotalWeight(), 4);
+        cache.put("5", "eeeeeeeeee");
+        assertEquals(cache.getSize(), 1);
+        assertEquals(cache.getTotalWeight(), 10);
+        assertNull(cache.put("6", "fffffffffff"));
+        assertTrue(cache.containsKey("5"));
+        cache.clear();
+        assertEquals(cache.getTotalWeight(), 0);
+
+        // 元素个数已满时，无法放入的元素不会导致删除其他元素
+        SimpleCache<String, String> fullCache = new SimpleCache<String, String>(2, weigher, 10);
+        fullCache.put("1", "a");
+        fullCache.put("2", "b");
+        assertNull(fullCache.put("3", "ccccccccccc"));
+        assertEquals(fullCache.getSize(), 2);
+        assertTrue(fullCache.containsKey("1"));
+        assertEquals(fullCache.getStats().getRemovalCount(RemovalCause.SIZE), 0);
+        fullCache.put("3", "ccccccccc");
+        assertFalse(fullCache.containsKey("1"));
+        assertEquals(fullCache.getSize(), 2);
+        assertEquals(fullCache.getTotalWeight(), 10);
+
+        // 不删除元素的缓存，权重超过时不删除已有元素
+        SimpleCache<String, String> notRemoveCache = new SimpleCache<String, String>(10, weigher, 10, -1,
+                                                                                     new RemoveTypeNotRemove<String>());
+        notRemoveCache.put("1", "aaaaa");
+        assertNull(notRemoveCache.put("2", "bbbbbb"));
+        assertTrue(notRemoveCache.containsKey("1"));
+
+        try {
+            new SimpleCache<String, String>(10, weigher, -1);
+            assertTrue(false);
+        } catch (IllegalArgumentException e) {
+        }
+        assertEquals(cache1.getMaxWeight(), -1);
+    }
+
+    public void testBulkOperation() {
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(5, -1,
+                                                                            new RemoveTypeEnterTimeFirst<String>());
+        Map<String, String> map = new LinkedHashMap<String, String>();
+        for (int i = 0; i < 7; i++) {
+            map.put(Integer.toString(i), "value" + i);
+        }
+        cache.putAll(map);
+        assertEquals(cache.getSize(), 5);
+        assertFalse(cache.containsKey("0"));
+        assertFalse(cache.containsKey("1"));
+        assertTrue(cache.containsKey("6"));
+
+        Map<String, CacheObject<String>> result = cache.getAll(Arrays.asList("1", "2", "3", "notExist"));
+        assertEquals(result.size(), 2);
+        assertEquals(result.get("2").getData(), "value2");
+        assertEquals(cache.getHitCount(), 2);
+        assertEquals(cache.getMissCount(), 2);
+
+        // 已存在的key不会导致删除
+        map.clear();
+        map.put("2", "newValue2");
+        map.put("7", "value7");
+        cache.putAll(map);
+        assertEquals(cache.getSize(), 5);
+        assertEquals(cache.get("2").getData(), "newValue2");
+        assertFalse(cache.containsKey("3"));
+
+        assertEquals(cache.removeAll(Arrays.asList("2", "4", "notExist")), 2);
+        assertEquals(cache.getSize(), 3);
+        assertEquals(cache.getAll(null).size(), 0);
+
+        // 不支持删除索引的删除类型一次删除多个
+        cache = new SimpleCache<String, String>(5, -1, new ScanRemoveTypeDataBig<String>());
+        for (int i = 0; i < 5; i++) {
+            cache.put(Integer.toString(i), Integer.toString(i));
+        }
+        map.clear();
+        map.put("5", "5");
+        map.put("6", "6");
+        cache.putAll(map);
+        assertEquals(cache.getSize(), 5);
+        assertTrue(cache.containsKey("0"));
+        assertFalse(cache.containsKey("3"));
+        assertFalse(cache.containsKey("4"));
+    }
+
+    public void testGetHitRate() {
+        int cacheSize = 5, putSize = cacheSize + 3;
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(cacheSize, -1,
+                                                                            new RemoveTypePriorityLow<String>());
+        assertTrue(cache.getHitRate() - 0 < 0.0001);
+        for (int i = 1; i <= putSize; i++) {
+            CacheObject<String> obj = new CacheObject<String>();
+            obj.setData(Integer.toString(i));
+            obj.setPriority(i);
+            cache.put(Integer.toString(i), obj);
+        }
+        assertTrue(cache.get("1") == null);
+        assertTrue(cache.get("3") == null);
+        assertTrue(cache.get("4") != null);
+        assertTrue(cache.get(Integer.toString(putSize)) != null);
+        assertEquals(cache.getHitCount(), 2);
+        assertEquals(cache.getMissCount(), 2);
+        assertEquals(cache.getHitRate(), 0.5);
+    }
+
+    public void testGetStats() {
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(3, 100);
+        CacheStats stats = cache.getStats();
+        assertEquals(stats.getRequestCount(), 0);
+        for (int i = 1; i <= 5; i++) {
+            cache.put(Integer.toString(i), Integer.toString(i));
+        }
+        assertEquals(cache.getStats().getRemovalCount(RemovalCause.SIZE), 2);
+        cache.put("5", "5");
+        cache.remove("4");
+        assertNull(cache.get("1"));
+        assertNotNull(cache.get("5"));
+
+        CacheStats delta = cache.getStats().minus(stats);
+        assertEquals(delta.getHitCount(), 1);
+        assertEquals(delta.getMissCount(), 1);
+        assertEquals(delta.getHitRate(), 0.5);
+        assertEquals(delta.getEvictionCount(), 2);
+        assertEquals(delta.getRemovalCount(RemovalCause.REPLACED), 1);
+        assertEquals(delta.getRemovalCount(RemovalCause.EXPLICIT), 1);
+        SleepUtils.sleep(150);
+        cache.cleanUp();
+        stats = cache.getStats();
+        assertEquals(stats.getExpiredCount(), 2);
+        assertEquals(stats.minus(stats).getExpiredCount(), 0);
+        assertEquals(stats.plus(stats).getHitCount(), 2);
+
+        long[] histogram = new long[CacheStats.HISTOGRAM_BUCKET_COUNT];
+        histogram[CacheStats.getBucketIndex(500)] = 50;
+        histogram[CacheStats.getBucketIndex(3 * 1000 * 1000)] = 49;
+        histogram[CacheStats.getBucketIndex(100 * 1000 * 1000)] = 1;
+        stats = new CacheStats(0, 0, 100, 0, 0, histogram, null);
+        assertEquals(stats.getLoadTimePercentile(0.5), 1000);
+        assertEquals(stats.getLoadTimePercentile(0.9), 4096 * 1000);
+        assertEquals(stats.getLoadTimePercentile(1), 131072 * 1000);
+        assertEquals(CacheStats.empty().getLoadTimePercentile(0.99), 0);
+    }
+
+    public void testRemovalListener() throws Exception {
+        final SimpleCache<String, String> cache = new SimpleCache<String, String>(2, 100);
+        final Map<String, RemovalCause> causeMap = new ConcurrentHashMap<String, RemovalCause>();
+        final CountDownLatch latch = new CountDownLatch(5);
+        final Thread testThread = Thread.currentThread();
+        RemovalListener<String, String> listener = new RemovalListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void onRemoval(String key, CacheObject<String> value, RemovalCause cause) {
+                assertEquals(value.getData(), key);
+                assertTrue(Thread.currentThread() != testThread);
+                causeMap.put(key + "-" + cause, cause);
+                latch.countDown();
+            }
+        };
+        cache.setRemovalListener(listener);
+        assertTrue(cache.getRemovalListener() == listener);
+
+        cache.put("1", "1");
+        cache.put("1", "1");
+        cache.put("2", "2");
+        cache.put("3", "3");
+        cache.remove("2");
+        cache.put("4", "4");
+        SleepUtils.sleep(150);
+        cache.cleanUp();
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertEquals(causeMap.get("1-" + RemovalCause.REPLACED), RemovalCause.REPLACED);
+        assertEquals(causeMap.get("1-" + RemovalCause.SIZE), RemovalCause.SIZE);
+        assertEquals(causeMap.get("2-" + RemovalCause.EXPLICIT), RemovalCause.EXPLICIT);
+        assertEquals(causeMap.get("3-" + RemovalCause.EXPIRED), RemovalCause.EXPIRED);
+        assertEquals(causeMap.get("4-" + RemovalCause.EXPIRED), RemovalCause.EXPIRED);
+
+        // 线程池拒绝时在当前线程释放锁后回调
+        final CountDownLatch clearLatch = new CountDownLatch(1);
+        cache.setRemovalListener(new RemovalListener<String, String>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public void onRemoval(String key, CacheObject<String> value, RemovalCause cause) {
+                assertEquals(cause, RemovalCause.EXPLICIT);
+                assertTrue(Thread.currentThread() == testThread);
+                assertFalse(cache.lock.isHeldByCurrentThread());
+                clearLatch.countDown();
+            }
+        });
+        cache.setRemovalListenerExecutor(new Executor() {
+
+            @Override
+            public void execute(Runnable command) {
+                throw new RejectedExecutionException();
+            }
+        });
+        cache.put("5", "5");
+        cache.clear();
+        assertEquals(clearLatch.getCount(), 0);
+    }
+
+    public void testSaveAndLoadData() {
+        int cacheSize = 30, putSize = 50;
+        SimpleCache<String, String> cache = new SimpleCache<String, String>(cacheSize, -1,
+                                                                            new RemoveTypePriorityLow<String>());
+        for (int i = 1; i <= putSize; i++) {
+            CacheObject<String> obj = new CacheObject<String>();
+            obj.setData(Integer.toString(i));
+            obj.setPriority(i);
+            cache.put(Integer.toString(i), obj);
+        }
+        SimpleCache.saveCache(BASE_DIR + "simplecache.obj", cache);
+        SimpleCache<String, String> outCache = SimpleCache.loadCache(BASE_DIR + "simplecache.obj");
+
+        assertEquals(cache.getSize(), 30);
+        assertEquals(outCache.getMaxSize(), 30);
+        assertTrue(outCache.getCacheFullRemoveType() instanceof RemoveTypePriorityLow);
+        assertEquals(cache.getSize(), outCache.getSize());
+        for (int i = putSize - cacheSize + 1; i <= putSize; i++) {
+            assertNotNull(cache.get(Integer.toString(i)));
+            assertEquals(cache.get(Integer.toString(i)), outCache.get(Integer.toString(i)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> CacheFullRemoveType<V> newRemoveType(Class<?> removeTypeClass)
+                                                                               throws ReflectiveOperationException {
+        return (CacheFullRemoveType<V>)removeTypeClass.getDeclaredConstructor().newInstance();
+    }
+
+    public static void main(String[] args) {
+        SimpleCache<String, Thread> imageCache = new SimpleCache<String, Thread>(2, -1,
+                                                                                 new RemoveTypeUsedCountSmall<Thread>());
+        Class<?> a = imageCache.getCacheFullRemoveType().getClass();
+        System.out.println(a);
+
+        try {
+            CacheFullRemoveType<String> removeType = newRemoveType(a);
+            SimpleCache<String, String> imageCache2 = new SimpleCache<String, String>(2, -1, removeType);
+            imageCache2.put("aa", "bb");
+            System.out.println(imageCache2.get("aa").getData());
+            Field[] field = a.getDeclaredFields();
+        } catch (ReflectiveOperationException e) {
+            // TODO Auto-generated catch block
+            e.printStackTrace();
+        }
+
+        Field[] field = a.getDeclaredFields();
+        for (Field f : field) {
+            Type t = f.getGenericType();
+            if (t instanceof ParameterizedType) {
+                ParameterizedType p = (ParameterizedType)t;
+                System.out.println(p.getActualTypeArguments()[0]);
+            }
+        }
+        // Type t = a.getGenericInterfaces()[0];
+        // System.out.println(t);
+    }
+
+    public static class ScanRemoveTypeDataBig<T> implements CacheFullRemoveType<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public int compare(CacheObject<T> obj1, CacheObject<T> obj2) {
+            return new RemoveTypeDataBig<T>().compare(obj1, obj2);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.trinea.java.common.serviceImpl;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+/**
+ * 分层时间轮测试
+ * 
+ * @author Trinea 2012-6-28 下午11:20:05
+ */
+public class TimerWheelTest extends TestCase {
+
+    public void testAdvance() {
+        long now = 1000000;
+        TimerWheel<String> wheel = new TimerWheel<String>(now);
+        wheel.schedule("a", now + 5);
+        wheel.schedule("b", now + 100);
+        wheel.schedule("c", now + 10000);
+        wheel.schedule("d", now + 10L * 24 * 3600 * 1000);
+        wheel.schedule("e", now + 5L * 365 * 24 * 3600 * 1000);
+        assertEquals(wheel.size(), 5);
+
+        assertTrue(wheel.advance(now + 4).isEmpty());
+        assertEquals(wheel.advance(now + 5).get(0), "a");
+        assertTrue(wheel.advance(now + 99).isEmpty());
+        assertEquals(wheel.advance(now + 100).get(0), "b");
+        assertTrue(wheel.advance(now + 9999).isEmpty());
+        assertEquals(wheel.advance(now + 10000).get(0), "c");
+        assertEquals(wheel.size(), 2);
+
+        wheel.cancel("d");
+        List<String> expiredList = wheel.advance(now + 6L * 365 * 24 * 3600 * 1000);
+        assertEquals(expiredList.size(), 1);
+        assertEquals(expiredList.get(0), "e");
+        assertEquals(wheel.size(), 0);
+    }
+
+    public void testSchedule() {
+        long now = 5000;
+        TimerWheel<String> wheel = new TimerWheel<String>(now);
+        wheel.schedule("a", now + 10);
+        wheel.schedule("a", now + 1000);
+        assertTrue(wheel.advance(now + 10).isEmpty());
+        assertEquals(wheel.advance(now + 1000).size(), 1);
+
+        // 过期时间早于当前时间时下次前进即过期
+        wheel.schedule("b", now - 10);
+        assertEquals(wheel.advance(now + 1000).get(0), "b");
+
+        wheel.schedule("c", now + 2000);
+        wheel.clear();
+        assertEquals(wheel.size(), 0);
+        assertTrue(wheel.advance(now + 3000).isEmpty());
+    }
+
+    public void testRandomExpireTime() {
+        long now = 123456789;
+        TimerWheel<Integer> wheel = new TimerWheel<Integer>(now);
+        Random random = new Random(1);
+        long[] expireTimes = new long[10000];
+        for (int i = 0; i < expireTimes.length; i++) {
+            expireTimes[i] = now + random.nextInt(20000000);
+            wheel.schedule(i, expireTimes[i]);
+        }
+
+        Set<Integer> expiredSet = new HashSet<Integer>();
+        for (long time = now; time <= now + 20000000; time += random.nextInt(50000)) {
+            for (Integer key : wheel.advance(time)) {
+                assertTrue(expireTimes[key] <= time);
+                assertTrue(expiredSet.add(key));
+            }
+            for (int i = 0; i < expireTimes.length; i++) {
+                if (expireTimes[i] <= time) {
+                    assertTrue(expiredSet.contains(i));
+                }
+            }
+        }
+    }
+}